@@ -0,0 +1,74 @@
+-- =====================================================
+-- Benchmark: UUIDv7 vs UUIDv4 primary keys
+-- Description: Inserts 10M rows keyed by random v4 and by time-ordered v7 ids and compares
+--              insert time, primary key index size and leaf density
+-- Usage: psql -h localhost -U postgres -d iesa_dev -f docker/postgres/benchmarks/uuid_v7_vs_v4.sql
+-- Date: 2026-10-18
+-- =====================================================
+
+\timing on
+SET client_min_messages = warning;
+CREATE EXTENSION IF NOT EXISTS pgstattuple;
+
+-- Same layout as UuidV7Generator: 48-bit unix ms, version 7, 12-bit sequence, variant 10, random tail.
+-- The per-row sequence comes from the series so ids within one millisecond are still ordered.
+CREATE OR REPLACE FUNCTION pg_temp.uuid_v7(ts TIMESTAMPTZ, seq BIGINT) RETURNS UUID AS $$
+    SELECT encode(
+        substring(int8send((extract(epoch FROM ts) * 1000)::BIGINT) FROM 3)
+            || int2send((x'7000'::INT | (seq & 4095))::SMALLINT)
+            -- the tail of a v4 uuid is random and already carries the 10 variant bits
+            || substring(uuid_send(gen_random_uuid()) FROM 9),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_expenses_v4;
+DROP TABLE IF EXISTS bench_expenses_v7;
+
+-- Both tables mirror the hot columns of expenses; the primary key index exists before loading,
+-- as it does in production
+CREATE UNLOGGED TABLE bench_expenses_v4 (
+    id UUID PRIMARY KEY,
+    submitter_id UUID NOT NULL,
+    expense_date DATE NOT NULL,
+    total_amount DECIMAL(19, 2) NOT NULL
+);
+CREATE UNLOGGED TABLE bench_expenses_v7 (LIKE bench_expenses_v4 INCLUDING ALL);
+
+-- Loaded in 100 batches of 100k rows, the way the importer commits chunks
+DO $$
+DECLARE
+    batch INT;
+    started TIMESTAMPTZ;
+    v4_ms NUMERIC := 0;
+    v7_ms NUMERIC := 0;
+BEGIN
+    FOR batch IN 0..99 LOOP
+        started := clock_timestamp();
+        INSERT INTO bench_expenses_v4
+        SELECT gen_random_uuid(), gen_random_uuid(), CURRENT_DATE, 100.00
+        FROM generate_series(1, 100000);
+        v4_ms := v4_ms + extract(epoch FROM clock_timestamp() - started) * 1000;
+
+        started := clock_timestamp();
+        INSERT INTO bench_expenses_v7
+        SELECT pg_temp.uuid_v7(clock_timestamp(), batch * 100000 + g), gen_random_uuid(), CURRENT_DATE, 100.00
+        FROM generate_series(1, 100000) g;
+        v7_ms := v7_ms + extract(epoch FROM clock_timestamp() - started) * 1000;
+    END LOOP;
+
+    RAISE WARNING 'v4: % ms (% rows/s)', round(v4_ms), round(10000000 / (v4_ms / 1000));
+    RAISE WARNING 'v7: % ms (% rows/s)', round(v7_ms), round(10000000 / (v7_ms / 1000));
+END $$;
+
+SELECT 'v4' AS id_version,
+       pg_size_pretty(pg_relation_size('bench_expenses_v4_pkey')) AS pkey_size,
+       s.avg_leaf_density, s.leaf_fragmentation
+FROM pgstatindex('bench_expenses_v4_pkey') s
+UNION ALL
+SELECT 'v7',
+       pg_size_pretty(pg_relation_size('bench_expenses_v7_pkey')),
+       s.avg_leaf_density, s.leaf_fragmentation
+FROM pgstatindex('bench_expenses_v7_pkey') s;
+
+DROP TABLE bench_expenses_v4;
+DROP TABLE bench_expenses_v7;
@@ -42,7 +42,7 @@ public interface WorkflowHistoryRepository extends JpaRepository<WorkflowHistory
     Optional<WorkflowHistory> findLatestByExpenseId(UUID expenseId);
 
     /**
-     * Find history within date range
+     * Find history within date range. Scans only the monthly partitions in range.
      */
     @Query("SELECT h FROM WorkflowHistory h WHERE h.timestamp BETWEEN :fromDate AND :toDate ORDER BY h.timestamp DESC")
     List<WorkflowHistory> findByTimestampBetween(Instant fromDate, Instant toDate);
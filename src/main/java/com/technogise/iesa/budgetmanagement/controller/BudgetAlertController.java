@@ -1,6 +1,7 @@
 package com.technogise.iesa.budgetmanagement.controller;
 
 import com.technogise.iesa.budgetmanagement.dto.BudgetAlertDto;
+import com.technogise.iesa.budgetmanagement.service.BudgetAlertMaintenanceService;
 import com.technogise.iesa.budgetmanagement.service.BudgetAlertService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,7 @@ import java.util.UUID;
 public class BudgetAlertController {
 
     private final BudgetAlertService alertService;
+    private final BudgetAlertMaintenanceService maintenanceService;
 
     @GetMapping
     public ResponseEntity<List<BudgetAlertDto>> getAllAlerts() {
@@ -53,14 +55,14 @@ public class BudgetAlertController {
     }
 
     @DeleteMapping("/acknowledged")
-    public ResponseEntity<Integer> deleteAcknowledgedAlerts() {
-        int deletedCount = alertService.deleteAcknowledgedAlerts();
+    public ResponseEntity<Long> deleteAcknowledgedAlerts() {
+        long deletedCount = maintenanceService.purgeAcknowledgedAlerts(0);
         return ResponseEntity.ok(deletedCount);
     }
 
     @DeleteMapping("/old")
-    public ResponseEntity<Integer> deleteOldAlerts(@RequestParam(defaultValue = "30") int days) {
-        int deletedCount = alertService.deleteOldAlerts(days);
+    public ResponseEntity<Long> deleteOldAlerts(@RequestParam(defaultValue = "30") int days) {
+        long deletedCount = maintenanceService.purgeOldAlerts(days);
         return ResponseEntity.ok(deletedCount);
     }
 
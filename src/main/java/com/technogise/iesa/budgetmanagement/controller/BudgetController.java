@@ -1,15 +1,30 @@
 package com.technogise.iesa.budgetmanagement.controller;
 
+import com.technogise.iesa.budgetmanagement.domain.BudgetCarryForwardMode;
 import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilityCheckRequest;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilityCheckResponse;
 import com.technogise.iesa.budgetmanagement.dto.BudgetDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetLedgerCompactionResult;
+import com.technogise.iesa.budgetmanagement.dto.BudgetReconciliationResult;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRolloverRequest;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRolloverResult;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupDto;
 import com.technogise.iesa.budgetmanagement.dto.CreateBudgetRequest;
 import com.technogise.iesa.budgetmanagement.dto.UpdateBudgetRequest;
+import com.technogise.iesa.budgetmanagement.service.BudgetForecastService;
+import com.technogise.iesa.budgetmanagement.service.BudgetLedgerCompactionService;
+import com.technogise.iesa.budgetmanagement.service.BudgetReconciliationService;
+import com.technogise.iesa.budgetmanagement.service.BudgetRolloverService;
+import com.technogise.iesa.budgetmanagement.service.BudgetRollupService;
 import com.technogise.iesa.budgetmanagement.service.BudgetService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -23,6 +38,11 @@ import java.util.UUID;
 public class BudgetController {
 
     private final BudgetService budgetService;
+    private final BudgetLedgerCompactionService compactionService;
+    private final BudgetForecastService forecastService;
+    private final BudgetRollupService rollupService;
+    private final BudgetRolloverService rolloverService;
+    private final BudgetReconciliationService reconciliationService;
 
     @GetMapping
     public ResponseEntity<List<BudgetDto>> getAllBudgets() {
@@ -34,6 +54,11 @@ public class BudgetController {
         return ResponseEntity.ok(budgetService.getAllActiveBudgets());
     }
 
+    @GetMapping("/rollup")
+    public ResponseEntity<BudgetRollupDto> getBudgetRollup() {
+        return ResponseEntity.ok(rollupService.getRollup());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BudgetDto> getBudgetById(@PathVariable UUID id) {
         return ResponseEntity.ok(budgetService.getBudgetById(id));
@@ -107,10 +132,49 @@ public class BudgetController {
         return ResponseEntity.ok(budgetService.getBudgetUtilization(id));
     }
 
+    @GetMapping("/{id}/forecast")
+    public ResponseEntity<BudgetForecastDto> getBudgetForecast(@PathVariable UUID id) {
+        return ResponseEntity.ok(forecastService.getForecast(id));
+    }
+
+    @GetMapping("/forecasts")
+    public ResponseEntity<List<BudgetForecastDto>> getActiveBudgetForecasts() {
+        return ResponseEntity.ok(forecastService.getActiveForecasts());
+    }
+
     @GetMapping("/{id}/availability")
     public ResponseEntity<Boolean> checkBudgetAvailability(
             @PathVariable UUID id,
             @RequestParam BigDecimal requestedAmount) {
         return ResponseEntity.ok(budgetService.checkBudgetAvailability(id, requestedAmount));
     }
+
+    @PostMapping("/availability/check")
+    public ResponseEntity<BudgetAvailabilityCheckResponse> checkBudgetAvailability(
+            @Valid @RequestBody BudgetAvailabilityCheckRequest request) {
+        return ResponseEntity.ok(budgetService.checkBudgetAvailability(request.getLines()));
+    }
+
+    @PostMapping("/consumption-ledger/compact")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<BudgetLedgerCompactionResult> compactConsumptionLedger() {
+        return ResponseEntity.ok(compactionService.compact());
+    }
+
+    @PostMapping("/consumption/reconcile")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<BudgetReconciliationResult> reconcileConsumption(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(reconciliationService.reconcile(repair));
+    }
+
+    @PostMapping("/rollover")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<BudgetRolloverResult> rolloverBudgets(@Valid @RequestBody BudgetRolloverRequest request) {
+        return ResponseEntity.ok(rolloverService.rollover(
+                request.getPeriodEndFrom(),
+                request.getPeriodEndTo(),
+                request.getCarryForwardMode() == null ? null : BudgetCarryForwardMode.valueOf(request.getCarryForwardMode()),
+                request.getCarryForwardCapPercentage()));
+    }
 }
@@ -0,0 +1,10 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+/**
+ * Delivery state of a row in alert_notification_outbox
+ */
+public enum AlertNotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -47,12 +47,20 @@ public class Budget {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal allocatedAmount;
 
-    @Column(nullable = false, precision = 15, scale = 2)
+    // Folded consumption only; written by the ledger compactor, never by entity updates
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
     private BigDecimal consumedAmount = BigDecimal.ZERO;
 
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Set by the period rollover job only
+    @Column(name = "rolled_over_from_id", updatable = false)
+    private UUID rolledOverFromId;
+
+    @Column(name = "carried_forward_amount", updatable = false, precision = 15, scale = 2)
+    private BigDecimal carriedForwardAmount;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -80,25 +88,29 @@ public class Budget {
     }
 
     public BigDecimal getRemainingAmount() {
-        return allocatedAmount.subtract(consumedAmount);
+        return getRemainingAmount(BigDecimal.ZERO);
     }
 
     public BigDecimal getUtilizationPercentage() {
-        if (allocatedAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return BigDecimal.ZERO;
-        }
-        return consumedAmount.multiply(BigDecimal.valueOf(100))
-                .divide(allocatedAmount, 2, BigDecimal.ROUND_HALF_UP);
+        return getUtilizationPercentage(BigDecimal.ZERO);
+    }
+
+    /**
+     * Consumed amount including ledger deltas that have not been folded into consumedAmount yet
+     */
+    public BigDecimal getEffectiveConsumedAmount(BigDecimal pendingConsumption) {
+        return consumedAmount.add(pendingConsumption);
     }
 
-    public void addConsumption(BigDecimal amount) {
-        this.consumedAmount = this.consumedAmount.add(amount);
+    public BigDecimal getRemainingAmount(BigDecimal pendingConsumption) {
+        return allocatedAmount.subtract(getEffectiveConsumedAmount(pendingConsumption));
     }
 
-    public void reduceConsumption(BigDecimal amount) {
-        this.consumedAmount = this.consumedAmount.subtract(amount);
-        if (this.consumedAmount.compareTo(BigDecimal.ZERO) < 0) {
-            this.consumedAmount = BigDecimal.ZERO;
+    public BigDecimal getUtilizationPercentage(BigDecimal pendingConsumption) {
+        if (allocatedAmount.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
         }
+        return getEffectiveConsumedAmount(pendingConsumption).multiply(BigDecimal.valueOf(100))
+                .divide(allocatedAmount, 2, BigDecimal.ROUND_HALF_UP);
     }
 }
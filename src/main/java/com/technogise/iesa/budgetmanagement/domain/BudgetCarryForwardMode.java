@@ -0,0 +1,33 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * How the unspent amount of an ended budget period affects the allocation of the next period
+ */
+public enum BudgetCarryForwardMode {
+    NONE,           // next period gets the same allocation
+    UNSPENT,        // add whatever was left unspent
+    UNSPENT_CAPPED, // add the unspent amount up to a percentage of the allocation
+    NET;            // add the unspent amount or deduct the overrun
+
+    private static final BigDecimal MIN_ALLOCATION = new BigDecimal("0.01");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Amount the next period carries forward. The base allocation excludes what the ended period itself
+     * carried forward, so carries never compound and a NET overrun is deducted only once; it also bounds
+     * the cap and keeps a NET allocation above zero.
+     */
+    public BigDecimal carriedAmount(BigDecimal baseAllocation, BigDecimal remaining, BigDecimal capPercentage) {
+        BigDecimal unspent = remaining.max(BigDecimal.ZERO);
+        BigDecimal carried = switch (this) {
+            case NONE -> BigDecimal.ZERO;
+            case UNSPENT -> unspent;
+            case UNSPENT_CAPPED -> unspent.min(baseAllocation.multiply(capPercentage).divide(HUNDRED));
+            case NET -> remaining.max(MIN_ALLOCATION.subtract(baseAllocation));
+        };
+        return carried.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,50 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One signed consumption delta against a budget. Rows are only ever inserted by the application;
+ * the compactor folds them into {@link Budget#getConsumedAmount()} and stamps foldedAt.
+ */
+@Entity
+@Table(name = "budget_consumption_ledger")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BudgetConsumptionEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "budget_id", nullable = false, updatable = false)
+    private UUID budgetId;
+
+    @Column(name = "expense_id", updatable = false)
+    private UUID expenseId;
+
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 20)
+    private BudgetConsumptionSource source;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "folded_at", insertable = false, updatable = false)
+    private Instant foldedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Published when consumption is posted to budgets' ledgers, with the net amount posted per budget and
+ * the highest ledger id written, so listeners holding a snapshot of the ledger can tell whether it
+ * already includes the posting
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetConsumptionPostedEvent {
+    private final Map<UUID, BigDecimal> amountByBudget;
+    private final long ledgerId;
+}
@@ -0,0 +1,10 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+/**
+ * What wrote a budget consumption ledger entry
+ */
+public enum BudgetConsumptionSource {
+    EXPENSE,       // posting or reversal of an approved expense
+    MANUAL,        // adjustment entered through the budget consumption endpoint
+    RECONCILIATION // correction appended by the reconciliation repair
+}
@@ -0,0 +1,15 @@
+package com.technogise.iesa.budgetmanagement.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a budget's scope, dates, amount, active state or thresholds may have changed
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetsChangedEvent {
+    private final UUID budgetId;
+}
@@ -0,0 +1,19 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * All alerts due for one recipient in a dispatch batch, delivered as a single message
+ */
+@Getter
+@AllArgsConstructor
+public class AlertNotificationDigest {
+    private final UUID recipientId;
+    private final String email;
+    private final String recipientName;
+    private final List<AlertNotificationItem> items;
+}
@@ -0,0 +1,20 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One alert inside a recipient's notification digest
+ */
+@Getter
+@AllArgsConstructor
+public class AlertNotificationItem {
+    private final UUID alertId;
+    private final UUID budgetId;
+    private final String budgetName;
+    private final String message;
+    private final LocalDateTime triggeredDate;
+}
@@ -0,0 +1,23 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAvailabilityCheckRequest {
+
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 500, message = "At most 500 lines can be checked at once")
+    @Valid
+    private List<BudgetAvailabilityLineRequest> lines;
+}
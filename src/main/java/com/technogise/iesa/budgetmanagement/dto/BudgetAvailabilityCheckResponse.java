@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAvailabilityCheckResponse {
+    private boolean allAvailable;
+    private List<BudgetAvailabilityLineResult> lines;
+    private List<BudgetAvailabilitySummary> budgets;
+}
@@ -0,0 +1,20 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAvailabilityLineResult {
+    private int lineIndex;
+    private boolean available;
+    private List<UUID> budgetIds;
+    private List<UUID> exceededBudgetIds;
+}
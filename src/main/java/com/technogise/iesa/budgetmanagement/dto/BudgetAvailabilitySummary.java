@@ -0,0 +1,22 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAvailabilitySummary {
+    private UUID budgetId;
+    private String budgetName;
+    private BigDecimal allocatedAmount;
+    private BigDecimal remainingAmount;
+    private BigDecimal requestedAmount;
+    private boolean available;
+}
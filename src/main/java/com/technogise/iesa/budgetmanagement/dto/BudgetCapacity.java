@@ -0,0 +1,29 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Allocation and ledger-aware consumption of a budget, read in one statement for availability checks
+ */
+@Getter
+public class BudgetCapacity {
+    private final UUID budgetId;
+    private final String name;
+    private final BigDecimal allocatedAmount;
+    private final BudgetConsumptionLevel consumption;
+
+    public BudgetCapacity(UUID budgetId, String name, BigDecimal allocatedAmount,
+                          BigDecimal consumedAmount, BigDecimal pendingAmount) {
+        this.budgetId = budgetId;
+        this.name = name;
+        this.allocatedAmount = allocatedAmount;
+        this.consumption = new BudgetConsumptionLevel(budgetId, consumedAmount, pendingAmount);
+    }
+
+    public BigDecimal getRemainingAmount() {
+        return allocatedAmount.subtract(consumption.getEffectiveConsumedAmount());
+    }
+}
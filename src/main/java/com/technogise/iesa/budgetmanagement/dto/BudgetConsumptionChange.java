@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Effective consumed amount of a budget before and after a posting
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetConsumptionChange {
+    private final UUID budgetId;
+    private final BigDecimal before;
+    private final BigDecimal after;
+}
@@ -0,0 +1,21 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Difference between a budget's recorded consumption and the value recomputed from approved expenses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetConsumptionDrift {
+    private UUID budgetId;
+    private String budgetName;
+    private BigDecimal recordedAmount;
+    private BigDecimal actualAmount;
+    private BigDecimal difference;
+}
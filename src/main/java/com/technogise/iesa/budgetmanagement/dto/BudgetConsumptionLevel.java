@@ -0,0 +1,26 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Folded consumed amount of a budget plus its pending ledger deltas, read in one statement
+ */
+@Getter
+public class BudgetConsumptionLevel {
+    private final UUID budgetId;
+    private final BigDecimal consumedAmount;
+    private final BigDecimal pendingAmount;
+
+    public BudgetConsumptionLevel(UUID budgetId, BigDecimal consumedAmount, BigDecimal pendingAmount) {
+        this.budgetId = budgetId;
+        this.consumedAmount = consumedAmount;
+        this.pendingAmount = pendingAmount == null ? BigDecimal.ZERO : pendingAmount;
+    }
+
+    public BigDecimal getEffectiveConsumedAmount() {
+        return consumedAmount.add(pendingAmount);
+    }
+}
@@ -0,0 +1,19 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Net consumption posted to a budget on one day
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetDailyConsumption {
+    private final UUID budgetId;
+    private final LocalDate day;
+    private final BigDecimal amount;
+}
@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Net amount an expense has posted to one budget's consumption ledger
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetExpensePosting {
+    private final UUID expenseId;
+    private final UUID budgetId;
+    private final BigDecimal amount;
+}
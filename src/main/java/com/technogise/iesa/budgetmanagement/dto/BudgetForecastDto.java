@@ -0,0 +1,30 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetForecastDto {
+    private UUID budgetId;
+    private String budgetName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDate asOfDate;
+    private BigDecimal allocatedAmount;
+    private BigDecimal consumedAmount;
+    private BigDecimal dailyBurnRate;
+    private BigDecimal burnRateTrend;
+    private BigDecimal projectedEndOfPeriodSpend;
+    private BigDecimal projectedOverrun;
+    private LocalDate projectedExhaustionDate;
+    private Long daysObserved;
+}
@@ -0,0 +1,30 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Period, allocation and ledger-aware consumption of a budget, read in one statement for forecasting
+ */
+@Getter
+public class BudgetForecastInput {
+    private final UUID budgetId;
+    private final String name;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final BigDecimal allocatedAmount;
+    private final BudgetConsumptionLevel consumption;
+
+    public BudgetForecastInput(UUID budgetId, String name, LocalDate startDate, LocalDate endDate,
+                               BigDecimal allocatedAmount, BigDecimal consumedAmount, BigDecimal pendingAmount) {
+        this.budgetId = budgetId;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.allocatedAmount = allocatedAmount;
+        this.consumption = new BudgetConsumptionLevel(budgetId, consumedAmount, pendingAmount);
+    }
+}
@@ -0,0 +1,20 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Scope and date range of an active budget, as held by the budget interval index
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetInterval {
+    private final UUID budgetId;
+    private final UUID segmentId;
+    private final UUID departmentId;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+}
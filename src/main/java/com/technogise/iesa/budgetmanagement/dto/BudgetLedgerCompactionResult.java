@@ -0,0 +1,15 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetLedgerCompactionResult {
+    private long entriesFolded;
+    private long budgetsUpdated;
+    private int batches;
+    private boolean complete;
+    private long durationMs;
+}
@@ -0,0 +1,17 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Sum of the ledger deltas of one budget that the compactor has not folded yet
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetPendingConsumption {
+    private final UUID budgetId;
+    private final BigDecimal amount;
+}
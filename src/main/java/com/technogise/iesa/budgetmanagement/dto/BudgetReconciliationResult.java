@@ -0,0 +1,24 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetReconciliationResult {
+    private LocalDate startDateFrom;
+    private long budgetsChecked;
+    private long driftCount;
+    private BigDecimal totalAbsoluteDrift;
+    // Largest drifts first, capped at the configured report size
+    private List<BudgetConsumptionDrift> drifts;
+    private boolean repaired;
+    private long budgetsRepaired;
+    private int partitions;
+    private long durationMs;
+}
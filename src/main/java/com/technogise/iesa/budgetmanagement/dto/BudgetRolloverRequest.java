@@ -0,0 +1,32 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRolloverRequest {
+
+    @NotNull(message = "Period end from date is required")
+    private LocalDate periodEndFrom;
+
+    @NotNull(message = "Period end to date is required")
+    private LocalDate periodEndTo;
+
+    // NONE, UNSPENT, UNSPENT_CAPPED or NET; the configured default when absent
+    private String carryForwardMode;
+
+    @DecimalMin(value = "0.00", message = "Carry forward cap must be at least 0")
+    @DecimalMax(value = "100.00", message = "Carry forward cap must not exceed 100")
+    private BigDecimal carryForwardCapPercentage;
+}
@@ -0,0 +1,21 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRolloverResult {
+    private LocalDate periodEndFrom;
+    private LocalDate periodEndTo;
+    private String carryForwardMode;
+    private long budgetsScanned;
+    private long budgetsCreated;
+    private long thresholdsCreated;
+    private long recipientsCreated;
+    private int chunks;
+    private long durationMs;
+}
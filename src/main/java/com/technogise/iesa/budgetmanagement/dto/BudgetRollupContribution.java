@@ -0,0 +1,47 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * What one active budget adds to the rollups of its segment and department
+ */
+@Getter
+public class BudgetRollupContribution {
+    private final UUID budgetId;
+    private final UUID segmentId;
+    private final UUID departmentId;
+    private final BigDecimal allocatedAmount;
+    private final BigDecimal consumedAmount;
+
+    public BudgetRollupContribution(UUID budgetId, UUID segmentId, UUID departmentId, BigDecimal allocatedAmount,
+                                    BigDecimal consumedAmount, BigDecimal pendingAmount) {
+        this(budgetId, segmentId, departmentId, allocatedAmount,
+                pendingAmount == null ? consumedAmount : consumedAmount.add(pendingAmount));
+    }
+
+    private BudgetRollupContribution(UUID budgetId, UUID segmentId, UUID departmentId, BigDecimal allocatedAmount,
+                                     BigDecimal consumedAmount) {
+        this.budgetId = budgetId;
+        this.segmentId = segmentId;
+        this.departmentId = departmentId;
+        this.allocatedAmount = allocatedAmount;
+        this.consumedAmount = consumedAmount;
+    }
+
+    /**
+     * The same contribution with consumption moved by the given delta
+     */
+    public BudgetRollupContribution withConsumption(BigDecimal delta) {
+        return new BudgetRollupContribution(budgetId, segmentId, departmentId, allocatedAmount, consumedAmount.add(delta));
+    }
+
+    /**
+     * Consumption as budgets report it
+     */
+    public BigDecimal getEffectiveConsumedAmount() {
+        return consumedAmount;
+    }
+}
@@ -0,0 +1,21 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRollupDto {
+    private List<BudgetRollupNodeDto> segments;
+    private BudgetRollupNodeDto unassignedSegment;
+    private List<BudgetRollupNodeDto> departments;
+    private BudgetRollupNodeDto unassignedDepartment;
+    private Instant rebuiltAt;
+}
@@ -0,0 +1,29 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRollupNodeDto {
+    private UUID id;
+    private String name;
+    private String code;
+    private long budgetCount;
+    private BigDecimal allocatedAmount;
+    private BigDecimal consumedAmount;
+    private long totalBudgetCount;
+    private BigDecimal totalAllocatedAmount;
+    private BigDecimal totalConsumedAmount;
+    private BigDecimal totalRemainingAmount;
+    private BigDecimal utilizationPercentage;
+    private List<BudgetRollupNodeDto> children;
+}
@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A threshold whose trigger amount a consumption change has just reached
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetThresholdCrossing {
+    private final UUID budgetId;
+    private final UUID thresholdId;
+    private final BigDecimal percentage;
+}
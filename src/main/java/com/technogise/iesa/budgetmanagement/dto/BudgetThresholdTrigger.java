@@ -0,0 +1,19 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * An enabled threshold together with the allocated amount of its budget
+ */
+@Getter
+@AllArgsConstructor
+public class BudgetThresholdTrigger {
+    private final UUID thresholdId;
+    private final UUID budgetId;
+    private final BigDecimal allocatedAmount;
+    private final BigDecimal percentage;
+}
@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A segment or department with its parent, as a node of a rollup tree
+ */
+@Getter
+@AllArgsConstructor
+public class RollupTreeNode {
+    private final UUID id;
+    private final UUID parentId;
+    private final String name;
+    private final String code;
+}
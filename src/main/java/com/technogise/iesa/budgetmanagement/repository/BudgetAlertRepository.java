@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, UUID> {
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, UUID>, BudgetAlertRepositoryCustom {
 
     @Query("SELECT a FROM BudgetAlert a WHERE a.budget.id = :budgetId ORDER BY a.triggeredDate DESC")
     List<BudgetAlert> findByBudgetId(@Param("budgetId") UUID budgetId);
@@ -29,11 +29,25 @@ public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, UUID>
         @Param("isAcknowledged") Boolean isAcknowledged
     );
 
+    /** Delete up to limit alerts triggered before the cutoff, so a large purge runs as many short transactions */
     @Modifying
-    @Query("DELETE FROM BudgetAlert a WHERE a.isAcknowledged = :isAcknowledged")
-    int deleteByIsAcknowledged(@Param("isAcknowledged") Boolean isAcknowledged);
+    @Query(value = "DELETE FROM budget_alerts WHERE id IN " +
+                   "(SELECT id FROM budget_alerts WHERE triggered_date < :before LIMIT :limit)", nativeQuery = true)
+    int deleteTriggeredBefore(@Param("before") Instant before, @Param("limit") int limit);
 
+    /** Delete up to limit alerts acknowledged before the cutoff */
     @Modifying
-    @Query("DELETE FROM BudgetAlert a WHERE a.triggeredDate < :before")
-    int deleteOldAlerts(@Param("before") Instant before);
+    @Query(value = "DELETE FROM budget_alerts WHERE id IN " +
+                   "(SELECT id FROM budget_alerts WHERE is_acknowledged = true AND acknowledged_date < :before LIMIT :limit)",
+           nativeQuery = true)
+    int deleteAcknowledgedBefore(@Param("before") Instant before, @Param("limit") int limit);
+
+    /** Queue a notification of the alert for each active recipient of its threshold */
+    @Modifying
+    @Query(value = "INSERT INTO alert_notification_outbox (alert_id, recipient_id) " +
+                   "SELECT a.id, r.user_id FROM budget_alerts a " +
+                   "JOIN budget_threshold_recipients r ON r.threshold_id = a.threshold_id " +
+                   "JOIN users u ON u.id = r.user_id AND u.is_active = true AND u.deleted_at IS NULL " +
+                   "WHERE a.id = :alertId", nativeQuery = true)
+    int enqueueNotifications(@Param("alertId") UUID alertId);
 }
@@ -0,0 +1,20 @@
+package com.technogise.iesa.budgetmanagement.repository;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+
+import java.util.Collection;
+
+/**
+ * Alert writes that need PostgreSQL set-based inserts
+ */
+public interface BudgetAlertRepositoryCustom {
+
+    /**
+     * Insert one unacknowledged alert per crossing in a single statement. Crossings that already have an
+     * unacknowledged alert are skipped, so concurrent detectors cannot create duplicates. Notifications
+     * for the recipients of each inserted alert are queued in the outbox by the same statement.
+     *
+     * @return number of alerts actually inserted
+     */
+    int insertOpenAlerts(Collection<BudgetThresholdCrossing> crossings);
+}
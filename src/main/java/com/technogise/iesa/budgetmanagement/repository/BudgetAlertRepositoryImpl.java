@@ -0,0 +1,75 @@
+package com.technogise.iesa.budgetmanagement.repository;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+import com.technogise.iesa.shared.domain.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Implementation of {@link BudgetAlertRepositoryCustom}, picked up by Spring Data through the Impl suffix
+ */
+public class BudgetAlertRepositoryImpl implements BudgetAlertRepositoryCustom {
+
+    static final String ALERT_MESSAGE = "Budget threshold of %s%% has been reached";
+
+    // Queues a notification for every active recipient of each alert actually inserted, in the same statement
+    private static final String INSERT_SQL =
+            "WITH inserted AS ("
+                    + "INSERT INTO budget_alerts (id, budget_id, threshold_id, triggered_date, message, is_acknowledged, created_at) "
+                    + "SELECT c.id, c.budget_id, c.threshold_id, ?, c.message, false, ? "
+                    + "FROM unnest(?::uuid[], ?::uuid[], ?::uuid[], ?::text[]) AS c(id, budget_id, threshold_id, message) "
+                    + "ON CONFLICT (budget_id, threshold_id) WHERE is_acknowledged = false DO NOTHING "
+                    + "RETURNING id, threshold_id), "
+                    + "queued AS ("
+                    + "INSERT INTO alert_notification_outbox (alert_id, recipient_id) "
+                    + "SELECT i.id, r.user_id FROM inserted i "
+                    + "JOIN budget_threshold_recipients r ON r.threshold_id = i.threshold_id "
+                    + "JOIN users u ON u.id = r.user_id AND u.is_active = true AND u.deleted_at IS NULL "
+                    + "RETURNING 1) "
+                    + "SELECT (SELECT COUNT(*) FROM inserted)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertOpenAlerts(Collection<BudgetThresholdCrossing> crossings) {
+        if (crossings == null || crossings.isEmpty()) {
+            return 0;
+        }
+        Object[] ids = new Object[crossings.size()];
+        Object[] budgetIds = new Object[crossings.size()];
+        Object[] thresholdIds = new Object[crossings.size()];
+        Object[] messages = new Object[crossings.size()];
+        int i = 0;
+        for (BudgetThresholdCrossing crossing : crossings) {
+            ids[i] = UuidV7Generator.generate();
+            budgetIds[i] = crossing.getBudgetId();
+            thresholdIds[i] = crossing.getThresholdId();
+            messages[i] = String.format(ALERT_MESSAGE, crossing.getPercentage());
+            i++;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                statement.setTimestamp(1, now);
+                statement.setTimestamp(2, now);
+                statement.setArray(3, connection.createArrayOf("uuid", ids));
+                statement.setArray(4, connection.createArrayOf("uuid", budgetIds));
+                statement.setArray(5, connection.createArrayOf("uuid", thresholdIds));
+                statement.setArray(6, connection.createArrayOf("text", messages));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getInt(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.technogise.iesa.budgetmanagement.repository;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption;
+import com.technogise.iesa.budgetmanagement.dto.BudgetExpensePosting;
+import com.technogise.iesa.budgetmanagement.dto.BudgetPendingConsumption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BudgetConsumptionLedgerRepository extends JpaRepository<BudgetConsumptionEntry, Long>,
+        BudgetConsumptionLedgerRepositoryCustom {
+
+    /** Sum of the unfolded deltas of a budget, or null when there are none */
+    @Query("SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = :budgetId AND e.foldedAt IS NULL")
+    BigDecimal sumPendingByBudgetId(@Param("budgetId") UUID budgetId);
+
+    /** Unfolded delta sums for the given budgets; budgets without pending deltas are absent */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetPendingConsumption(e.budgetId, SUM(e.amount)) " +
+           "FROM BudgetConsumptionEntry e WHERE e.budgetId IN :budgetIds AND e.foldedAt IS NULL GROUP BY e.budgetId")
+    List<BudgetPendingConsumption> sumPendingByBudgetIds(@Param("budgetIds") Collection<UUID> budgetIds);
+
+    /** Highest ledger id, or 0 for an empty ledger */
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM BudgetConsumptionEntry e")
+    long findMaxId();
+
+    /** Net posted amount per expense and budget, folded or not */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetExpensePosting(e.expenseId, e.budgetId, SUM(e.amount)) " +
+           "FROM BudgetConsumptionEntry e WHERE e.expenseId IN :expenseIds GROUP BY e.expenseId, e.budgetId")
+    List<BudgetExpensePosting> sumByExpenseIds(@Param("expenseIds") Collection<UUID> expenseIds);
+
+    /** Net consumption per budget and posting day in [from, until), ordered by budget and day */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption(e.budgetId, " +
+           "CAST(e.createdAt AS LocalDate), SUM(e.amount)) " +
+           "FROM BudgetConsumptionEntry e WHERE e.budgetId IN :budgetIds AND e.createdAt >= :from AND e.createdAt < :until " +
+           "GROUP BY e.budgetId, CAST(e.createdAt AS LocalDate) ORDER BY e.budgetId, CAST(e.createdAt AS LocalDate)")
+    List<BudgetDailyConsumption> sumDailyByBudgetIds(@Param("budgetIds") Collection<UUID> budgetIds,
+                                                     @Param("from") Instant from,
+                                                     @Param("until") Instant until);
+}
@@ -0,0 +1,18 @@
+package com.technogise.iesa.budgetmanagement.repository;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+
+import java.util.Collection;
+
+/**
+ * Ledger writes that need JDBC batching
+ */
+public interface BudgetConsumptionLedgerRepositoryCustom {
+
+    /**
+     * Insert the entries in one JDBC batch on the current transaction's connection
+     *
+     * @return highest id assigned, or 0 when there was nothing to insert
+     */
+    long appendEntries(Collection<BudgetConsumptionEntry> entries);
+}
@@ -0,0 +1,52 @@
+package com.technogise.iesa.budgetmanagement.repository;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Implementation of {@link BudgetConsumptionLedgerRepositoryCustom}, picked up by Spring Data through the Impl suffix
+ */
+public class BudgetConsumptionLedgerRepositoryImpl implements BudgetConsumptionLedgerRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO budget_consumption_ledger (budget_id, expense_id, amount, source, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long appendEntries(Collection<BudgetConsumptionEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (BudgetConsumptionEntry entry : entries) {
+                    statement.setObject(1, entry.getBudgetId());
+                    statement.setObject(2, entry.getExpenseId());
+                    statement.setBigDecimal(3, entry.getAmount());
+                    statement.setString(4, entry.getSource().name());
+                    statement.setTimestamp(5, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                long highestId = 0;
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        highestId = Math.max(highestId, keys.getLong(1));
+                    }
+                }
+                return highestId;
+            }
+        });
+    }
+}
@@ -2,12 +2,19 @@ package com.technogise.iesa.budgetmanagement.repository;
 
 import com.technogise.iesa.budgetmanagement.domain.Budget;
 import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
+import com.technogise.iesa.budgetmanagement.dto.BudgetCapacity;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastInput;
+import com.technogise.iesa.budgetmanagement.dto.BudgetInterval;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupContribution;
+import com.technogise.iesa.budgetmanagement.dto.RollupTreeNode;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -54,4 +61,61 @@ public interface BudgetRepository extends JpaRepository<Budget, UUID> {
 
     @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.segment LEFT JOIN FETCH b.department WHERE b.department.id = :departmentId AND :date >= b.startDate AND :date <= b.endDate AND b.isActive = true AND b.deletedAt IS NULL")
     List<Budget> findActiveByDepartmentAndDate(@Param("departmentId") UUID departmentId, @Param("date") LocalDate date);
+
+    /** Scope and date range of every active budget (excluding soft-deleted) */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetInterval(b.id, s.id, d.id, b.startDate, b.endDate) " +
+           "FROM Budget b LEFT JOIN b.segment s LEFT JOIN b.department d WHERE b.isActive = true AND b.deletedAt IS NULL")
+    List<BudgetInterval> findActiveIntervals();
+
+    /** Folded consumption and pending ledger sum of each budget, read in one statement so both come from one snapshot */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel(b.id, b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b WHERE b.id IN :ids")
+    List<BudgetConsumptionLevel> findConsumptionLevels(@Param("ids") Collection<UUID> ids);
+
+    /** Forecast inputs of the given budgets (excluding soft-deleted) */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetForecastInput(b.id, b.name, b.startDate, b.endDate, " +
+           "b.allocatedAmount, b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b WHERE b.id IN :ids AND b.deletedAt IS NULL")
+    List<BudgetForecastInput> findForecastInputs(@Param("ids") Collection<UUID> ids);
+
+    /** Forecast inputs of every active budget (excluding soft-deleted) */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetForecastInput(b.id, b.name, b.startDate, b.endDate, " +
+           "b.allocatedAmount, b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b WHERE b.isActive = true AND b.deletedAt IS NULL")
+    List<BudgetForecastInput> findActiveForecastInputs();
+
+    /** Allocation and ledger-aware consumption of the given budgets */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetCapacity(b.id, b.name, b.allocatedAmount, " +
+           "b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b WHERE b.id IN :ids")
+    List<BudgetCapacity> findCapacities(@Param("ids") Collection<UUID> ids);
+
+    /** Every segment (excluding soft-deleted) with its parent */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.RollupTreeNode(s.id, p.id, s.name, s.code) " +
+           "FROM Segment s LEFT JOIN s.parentSegment p WHERE s.deletedAt IS NULL")
+    List<RollupTreeNode> findSegmentTreeNodes();
+
+    /** Every department (excluding soft-deleted) with its parent */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.RollupTreeNode(d.id, p.id, d.name, d.code) " +
+           "FROM Department d LEFT JOIN d.parentDepartment p WHERE d.deletedAt IS NULL")
+    List<RollupTreeNode> findDepartmentTreeNodes();
+
+    /** Rollup contribution of every active budget (excluding soft-deleted) */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetRollupContribution(b.id, s.id, d.id, " +
+           "b.allocatedAmount, b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b LEFT JOIN b.segment s LEFT JOIN b.department d WHERE b.isActive = true AND b.deletedAt IS NULL")
+    List<BudgetRollupContribution> findActiveRollupContributions();
+
+    /** Rollup contribution of the given budgets, absent for inactive or soft-deleted ones */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetRollupContribution(b.id, s.id, d.id, " +
+           "b.allocatedAmount, b.consumedAmount, " +
+           "(SELECT SUM(e.amount) FROM BudgetConsumptionEntry e WHERE e.budgetId = b.id AND e.foldedAt IS NULL)) " +
+           "FROM Budget b LEFT JOIN b.segment s LEFT JOIN b.department d " +
+           "WHERE b.id IN :ids AND b.isActive = true AND b.deletedAt IS NULL")
+    List<BudgetRollupContribution> findRollupContributions(@Param("ids") Collection<UUID> ids);
 }
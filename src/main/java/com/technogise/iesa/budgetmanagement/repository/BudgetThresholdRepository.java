@@ -1,12 +1,14 @@
 package com.technogise.iesa.budgetmanagement.repository;
 
 import com.technogise.iesa.budgetmanagement.domain.BudgetThreshold;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdTrigger;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,4 +21,15 @@ public interface BudgetThresholdRepository extends JpaRepository<BudgetThreshold
 
     @Query("SELECT CASE WHEN COUNT(t) > 0 THEN true ELSE false END FROM BudgetThreshold t WHERE t.budget.id = :budgetId AND t.percentage = :percentage")
     boolean existsByBudgetIdAndPercentage(@Param("budgetId") UUID budgetId, @Param("percentage") BigDecimal percentage);
+
+    /** Enabled thresholds of the given active budgets (excluding soft-deleted) with their allocated amounts */
+    @Query("SELECT new com.technogise.iesa.budgetmanagement.dto.BudgetThresholdTrigger(t.id, b.id, b.allocatedAmount, t.percentage) " +
+           "FROM BudgetThreshold t JOIN t.budget b " +
+           "WHERE b.id IN :budgetIds AND t.alertEnabled = true AND b.isActive = true AND b.deletedAt IS NULL")
+    List<BudgetThresholdTrigger> findEnabledTriggersByBudgetIds(@Param("budgetIds") Collection<UUID> budgetIds);
+
+    /** Active budgets (excluding soft-deleted) with at least one enabled threshold */
+    @Query("SELECT DISTINCT b.id FROM BudgetThreshold t JOIN t.budget b " +
+           "WHERE t.alertEnabled = true AND b.isActive = true AND b.deletedAt IS NULL")
+    List<UUID> findBudgetIdsWithEnabledThresholds();
 }
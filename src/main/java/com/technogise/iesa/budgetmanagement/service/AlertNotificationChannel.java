@@ -0,0 +1,14 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+
+/**
+ * Transport for budget alert digests. The active implementation is chosen by iesa.notifications.channel.
+ */
+public interface AlertNotificationChannel {
+
+    /**
+     * Deliver the digest, throwing a RuntimeException if it was not delivered so it is retried later
+     */
+    void deliver(AlertNotificationDigest digest);
+}
@@ -0,0 +1,195 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.AlertNotificationStatus;
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationItem;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Drains alert_notification_outbox. Each batch is claimed in one autocommitted statement that pushes the
+ * rows' next_attempt_at past the claim timeout, so delivery holds no transaction or row lock, several nodes
+ * can drain concurrently, and rows claimed by a node that dies become due again. Claimed rows are grouped
+ * into one digest per recipient; failed digests are retried with exponential backoff until max-attempts.
+ */
+@Service
+@Slf4j
+public class AlertNotificationDispatcher {
+
+    private static final String CLAIM_SQL =
+            "WITH claimed AS ("
+                    + "UPDATE alert_notification_outbox o "
+                    + "SET next_attempt_at = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond', attempts = o.attempts + 1 "
+                    + "WHERE o.id IN (SELECT id FROM alert_notification_outbox "
+                    + "WHERE status = 'PENDING' AND next_attempt_at <= CURRENT_TIMESTAMP "
+                    + "ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING o.id, o.alert_id, o.recipient_id) "
+                    + "SELECT c.id, c.recipient_id, u.email, u.first_name, u.last_name, "
+                    + "a.id, b.id, b.name, a.message, a.triggered_date "
+                    + "FROM claimed c "
+                    + "JOIN users u ON u.id = c.recipient_id "
+                    + "JOIN budget_alerts a ON a.id = c.alert_id "
+                    + "JOIN budgets b ON b.id = a.budget_id "
+                    + "ORDER BY c.recipient_id, a.triggered_date";
+
+    private static final String MARK_SENT_SQL =
+            "UPDATE alert_notification_outbox SET status = ?, sent_at = CURRENT_TIMESTAMP, last_error = NULL "
+                    + "WHERE id = ANY(?)";
+
+    // Backoff doubles with every attempt already made, capped at backoff-max-ms
+    private static final String MARK_FAILED_SQL =
+            "UPDATE alert_notification_outbox SET "
+                    + "status = CASE WHEN attempts >= ? THEN ? ELSE ? END, "
+                    + "next_attempt_at = CURRENT_TIMESTAMP + LEAST(? * POWER(2, attempts - 1), ?) * INTERVAL '1 millisecond', "
+                    + "last_error = ? "
+                    + "WHERE id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AlertNotificationChannel channel;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long claimTimeoutMs;
+
+    public AlertNotificationDispatcher(JdbcTemplate jdbcTemplate,
+                                       AlertNotificationChannel channel,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${iesa.notifications.batch-size:200}") int batchSize,
+                                       @Value("${iesa.notifications.max-batches-per-run:50}") int maxBatchesPerRun,
+                                       @Value("${iesa.notifications.max-attempts:8}") int maxAttempts,
+                                       @Value("${iesa.notifications.backoff-base-ms:30000}") long backoffBaseMs,
+                                       @Value("${iesa.notifications.backoff-max-ms:3600000}") long backoffMaxMs,
+                                       @Value("${iesa.notifications.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.channel = channel;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+    }
+
+    @Scheduled(cron = "${iesa.notifications.dispatch-cron:*/10 * * * * *}")
+    public void scheduledDispatch() {
+        try {
+            dispatch();
+        } catch (RuntimeException e) {
+            log.error("Alert notification dispatch failed", e);
+        }
+    }
+
+    /**
+     * Deliver due notifications batch by batch until none are due or the per-run limit is reached
+     *
+     * @return number of notifications delivered
+     */
+    public int dispatch() {
+        int delivered = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<ClaimedNotification> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> toClaimed(rs),
+                    claimTimeoutMs, batchSize);
+            delivered += deliver(claimed);
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int deliver(List<ClaimedNotification> claimed) {
+        Map<UUID, List<ClaimedNotification>> byRecipient = new LinkedHashMap<>();
+        for (ClaimedNotification notification : claimed) {
+            byRecipient.computeIfAbsent(notification.recipientId, key -> new ArrayList<>()).add(notification);
+        }
+
+        int delivered = 0;
+        for (List<ClaimedNotification> notifications : byRecipient.values()) {
+            ClaimedNotification first = notifications.get(0);
+            AlertNotificationDigest digest = new AlertNotificationDigest(first.recipientId, first.email,
+                    first.recipientName, notifications.stream().map(n -> n.item).toList());
+            Long[] ids = notifications.stream().map(n -> n.id).toArray(Long[]::new);
+            try {
+                channel.deliver(digest);
+            } catch (RuntimeException e) {
+                log.warn("Delivery of {} alert notifications to {} failed: {}", ids.length, first.email, e.getMessage());
+                markFailed(ids, String.valueOf(e.getMessage()));
+                meterRegistry.counter("iesa.alert.notifications", "outcome", "failed").increment(ids.length);
+                continue;
+            }
+            markSent(ids);
+            meterRegistry.counter("iesa.alert.notifications", "outcome", "sent").increment(ids.length);
+            meterRegistry.counter("iesa.alert.notification.digests").increment();
+            delivered += ids.length;
+        }
+        return delivered;
+    }
+
+    private void markSent(Long[] ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MARK_SENT_SQL);
+            statement.setString(1, AlertNotificationStatus.SENT.name());
+            statement.setArray(2, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+
+    private void markFailed(Long[] ids, String error) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MARK_FAILED_SQL);
+            statement.setInt(1, maxAttempts);
+            statement.setString(2, AlertNotificationStatus.FAILED.name());
+            statement.setString(3, AlertNotificationStatus.PENDING.name());
+            statement.setLong(4, backoffBaseMs);
+            statement.setLong(5, backoffMaxMs);
+            statement.setString(6, error.length() <= 1000 ? error : error.substring(0, 1000));
+            statement.setArray(7, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+
+    private static ClaimedNotification toClaimed(ResultSet rs) throws SQLException {
+        String name = String.join(" ", Objects.toString(rs.getString(4), ""), Objects.toString(rs.getString(5), "")).trim();
+        return new ClaimedNotification(
+                rs.getLong(1),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                name,
+                new AlertNotificationItem(
+                        rs.getObject(6, UUID.class),
+                        rs.getObject(7, UUID.class),
+                        rs.getString(8),
+                        rs.getString(9),
+                        rs.getTimestamp(10).toLocalDateTime()));
+    }
+
+    private static final class ClaimedNotification {
+        private final long id;
+        private final UUID recipientId;
+        private final String email;
+        private final String recipientName;
+        private final AlertNotificationItem item;
+
+        private ClaimedNotification(long id, UUID recipientId, String email, String recipientName,
+                                    AlertNotificationItem item) {
+            this.id = id;
+            this.recipientId = recipientId;
+            this.email = email;
+            this.recipientName = recipientName;
+            this.item = item;
+        }
+    }
+}
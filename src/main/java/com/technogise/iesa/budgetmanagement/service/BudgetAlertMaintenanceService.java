@@ -0,0 +1,114 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Scheduled upkeep of budget alerts: a periodic threshold sweep that catches crossings the posting-time
+ * check missed, and a nightly purge of old and acknowledged alerts. Both run through ScheduledJobRunner,
+ * so each firing executes on one node only. Purges delete in bounded chunks, one transaction per chunk,
+ * so a large backlog never holds locks or a long transaction on budget_alerts.
+ */
+@Service
+@Slf4j
+public class BudgetAlertMaintenanceService {
+
+    static final String SWEEP_JOB = "budget-alert-sweep";
+    static final String PURGE_JOB = "budget-alert-purge";
+
+    private final BudgetAlertService alertService;
+    private final BudgetAlertRepository alertRepository;
+    private final ScheduledJobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int acknowledgedRetentionDays;
+    private final int purgeChunkSize;
+    private final int maxPurgeChunksPerRun;
+    private final int historyRetentionDays;
+
+    public BudgetAlertMaintenanceService(BudgetAlertService alertService,
+                                         BudgetAlertRepository alertRepository,
+                                         ScheduledJobRunner jobRunner,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${iesa.budget.alerts.retention-days:90}") int retentionDays,
+                                         @Value("${iesa.budget.alerts.acknowledged-retention-days:7}") int acknowledgedRetentionDays,
+                                         @Value("${iesa.budget.alerts.purge-chunk-size:5000}") int purgeChunkSize,
+                                         @Value("${iesa.budget.alerts.max-purge-chunks-per-run:1000}") int maxPurgeChunksPerRun,
+                                         @Value("${iesa.scheduling.history-retention-days:30}") int historyRetentionDays) {
+        this.alertService = alertService;
+        this.alertRepository = alertRepository;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.acknowledgedRetentionDays = acknowledgedRetentionDays;
+        this.purgeChunkSize = purgeChunkSize;
+        this.maxPurgeChunksPerRun = maxPurgeChunksPerRun;
+        this.historyRetentionDays = historyRetentionDays;
+    }
+
+    @Scheduled(cron = "${iesa.budget.alerts.sweep-cron:0 */15 * * * *}")
+    public void scheduledSweep() {
+        try {
+            jobRunner.runExclusively(SWEEP_JOB, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                    alertService::checkAndCreateAlerts);
+        } catch (RuntimeException e) {
+            log.error("Budget alert sweep failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${iesa.budget.alerts.purge-cron:0 15 3 * * *}")
+    public void scheduledPurge() {
+        try {
+            jobRunner.runExclusively(PURGE_JOB, Duration.ofHours(1), Duration.ofMinutes(5), () ->
+                    purgeOldAlerts(retentionDays)
+                            + purgeAcknowledgedAlerts(acknowledgedRetentionDays)
+                            + jobRunner.purgeHistory(historyRetentionDays));
+        } catch (RuntimeException e) {
+            log.error("Budget alert purge failed", e);
+        }
+    }
+
+    /**
+     * Delete alerts triggered more than the given number of days ago
+     *
+     * @return number of alerts deleted
+     */
+    public long purgeOldAlerts(int days) {
+        Instant before = Instant.now().minus(days, ChronoUnit.DAYS);
+        return purgeInChunks(() -> alertRepository.deleteTriggeredBefore(before, purgeChunkSize));
+    }
+
+    /**
+     * Delete acknowledged alerts acknowledged more than the given number of days ago; 0 deletes them all
+     *
+     * @return number of alerts deleted
+     */
+    public long purgeAcknowledgedAlerts(int days) {
+        Instant before = Instant.now().minus(days, ChronoUnit.DAYS);
+        return purgeInChunks(() -> alertRepository.deleteAcknowledgedBefore(before, purgeChunkSize));
+    }
+
+    private long purgeInChunks(IntSupplier deleteChunk) {
+        long deleted = 0;
+        for (int chunk = 0; chunk < maxPurgeChunksPerRun; chunk++) {
+            Integer count = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+            int chunkDeleted = count == null ? 0 : count;
+            deleted += chunkDeleted;
+            if (chunkDeleted < purgeChunkSize) {
+                break;
+            }
+        }
+        return deleted;
+    }
+}
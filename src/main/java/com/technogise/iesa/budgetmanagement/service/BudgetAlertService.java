@@ -1,11 +1,12 @@
 package com.technogise.iesa.budgetmanagement.service;
 
-import com.technogise.iesa.budgetmanagement.domain.Budget;
 import com.technogise.iesa.budgetmanagement.domain.BudgetAlert;
 import com.technogise.iesa.budgetmanagement.domain.BudgetThreshold;
 import com.technogise.iesa.budgetmanagement.dto.BudgetAlertDto;
 import com.technogise.iesa.budgetmanagement.dto.BudgetMapper;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
 import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
 import com.technogise.iesa.budgetmanagement.repository.BudgetThresholdRepository;
 import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -22,9 +23,13 @@ import java.util.UUID;
 @Transactional
 public class BudgetAlertService {
 
+    static final int CHECK_CHUNK_SIZE = 1000;
+
     private final BudgetAlertRepository alertRepository;
     private final BudgetThresholdRepository thresholdRepository;
     private final BudgetMapper budgetMapper;
+    private final BudgetRepository budgetRepository;
+    private final BudgetThresholdIndex thresholdIndex;
 
     @Transactional(readOnly = true)
     public List<BudgetAlertDto> getAllAlerts() {
@@ -66,6 +71,7 @@ public class BudgetAlertService {
                 .build();
 
         BudgetAlert savedAlert = alertRepository.save(alert);
+        alertRepository.enqueueNotifications(savedAlert.getId());
         return budgetMapper.toDto(savedAlert);
     }
 
@@ -81,52 +87,21 @@ public class BudgetAlertService {
         alertRepository.delete(alert);
     }
 
-    public int deleteAcknowledgedAlerts() {
-        return alertRepository.deleteByIsAcknowledged(true);
-    }
-
-    public int deleteOldAlerts(int days) {
-        Instant before = Instant.now().minus(days, ChronoUnit.DAYS);
-        return alertRepository.deleteOldAlerts(before);
-    }
-
+    /**
+     * Full re-check of every active budget with enabled thresholds, for crossings the posting-time
+     * detection missed. Budgets are read in chunks with their ledger-aware consumption, and alerts
+     * are inserted per chunk, skipping thresholds that already have an unacknowledged alert.
+     */
     public int checkAndCreateAlerts() {
-        List<BudgetThreshold> enabledThresholds = thresholdRepository.findByAlertEnabled(true);
+        List<UUID> budgetIds = thresholdRepository.findBudgetIdsWithEnabledThresholds();
         int alertsCreated = 0;
-
-        for (BudgetThreshold threshold : enabledThresholds) {
-            Budget budget = threshold.getBudget();
-
-            // Check if threshold is breached
-            if (threshold.isBreached()) {
-                // Check if alert already exists for this budget and threshold
-                boolean alertExists = alertRepository.existsByBudgetIdAndThresholdIdAndIsAcknowledged(
-                        budget.getId(),
-                        threshold.getId(),
-                        false
-                );
-
-                if (!alertExists) {
-                    // Create new alert
-                    String message = String.format(
-                            "Budget threshold of %s%% has been reached",
-                            threshold.getPercentage()
-                    );
-
-                    BudgetAlert alert = BudgetAlert.builder()
-                            .budget(budget)
-                            .threshold(threshold)
-                            .triggeredDate(Instant.now())
-                            .message(message)
-                            .isAcknowledged(false)
-                            .build();
-
-                    alertRepository.save(alert);
-                    alertsCreated++;
-                }
+        for (int from = 0; from < budgetIds.size(); from += CHECK_CHUNK_SIZE) {
+            List<UUID> chunk = budgetIds.subList(from, Math.min(from + CHECK_CHUNK_SIZE, budgetIds.size()));
+            List<BudgetThresholdCrossing> reached = thresholdIndex.findReached(budgetRepository.findConsumptionLevels(chunk));
+            if (!reached.isEmpty()) {
+                alertsCreated += alertRepository.insertOpenAlerts(reached);
             }
         }
-
         return alertsCreated;
     }
 
@@ -0,0 +1,107 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionSource;
+import com.technogise.iesa.budgetmanagement.dto.BudgetExpensePosting;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.expensemanagement.domain.Expense;
+import com.technogise.iesa.expensemanagement.domain.SegmentAllocation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Posts approved expenses to the consumption ledger of the budgets their allocations fall under, and
+ * reverses those postings. Every write joins the caller's transaction, so postings commit or roll back
+ * together with the status change that caused them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class BudgetConsumptionService {
+
+    private final BudgetConsumptionLedgerRepository ledgerRepository;
+    private final BudgetIntervalIndex budgetIndex;
+    private final BudgetThresholdMonitor thresholdMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void recordApproval(Expense expense) {
+        recordApprovals(List.of(expense));
+    }
+
+    /**
+     * Post each allocation amount to every active budget matching its segment, the submitter's department
+     * and the expense date. Allocations of one expense hitting the same budget become a single entry.
+     */
+    public void recordApprovals(Collection<Expense> expenses) {
+        List<BudgetConsumptionEntry> entries = new ArrayList<>();
+        for (Expense expense : expenses) {
+            UUID departmentId = expense.getSubmitter().getDepartment() == null
+                    ? null : expense.getSubmitter().getDepartment().getId();
+            Map<UUID, BigDecimal> amountByBudget = new LinkedHashMap<>();
+            for (SegmentAllocation allocation : expense.getSegmentAllocations()) {
+                for (UUID budgetId : budgetIndex.findMatching(allocation.getSegment().getId(), departmentId,
+                        expense.getExpenseDate())) {
+                    amountByBudget.merge(budgetId, allocation.getAmount(), BigDecimal::add);
+                }
+            }
+            amountByBudget.forEach((budgetId, amount) -> addEntry(entries, budgetId, expense.getId(), amount));
+        }
+        long ledgerId = ledgerRepository.appendEntries(entries);
+        log.debug("Posted {} budget consumption entries for {} approved expenses", entries.size(), expenses.size());
+
+        Map<UUID, BigDecimal> postedByBudget = new HashMap<>();
+        for (BudgetConsumptionEntry entry : entries) {
+            postedByBudget.merge(entry.getBudgetId(), entry.getAmount(), BigDecimal::add);
+        }
+        thresholdMonitor.onConsumptionPosted(postedByBudget);
+        publishPosted(postedByBudget, ledgerId);
+    }
+
+    public void reverseExpense(UUID expenseId) {
+        reverseExpenses(List.of(expenseId));
+    }
+
+    /**
+     * Cancel whatever the expenses still have posted, budget by budget. Reversal works from the ledger
+     * rather than the current budgets, so it stays exact after budgets are edited or deactivated.
+     */
+    public void reverseExpenses(Collection<UUID> expenseIds) {
+        if (expenseIds.isEmpty()) {
+            return;
+        }
+        List<BudgetConsumptionEntry> entries = new ArrayList<>();
+        Map<UUID, BigDecimal> reversedByBudget = new HashMap<>();
+        for (BudgetExpensePosting posting : ledgerRepository.sumByExpenseIds(expenseIds)) {
+            addEntry(entries, posting.getBudgetId(), posting.getExpenseId(), posting.getAmount().negate());
+            reversedByBudget.merge(posting.getBudgetId(), posting.getAmount().negate(), BigDecimal::add);
+        }
+        long ledgerId = ledgerRepository.appendEntries(entries);
+        publishPosted(reversedByBudget, ledgerId);
+    }
+
+    private void publishPosted(Map<UUID, BigDecimal> amountByBudget, long ledgerId) {
+        if (!amountByBudget.isEmpty()) {
+            eventPublisher.publishEvent(new BudgetConsumptionPostedEvent(amountByBudget, ledgerId));
+        }
+    }
+
+    private void addEntry(List<BudgetConsumptionEntry> entries, UUID budgetId, UUID expenseId, BigDecimal amount) {
+        if (amount.signum() != 0) {
+            entries.add(BudgetConsumptionEntry.builder()
+                    .budgetId(budgetId)
+                    .expenseId(expenseId)
+                    .amount(amount)
+                    .source(BudgetConsumptionSource.EXPENSE)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.service.DataVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts budget writes towards the budget data version. Listens inside the publishing transaction, so
+ * the version advances only if that transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetDataVersionListener {
+
+    private final DataVersionService dataVersionService;
+
+    @EventListener
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        dataVersionService.markChanged(DataDomain.BUDGETS);
+    }
+
+    @EventListener
+    public void onConsumptionPosted(BudgetConsumptionPostedEvent event) {
+        dataVersionService.markChanged(DataDomain.BUDGETS);
+    }
+}
@@ -0,0 +1,150 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastInput;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Projects when budgets run out from their daily consumption in the ledger. Each budget keeps a
+ * {@link BurnRateModel} in memory covering every complete day of its period so far; a forecast only
+ * reads the ledger days added since the model was last advanced. Today is left out of the fit until
+ * it is complete. Forecasts for many budgets fetch their new days in one query per chunk and are then
+ * computed in parallel.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BudgetForecastService {
+
+    static final int FETCH_CHUNK_SIZE = 1000;
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetConsumptionLedgerRepository ledgerRepository;
+
+    private final Map<UUID, BurnRateModel> models = new ConcurrentHashMap<>();
+
+    public BudgetForecastDto getForecast(UUID budgetId) {
+        List<BudgetForecastInput> inputs = budgetRepository.findForecastInputs(List.of(budgetId));
+        if (inputs.isEmpty()) {
+            throw new ResourceNotFoundException("Budget not found with id: " + budgetId);
+        }
+        return forecast(inputs).get(0);
+    }
+
+    public List<BudgetForecastDto> getActiveForecasts() {
+        return forecast(budgetRepository.findActiveForecastInputs());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        models.remove(event.getBudgetId());
+    }
+
+    private List<BudgetForecastDto> forecast(List<BudgetForecastInput> inputs) {
+        LocalDate today = LocalDate.now();
+        Map<UUID, BurnRateModel> current = new HashMap<>();
+        for (BudgetForecastInput input : inputs) {
+            current.put(input.getBudgetId(), models.compute(input.getBudgetId(), (id, existing) ->
+                    existing == null || !existing.getOrigin().equals(input.getStartDate())
+                            ? new BurnRateModel(input.getStartDate()) : existing));
+        }
+        Map<UUID, List<BudgetDailyConsumption>> newDays = fetchNewDays(inputs, current, today);
+        return inputs.parallelStream()
+                .map(input -> {
+                    BurnRateModel model = current.get(input.getBudgetId());
+                    model.advance(newDays.getOrDefault(input.getBudgetId(), List.of()), lastCompleteDay(input, today));
+                    return toForecast(input, model, today);
+                })
+                .toList();
+    }
+
+    /**
+     * Ledger days each budget's model does not cover yet, read in one query per chunk of budgets
+     * starting from the earliest uncovered day in the chunk
+     */
+    private Map<UUID, List<BudgetDailyConsumption>> fetchNewDays(List<BudgetForecastInput> inputs,
+                                                                 Map<UUID, BurnRateModel> current, LocalDate today) {
+        List<UUID> behind = new ArrayList<>();
+        List<LocalDate> fromDates = new ArrayList<>();
+        for (BudgetForecastInput input : inputs) {
+            LocalDate next = current.get(input.getBudgetId()).nextDate();
+            if (!next.isAfter(lastCompleteDay(input, today))) {
+                behind.add(input.getBudgetId());
+                fromDates.add(next);
+            }
+        }
+
+        Map<UUID, List<BudgetDailyConsumption>> byBudget = new HashMap<>();
+        ZoneId zone = ZoneId.systemDefault();
+        for (int from = 0; from < behind.size(); from += FETCH_CHUNK_SIZE) {
+            int to = Math.min(from + FETCH_CHUNK_SIZE, behind.size());
+            LocalDate earliest = Collections.min(fromDates.subList(from, to));
+            for (BudgetDailyConsumption daily : ledgerRepository.sumDailyByBudgetIds(behind.subList(from, to),
+                    earliest.atStartOfDay(zone).toInstant(), today.atStartOfDay(zone).toInstant())) {
+                byBudget.computeIfAbsent(daily.getBudgetId(), id -> new ArrayList<>()).add(daily);
+            }
+        }
+        return byBudget;
+    }
+
+    private static LocalDate lastCompleteDay(BudgetForecastInput input, LocalDate today) {
+        LocalDate yesterday = today.minusDays(1);
+        return yesterday.isBefore(input.getEndDate()) ? yesterday : input.getEndDate();
+    }
+
+    /**
+     * Consumption so far plus the fitted spend of every remaining day after today
+     */
+    private static BudgetForecastDto toForecast(BudgetForecastInput input, BurnRateModel model, LocalDate today) {
+        BurnRateModel.Fit fit = model.fit();
+        BigDecimal consumed = input.getConsumption().getEffectiveConsumedAmount();
+        double allocated = input.getAllocatedAmount().doubleValue();
+        double projected = consumed.doubleValue();
+
+        LocalDate exhaustion = projected >= allocated ? today : null;
+        LocalDate day = today.isBefore(input.getStartDate()) ? input.getStartDate() : today.plusDays(1);
+        for (; !day.isAfter(input.getEndDate()); day = day.plusDays(1)) {
+            projected += fit.rateAt(model.dayOf(day));
+            if (exhaustion == null && projected >= allocated) {
+                exhaustion = day;
+            }
+        }
+
+        LocalDate rateDay = today.isAfter(input.getEndDate()) ? input.getEndDate() : today;
+        BigDecimal projectedSpend = amount(projected);
+        return BudgetForecastDto.builder()
+                .budgetId(input.getBudgetId())
+                .budgetName(input.getName())
+                .startDate(input.getStartDate())
+                .endDate(input.getEndDate())
+                .asOfDate(today)
+                .allocatedAmount(input.getAllocatedAmount())
+                .consumedAmount(consumed)
+                .dailyBurnRate(amount(fit.rateAt(model.dayOf(rateDay))))
+                .burnRateTrend(amount(fit.getSlope()))
+                .projectedEndOfPeriodSpend(projectedSpend)
+                .projectedOverrun(projectedSpend.subtract(input.getAllocatedAmount()).max(BigDecimal.ZERO))
+                .projectedExhaustionDate(exhaustion)
+                .daysObserved(fit.getDaysObserved())
+                .build();
+    }
+
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,167 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetInterval;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of active budgets by scope and date range, used to find the budgets an expense
+ * allocation consumes without a query per allocation. A budget's segment and department are optional;
+ * an unset one matches any value. The index is rebuilt after local budget changes commit and on a
+ * schedule, which picks up changes made through other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetIntervalIndex {
+
+    private final BudgetRepository budgetRepository;
+
+    private volatile Map<ScopeKey, Intervals> intervalsByScope;
+
+    /**
+     * Ids of the active budgets whose scope covers the segment and department and whose
+     * [startDate, endDate] contains the date
+     */
+    public List<UUID> findMatching(UUID segmentId, UUID departmentId, LocalDate date) {
+        Map<ScopeKey, Intervals> index = current();
+        Set<ScopeKey> keys = new LinkedHashSet<>(4);
+        keys.add(new ScopeKey(segmentId, departmentId));
+        keys.add(new ScopeKey(segmentId, null));
+        keys.add(new ScopeKey(null, departmentId));
+        keys.add(new ScopeKey(null, null));
+
+        long day = date.toEpochDay();
+        List<UUID> matches = new ArrayList<>(4);
+        for (ScopeKey key : keys) {
+            Intervals intervals = index.get(key);
+            if (intervals != null) {
+                intervals.collect(day, matches);
+            }
+        }
+        return matches;
+    }
+
+    @Scheduled(cron = "${iesa.budget.index.refresh-cron:0 * * * * *}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Budget interval index refresh failed", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        List<BudgetInterval> active = budgetRepository.findActiveIntervals();
+        intervalsByScope = active.stream()
+                .collect(Collectors.groupingBy(b -> new ScopeKey(b.getSegmentId(), b.getDepartmentId()),
+                        Collectors.collectingAndThen(Collectors.toList(), Intervals::new)));
+        log.debug("Budget interval index rebuilt with {} active budgets in {} scopes", active.size(), intervalsByScope.size());
+    }
+
+    private Map<ScopeKey, Intervals> current() {
+        Map<ScopeKey, Intervals> index = intervalsByScope;
+        if (index == null) {
+            synchronized (this) {
+                if (intervalsByScope == null) {
+                    refresh();
+                }
+                index = intervalsByScope;
+            }
+        }
+        return index;
+    }
+
+    private static final class ScopeKey {
+        private final UUID segmentId;
+        private final UUID departmentId;
+
+        private ScopeKey(UUID segmentId, UUID departmentId) {
+            this.segmentId = segmentId;
+            this.departmentId = departmentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScopeKey other)) {
+                return false;
+            }
+            return Objects.equals(segmentId, other.segmentId) && Objects.equals(departmentId, other.departmentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(segmentId, departmentId);
+        }
+    }
+
+    /**
+     * Date ranges of one scope sorted by start day, with the running maximum end day so a point
+     * query can stop scanning as soon as no earlier range can reach the date
+     */
+    private static final class Intervals {
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+        private final UUID[] budgetIds;
+
+        private Intervals(List<BudgetInterval> budgets) {
+            List<BudgetInterval> sorted = new ArrayList<>(budgets);
+            sorted.sort(Comparator.comparing(BudgetInterval::getStartDate));
+            int n = sorted.size();
+            starts = new long[n];
+            ends = new long[n];
+            maxEnds = new long[n];
+            budgetIds = new UUID[n];
+            for (int i = 0; i < n; i++) {
+                BudgetInterval budget = sorted.get(i);
+                starts[i] = budget.getStartDate().toEpochDay();
+                ends[i] = budget.getEndDate().toEpochDay();
+                maxEnds[i] = i == 0 ? ends[i] : Math.max(maxEnds[i - 1], ends[i]);
+                budgetIds[i] = budget.getBudgetId();
+            }
+        }
+
+        private void collect(long day, List<UUID> matches) {
+            for (int i = lastStartingOnOrBefore(day); i >= 0 && maxEnds[i] >= day; i--) {
+                if (ends[i] >= day) {
+                    matches.add(budgetIds[i]);
+                }
+            }
+        }
+
+        private int lastStartingOnOrBefore(long day) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetLedgerCompactionResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Folds pending budget_consumption_ledger deltas into budgets.consumed_amount. Each batch marks its
+ * ledger rows and updates the budgets in one statement, so a reader sees every delta exactly once:
+ * either still pending in the ledger or already part of consumed_amount.
+ */
+@Service
+@Slf4j
+public class BudgetLedgerCompactionService {
+
+    // Only one compactor at a time; concurrent folds would update the same budgets in arbitrary order
+    private static final String TRY_LOCK_SQL =
+            "SELECT pg_try_advisory_xact_lock(hashtext('budget_consumption_ledger_compaction'))";
+
+    // Entries inserted but not yet committed are invisible here and are folded by a later batch. The sum is
+    // folded exactly, even when a reversal lands before the entry it reverses and the total dips below zero.
+    private static final String FOLD_BATCH_SQL =
+            "WITH batch AS ("
+                    + "SELECT id FROM budget_consumption_ledger WHERE folded_at IS NULL "
+                    + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED), "
+                    + "folded AS ("
+                    + "UPDATE budget_consumption_ledger l SET folded_at = ? FROM batch WHERE l.id = batch.id "
+                    + "RETURNING l.budget_id, l.amount), "
+                    + "totals AS (SELECT budget_id, SUM(amount) AS amount FROM folded GROUP BY budget_id), "
+                    + "applied AS ("
+                    + "UPDATE budgets b SET consumed_amount = b.consumed_amount + t.amount, updated_at = ? "
+                    + "FROM totals t WHERE b.id = t.budget_id RETURNING b.id) "
+                    + "SELECT (SELECT COUNT(*) FROM folded), (SELECT COUNT(*) FROM applied)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public BudgetLedgerCompactionService(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${iesa.budget.ledger.batch-size:5000}") int batchSize,
+                                         @Value("${iesa.budget.ledger.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${iesa.budget.ledger.compaction-cron:*/30 * * * * *}")
+    public void scheduledCompaction() {
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            log.error("Budget ledger compaction failed", e);
+        }
+    }
+
+    /**
+     * Fold pending deltas in batches of short transactions until the ledger is drained or the per-run
+     * limit is reached. Returns immediately when another node is already compacting.
+     */
+    public BudgetLedgerCompactionResult compact() {
+        long startedAt = System.currentTimeMillis();
+        long entries = 0;
+        long budgets = 0;
+        int batches = 0;
+        boolean complete = false;
+        while (batches < maxBatchesPerRun) {
+            long[] folded = transactionTemplate.execute(status -> foldBatch());
+            if (folded == null) {
+                log.debug("Budget ledger compaction already running elsewhere, skipping");
+                break;
+            }
+            batches++;
+            entries += folded[0];
+            budgets += folded[1];
+            if (folded[0] < batchSize) {
+                complete = true;
+                break;
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        if (entries > 0) {
+            log.info("Folded {} budget ledger entries into {} budget updates in {} batches ({} ms)",
+                    entries, budgets, batches, duration);
+        }
+        return BudgetLedgerCompactionResult.builder()
+                .entriesFolded(entries)
+                .budgetsUpdated(budgets)
+                .batches(batches)
+                .complete(complete)
+                .durationMs(duration)
+                .build();
+    }
+
+    private long[] foldBatch() {
+        Boolean locked = jdbcTemplate.queryForObject(TRY_LOCK_SQL, Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            return null;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.queryForObject(FOLD_BATCH_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+                batchSize, now, now);
+    }
+}
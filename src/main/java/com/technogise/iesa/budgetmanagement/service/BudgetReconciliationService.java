@@ -0,0 +1,282 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionDrift;
+import com.technogise.iesa.budgetmanagement.dto.BudgetReconciliationResult;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes each active budget's consumption from the segment allocations of its APPROVED and PAID
+ * expenses plus its manual ledger adjustments, and compares it with the recorded figure, consumed_amount
+ * plus pending ledger deltas. Matching follows BudgetIntervalIndex: an unset segment or department on the
+ * budget matches any value.
+ * <p>
+ * Budgets are split into partitions that worker threads check in parallel. Each partition is one
+ * aggregation query whose drifted rows are streamed back, so allocations never leave the database.
+ * Repair appends a correcting ledger entry per drifted budget, recomputed in the same statement, so
+ * postings committed between the check and the repair are not overwritten; corrections are tagged as
+ * RECONCILIATION so they never count as manual adjustments, and go through threshold detection like any
+ * other posting. Budgets that started
+ * before the archive cutoff are skipped because part of their expenses no longer sit in the live tables.
+ */
+@Service
+@Slf4j
+public class BudgetReconciliationService {
+
+    static final String RECONCILIATION_JOB = "budget-consumption-reconciliation";
+
+    private static final String BUDGET_IDS_SQL =
+            "SELECT id FROM budgets WHERE is_active = true AND deleted_at IS NULL AND start_date >= ? ORDER BY id";
+
+    private static final String COMPARISON_CTE =
+            "WITH scope AS ("
+                    + "SELECT id, name, segment_id, department_id, start_date, end_date, consumed_amount FROM budgets "
+                    + "WHERE id = ANY(?) AND is_active = true AND deleted_at IS NULL), "
+                    + "actual AS ("
+                    + "SELECT s.id, SUM(sa.amount) AS amount FROM scope s "
+                    + "JOIN expenses e ON e.expense_date BETWEEN s.start_date AND s.end_date "
+                    + "AND e.status IN ('APPROVED', 'PAID') AND e.deleted_at IS NULL "
+                    + "JOIN users u ON u.id = e.submitter_id "
+                    + "JOIN segment_allocations sa ON sa.expense_id = e.id "
+                    + "WHERE (s.segment_id IS NULL OR sa.segment_id = s.segment_id) "
+                    + "AND (s.department_id IS NULL OR u.department_id = s.department_id) "
+                    + "GROUP BY s.id), "
+                    + "manual AS ("
+                    + "SELECT l.budget_id, SUM(l.amount) AS amount FROM budget_consumption_ledger l "
+                    + "JOIN scope s ON s.id = l.budget_id WHERE l.source = 'MANUAL' GROUP BY l.budget_id), "
+                    + "pending AS ("
+                    + "SELECT l.budget_id, SUM(l.amount) AS amount FROM budget_consumption_ledger l "
+                    + "JOIN scope s ON s.id = l.budget_id WHERE l.folded_at IS NULL GROUP BY l.budget_id), "
+                    + "compared AS ("
+                    + "SELECT s.id, s.name, s.consumed_amount + COALESCE(p.amount, 0) AS recorded, "
+                    + "COALESCE(a.amount, 0) + COALESCE(m.amount, 0) AS actual FROM scope s "
+                    + "LEFT JOIN actual a ON a.id = s.id LEFT JOIN manual m ON m.budget_id = s.id "
+                    + "LEFT JOIN pending p ON p.budget_id = s.id) ";
+
+    private static final String DRIFT_SQL =
+            COMPARISON_CTE + "SELECT id, name, recorded, actual FROM compared WHERE recorded <> actual";
+
+    private static final String REPAIR_SQL =
+            COMPARISON_CTE + ", corrected AS ("
+                    + "INSERT INTO budget_consumption_ledger (budget_id, expense_id, amount, source, created_at) "
+                    + "SELECT id, NULL, actual - recorded, 'RECONCILIATION', ? FROM compared WHERE recorded <> actual "
+                    + "RETURNING id, budget_id, amount) "
+                    + "SELECT budget_id, amount, id FROM corrected";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ScheduledJobRunner jobRunner;
+    private final BudgetThresholdMonitor thresholdMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int workerThreads;
+    private final int partitionSize;
+    private final int fetchSize;
+    private final int repairBatchSize;
+    private final int maxReportedDrifts;
+    private final boolean repairOnSchedule;
+    private final int archiveRetentionMonths;
+
+    public BudgetReconciliationService(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ScheduledJobRunner jobRunner,
+                                       BudgetThresholdMonitor thresholdMonitor,
+                                       ApplicationEventPublisher eventPublisher,
+                                       @Value("${iesa.budget.reconciliation.worker-threads:4}") int workerThreads,
+                                       @Value("${iesa.budget.reconciliation.partition-size:500}") int partitionSize,
+                                       @Value("${iesa.budget.reconciliation.fetch-size:500}") int fetchSize,
+                                       @Value("${iesa.budget.reconciliation.repair-batch-size:500}") int repairBatchSize,
+                                       @Value("${iesa.budget.reconciliation.max-reported-drifts:1000}") int maxReportedDrifts,
+                                       @Value("${iesa.budget.reconciliation.repair-on-schedule:false}") boolean repairOnSchedule,
+                                       @Value("${iesa.archive.retention-months:18}") int archiveRetentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.jobRunner = jobRunner;
+        this.thresholdMonitor = thresholdMonitor;
+        this.eventPublisher = eventPublisher;
+        this.workerThreads = workerThreads;
+        this.partitionSize = partitionSize;
+        this.fetchSize = fetchSize;
+        this.repairBatchSize = repairBatchSize;
+        this.maxReportedDrifts = maxReportedDrifts;
+        this.repairOnSchedule = repairOnSchedule;
+        this.archiveRetentionMonths = archiveRetentionMonths;
+    }
+
+    @Scheduled(cron = "${iesa.budget.reconciliation.cron:0 45 2 * * *}")
+    public void scheduledReconciliation() {
+        try {
+            jobRunner.runExclusively(RECONCILIATION_JOB, Duration.ofHours(2), Duration.ofMinutes(5), () ->
+                    reconcile(repairOnSchedule).getDriftCount());
+        } catch (RuntimeException e) {
+            log.error("Budget consumption reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Check every active budget that started after the archive cutoff and, when asked, repair the drift found
+     */
+    public BudgetReconciliationResult reconcile(boolean repair) {
+        long startedAt = System.currentTimeMillis();
+        LocalDate startDateFrom = LocalDate.now().withDayOfMonth(1).minusMonths(archiveRetentionMonths);
+        List<UUID> budgetIds = jdbcTemplate.queryForList(BUDGET_IDS_SQL, UUID.class, Date.valueOf(startDateFrom));
+        List<List<UUID>> partitions = partition(budgetIds, partitionSize);
+
+        List<BudgetConsumptionDrift> drifts = findDrifts(partitions);
+        drifts.sort(Comparator.comparing((BudgetConsumptionDrift drift) -> drift.getDifference().abs()).reversed());
+        BigDecimal totalAbsoluteDrift = drifts.stream()
+                .map(drift -> drift.getDifference().abs())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        long repaired = 0;
+        if (repair && !drifts.isEmpty()) {
+            for (List<UUID> batch : partition(drifts.stream().map(BudgetConsumptionDrift::getBudgetId).toList(), repairBatchSize)) {
+                repaired += repairBatch(batch);
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        if (drifts.isEmpty()) {
+            log.info("Budget consumption reconciled: {} budgets, no drift ({} ms)", budgetIds.size(), duration);
+        } else {
+            log.warn("Budget consumption reconciled: {} of {} budgets had drifted by {} in total, {} repaired ({} ms)",
+                    drifts.size(), budgetIds.size(), totalAbsoluteDrift, repaired, duration);
+        }
+
+        return BudgetReconciliationResult.builder()
+                .startDateFrom(startDateFrom)
+                .budgetsChecked(budgetIds.size())
+                .driftCount(drifts.size())
+                .totalAbsoluteDrift(totalAbsoluteDrift)
+                .drifts(new ArrayList<>(drifts.subList(0, Math.min(drifts.size(), maxReportedDrifts))))
+                .repaired(repair)
+                .budgetsRepaired(repaired)
+                .partitions(partitions.size())
+                .durationMs(duration)
+                .build();
+    }
+
+    private List<BudgetConsumptionDrift> findDrifts(List<List<UUID>> partitions) {
+        if (partitions.isEmpty()) {
+            return new ArrayList<>();
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(workerThreads, partitions.size()), runnable -> {
+            Thread thread = new Thread(runnable, "budget-reconciliation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<BudgetConsumptionDrift>>> futures = new ArrayList<>(partitions.size());
+            for (List<UUID> partition : partitions) {
+                futures.add(workers.submit(() -> checkPartition(partition)));
+            }
+            List<BudgetConsumptionDrift> drifts = new ArrayList<>();
+            for (Future<List<BudgetConsumptionDrift>> future : futures) {
+                drifts.addAll(future.get());
+            }
+            return drifts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Budget reconciliation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Budget reconciliation partition failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Stream the drifted budgets of one partition. The read-only transaction lets the driver fetch
+     * through a cursor instead of buffering the whole result.
+     */
+    private List<BudgetConsumptionDrift> checkPartition(List<UUID> partition) {
+        List<BudgetConsumptionDrift> drifts = new ArrayList<>();
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DRIFT_SQL);
+            statement.setFetchSize(fetchSize);
+            statement.setArray(1, connection.createArrayOf("uuid", partition.toArray()));
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            BigDecimal recorded = rs.getBigDecimal(3);
+            BigDecimal actual = rs.getBigDecimal(4);
+            drifts.add(BudgetConsumptionDrift.builder()
+                    .budgetId(rs.getObject(1, UUID.class))
+                    .budgetName(rs.getString(2))
+                    .recordedAmount(recorded)
+                    .actualAmount(actual)
+                    .difference(actual.subtract(recorded))
+                    .build());
+        }));
+        return drifts;
+    }
+
+    private long repairBatch(List<UUID> budgetIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<BudgetConsumptionEntry> corrections = transactionTemplate.execute(status -> {
+            List<BudgetConsumptionEntry> repaired = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(REPAIR_SQL);
+                statement.setArray(1, connection.createArrayOf("uuid", budgetIds.toArray()));
+                statement.setTimestamp(2, now);
+                return statement;
+            }, (rs, rowNum) -> BudgetConsumptionEntry.builder()
+                    .budgetId(rs.getObject(1, UUID.class))
+                    .amount(rs.getBigDecimal(2))
+                    .id(rs.getLong(3))
+                    .build());
+            if (!repaired.isEmpty()) {
+                thresholdMonitor.onConsumptionPosted(sumByBudget(repaired));
+            }
+            return repaired;
+        });
+        if (corrections == null || corrections.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, BigDecimal> amountByBudget = sumByBudget(corrections);
+        long ledgerId = corrections.stream().mapToLong(BudgetConsumptionEntry::getId).max().orElse(0);
+        eventPublisher.publishEvent(new BudgetConsumptionPostedEvent(amountByBudget, ledgerId));
+        return amountByBudget.size();
+    }
+
+    private static Map<UUID, BigDecimal> sumByBudget(List<BudgetConsumptionEntry> entries) {
+        Map<UUID, BigDecimal> amountByBudget = new HashMap<>();
+        for (BudgetConsumptionEntry entry : entries) {
+            amountByBudget.merge(entry.getBudgetId(), entry.getAmount(), BigDecimal::add);
+        }
+        return amountByBudget;
+    }
+
+    private static List<List<UUID>> partition(List<UUID> ids, int size) {
+        List<List<UUID>> partitions = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            partitions.add(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,294 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetCarryForwardMode;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRolloverResult;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.domain.UuidV7Generator;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Generates the next period's budget, thresholds and threshold recipients for every active budget whose
+ * period has ended. Budgets are walked in id order in chunks; each chunk is read with one statement and
+ * written with another in its own transaction, so a run over tens of thousands of budgets is a few dozen
+ * round trips and an interrupted run simply continues on the next one. The carried amount is worked out
+ * from the base allocation, which leaves out what the ended period itself carried forward. Every generated
+ * budget records the budget it continues, and a unique index on that link makes re-runs over the same
+ * dates insert nothing.
+ */
+@Service
+@Slf4j
+public class BudgetRolloverService {
+
+    static final String ROLLOVER_JOB = "budget-rollover";
+
+    private static final UUID FIRST_CURSOR = new UUID(0, 0);
+
+    // The remaining amount includes ledger deltas not yet folded into consumed_amount. Budgets already
+    // rolled over, or whose next period already exists under the same name, e.g. created by hand, are
+    // scanned but not planned.
+    private static final String SELECT_CHUNK_SQL =
+            "SELECT b.id, b.allocated_amount, COALESCE(b.carried_forward_amount, 0), "
+                    + "b.allocated_amount - b.consumed_amount - COALESCE((SELECT SUM(l.amount) "
+                    + "FROM budget_consumption_ledger l WHERE l.budget_id = b.id AND l.folded_at IS NULL), 0), "
+                    + "NOT EXISTS (SELECT 1 FROM budgets n WHERE n.rolled_over_from_id = b.id "
+                    + "OR (n.name = b.name AND n.period = b.period AND n.start_date = b.end_date + 1 AND n.deleted_at IS NULL)), "
+                    + "ARRAY(SELECT t.id FROM budget_thresholds t WHERE t.budget_id = b.id) "
+                    + "FROM budgets b "
+                    + "WHERE b.id > ? AND b.end_date BETWEEN ? AND ? AND b.is_active = true AND b.deleted_at IS NULL "
+                    + "ORDER BY b.id LIMIT ?";
+
+    // Ids of the new budgets and thresholds come from the application as UUIDv7; each new threshold
+    // is paired with the threshold it copies, whose recipients it takes over
+    private static final String INSERT_CHUNK_SQL =
+            "WITH planned AS ("
+                    + "SELECT * FROM unnest(?::uuid[], ?::uuid[], ?::numeric[], ?::numeric[]) "
+                    + "AS p(id, source_id, allocated_amount, carried)), "
+                    + "inserted AS ("
+                    + "INSERT INTO budgets (id, name, segment_id, department_id, period, start_date, end_date, "
+                    + "allocated_amount, consumed_amount, is_active, created_at, updated_at, "
+                    + "rolled_over_from_id, carried_forward_amount) "
+                    + "SELECT p.id, b.name, b.segment_id, b.department_id, b.period, b.end_date + 1, "
+                    + "CAST(CASE b.period WHEN 'MONTHLY' THEN b.end_date + 1 + INTERVAL '1 month' "
+                    + "WHEN 'QUARTERLY' THEN b.end_date + 1 + INTERVAL '3 months' "
+                    + "ELSE b.end_date + 1 + INTERVAL '1 year' END AS DATE) - 1, "
+                    + "p.allocated_amount, 0, true, ?, ?, b.id, p.carried "
+                    + "FROM planned p JOIN budgets b ON b.id = p.source_id "
+                    + "ON CONFLICT (rolled_over_from_id) DO NOTHING "
+                    + "RETURNING id, rolled_over_from_id), "
+                    + "planned_thresholds AS ("
+                    + "SELECT * FROM unnest(?::uuid[], ?::uuid[]) AS pt(id, source_id)), "
+                    + "new_thresholds AS ("
+                    + "INSERT INTO budget_thresholds (id, budget_id, percentage, alert_enabled, created_at, updated_at) "
+                    + "SELECT pt.id, i.id, t.percentage, t.alert_enabled, ?, ? "
+                    + "FROM planned_thresholds pt JOIN budget_thresholds t ON t.id = pt.source_id "
+                    + "JOIN inserted i ON i.rolled_over_from_id = t.budget_id "
+                    + "RETURNING id), "
+                    + "new_recipients AS ("
+                    + "INSERT INTO budget_threshold_recipients (threshold_id, user_id) "
+                    + "SELECT nt.id, r.user_id FROM new_thresholds nt "
+                    + "JOIN planned_thresholds pt ON pt.id = nt.id "
+                    + "JOIN budget_threshold_recipients r ON r.threshold_id = pt.source_id "
+                    + "RETURNING 1) "
+                    + "SELECT (SELECT COUNT(*) FROM inserted), (SELECT COUNT(*) FROM new_thresholds), "
+                    + "(SELECT COUNT(*) FROM new_recipients)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobRunner jobRunner;
+    private final BudgetIntervalIndex budgetIndex;
+    private final BudgetRollupService rollupService;
+    private final DataVersionService dataVersionService;
+    private final int chunkSize;
+    private final int lookbackDays;
+    private final BudgetCarryForwardMode defaultCarryForwardMode;
+    private final BigDecimal defaultCarryForwardCapPercentage;
+
+    public BudgetRolloverService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ScheduledJobRunner jobRunner,
+                                 BudgetIntervalIndex budgetIndex,
+                                 BudgetRollupService rollupService,
+                                 DataVersionService dataVersionService,
+                                 @Value("${iesa.budget.rollover.chunk-size:2000}") int chunkSize,
+                                 @Value("${iesa.budget.rollover.lookback-days:7}") int lookbackDays,
+                                 @Value("${iesa.budget.rollover.carry-forward-mode:NONE}") BudgetCarryForwardMode defaultCarryForwardMode,
+                                 @Value("${iesa.budget.rollover.carry-forward-cap-percentage:10}") BigDecimal defaultCarryForwardCapPercentage) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+        this.budgetIndex = budgetIndex;
+        this.rollupService = rollupService;
+        this.dataVersionService = dataVersionService;
+        this.chunkSize = chunkSize;
+        this.lookbackDays = lookbackDays;
+        this.defaultCarryForwardMode = defaultCarryForwardMode;
+        this.defaultCarryForwardCapPercentage = defaultCarryForwardCapPercentage;
+    }
+
+    /**
+     * Roll over budgets that ended within the lookback window, so a missed firing is caught up by the next
+     */
+    @Scheduled(cron = "${iesa.budget.rollover.cron:0 30 0 * * *}")
+    public void scheduledRollover() {
+        try {
+            LocalDate today = LocalDate.now();
+            jobRunner.runExclusively(ROLLOVER_JOB, Duration.ofHours(1), Duration.ofMinutes(5), () ->
+                    rollover(today.minusDays(lookbackDays), today.minusDays(1), null, null).getBudgetsCreated());
+        } catch (RuntimeException e) {
+            log.error("Budget rollover failed", e);
+        }
+    }
+
+    /**
+     * Roll over every active budget whose period ended between the two dates, inclusive. Null carry
+     * forward settings fall back to the configured defaults.
+     */
+    public BudgetRolloverResult rollover(LocalDate periodEndFrom, LocalDate periodEndTo,
+                                         BudgetCarryForwardMode carryForwardMode, BigDecimal carryForwardCapPercentage) {
+        if (periodEndFrom.isAfter(periodEndTo)) {
+            throw new IllegalArgumentException("Period end from date must not be after period end to date");
+        }
+        if (!periodEndTo.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only budgets whose period has already ended can be rolled over");
+        }
+        BudgetCarryForwardMode mode = carryForwardMode != null ? carryForwardMode : defaultCarryForwardMode;
+        BigDecimal cap = carryForwardCapPercentage != null ? carryForwardCapPercentage : defaultCarryForwardCapPercentage;
+
+        long startedAt = System.currentTimeMillis();
+        UUID cursor = FIRST_CURSOR;
+        long scanned = 0;
+        long budgets = 0;
+        long thresholds = 0;
+        long recipients = 0;
+        int chunks = 0;
+        while (cursor != null) {
+            UUID after = cursor;
+            RolloverChunk chunk = transactionTemplate.execute(status ->
+                    rolloverChunk(after, periodEndFrom, periodEndTo, mode, cap));
+            if (chunk == null || chunk.scanned == 0) {
+                break;
+            }
+            chunks++;
+            scanned += chunk.scanned;
+            budgets += chunk.budgets;
+            thresholds += chunk.thresholds;
+            recipients += chunk.recipients;
+            cursor = chunk.scanned < chunkSize ? null : chunk.lastId;
+        }
+
+        if (budgets > 0) {
+            // One reload for the whole run rather than a change event per generated budget
+            budgetIndex.refresh();
+            rollupService.rebuild();
+            dataVersionService.markChanged(DataDomain.BUDGETS);
+        }
+        long duration = System.currentTimeMillis() - startedAt;
+        log.info("Rolled over {} of {} budgets ending {} to {} with carry forward {} ({} thresholds, {} ms)",
+                budgets, scanned, periodEndFrom, periodEndTo, mode, thresholds, duration);
+        return BudgetRolloverResult.builder()
+                .periodEndFrom(periodEndFrom)
+                .periodEndTo(periodEndTo)
+                .carryForwardMode(mode.name())
+                .budgetsScanned(scanned)
+                .budgetsCreated(budgets)
+                .thresholdsCreated(thresholds)
+                .recipientsCreated(recipients)
+                .chunks(chunks)
+                .durationMs(duration)
+                .build();
+    }
+
+    private RolloverChunk rolloverChunk(UUID after, LocalDate periodEndFrom, LocalDate periodEndTo,
+                                        BudgetCarryForwardMode mode, BigDecimal cap) {
+        List<RolloverCandidate> candidates = jdbcTemplate.query(SELECT_CHUNK_SQL,
+                (rs, rowNum) -> new RolloverCandidate(
+                        rs.getObject(1, UUID.class),
+                        rs.getBigDecimal(2),
+                        rs.getBigDecimal(3),
+                        rs.getBigDecimal(4),
+                        rs.getBoolean(5),
+                        (UUID[]) rs.getArray(6).getArray()),
+                after, Date.valueOf(periodEndFrom), Date.valueOf(periodEndTo), chunkSize);
+        if (candidates.isEmpty()) {
+            return new RolloverChunk(null, 0, 0, 0, 0);
+        }
+        UUID lastId = candidates.get(candidates.size() - 1).id;
+
+        List<UUID> budgetIds = new ArrayList<>();
+        List<UUID> sourceIds = new ArrayList<>();
+        List<BigDecimal> allocations = new ArrayList<>();
+        List<BigDecimal> carries = new ArrayList<>();
+        List<UUID> thresholdIds = new ArrayList<>();
+        List<UUID> sourceThresholdIds = new ArrayList<>();
+        for (RolloverCandidate candidate : candidates) {
+            if (!candidate.plannable) {
+                continue;
+            }
+            BigDecimal base = candidate.allocatedAmount.subtract(candidate.carriedForwardAmount);
+            BigDecimal carried = mode.carriedAmount(base, candidate.remainingAmount, cap);
+            budgetIds.add(UuidV7Generator.generate());
+            sourceIds.add(candidate.id);
+            allocations.add(base.add(carried));
+            carries.add(carried);
+            for (UUID thresholdId : candidate.thresholdIds) {
+                thresholdIds.add(UuidV7Generator.generate());
+                sourceThresholdIds.add(thresholdId);
+            }
+        }
+        if (budgetIds.isEmpty()) {
+            return new RolloverChunk(lastId, candidates.size(), 0, 0, 0);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(INSERT_CHUNK_SQL, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("uuid", budgetIds.toArray()));
+            ps.setArray(2, connection.createArrayOf("uuid", sourceIds.toArray()));
+            ps.setArray(3, connection.createArrayOf("numeric", allocations.toArray()));
+            ps.setArray(4, connection.createArrayOf("numeric", carries.toArray()));
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+            ps.setArray(7, connection.createArrayOf("uuid", thresholdIds.toArray()));
+            ps.setArray(8, connection.createArrayOf("uuid", sourceThresholdIds.toArray()));
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        }, rs -> {
+            rs.next();
+            return new RolloverChunk(lastId, candidates.size(), rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        });
+    }
+
+    private static final class RolloverCandidate {
+        private final UUID id;
+        private final BigDecimal allocatedAmount;
+        private final BigDecimal carriedForwardAmount;
+        private final BigDecimal remainingAmount;
+        private final boolean plannable;
+        private final UUID[] thresholdIds;
+
+        private RolloverCandidate(UUID id, BigDecimal allocatedAmount, BigDecimal carriedForwardAmount,
+                                  BigDecimal remainingAmount, boolean plannable, UUID[] thresholdIds) {
+            this.id = id;
+            this.allocatedAmount = allocatedAmount;
+            this.carriedForwardAmount = carriedForwardAmount;
+            this.remainingAmount = remainingAmount;
+            this.plannable = plannable;
+            this.thresholdIds = thresholdIds;
+        }
+    }
+
+    private static final class RolloverChunk {
+        private final UUID lastId;
+        private final long scanned;
+        private final long budgets;
+        private final long thresholds;
+        private final long recipients;
+
+        private RolloverChunk(UUID lastId, long scanned, long budgets, long thresholds, long recipients) {
+            this.lastId = lastId;
+            this.scanned = scanned;
+            this.budgets = budgets;
+            this.thresholds = thresholds;
+            this.recipients = recipients;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupContribution;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupNodeDto;
+import com.technogise.iesa.budgetmanagement.dto.RollupTreeNode;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Allocated and consumed totals of active budgets at every node of the segment and department trees.
+ * The trees are built in memory from three queries. After that, a budget change or consumption posting
+ * only adjusts the budget's own node and its ancestors. Changes made through other nodes and edits to
+ * the trees themselves are picked up by the scheduled rebuild, which also corrects any drift.
+ * <p>
+ * A rebuild loads outside the lock and swaps the result in, so postings never wait for its queries.
+ * The load runs in one REPEATABLE READ snapshot together with the highest ledger id, and postings at or
+ * below that id are already in it and are skipped. A posting numbered below the mark but still in flight
+ * when the snapshot was taken is missed until the next rebuild; it is never counted twice.
+ */
+@Service
+@Slf4j
+public class BudgetRollupService {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetConsumptionLedgerRepository ledgerRepository;
+    private final TransactionTemplate snapshotTemplate;
+
+    // One rebuild at a time; never held together with the monitor while querying
+    private final Object rebuildLock = new Object();
+
+    // Guarded by this
+    private RollupTree segments;
+    private RollupTree departments;
+    private Map<UUID, BudgetRollupContribution> contributions;
+    private long ledgerMark;
+    private Instant rebuiltAt;
+    // Non-null while a rebuild is loading: what happened meanwhile, replayed onto its result
+    private List<BudgetConsumptionPostedEvent> postedDuringRebuild;
+    private Map<UUID, Optional<BudgetRollupContribution>> changedDuringRebuild;
+
+    public BudgetRollupService(BudgetRepository budgetRepository,
+                               BudgetConsumptionLedgerRepository ledgerRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.budgetRepository = budgetRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BudgetRollupDto getRollup() {
+        synchronized (this) {
+            if (contributions != null) {
+                return toDto();
+            }
+        }
+        rebuild();
+        synchronized (this) {
+            return toDto();
+        }
+    }
+
+    @Scheduled(cron = "${iesa.budget.rollup.rebuild-cron:0 */5 * * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Budget rollup rebuild failed", e);
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                postedDuringRebuild = new ArrayList<>();
+                changedDuringRebuild = new LinkedHashMap<>();
+            }
+            try {
+                RollupSnapshot snapshot = snapshotTemplate.execute(status -> loadSnapshot());
+                synchronized (this) {
+                    segments = snapshot.segments;
+                    departments = snapshot.departments;
+                    contributions = snapshot.contributions;
+                    ledgerMark = snapshot.ledgerMark;
+                    rebuiltAt = Instant.now();
+                    postedDuringRebuild.forEach(this::applyPosting);
+                    changedDuringRebuild.forEach((budgetId, current) -> replace(budgetId, current.orElse(null)));
+                }
+                log.debug("Budget rollups rebuilt from {} active budgets up to ledger id {}",
+                        snapshot.contributions.size(), snapshot.ledgerMark);
+            } finally {
+                synchronized (this) {
+                    postedDuringRebuild = null;
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        synchronized (this) {
+            if (contributions == null && changedDuringRebuild == null) {
+                return;
+            }
+        }
+        List<BudgetRollupContribution> loaded = budgetRepository.findRollupContributions(List.of(event.getBudgetId()));
+        BudgetRollupContribution current = loaded.isEmpty() ? null : loaded.get(0);
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getBudgetId(), Optional.ofNullable(current));
+            }
+            if (contributions != null) {
+                replace(event.getBudgetId(), current);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onConsumptionPosted(BudgetConsumptionPostedEvent event) {
+        if (postedDuringRebuild != null) {
+            postedDuringRebuild.add(event);
+        }
+        if (contributions != null) {
+            applyPosting(event);
+        }
+    }
+
+    private RollupSnapshot loadSnapshot() {
+        long mark = ledgerRepository.findMaxId();
+        RollupTree segmentTree = new RollupTree(budgetRepository.findSegmentTreeNodes());
+        RollupTree departmentTree = new RollupTree(budgetRepository.findDepartmentTreeNodes());
+        Map<UUID, BudgetRollupContribution> loaded = new HashMap<>();
+        for (BudgetRollupContribution contribution : budgetRepository.findActiveRollupContributions()) {
+            loaded.put(contribution.getBudgetId(), contribution);
+            segmentTree.add(contribution.getSegmentId(), contribution, 1);
+            departmentTree.add(contribution.getDepartmentId(), contribution, 1);
+        }
+        return new RollupSnapshot(segmentTree, departmentTree, loaded, mark);
+    }
+
+    /**
+     * Add a posting unless the current snapshot already counts it
+     */
+    private void applyPosting(BudgetConsumptionPostedEvent event) {
+        if (event.getLedgerId() <= ledgerMark) {
+            return;
+        }
+        event.getAmountByBudget().forEach((budgetId, amount) -> {
+            BudgetRollupContribution previous = contributions.get(budgetId);
+            if (previous != null) {
+                replace(budgetId, previous.withConsumption(amount));
+            }
+        });
+    }
+
+    private BudgetRollupDto toDto() {
+        return BudgetRollupDto.builder()
+                .segments(segments.toDtos())
+                .unassignedSegment(segments.unassigned.toDto("Unassigned", List.of()))
+                .departments(departments.toDtos())
+                .unassignedDepartment(departments.unassigned.toDto("Unassigned", List.of()))
+                .rebuiltAt(rebuiltAt)
+                .build();
+    }
+
+    /**
+     * Take the budget's previous contribution off its old nodes' ancestor paths and add the new one
+     */
+    private void replace(UUID budgetId, BudgetRollupContribution next) {
+        BudgetRollupContribution previous = next == null ? contributions.remove(budgetId) : contributions.put(budgetId, next);
+        if (previous != null) {
+            segments.add(previous.getSegmentId(), previous, -1);
+            departments.add(previous.getDepartmentId(), previous, -1);
+        }
+        if (next != null) {
+            segments.add(next.getSegmentId(), next, 1);
+            departments.add(next.getDepartmentId(), next, 1);
+        }
+    }
+
+    private static final class RollupSnapshot {
+        private final RollupTree segments;
+        private final RollupTree departments;
+        private final Map<UUID, BudgetRollupContribution> contributions;
+        private final long ledgerMark;
+
+        private RollupSnapshot(RollupTree segments, RollupTree departments,
+                               Map<UUID, BudgetRollupContribution> contributions, long ledgerMark) {
+            this.segments = segments;
+            this.departments = departments;
+            this.contributions = contributions;
+            this.ledgerMark = ledgerMark;
+        }
+    }
+
+    private static final class RollupTree {
+        private final Map<UUID, Node> nodes;
+        // Budgets without a node in this tree, or whose node was created after the last rebuild
+        private final Figures unassigned = new Figures();
+
+        private RollupTree(List<RollupTreeNode> treeNodes) {
+            nodes = treeNodes.stream().collect(Collectors.toMap(RollupTreeNode::getId, Node::new));
+        }
+
+        /**
+         * Add (sign 1) or remove (sign -1) a budget's figures at its node and every ancestor
+         */
+        private void add(UUID nodeId, BudgetRollupContribution contribution, int sign) {
+            BigDecimal allocated = contribution.getAllocatedAmount();
+            BigDecimal consumed = contribution.getEffectiveConsumedAmount();
+            if (sign < 0) {
+                allocated = allocated.negate();
+                consumed = consumed.negate();
+            }
+            Node node = nodeId == null ? null : nodes.get(nodeId);
+            if (node == null) {
+                unassigned.add(allocated, consumed, sign);
+                return;
+            }
+            node.own.add(allocated, consumed, sign);
+            // Bounded by the node count so a cycle in the data cannot loop forever
+            for (int depth = 0; node != null && depth <= nodes.size(); depth++) {
+                node.total.add(allocated, consumed, sign);
+                node = node.source.getParentId() == null ? null : nodes.get(node.source.getParentId());
+            }
+        }
+
+        private List<BudgetRollupNodeDto> toDtos() {
+            Map<UUID, List<Node>> children = new HashMap<>();
+            List<Node> roots = new ArrayList<>();
+            for (Node node : nodes.values()) {
+                UUID parentId = node.source.getParentId();
+                if (parentId == null || !nodes.containsKey(parentId)) {
+                    roots.add(node);
+                } else {
+                    children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(node);
+                }
+            }
+            return toDtos(roots, children, new HashSet<>());
+        }
+
+        private List<BudgetRollupNodeDto> toDtos(List<Node> level, Map<UUID, List<Node>> children, Set<UUID> visited) {
+            return level.stream()
+                    .filter(node -> visited.add(node.source.getId()))
+                    .sorted(Comparator.comparing(node -> node.source.getName(), Comparator.nullsLast(Comparator.<String>naturalOrder())))
+                    .map(node -> node.toDto(toDtos(children.getOrDefault(node.source.getId(), List.of()), children, visited)))
+                    .toList();
+        }
+    }
+
+    private static final class Node {
+        private final RollupTreeNode source;
+        private final Figures own = new Figures();
+        private final Figures total = new Figures();
+
+        private Node(RollupTreeNode source) {
+            this.source = source;
+        }
+
+        private BudgetRollupNodeDto toDto(List<BudgetRollupNodeDto> childDtos) {
+            BudgetRollupNodeDto dto = total.toDto(source.getName(), childDtos);
+            dto.setId(source.getId());
+            dto.setCode(source.getCode());
+            dto.setBudgetCount(own.count);
+            dto.setAllocatedAmount(own.allocated);
+            dto.setConsumedAmount(own.consumed);
+            return dto;
+        }
+    }
+
+    private static final class Figures {
+        private long count;
+        private BigDecimal allocated = BigDecimal.ZERO;
+        private BigDecimal consumed = BigDecimal.ZERO;
+
+        private void add(BigDecimal allocatedDelta, BigDecimal consumedDelta, int countDelta) {
+            count += countDelta;
+            allocated = allocated.add(allocatedDelta);
+            consumed = consumed.add(consumedDelta);
+        }
+
+        private BudgetRollupNodeDto toDto(String name, List<BudgetRollupNodeDto> childDtos) {
+            return BudgetRollupNodeDto.builder()
+                    .name(name)
+                    .budgetCount(count)
+                    .allocatedAmount(allocated)
+                    .consumedAmount(consumed)
+                    .totalBudgetCount(count)
+                    .totalAllocatedAmount(allocated)
+                    .totalConsumedAmount(consumed)
+                    .totalRemainingAmount(allocated.subtract(consumed))
+                    .utilizationPercentage(allocated.signum() == 0 ? BigDecimal.ZERO
+                            : consumed.multiply(BigDecimal.valueOf(100)).divide(allocated, 2, RoundingMode.HALF_UP))
+                    .children(childDtos)
+                    .build();
+        }
+    }
+}
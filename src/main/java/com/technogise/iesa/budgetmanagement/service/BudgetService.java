@@ -1,11 +1,22 @@
 package com.technogise.iesa.budgetmanagement.service;
 
 import com.technogise.iesa.budgetmanagement.domain.Budget;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionSource;
 import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilityCheckResponse;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilityLineRequest;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilityLineResult;
+import com.technogise.iesa.budgetmanagement.dto.BudgetAvailabilitySummary;
+import com.technogise.iesa.budgetmanagement.dto.BudgetCapacity;
 import com.technogise.iesa.budgetmanagement.dto.BudgetDto;
 import com.technogise.iesa.budgetmanagement.dto.BudgetMapper;
+import com.technogise.iesa.budgetmanagement.dto.BudgetPendingConsumption;
 import com.technogise.iesa.budgetmanagement.dto.CreateBudgetRequest;
 import com.technogise.iesa.budgetmanagement.dto.UpdateBudgetRequest;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
 import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
 import com.technogise.iesa.usermanagement.domain.Department;
 import com.technogise.iesa.usermanagement.repository.DepartmentRepository;
@@ -13,15 +24,26 @@ import com.technogise.iesa.segmentmanagement.domain.Segment;
 import com.technogise.iesa.segmentmanagement.repository.SegmentRepository;
 import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+/**
+ * Budget reads include ledger deltas that are not folded yet. They run in REPEATABLE READ so the budget
+ * row and the pending ledger sum come from one snapshot, even while the compactor is folding.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -31,58 +53,62 @@ public class BudgetService {
     private final SegmentRepository segmentRepository;
     private final DepartmentRepository departmentRepository;
     private final BudgetMapper budgetMapper;
+    private final BudgetConsumptionLedgerRepository ledgerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BudgetThresholdMonitor thresholdMonitor;
+    private final BudgetIntervalIndex budgetIndex;
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getAllBudgets() {
-        return budgetMapper.toDtoList(budgetRepository.findAllNotDeleted());
+        return toDtoList(budgetRepository.findAllNotDeleted());
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getAllActiveBudgets() {
-        return budgetMapper.toDtoList(budgetRepository.findAllActive());
+        return toDtoList(budgetRepository.findAllActive());
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getBudgetsBySegment(UUID segmentId) {
-        return budgetMapper.toDtoList(budgetRepository.findBySegmentId(segmentId));
+        return toDtoList(budgetRepository.findBySegmentId(segmentId));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getBudgetsByDepartment(UUID departmentId) {
-        return budgetMapper.toDtoList(budgetRepository.findByDepartmentId(departmentId));
+        return toDtoList(budgetRepository.findByDepartmentId(departmentId));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getCurrentBudgets() {
-        return budgetMapper.toDtoList(budgetRepository.findCurrentBudgets(LocalDate.now()));
+        return toDtoList(budgetRepository.findCurrentBudgets(LocalDate.now()));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getActiveBudgetsBySegment(UUID segmentId) {
         List<Budget> budgets = budgetRepository.findActiveBySegmentAndDate(segmentId, LocalDate.now());
-        return budgetMapper.toDtoList(budgets);
+        return toDtoList(budgets);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getActiveBudgetsByDepartment(UUID departmentId) {
         List<Budget> budgets = budgetRepository.findActiveByDepartmentAndDate(departmentId, LocalDate.now());
-        return budgetMapper.toDtoList(budgets);
+        return toDtoList(budgets);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public BudgetDto getBudgetById(UUID id) {
         Budget budget = findBudgetById(id);
-        return budgetMapper.toDto(budget);
+        return toDto(budget, pendingConsumption(id));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getBudgetsByPeriod(BudgetPeriod period) {
-        return budgetMapper.toDtoList(budgetRepository.findByPeriod(period));
+        return toDtoList(budgetRepository.findByPeriod(period));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public List<BudgetDto> getBudgetsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return budgetMapper.toDtoList(budgetRepository.findByStartDateBetween(startDate, endDate));
+        return toDtoList(budgetRepository.findByStartDateBetween(startDate, endDate));
     }
 
     public BudgetDto createBudget(CreateBudgetRequest request) {
@@ -126,6 +152,7 @@ public class BudgetService {
         }
 
         Budget savedBudget = budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(savedBudget.getId()));
         return budgetMapper.toDto(savedBudget);
     }
 
@@ -152,56 +179,170 @@ public class BudgetService {
         }
 
         Budget updatedBudget = budgetRepository.save(budget);
-        return budgetMapper.toDto(updatedBudget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(id));
+        return toDto(updatedBudget, pendingConsumption(id));
     }
 
     public void deleteBudget(UUID id) {
         Budget budget = findBudgetById(id);
         budget.setDeletedAt(Instant.now());
         budgetRepository.save(budget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(id));
     }
 
     public BudgetDto activateBudget(UUID id) {
         Budget budget = findBudgetById(id);
         budget.setIsActive(true);
         Budget updatedBudget = budgetRepository.save(budget);
-        return budgetMapper.toDto(updatedBudget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(id));
+        return toDto(updatedBudget, pendingConsumption(id));
     }
 
     public BudgetDto deactivateBudget(UUID id) {
         Budget budget = findBudgetById(id);
         budget.setIsActive(false);
         Budget updatedBudget = budgetRepository.save(budget);
-        return budgetMapper.toDto(updatedBudget);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(id));
+        return toDto(updatedBudget, pendingConsumption(id));
     }
 
+    /**
+     * Record a consumption delta (negative to release) as a ledger entry. The budget row itself is not
+     * written, so concurrent consumers of the same budget never block or overwrite each other. Only
+     * inserting, the transaction can use REPEATABLE READ without risking serialization failures.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
     public BudgetDto updateConsumption(UUID id, BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            throw new IllegalArgumentException("Consumption amount must be non-zero");
+        }
         Budget budget = findBudgetById(id);
-        budget.addConsumption(amount);
-        Budget updatedBudget = budgetRepository.save(budget);
-        return budgetMapper.toDto(updatedBudget);
+        BudgetConsumptionEntry entry = ledgerRepository.save(BudgetConsumptionEntry.builder()
+                .budgetId(id)
+                .amount(amount)
+                .source(BudgetConsumptionSource.MANUAL)
+                .build());
+        thresholdMonitor.onConsumptionPosted(Map.of(id, amount));
+        eventPublisher.publishEvent(new BudgetConsumptionPostedEvent(Map.of(id, amount), entry.getId()));
+        return toDto(budget, pendingConsumption(id));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public BigDecimal getRemainingAmount(UUID id) {
         Budget budget = findBudgetById(id);
-        return budget.getRemainingAmount();
+        return budget.getRemainingAmount(pendingConsumption(id));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public BigDecimal getBudgetUtilization(UUID id) {
         Budget budget = findBudgetById(id);
-        return budget.getUtilizationPercentage();
+        return budget.getUtilizationPercentage(pendingConsumption(id));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public boolean checkBudgetAvailability(UUID id, BigDecimal requestedAmount) {
         Budget budget = findBudgetById(id);
-        return budget.getRemainingAmount().compareTo(requestedAmount) >= 0;
+        return budget.getRemainingAmount(pendingConsumption(id)).compareTo(requestedAmount) >= 0;
+    }
+
+    /**
+     * Check a set of allocation lines against every active budget each one falls under, with a single
+     * budget query. Lines are applied in order, so a line fails if it, together with the earlier lines
+     * hitting the same budget, exceeds that budget's remaining amount. Lines under no budget are available.
+     */
+    @Transactional(readOnly = true)
+    public BudgetAvailabilityCheckResponse checkBudgetAvailability(List<BudgetAvailabilityLineRequest> lines) {
+        List<List<UUID>> budgetIdsByLine = lines.stream()
+                .map(line -> budgetIndex.findMatching(line.getSegmentId(), line.getDepartmentId(), line.getDate()))
+                .toList();
+        Set<UUID> budgetIds = budgetIdsByLine.stream().flatMap(List::stream).collect(Collectors.toSet());
+        Map<UUID, BudgetCapacity> capacities = budgetIds.isEmpty() ? Map.of()
+                : budgetRepository.findCapacities(budgetIds).stream()
+                        .collect(Collectors.toMap(BudgetCapacity::getBudgetId, capacity -> capacity));
+
+        Map<UUID, BigDecimal> requested = new LinkedHashMap<>();
+        List<BudgetAvailabilityLineResult> lineResults = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            BigDecimal amount = lines.get(i).getAmount();
+            List<UUID> exceeded = new ArrayList<>();
+            for (UUID budgetId : budgetIdsByLine.get(i)) {
+                BudgetCapacity capacity = capacities.get(budgetId);
+                if (capacity == null) {
+                    continue;
+                }
+                BigDecimal cumulative = requested.merge(budgetId, amount, BigDecimal::add);
+                if (capacity.getRemainingAmount().compareTo(cumulative) < 0) {
+                    exceeded.add(budgetId);
+                }
+            }
+            lineResults.add(BudgetAvailabilityLineResult.builder()
+                    .lineIndex(i)
+                    .available(exceeded.isEmpty())
+                    .budgetIds(budgetIdsByLine.get(i))
+                    .exceededBudgetIds(exceeded)
+                    .build());
+        }
+
+        List<BudgetAvailabilitySummary> summaries = new ArrayList<>(requested.size());
+        requested.forEach((budgetId, amount) -> {
+            BudgetCapacity capacity = capacities.get(budgetId);
+            summaries.add(BudgetAvailabilitySummary.builder()
+                    .budgetId(budgetId)
+                    .budgetName(capacity.getName())
+                    .allocatedAmount(capacity.getAllocatedAmount())
+                    .remainingAmount(capacity.getRemainingAmount())
+                    .requestedAmount(amount)
+                    .available(capacity.getRemainingAmount().compareTo(amount) >= 0)
+                    .build());
+        });
+
+        return BudgetAvailabilityCheckResponse.builder()
+                .allAvailable(lineResults.stream().allMatch(BudgetAvailabilityLineResult::isAvailable))
+                .lines(lineResults)
+                .budgets(summaries)
+                .build();
     }
 
     private Budget findBudgetById(UUID id) {
         return budgetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
     }
+
+    private BigDecimal pendingConsumption(UUID budgetId) {
+        BigDecimal pending = ledgerRepository.sumPendingByBudgetId(budgetId);
+        return pending == null ? BigDecimal.ZERO : pending;
+    }
+
+    private BudgetDto toDto(Budget budget, BigDecimal pendingConsumption) {
+        BudgetDto dto = budgetMapper.toDto(budget);
+        applyPendingConsumption(budget, dto, pendingConsumption);
+        return dto;
+    }
+
+    private List<BudgetDto> toDtoList(List<Budget> budgets) {
+        List<BudgetDto> dtos = budgetMapper.toDtoList(budgets);
+        if (budgets.isEmpty()) {
+            return dtos;
+        }
+        Map<UUID, BigDecimal> pending = ledgerRepository
+                .sumPendingByBudgetIds(budgets.stream().map(Budget::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(BudgetPendingConsumption::getBudgetId, BudgetPendingConsumption::getAmount));
+        if (!pending.isEmpty()) {
+            for (int i = 0; i < budgets.size(); i++) {
+                Budget budget = budgets.get(i);
+                applyPendingConsumption(budget, dtos.get(i), pending.getOrDefault(budget.getId(), BigDecimal.ZERO));
+            }
+        }
+        return dtos;
+    }
+
+    private void applyPendingConsumption(Budget budget, BudgetDto dto, BigDecimal pendingConsumption) {
+        if (dto == null || pendingConsumption.signum() == 0) {
+            return;
+        }
+        dto.setConsumedAmount(budget.getEffectiveConsumedAmount(pendingConsumption));
+        dto.setRemainingAmount(budget.getRemainingAmount(pendingConsumption));
+        dto.setUtilizationPercentage(budget.getUtilizationPercentage(pendingConsumption));
+    }
 }
@@ -0,0 +1,147 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionChange;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdTrigger;
+import com.technogise.iesa.budgetmanagement.repository.BudgetThresholdRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of each budget's enabled thresholds as a sorted array of absolute trigger amounts in cents.
+ * A consumption change from one amount to a higher one finds every threshold it crossed with a single
+ * binary search. Entries load on first use, are evicted after a budget or threshold change commits,
+ * and are dropped on the index refresh schedule so changes made through other nodes are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetThresholdIndex {
+
+    private final BudgetThresholdRepository thresholdRepository;
+
+    private final Map<UUID, TriggerLadder> laddersByBudget = new ConcurrentHashMap<>();
+
+    /**
+     * Thresholds whose trigger amount lies in (before, after] of each change
+     */
+    public List<BudgetThresholdCrossing> findCrossed(Collection<BudgetConsumptionChange> changes) {
+        Map<UUID, TriggerLadder> ladders = ladders(changes.stream()
+                .map(BudgetConsumptionChange::getBudgetId)
+                .collect(Collectors.toSet()));
+        List<BudgetThresholdCrossing> crossings = new ArrayList<>();
+        for (BudgetConsumptionChange change : changes) {
+            ladders.get(change.getBudgetId()).collectCrossed(change.getBudgetId(),
+                    toCents(change.getBefore()), toCents(change.getAfter()), crossings);
+        }
+        return crossings;
+    }
+
+    /**
+     * Thresholds whose trigger amount each budget's current consumption has reached
+     */
+    public List<BudgetThresholdCrossing> findReached(Collection<BudgetConsumptionLevel> levels) {
+        Map<UUID, TriggerLadder> ladders = ladders(levels.stream()
+                .map(BudgetConsumptionLevel::getBudgetId)
+                .collect(Collectors.toSet()));
+        List<BudgetThresholdCrossing> reached = new ArrayList<>();
+        for (BudgetConsumptionLevel level : levels) {
+            ladders.get(level.getBudgetId()).collectCrossed(level.getBudgetId(),
+                    Long.MIN_VALUE, toCents(level.getEffectiveConsumedAmount()), reached);
+        }
+        return reached;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBudgetsChanged(BudgetsChangedEvent event) {
+        laddersByBudget.remove(event.getBudgetId());
+    }
+
+    @Scheduled(cron = "${iesa.budget.index.refresh-cron:0 * * * * *}")
+    public void clear() {
+        laddersByBudget.clear();
+    }
+
+    private Map<UUID, TriggerLadder> ladders(Set<UUID> budgetIds) {
+        Map<UUID, TriggerLadder> result = new HashMap<>(budgetIds.size() * 2);
+        List<UUID> missing = new ArrayList<>();
+        for (UUID budgetId : budgetIds) {
+            TriggerLadder ladder = laddersByBudget.get(budgetId);
+            if (ladder == null) {
+                missing.add(budgetId);
+            } else {
+                result.put(budgetId, ladder);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<UUID, List<BudgetThresholdTrigger>> loaded = thresholdRepository.findEnabledTriggersByBudgetIds(missing)
+                    .stream()
+                    .collect(Collectors.groupingBy(BudgetThresholdTrigger::getBudgetId));
+            for (UUID budgetId : missing) {
+                TriggerLadder ladder = new TriggerLadder(loaded.getOrDefault(budgetId, List.of()));
+                laddersByBudget.put(budgetId, ladder);
+                result.put(budgetId, ladder);
+            }
+        }
+        return result;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.FLOOR).movePointRight(2).longValueExact();
+    }
+
+    private static final class TriggerLadder {
+        private final long[] triggerCents;
+        private final UUID[] thresholdIds;
+        private final BigDecimal[] percentages;
+
+        private TriggerLadder(List<BudgetThresholdTrigger> triggers) {
+            List<BudgetThresholdTrigger> sorted = new ArrayList<>(triggers);
+            sorted.sort(Comparator.comparing(BudgetThresholdTrigger::getPercentage));
+            int n = sorted.size();
+            triggerCents = new long[n];
+            thresholdIds = new UUID[n];
+            percentages = new BigDecimal[n];
+            for (int i = 0; i < n; i++) {
+                BudgetThresholdTrigger trigger = sorted.get(i);
+                // Round up so reaching the trigger in cents means the percentage is really reached
+                triggerCents[i] = trigger.getAllocatedAmount().multiply(trigger.getPercentage())
+                        .movePointLeft(2).setScale(2, RoundingMode.CEILING).movePointRight(2).longValueExact();
+                thresholdIds[i] = trigger.getThresholdId();
+                percentages[i] = trigger.getPercentage();
+            }
+        }
+
+        private void collectCrossed(UUID budgetId, long beforeCents, long afterCents, List<BudgetThresholdCrossing> out) {
+            if (afterCents <= beforeCents) {
+                return;
+            }
+            for (int i = firstAbove(beforeCents); i < triggerCents.length && triggerCents[i] <= afterCents; i++) {
+                out.add(new BudgetThresholdCrossing(budgetId, thresholdIds[i], percentages[i]));
+            }
+        }
+
+        private int firstAbove(long cents) {
+            int low = 0;
+            int high = triggerCents.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (triggerCents[mid] <= cents) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
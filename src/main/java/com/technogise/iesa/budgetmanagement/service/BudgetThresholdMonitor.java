@@ -0,0 +1,64 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionChange;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Raises threshold alerts when consumption is posted, instead of scanning every threshold. Runs in the
+ * posting transaction after the ledger entries are written, so the consumption read already includes them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class BudgetThresholdMonitor {
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository alertRepository;
+    private final BudgetThresholdIndex thresholdIndex;
+
+    /**
+     * Check the budgets whose consumption just grew by the given amounts and insert an alert for every
+     * threshold crossed, in one batch. Releases cannot cross a threshold upwards and are ignored.
+     *
+     * @return number of alerts created
+     */
+    public int onConsumptionPosted(Map<UUID, BigDecimal> amountByBudget) {
+        List<UUID> increased = amountByBudget.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (increased.isEmpty()) {
+            return 0;
+        }
+
+        List<BudgetConsumptionChange> changes = new ArrayList<>(increased.size());
+        for (BudgetConsumptionLevel level : budgetRepository.findConsumptionLevels(increased)) {
+            BigDecimal after = level.getEffectiveConsumedAmount();
+            changes.add(new BudgetConsumptionChange(level.getBudgetId(),
+                    after.subtract(amountByBudget.get(level.getBudgetId())), after));
+        }
+
+        List<BudgetThresholdCrossing> crossings = thresholdIndex.findCrossed(changes);
+        if (crossings.isEmpty()) {
+            return 0;
+        }
+        int created = alertRepository.insertOpenAlerts(crossings);
+        log.info("Consumption crossed {} budget thresholds, {} new alerts", crossings.size(), created);
+        return created;
+    }
+}
@@ -2,6 +2,7 @@ package com.technogise.iesa.budgetmanagement.service;
 
 import com.technogise.iesa.budgetmanagement.domain.Budget;
 import com.technogise.iesa.budgetmanagement.domain.BudgetThreshold;
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
 import com.technogise.iesa.budgetmanagement.dto.BudgetMapper;
 import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdDto;
 import com.technogise.iesa.budgetmanagement.dto.CreateThresholdRequest;
@@ -12,6 +13,7 @@ import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import com.technogise.iesa.usermanagement.domain.User;
 import com.technogise.iesa.usermanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +30,7 @@ public class BudgetThresholdService {
     private final BudgetRepository budgetRepository;
     private final UserRepository userRepository;
     private final BudgetMapper budgetMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<BudgetThresholdDto> getAllThresholds() {
@@ -82,6 +85,7 @@ public class BudgetThresholdService {
         }
 
         BudgetThreshold savedThreshold = thresholdRepository.save(threshold);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(budget.getId()));
         return budgetMapper.toDto(savedThreshold);
     }
 
@@ -102,18 +106,21 @@ public class BudgetThresholdService {
         }
 
         BudgetThreshold updatedThreshold = thresholdRepository.save(threshold);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(threshold.getBudget().getId()));
         return budgetMapper.toDto(updatedThreshold);
     }
 
     public void deleteThreshold(UUID id) {
         BudgetThreshold threshold = findThresholdById(id);
         thresholdRepository.delete(threshold);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(threshold.getBudget().getId()));
     }
 
     public BudgetThresholdDto enableThreshold(UUID id) {
         BudgetThreshold threshold = findThresholdById(id);
         threshold.setAlertEnabled(true);
         BudgetThreshold updatedThreshold = thresholdRepository.save(threshold);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(threshold.getBudget().getId()));
         return budgetMapper.toDto(updatedThreshold);
     }
 
@@ -121,6 +128,7 @@ public class BudgetThresholdService {
         BudgetThreshold threshold = findThresholdById(id);
         threshold.setAlertEnabled(false);
         BudgetThreshold updatedThreshold = thresholdRepository.save(threshold);
+        eventPublisher.publishEvent(new BudgetsChangedEvent(threshold.getBudget().getId()));
         return budgetMapper.toDto(updatedThreshold);
     }
 
@@ -0,0 +1,126 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Least-squares fit of daily spend against day of period, y = intercept + slope * x, kept as running sums
+ * so each new day costs O(1) and a run of days without spend costs O(1) through closed-form sums.
+ * Day 0 is the budget's start date. Days must be added in order; days already covered are ignored.
+ */
+final class BurnRateModel {
+
+    private final LocalDate origin;
+    private long lastDay = -1;
+    private long n;
+    private double sumX;
+    private double sumY;
+    private double sumXY;
+    private double sumXX;
+
+    BurnRateModel(LocalDate origin) {
+        this.origin = origin;
+    }
+
+    LocalDate getOrigin() {
+        return origin;
+    }
+
+    long dayOf(LocalDate date) {
+        return ChronoUnit.DAYS.between(origin, date);
+    }
+
+    /**
+     * First date not yet covered by the model
+     */
+    synchronized LocalDate nextDate() {
+        return origin.plusDays(lastDay + 1);
+    }
+
+    /**
+     * Add the daily totals, which must be in date order, and count every other day up to and including
+     * through as zero spend. Days after through and days already covered are ignored, so two callers
+     * advancing with the same rows leave the model as if only one had.
+     */
+    synchronized void advance(List<BudgetDailyConsumption> days, LocalDate through) {
+        long throughDay = dayOf(through);
+        for (BudgetDailyConsumption daily : days) {
+            long x = dayOf(daily.getDay());
+            if (x > lastDay && x <= throughDay) {
+                add(x, daily.getAmount().doubleValue());
+            }
+        }
+        addZeros(throughDay);
+    }
+
+    synchronized Fit fit() {
+        if (n == 0) {
+            return new Fit(0, 0, 0);
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        if (n < 2 || denominator <= 0) {
+            return new Fit(n, sumY / n, 0);
+        }
+        double slope = (n * sumXY - sumX * sumY) / denominator;
+        return new Fit(n, (sumY - slope * sumX) / n, slope);
+    }
+
+    private void add(long x, double amount) {
+        addZeros(x - 1);
+        n++;
+        sumX += x;
+        sumY += amount;
+        sumXY += x * amount;
+        sumXX += (double) x * x;
+        lastDay = x;
+    }
+
+    private void addZeros(long throughDay) {
+        long from = lastDay + 1;
+        if (throughDay < from) {
+            return;
+        }
+        long count = throughDay - from + 1;
+        n += count;
+        sumX += (double) (from + throughDay) * count / 2;
+        sumXX += sumOfSquares(throughDay) - sumOfSquares(from - 1);
+        lastDay = throughDay;
+    }
+
+    private static double sumOfSquares(long m) {
+        return m <= 0 ? 0 : (double) m * (m + 1) * (2 * m + 1) / 6;
+    }
+
+    /**
+     * Immutable snapshot of the fitted line
+     */
+    static final class Fit {
+        private final long daysObserved;
+        private final double intercept;
+        private final double slope;
+
+        Fit(long daysObserved, double intercept, double slope) {
+            this.daysObserved = daysObserved;
+            this.intercept = intercept;
+            this.slope = slope;
+        }
+
+        long getDaysObserved() {
+            return daysObserved;
+        }
+
+        double getSlope() {
+            return slope;
+        }
+
+        /**
+         * Fitted spend on the given day, never negative
+         */
+        double rateAt(long day) {
+            return Math.max(0, intercept + slope * day);
+        }
+    }
+}
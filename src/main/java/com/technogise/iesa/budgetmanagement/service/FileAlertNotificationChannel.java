@@ -0,0 +1,46 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each digest to a local file, standing in for a mail transport in development and tests
+ */
+@Component
+@ConditionalOnProperty(name = "iesa.notifications.channel", havingValue = "file")
+public class FileAlertNotificationChannel implements AlertNotificationChannel {
+
+    private final Path path;
+
+    public FileAlertNotificationChannel(@Value("${iesa.notifications.file.path:notifications.log}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void deliver(AlertNotificationDigest digest) {
+        StringBuilder message = new StringBuilder()
+                .append("To: ").append(digest.getRecipientName()).append(" <").append(digest.getEmail()).append(">\n")
+                .append("Subject: ").append(digest.getItems().size()).append(" budget alert(s)\n");
+        for (AlertNotificationItem item : digest.getItems()) {
+            message.append("- ").append(item.getBudgetName()).append(": ").append(item.getMessage())
+                    .append(" (").append(item.getTriggeredDate()).append(")\n");
+        }
+        message.append('\n');
+        try {
+            Files.writeString(path, message, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write notification to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default channel: writes each digest to the application log
+ */
+@Component
+@ConditionalOnProperty(name = "iesa.notifications.channel", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogAlertNotificationChannel implements AlertNotificationChannel {
+
+    @Override
+    public void deliver(AlertNotificationDigest digest) {
+        log.info("Budget alert digest for {} <{}>: {} alerts", digest.getRecipientName(), digest.getEmail(),
+                digest.getItems().size());
+        digest.getItems().forEach(item -> log.info("  [{}] {}: {}", item.getTriggeredDate(), item.getBudgetName(),
+                item.getMessage()));
+    }
+}
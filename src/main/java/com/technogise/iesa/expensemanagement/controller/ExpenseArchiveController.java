@@ -0,0 +1,46 @@
+package com.technogise.iesa.expensemanagement.controller;
+
+import com.technogise.iesa.expensemanagement.dto.ArchivedExpenseDto;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveResult;
+import com.technogise.iesa.expensemanagement.service.ExpenseArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/expenses/archive")
+@RequiredArgsConstructor
+public class ExpenseArchiveController {
+
+    private final ExpenseArchiveService expenseArchiveService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<List<ArchivedExpenseDto>> searchArchive(
+            @RequestParam(required = false) UUID submitterId,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(expenseArchiveService.searchArchive(submitterId, departmentId, fromDate, toDate, page, size));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<ArchivedExpenseDto> getArchivedExpense(@PathVariable UUID id) {
+        return ResponseEntity.ok(expenseArchiveService.getArchivedExpense(id));
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<ExpenseArchiveResult> archiveClosedExpenses() {
+        return ResponseEntity.ok(expenseArchiveService.archiveClosedExpenses());
+    }
+}
@@ -1,16 +1,28 @@
 package com.technogise.iesa.expensemanagement.controller;
 
+import com.technogise.iesa.expensemanagement.domain.ExpenseCounterScope;
 import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
 import com.technogise.iesa.expensemanagement.dto.*;
+import com.technogise.iesa.expensemanagement.service.ExpenseExportService;
+import com.technogise.iesa.expensemanagement.service.ExpenseImportService;
 import com.technogise.iesa.expensemanagement.service.ExpenseService;
+import com.technogise.iesa.expensemanagement.service.ExpenseStatusCounterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -22,6 +34,9 @@ import java.util.UUID;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseExportService expenseExportService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseStatusCounterService counterService;
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
@@ -29,6 +44,82 @@ public class ExpenseController {
         return ResponseEntity.ok(expenseService.getAllExpenses());
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<ExpensePageDto> getExpensePage(
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) UUID submitterId,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ExpenseFilter filter = ExpenseFilter.builder()
+                .status(status)
+                .submitterId(submitterId)
+                .departmentId(departmentId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        return ResponseEntity.ok(expenseService.getExpensePage(filter, cursor, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<ExpenseSearchResultDto> searchExpenses(
+            @RequestParam("q") String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(expenseService.searchExpenses(term, page, size));
+    }
+
+    @GetMapping("/vendors/autocomplete")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'EXPENSE_CREATE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER', 'ROLE_EMPLOYEE')")
+    public ResponseEntity<List<String>> autocompleteVendors(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(expenseService.autocompleteVendors(prefix, limit));
+    }
+
+    @GetMapping("/status-counts")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<List<ExpenseStatusCountDto>> getStatusCounts(
+            @RequestParam(defaultValue = "ALL") ExpenseCounterScope scope,
+            @RequestParam(required = false) UUID scopeId) {
+        return ResponseEntity.ok(counterService.getStatusCounts(scope, scopeId));
+    }
+
+    @PostMapping("/status-counts/reconcile")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<ExpenseCounterReconciliationResult> reconcileStatusCounts() {
+        return ResponseEntity.ok(counterService.reconcile());
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) ExpenseStatus status,
+            @RequestParam(required = false) UUID submitterId,
+            @RequestParam(required = false) UUID departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate) {
+        ExpenseFilter filter = ExpenseFilter.builder()
+                .status(status)
+                .submitterId(submitterId)
+                .departmentId(departmentId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .build();
+        String fileName = "expenses-" + LocalDate.now() + "." + format.getFileExtension();
+
+        StreamingResponseBody body = out -> expenseExportService.export(filter, format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('EXPENSE_READ', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER', 'ROLE_EMPLOYEE')")
     public ResponseEntity<ExpenseDto> getExpenseById(@PathVariable UUID id) {
@@ -59,6 +150,20 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(expenseService.createExpense(request));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('EXPENSE_CREATE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER', 'ROLE_EMPLOYEE')")
+    public ResponseEntity<ExpenseImportResult> importExpenses(@RequestBody List<CreateExpenseRequest> requests) {
+        return ResponseEntity.ok(expenseImportService.importExpenses(requests));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('EXPENSE_CREATE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER', 'ROLE_EMPLOYEE')")
+    public ResponseEntity<ExpenseImportResult> importExpensesCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream csv = file.getInputStream()) {
+            return ResponseEntity.ok(expenseImportService.importCsv(csv));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('EXPENSE_UPDATE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER', 'ROLE_EMPLOYEE')")
     public ResponseEntity<ExpenseDto> updateExpense(@PathVariable UUID id, @Valid @RequestBody UpdateExpenseRequest request) {
@@ -90,4 +195,16 @@ public class ExpenseController {
         String reason = payload.getOrDefault("reason", "");
         return ResponseEntity.ok(expenseService.rejectExpense(id, reason));
     }
+
+    @PostMapping("/bulk/approve")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_APPROVE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<BulkTransitionResult> bulkApproveExpenses(@Valid @RequestBody BulkTransitionRequest request) {
+        return ResponseEntity.ok(expenseService.bulkApproveExpenses(request));
+    }
+
+    @PostMapping("/bulk/reject")
+    @PreAuthorize("hasAnyAuthority('EXPENSE_APPROVE', 'ROLE_FINANCE_ADMIN', 'ROLE_MANAGER')")
+    public ResponseEntity<BulkTransitionResult> bulkRejectExpenses(@Valid @RequestBody BulkTransitionRequest request) {
+        return ResponseEntity.ok(expenseService.bulkRejectExpenses(request));
+    }
 }
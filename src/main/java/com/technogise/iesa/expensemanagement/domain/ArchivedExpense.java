@@ -0,0 +1,60 @@
+package com.technogise.iesa.expensemanagement.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Closed expense moved to cold storage. Header columns are kept for searching; the expense itself and
+ * all of its child records live in the payload document. Written only by ExpenseArchiveService.
+ */
+@Entity
+@Table(name = "expense_archive")
+@Immutable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedExpense {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "submitter_id", nullable = false)
+    private UUID submitterId;
+
+    @Column(name = "department_id")
+    private UUID departmentId;
+
+    @Column(name = "expense_date", nullable = false)
+    private LocalDate expenseDate;
+
+    @Column(name = "vendor", length = 200)
+    private String vendor;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private ExpenseStatus status;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "payload", columnDefinition = "jsonb", nullable = false)
+    private Map<String, Object> payload;
+}
@@ -19,6 +19,7 @@ import java.util.List;
     @Index(name = "idx_expense_submitter", columnList = "submitter_id"),
     @Index(name = "idx_expense_status", columnList = "status"),
     @Index(name = "idx_expense_date", columnList = "expense_date"),
+    @Index(name = "idx_expense_date_id", columnList = "expense_date DESC, id DESC"),
     @Index(name = "idx_expense_submission_date", columnList = "submission_date")
 })
 @Getter
@@ -0,0 +1,30 @@
+package com.technogise.iesa.expensemanagement.domain;
+
+import java.util.UUID;
+
+/**
+ * Granularity at which expense status counters are kept
+ */
+public enum ExpenseCounterScope {
+    ALL,
+    DEPARTMENT,
+    SUBMITTER;
+
+    /**
+     * Scope id used for the ALL scope, so counter keys never contain nulls
+     */
+    public static final UUID GLOBAL_SCOPE_ID = new UUID(0L, 0L);
+
+    /**
+     * The ALL counters of each status are split over this many rows, so concurrent writers rarely
+     * update the same row. Readers add the stripes up.
+     */
+    public static final int GLOBAL_STRIPES = 16;
+
+    /**
+     * ALL-scope row that counts the expenses of the given submitter. Stripe 0 is GLOBAL_SCOPE_ID.
+     */
+    public static UUID globalStripeId(UUID submitterId) {
+        return new UUID(0L, Math.floorMod(submitterId.getLeastSignificantBits(), GLOBAL_STRIPES));
+    }
+}
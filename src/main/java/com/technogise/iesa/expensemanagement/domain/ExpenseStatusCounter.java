@@ -0,0 +1,33 @@
+package com.technogise.iesa.expensemanagement.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized count and total of live expenses in one status, overall or for one department or submitter.
+ * Written only through ExpenseStatusCounterService, in the transaction that changes the expenses.
+ */
+@Entity
+@Table(name = "expense_status_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpenseStatusCounter {
+
+    @EmbeddedId
+    private ExpenseStatusCounterId id;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
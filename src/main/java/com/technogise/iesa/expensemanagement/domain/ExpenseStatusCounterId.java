@@ -0,0 +1,27 @@
+package com.technogise.iesa.expensemanagement.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ExpenseStatusCounterId implements Serializable {
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private ExpenseStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private ExpenseCounterScope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private UUID scopeId;
+}
@@ -0,0 +1,37 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedExpenseDto {
+    private UUID id;
+    private UUID submitterId;
+    private UUID departmentId;
+    private LocalDate expenseDate;
+    private String vendor;
+    private BigDecimal totalAmount;
+    private String currency;
+    private String status;
+    private LocalDateTime archivedAt;
+    /**
+     * Full expense with allocations, documents, comments, approval actions and history; only set for single lookups
+     */
+    private Map<String, Object> payload;
+
+    /**
+     * Header-only projection used by archive searches, so payload documents are never read from disk
+     */
+    public ArchivedExpenseDto(UUID id, UUID submitterId, UUID departmentId, LocalDate expenseDate, String vendor,
+                              BigDecimal totalAmount, String currency, ExpenseStatus status, LocalDateTime archivedAt) {
+        this(id, submitterId, departmentId, expenseDate, vendor, totalAmount, currency, status.name(), archivedAt, null);
+    }
+}
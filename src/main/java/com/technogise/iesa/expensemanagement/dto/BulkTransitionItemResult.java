@@ -0,0 +1,15 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionItemResult {
+    private UUID id;
+    private BulkTransitionOutcome outcome;
+    private String message;
+    private Long newVersion;
+}
@@ -0,0 +1,12 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+/**
+ * Per-item outcome of a bulk approve/reject request
+ */
+public enum BulkTransitionOutcome {
+    SUCCESS,
+    NOT_FOUND,
+    VERSION_CONFLICT,
+    INVALID_STATUS,
+    DUPLICATE
+}
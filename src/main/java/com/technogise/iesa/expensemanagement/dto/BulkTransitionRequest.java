@@ -0,0 +1,21 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionRequest {
+
+    @NotEmpty(message = "At least one expense is required")
+    @Size(max = 1000, message = "At most 1000 expenses can be transitioned per request")
+    @Valid
+    private List<ExpenseVersionRef> items;
+
+    @Size(max = 1000, message = "Reason must not exceed 1000 characters")
+    private String reason;
+}
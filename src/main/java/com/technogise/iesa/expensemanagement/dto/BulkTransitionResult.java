@@ -0,0 +1,14 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResult {
+    private int succeededCount;
+    private int failedCount;
+    private List<BulkTransitionItemResult> results;
+}
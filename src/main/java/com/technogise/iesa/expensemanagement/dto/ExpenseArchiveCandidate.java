@@ -0,0 +1,24 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Closed expense selected for archiving, with what the status counters need to remove it
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseArchiveCandidate {
+    private final UUID id;
+    private final LocalDate expenseDate;
+    private final ExpenseStatus status;
+    private final UUID submitterId;
+    private final UUID departmentId;
+    private final BigDecimal totalAmount;
+    private final boolean deleted;
+}
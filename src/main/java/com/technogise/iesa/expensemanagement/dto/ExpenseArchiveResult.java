@@ -0,0 +1,16 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseArchiveResult {
+    private LocalDate cutoffDate;
+    private int archivedCount;
+    private int chunks;
+    private boolean complete;
+    private long durationMs;
+}
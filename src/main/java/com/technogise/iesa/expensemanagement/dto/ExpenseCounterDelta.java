@@ -0,0 +1,18 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounterId;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Change to apply to one expense status counter row
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseCounterDelta {
+    private final ExpenseStatusCounterId key;
+    private final long countDelta;
+    private final BigDecimal amountDelta;
+}
@@ -0,0 +1,22 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Difference between a stored counter and the value recomputed from expenses
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseCounterDrift {
+    private String status;
+    private String scope;
+    private UUID scopeId;
+    private long storedCount;
+    private long actualCount;
+    private BigDecimal storedAmount;
+    private BigDecimal actualAmount;
+}
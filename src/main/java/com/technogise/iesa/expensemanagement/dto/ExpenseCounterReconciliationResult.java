@@ -0,0 +1,15 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseCounterReconciliationResult {
+    private int countersChecked;
+    private int driftCount;
+    private List<ExpenseCounterDrift> drifts;
+    private long durationMs;
+}
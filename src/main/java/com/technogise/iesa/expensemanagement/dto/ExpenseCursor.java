@@ -0,0 +1,41 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position over (expense_date, id) used to continue a paginated listing.
+ * Encoded as URL-safe Base64 so clients treat it as a token rather than a date.
+ */
+@Getter
+@AllArgsConstructor
+public class ExpenseCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDate expenseDate;
+    private final UUID id;
+
+    public String encode() {
+        String raw = expenseDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new ExpenseCursor(
+                    LocalDate.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid expense cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Flattened expense export row: the expense header repeated once per segment allocation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseExportRow {
+    private UUID expenseId;
+    private LocalDate expenseDate;
+    private UUID submitterId;
+    private String submitterName;
+    private String vendor;
+    private BigDecimal totalAmount;
+    private String currency;
+    private String status;
+    private LocalDate submissionDate;
+    private LocalDate approvalDate;
+    private LocalDate paymentDate;
+    private String paymentReference;
+    private String description;
+    private String segmentCode;
+    private String segmentName;
+    private BigDecimal allocationAmount;
+    private BigDecimal allocationPercentage;
+
+    /**
+     * Constructor used by the JPQL constructor expression in the export query
+     */
+    public ExpenseExportRow(UUID expenseId, LocalDate expenseDate, UUID submitterId, String submitterFirstName,
+                            String submitterLastName, String vendor, BigDecimal totalAmount, String currency,
+                            ExpenseStatus status, LocalDate submissionDate, LocalDate approvalDate,
+                            LocalDate paymentDate, String paymentReference, String description, String segmentCode,
+                            String segmentName, BigDecimal allocationAmount, BigDecimal allocationPercentage) {
+        this(expenseId, expenseDate, submitterId, submitterFirstName + " " + submitterLastName, vendor, totalAmount,
+                currency, status.name(), submissionDate, approvalDate, paymentDate, paymentReference, description,
+                segmentCode, segmentName, allocationAmount, allocationPercentage);
+    }
+}
@@ -0,0 +1,23 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Optional filters applied to paginated expense listings.
+ * Null fields are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseFilter {
+    private ExpenseStatus status;
+    private UUID submitterId;
+    private UUID departmentId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+}
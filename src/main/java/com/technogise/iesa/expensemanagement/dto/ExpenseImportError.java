@@ -0,0 +1,15 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportError {
+    /**
+     * 1-based position of the row in the submitted array or CSV body (header excluded)
+     */
+    private int rowNumber;
+    private String message;
+}
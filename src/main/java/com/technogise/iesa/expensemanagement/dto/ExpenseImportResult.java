@@ -0,0 +1,16 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseImportResult {
+    private int totalRows;
+    private int importedCount;
+    private int failedCount;
+    private List<ExpenseImportError> errors;
+    private long durationMs;
+}
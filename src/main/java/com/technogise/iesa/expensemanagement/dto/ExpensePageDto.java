@@ -0,0 +1,14 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpensePageDto {
+    private List<ExpenseDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
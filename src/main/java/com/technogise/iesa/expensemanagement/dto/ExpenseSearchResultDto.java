@@ -0,0 +1,15 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchResultDto {
+    private List<ExpenseDto> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
@@ -0,0 +1,14 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseStatusCountDto {
+    private String status;
+    private long expenseCount;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,21 @@
+package com.technogise.iesa.expensemanagement.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import java.util.UUID;
+
+/**
+ * Expense id together with the version the client last saw, for optimistic concurrency checks
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseVersionRef {
+
+    @NotNull(message = "Expense ID is required")
+    private UUID id;
+
+    @NotNull(message = "Expected version is required")
+    private Long version;
+}
@@ -0,0 +1,36 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.ArchivedExpense;
+import com.technogise.iesa.expensemanagement.dto.ArchivedExpenseDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ArchivedExpense entity. Reads the archive only, never the live tables.
+ */
+@Repository
+public interface ArchivedExpenseRepository extends JpaRepository<ArchivedExpense, UUID> {
+
+    /**
+     * Find headers of archived expenses matching the optional filters, newest first. The payload is not selected.
+     */
+    @Query("SELECT new com.technogise.iesa.expensemanagement.dto.ArchivedExpenseDto("
+            + "a.id, a.submitterId, a.departmentId, a.expenseDate, a.vendor, a.totalAmount, a.currency, a.status, a.archivedAt) "
+            + "FROM ArchivedExpense a WHERE (:submitterId IS NULL OR a.submitterId = :submitterId) "
+            + "AND (:departmentId IS NULL OR a.departmentId = :departmentId) "
+            + "AND a.expenseDate BETWEEN :fromDate AND :toDate ORDER BY a.expenseDate DESC, a.id DESC")
+    List<ArchivedExpenseDto> search(
+        @Param("submitterId") UUID submitterId,
+        @Param("departmentId") UUID departmentId,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate,
+        Pageable pageable
+    );
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,33 +16,33 @@ import java.util.UUID;
  * Repository interface for Expense entity
  */
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
+public interface ExpenseRepository extends JpaRepository<Expense, UUID>, ExpenseRepositoryCustom {
 
     /**
      * Find all expenses by submitter (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.submitter.id = :submitterId AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.submitter.id = :submitterId AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findBySubmitterId(@Param("submitterId") UUID submitterId);
 
     /**
      * Find all expenses by status (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.status = :status AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.status = :status AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findByStatus(@Param("status") ExpenseStatus status);
 
     /**
      * Find all expenses by submitter and status (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.submitter.id = :submitterId AND e.status = :status AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.submitter.id = :submitterId AND e.status = :status AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findBySubmitterIdAndStatus(
         @Param("submitterId") UUID submitterId,
         @Param("status") ExpenseStatus status
     );
 
     /**
-     * Find all expenses within date range (excluding soft-deleted)
+     * Find all expenses within date range (excluding soft-deleted). Scans only the monthly partitions in range.
      */
-    @Query("SELECT e FROM Expense e WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.expenseDate BETWEEN :startDate AND :endDate AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findByExpenseDateBetween(
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
@@ -50,26 +51,49 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
     /**
      * Find all expenses for a user's department (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.submitter.department.id = :departmentId AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.submitter.department.id = :departmentId AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findByDepartmentId(@Param("departmentId") UUID departmentId);
 
     /**
      * Find all pending approval expenses (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.status = 'SUBMITTED' AND e.deletedAt IS NULL ORDER BY e.submissionDate ASC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.status = 'SUBMITTED' AND e.deletedAt IS NULL ORDER BY e.submissionDate ASC")
     List<Expense> findPendingApprovals();
 
     /**
      * Find all expenses (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
+    @Query("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
     List<Expense> findAllNotDeleted();
 
     /**
-     * Search expenses by vendor or description (excluding soft-deleted)
+     * Find expenses by id in a single query (excluding soft-deleted)
      */
-    @Query("SELECT e FROM Expense e WHERE (LOWER(e.vendor) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(e.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND e.deletedAt IS NULL ORDER BY e.expenseDate DESC")
-    List<Expense> searchExpenses(@Param("searchTerm") String searchTerm);
+    @Query("SELECT e FROM Expense e WHERE e.id IN :ids AND e.deletedAt IS NULL")
+    List<Expense> findAllByIdNotDeleted(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Full-text search over vendor and description, plus trigram matching on vendor for partial or
+     * misspelled names (excluding soft-deleted). Ordered by relevance; served by the GIN indexes from V18.
+     */
+    @Query(value = "SELECT e.* FROM expenses e, websearch_to_tsquery('english', :term) q "
+            + "WHERE e.deleted_at IS NULL AND (e.search_vector @@ q OR lower(e.vendor) % lower(:term)) "
+            + "ORDER BY ts_rank(e.search_vector, q) + COALESCE(similarity(lower(e.vendor), lower(:term)), 0) DESC, "
+            + "e.expense_date DESC, e.id DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Expense> searchExpenses(
+        @Param("term") String term,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    /**
+     * Vendor names starting with the given LIKE pattern, most used first. Reads the distinct-vendor
+     * dictionary rather than the expenses table, so cost depends on vendor count, not expense count.
+     */
+    @Query(value = "SELECT v.display_name FROM expense_vendors v WHERE v.name_normalized LIKE :pattern AND v.usage_count > 0 "
+            + "ORDER BY v.usage_count DESC, v.name_normalized LIMIT :limit", nativeQuery = true)
+    List<String> findVendorNamesLike(@Param("pattern") String pattern, @Param("limit") int limit);
 
     /**
      * Count expenses by status (excluding soft-deleted)
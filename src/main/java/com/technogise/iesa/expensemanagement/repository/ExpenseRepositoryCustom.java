@@ -0,0 +1,57 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.Expense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCursor;
+import com.technogise.iesa.expensemanagement.dto.ExpenseExportRow;
+import com.technogise.iesa.expensemanagement.dto.ExpenseFilter;
+import com.technogise.iesa.expensemanagement.dto.ExpenseVersionRef;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Custom queries on Expense that need to be assembled at runtime
+ */
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Find a page of expenses ordered by (expenseDate DESC, id DESC) that come after the given cursor
+     * (excluding soft-deleted). Only the filters that are set are applied, so each combination maps
+     * onto a plain index range scan and the cost of a page does not depend on its position. Date filters
+     * and the cursor date bound expense_date, so only the monthly partitions in range are scanned.
+     */
+    List<Expense> findPageAfter(ExpenseFilter filter, ExpenseCursor after, int limit);
+
+    /**
+     * Stream matching expenses as flat rows, one per live segment allocation (or a single row when the
+     * expense has none), ordered by (expenseDate, id). Rows are projections rather than managed entities,
+     * and are pulled from a forward-only cursor in chunks of fetchSize, so memory use does not grow with
+     * the result. Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<ExpenseExportRow> streamExportRows(ExpenseFilter filter, int fetchSize);
+
+    /**
+     * Initialize everything ExpenseMapper touches on already-loaded expenses: allocations with their
+     * segments, and documents with their uploaders. Issues one query per association per chunk of
+     * expenses instead of one per expense, so mapping a page costs a fixed number of round trips.
+     */
+    void fetchMappingAssociations(List<Expense> expenses);
+
+    /**
+     * Move each expense from one status to another in a single JDBC batch, guarded by its expected
+     * version and current status. Returns the update count per item in input order: 0 means the row
+     * changed since the caller read it, which is reported per item instead of failing the whole batch
+     * the way a Hibernate flush would. The approval date and rejection reason are written only when set.
+     */
+    int[] batchTransitionStatus(List<ExpenseVersionRef> items, ExpenseStatus from, ExpenseStatus to,
+                                LocalDate approvalDate, String rejectionReason, String updatedBy);
+
+    /**
+     * Replace managed expenses with their current database state after they were written outside
+     * Hibernate, e.g. by batchTransitionStatus. Each is detached, so a later flush cannot send its stale
+     * version, and all are loaded again in one query per chunk. Returns the new instances in input order.
+     */
+    List<Expense> reloadAll(List<Expense> expenses);
+}
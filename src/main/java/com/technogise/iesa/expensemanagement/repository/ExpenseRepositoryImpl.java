@@ -0,0 +1,181 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.Expense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCursor;
+import com.technogise.iesa.expensemanagement.dto.ExpenseExportRow;
+import com.technogise.iesa.expensemanagement.dto.ExpenseFilter;
+import com.technogise.iesa.expensemanagement.dto.ExpenseVersionRef;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link ExpenseRepositoryCustom}, picked up by Spring Data through the Impl suffix
+ */
+public class ExpenseRepositoryImpl implements ExpenseRepositoryCustom {
+
+    /**
+     * Keeps IN lists well below the PostgreSQL bind parameter limit when whole listings are mapped
+     */
+    private static final int ASSOCIATION_FETCH_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Expense> findPageAfter(ExpenseFilter filter, ExpenseCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT e FROM Expense e JOIN FETCH e.submitter WHERE e.deletedAt IS NULL");
+        Map<String, Object> params = new HashMap<>();
+        appendFilter(jpql, params, filter);
+
+        if (after != null) {
+            // The redundant upper bound lets PostgreSQL prune the monthly partitions after the cursor
+            jpql.append(" AND e.expenseDate <= :cursorDate")
+                    .append(" AND (e.expenseDate < :cursorDate OR (e.expenseDate = :cursorDate AND e.id < :cursorId))");
+            params.put("cursorDate", after.getExpenseDate());
+            params.put("cursorId", after.getId());
+        }
+
+        jpql.append(" ORDER BY e.expenseDate DESC, e.id DESC");
+
+        TypedQuery<Expense> query = entityManager.createQuery(jpql.toString(), Expense.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<ExpenseExportRow> streamExportRows(ExpenseFilter filter, int fetchSize) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.technogise.iesa.expensemanagement.dto.ExpenseExportRow(")
+                .append("e.id, e.expenseDate, u.id, u.firstName, u.lastName, e.vendor, e.totalAmount, e.currency, ")
+                .append("e.status, e.submissionDate, e.approvalDate, e.paymentDate, e.paymentReference, e.description, ")
+                .append("s.code, s.name, sa.amount, sa.percentage) ")
+                .append("FROM Expense e JOIN e.submitter u ")
+                .append("LEFT JOIN e.segmentAllocations sa ON sa.deletedAt IS NULL ")
+                .append("LEFT JOIN sa.segment s ")
+                .append("WHERE e.deletedAt IS NULL");
+        Map<String, Object> params = new HashMap<>();
+        appendFilter(jpql, params, filter);
+        jpql.append(" ORDER BY e.expenseDate, e.id");
+
+        TypedQuery<ExpenseExportRow> query = entityManager.createQuery(jpql.toString(), ExpenseExportRow.class);
+        params.forEach(query::setParameter);
+        return query
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public void fetchMappingAssociations(List<Expense> expenses) {
+        if (expenses == null || expenses.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = expenses.stream().map(Expense::getId).distinct().toList();
+
+        for (int from = 0; from < ids.size(); from += ASSOCIATION_FETCH_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + ASSOCIATION_FETCH_CHUNK_SIZE, ids.size()));
+
+            // Two bag collections cannot be join fetched together, so each gets its own query.
+            // The results are discarded: loading them initializes the collections on the managed instances.
+            entityManager.createQuery(
+                    "SELECT DISTINCT e FROM Expense e LEFT JOIN FETCH e.segmentAllocations sa LEFT JOIN FETCH sa.segment "
+                            + "WHERE e.id IN :ids", Expense.class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            entityManager.createQuery(
+                    "SELECT DISTINCT e FROM Expense e LEFT JOIN FETCH e.documents d LEFT JOIN FETCH d.uploadedBy "
+                            + "WHERE e.id IN :ids", Expense.class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+        }
+    }
+
+    @Override
+    public int[] batchTransitionStatus(List<ExpenseVersionRef> items, ExpenseStatus from, ExpenseStatus to,
+                                       LocalDate approvalDate, String rejectionReason, String updatedBy) {
+        if (items == null || items.isEmpty()) {
+            return new int[0];
+        }
+        String sql = "UPDATE expenses SET status = ?, approval_date = COALESCE(?, approval_date), "
+                + "rejection_reason = COALESCE(?, rejection_reason), updated_at = ?, updated_by = ?, version = version + 1 "
+                + "WHERE id = ? AND version = ? AND status = ? AND deleted_at IS NULL";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date approval = approvalDate == null ? null : Date.valueOf(approvalDate);
+
+        // Runs on the connection bound to the current transaction, so the updates commit or roll back with it
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (ExpenseVersionRef item : items) {
+                    statement.setString(1, to.name());
+                    statement.setDate(2, approval);
+                    statement.setString(3, rejectionReason);
+                    statement.setTimestamp(4, now);
+                    statement.setString(5, updatedBy);
+                    statement.setObject(6, item.getId());
+                    statement.setLong(7, item.getVersion());
+                    statement.setString(8, from.name());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    public List<Expense> reloadAll(List<Expense> expenses) {
+        if (expenses == null || expenses.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = expenses.stream().map(Expense::getId).toList();
+        expenses.forEach(entityManager::detach);
+        Map<UUID, Expense> reloaded = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ASSOCIATION_FETCH_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + ASSOCIATION_FETCH_CHUNK_SIZE, ids.size()));
+            entityManager.createQuery("SELECT e FROM Expense e WHERE e.id IN :ids", Expense.class)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(expense -> reloaded.put(expense.getId(), expense));
+        }
+        return ids.stream().map(reloaded::get).toList();
+    }
+
+    private void appendFilter(StringBuilder jpql, Map<String, Object> params, ExpenseFilter filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter.getStatus() != null) {
+            jpql.append(" AND e.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getSubmitterId() != null) {
+            jpql.append(" AND e.submitter.id = :submitterId");
+            params.put("submitterId", filter.getSubmitterId());
+        }
+        if (filter.getDepartmentId() != null) {
+            jpql.append(" AND e.submitter.department.id = :departmentId");
+            params.put("departmentId", filter.getDepartmentId());
+        }
+        if (filter.getFromDate() != null) {
+            jpql.append(" AND e.expenseDate >= :fromDate");
+            params.put("fromDate", filter.getFromDate());
+        }
+        if (filter.getToDate() != null) {
+            jpql.append(" AND e.expenseDate <= :toDate");
+            params.put("toDate", filter.getToDate());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseCounterScope;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounter;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounterId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for ExpenseStatusCounter entity
+ */
+@Repository
+public interface ExpenseStatusCounterRepository
+        extends JpaRepository<ExpenseStatusCounter, ExpenseStatusCounterId>, ExpenseStatusCounterRepositoryCustom {
+
+    /**
+     * Find the counters of every status for one scope. At most one row per status, read by key.
+     */
+    @Query("SELECT c FROM ExpenseStatusCounter c WHERE c.id.scope = :scope AND c.id.scopeId = :scopeId")
+    List<ExpenseStatusCounter> findByScope(
+        @Param("scope") ExpenseCounterScope scope,
+        @Param("scopeId") UUID scopeId
+    );
+
+    /**
+     * Find every counter row of a scope type, such as all stripes of the ALL counters
+     */
+    @Query("SELECT c FROM ExpenseStatusCounter c WHERE c.id.scope = :scope")
+    List<ExpenseStatusCounter> findAllByScope(@Param("scope") ExpenseCounterScope scope);
+
+    /**
+     * Find the counters of one scope and lock them until the transaction ends
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ExpenseStatusCounter c WHERE c.id.scope = :scope AND c.id.scopeId = :scopeId "
+            + "ORDER BY c.id.status")
+    List<ExpenseStatusCounter> findByScopeForUpdate(
+        @Param("scope") ExpenseCounterScope scope,
+        @Param("scopeId") UUID scopeId
+    );
+}
@@ -0,0 +1,25 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounter;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCounterDelta;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Counter writes that need PostgreSQL upserts and batching
+ */
+public interface ExpenseStatusCounterRepositoryCustom {
+
+    /**
+     * Add the deltas to their counter rows, creating missing rows, in one JDBC batch. Rows are written in
+     * key order so concurrent transactions touching the same counters lock them in the same order.
+     */
+    void applyDeltas(Collection<ExpenseCounterDelta> deltas);
+
+    /**
+     * Aggregate the counters every scope should hold straight from the live expenses. ALL counters are
+     * returned unstriped, one row per status keyed by GLOBAL_SCOPE_ID.
+     */
+    List<ExpenseStatusCounter> computeFromExpenses();
+}
@@ -0,0 +1,105 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseCounterScope;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounter;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatusCounterId;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCounterDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Implementation of {@link ExpenseStatusCounterRepositoryCustom}, picked up by Spring Data through the Impl suffix
+ */
+public class ExpenseStatusCounterRepositoryImpl implements ExpenseStatusCounterRepositoryCustom {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO expense_status_counters (status, scope, scope_id, expense_count, total_amount, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (status, scope, scope_id) DO UPDATE SET "
+                    + "expense_count = expense_status_counters.expense_count + EXCLUDED.expense_count, "
+                    + "total_amount = expense_status_counters.total_amount + EXCLUDED.total_amount, "
+                    + "updated_at = EXCLUDED.updated_at";
+
+    private static final String AGGREGATE_SQL =
+            "SELECT e.status, 'ALL', CAST(:globalScopeId AS uuid), COUNT(*), SUM(e.total_amount) "
+                    + "FROM expenses e WHERE e.deleted_at IS NULL GROUP BY e.status "
+                    + "UNION ALL "
+                    + "SELECT e.status, 'DEPARTMENT', u.department_id, COUNT(*), SUM(e.total_amount) "
+                    + "FROM expenses e JOIN users u ON u.id = e.submitter_id "
+                    + "WHERE e.deleted_at IS NULL AND u.department_id IS NOT NULL GROUP BY e.status, u.department_id "
+                    + "UNION ALL "
+                    + "SELECT e.status, 'SUBMITTER', e.submitter_id, COUNT(*), SUM(e.total_amount) "
+                    + "FROM expenses e WHERE e.deleted_at IS NULL GROUP BY e.status, e.submitter_id";
+
+    private static final Comparator<ExpenseStatusCounterId> KEY_ORDER = Comparator
+            .comparing((ExpenseStatusCounterId key) -> key.getStatus().name())
+            .thenComparing(key -> key.getScope().name())
+            .thenComparing(ExpenseStatusCounterId::getScopeId);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void applyDeltas(Collection<ExpenseCounterDelta> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        // Merge deltas for the same row so each key is written once per batch
+        Map<ExpenseStatusCounterId, ExpenseCounterDelta> merged = new TreeMap<>(KEY_ORDER);
+        for (ExpenseCounterDelta delta : deltas) {
+            merged.merge(delta.getKey(), delta, (a, b) -> new ExpenseCounterDelta(a.getKey(),
+                    a.getCountDelta() + b.getCountDelta(), a.getAmountDelta().add(b.getAmountDelta())));
+        }
+        merged.values().removeIf(d -> d.getCountDelta() == 0 && d.getAmountDelta().signum() == 0);
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+                for (ExpenseCounterDelta delta : merged.values()) {
+                    statement.setString(1, delta.getKey().getStatus().name());
+                    statement.setString(2, delta.getKey().getScope().name());
+                    statement.setObject(3, delta.getKey().getScopeId());
+                    statement.setLong(4, delta.getCountDelta());
+                    statement.setBigDecimal(5, delta.getAmountDelta());
+                    statement.setTimestamp(6, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ExpenseStatusCounter> computeFromExpenses() {
+        List<Object[]> rows = entityManager.createNativeQuery(AGGREGATE_SQL)
+                .setParameter("globalScopeId", ExpenseCounterScope.GLOBAL_SCOPE_ID.toString())
+                .getResultList();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpenseStatusCounter> counters = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            counters.add(ExpenseStatusCounter.builder()
+                    .id(new ExpenseStatusCounterId(
+                            ExpenseStatus.valueOf((String) row[0]),
+                            ExpenseCounterScope.valueOf((String) row[1]),
+                            (UUID) row[2]))
+                    .expenseCount(((Number) row[3]).longValue())
+                    .totalAmount((BigDecimal) row[4])
+                    .updatedAt(now)
+                    .build());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,221 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.domain.ArchivedExpense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.dto.ArchivedExpenseDto;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveCandidate;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveResult;
+import com.technogise.iesa.expensemanagement.repository.ArchivedExpenseRepository;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves closed expenses out of the live tables into expense_archive, and serves reads from the archive.
+ * Live expense queries never see archived rows, so their indexes only cover the hot set.
+ */
+@Service
+@Slf4j
+public class ExpenseArchiveService {
+
+    static final int MAX_ARCHIVE_PAGE_SIZE = 200;
+    static final String ARCHIVE_JOB = "expense-archive";
+
+    private static final String SELECT_CANDIDATES_SQL =
+            "SELECT e.id, e.expense_date, e.status, e.submitter_id, u.department_id, e.total_amount, e.deleted_at IS NOT NULL "
+                    + "FROM expenses e JOIN users u ON u.id = e.submitter_id "
+                    + "WHERE e.status IN ('PAID', 'REJECTED') AND e.expense_date < ? "
+                    + "ORDER BY e.expense_date, e.id LIMIT ? "
+                    + "FOR UPDATE OF e SKIP LOCKED";
+
+    // One document per expense: the expense row plus every child collection, each ordered for stable output
+    private static final String INSERT_ARCHIVE_SQL =
+            "INSERT INTO expense_archive (id, submitter_id, department_id, expense_date, vendor, total_amount, currency, "
+                    + "status, archived_at, payload) "
+                    + "SELECT e.id, e.submitter_id, u.department_id, e.expense_date, e.vendor, e.total_amount, e.currency, "
+                    + "e.status, CURRENT_TIMESTAMP, "
+                    + "(to_jsonb(e) - 'search_vector') || jsonb_build_object("
+                    + "'segmentAllocations', (SELECT COALESCE(jsonb_agg(to_jsonb(sa) ORDER BY sa.created_at), '[]'::jsonb) "
+                    + "FROM segment_allocations sa WHERE sa.expense_id = e.id), "
+                    + "'documents', (SELECT COALESCE(jsonb_agg(to_jsonb(d) ORDER BY d.created_at), '[]'::jsonb) "
+                    + "FROM expense_documents d WHERE d.expense_id = e.id), "
+                    + "'comments', (SELECT COALESCE(jsonb_agg(to_jsonb(c) ORDER BY c.created_at), '[]'::jsonb) "
+                    + "FROM comments c WHERE c.expense_id = e.id), "
+                    + "'approvalActions', (SELECT COALESCE(jsonb_agg(to_jsonb(a) ORDER BY a.action_date), '[]'::jsonb) "
+                    + "FROM approval_actions a WHERE a.expense_id = e.id), "
+                    + "'workflowHistory', (SELECT COALESCE(jsonb_agg(to_jsonb(h) ORDER BY h.timestamp), '[]'::jsonb) "
+                    + "FROM workflow_history h WHERE h.expense_id = e.id)) "
+                    + "FROM expenses e JOIN users u ON u.id = e.submitter_id "
+                    + "WHERE e.id = ANY(?) AND e.expense_date < ?";
+
+    private static final List<String> CHILD_TABLES =
+            List.of("segment_allocations", "expense_documents", "comments", "approval_actions", "workflow_history");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivedExpenseRepository archivedExpenseRepository;
+    private final ExpenseStatusCounterService counterService;
+    private final DataVersionService dataVersionService;
+    private final ScheduledJobRunner jobRunner;
+    private final int retentionMonths;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public ExpenseArchiveService(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 ArchivedExpenseRepository archivedExpenseRepository,
+                                 ExpenseStatusCounterService counterService,
+                                 DataVersionService dataVersionService,
+                                 ScheduledJobRunner jobRunner,
+                                 @Value("${iesa.archive.retention-months:18}") int retentionMonths,
+                                 @Value("${iesa.archive.chunk-size:500}") int chunkSize,
+                                 @Value("${iesa.archive.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedExpenseRepository = archivedExpenseRepository;
+        this.counterService = counterService;
+        this.dataVersionService = dataVersionService;
+        this.jobRunner = jobRunner;
+        this.retentionMonths = retentionMonths;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    /**
+     * Archive on one node only; concurrent runs would each see short chunks and stop early
+     */
+    @Scheduled(cron = "${iesa.archive.cron:0 0 4 * * SUN}")
+    public void scheduledArchive() {
+        try {
+            jobRunner.runExclusively(ARCHIVE_JOB, Duration.ofHours(2), Duration.ofMinutes(5),
+                    () -> archiveClosedExpenses().getArchivedCount());
+        } catch (RuntimeException e) {
+            log.error("Expense archiving failed", e);
+        }
+    }
+
+    /**
+     * Archive PAID and REJECTED expenses dated before the retention cutoff. Each chunk is copied and
+     * deleted in its own short transaction, so a failure or restart loses nothing and the next run
+     * continues where this one stopped. Rows locked by other transactions are skipped for this run.
+     */
+    public ExpenseArchiveResult archiveClosedExpenses() {
+        long startedAt = System.currentTimeMillis();
+        LocalDate cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        log.info("Archiving closed expenses dated before {}", cutoff);
+
+        int archived = 0;
+        int chunks = 0;
+        boolean complete = false;
+        while (chunks < maxChunksPerRun) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            chunks++;
+            archived += moved == null ? 0 : moved;
+            if (moved == null || moved < chunkSize) {
+                complete = true;
+                break;
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        log.info("Archived {} expenses in {} chunks ({} ms){}", archived, chunks, duration,
+                complete ? "" : ", more remain for the next run");
+        return ExpenseArchiveResult.builder()
+                .cutoffDate(cutoff)
+                .archivedCount(archived)
+                .chunks(chunks)
+                .complete(complete)
+                .durationMs(duration)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public ArchivedExpenseDto getArchivedExpense(UUID id) {
+        ArchivedExpense archived = archivedExpenseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived expense not found with id: " + id));
+        return ArchivedExpenseDto.builder()
+                .id(archived.getId())
+                .submitterId(archived.getSubmitterId())
+                .departmentId(archived.getDepartmentId())
+                .expenseDate(archived.getExpenseDate())
+                .vendor(archived.getVendor())
+                .totalAmount(archived.getTotalAmount())
+                .currency(archived.getCurrency())
+                .status(archived.getStatus().name())
+                .archivedAt(archived.getArchivedAt())
+                .payload(archived.getPayload())
+                .build();
+    }
+
+    /**
+     * Page through archive headers without loading the payload documents into the response
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedExpenseDto> searchArchive(UUID submitterId, UUID departmentId, LocalDate fromDate,
+                                                  LocalDate toDate, int page, int size) {
+        if (size < 1 || size > MAX_ARCHIVE_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_ARCHIVE_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        LocalDate from = fromDate == null ? LocalDate.of(1900, 1, 1) : fromDate;
+        LocalDate to = toDate == null ? LocalDate.now() : toDate;
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        return archivedExpenseRepository.search(submitterId, departmentId, from, to, PageRequest.of(page, size));
+    }
+
+    private int archiveChunk(LocalDate cutoff) {
+        Date cutoffDate = Date.valueOf(cutoff);
+        List<ExpenseArchiveCandidate> candidates = jdbcTemplate.query(SELECT_CANDIDATES_SQL,
+                (rs, rowNum) -> new ExpenseArchiveCandidate(
+                        rs.getObject(1, UUID.class),
+                        rs.getDate(2).toLocalDate(),
+                        ExpenseStatus.valueOf(rs.getString(3)),
+                        rs.getObject(4, UUID.class),
+                        rs.getObject(5, UUID.class),
+                        rs.getBigDecimal(6),
+                        rs.getBoolean(7)),
+                cutoffDate, chunkSize);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        UUID[] ids = candidates.stream().map(ExpenseArchiveCandidate::getId).toArray(UUID[]::new);
+        jdbcTemplate.update(INSERT_ARCHIVE_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setDate(2, cutoffDate);
+        });
+        for (String table : CHILD_TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE expense_id = ANY(?)",
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids)));
+        }
+        // The date bound keeps the delete on the partitions that can hold these rows
+        jdbcTemplate.update("DELETE FROM expenses WHERE id = ANY(?) AND expense_date < ?", ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids));
+            ps.setDate(2, cutoffDate);
+        });
+
+        counterService.recordArchived(candidates);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
+        return candidates.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.usermanagement.domain.UserDepartmentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves a user's expenses between department counters when the user changes department. Listens inside
+ * the publishing transaction, so the counters move only if the department change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpenseCounterDepartmentListener {
+
+    private final ExpenseStatusCounterService counterService;
+
+    @EventListener
+    public void onDepartmentChanged(UserDepartmentChangedEvent event) {
+        counterService.recordDepartmentChange(event.getUserId(), event.getPreviousDepartmentId(), event.getDepartmentId());
+    }
+}
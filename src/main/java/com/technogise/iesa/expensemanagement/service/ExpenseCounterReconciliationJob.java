@@ -0,0 +1,34 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Periodically checks the expense status counters against the expenses so any drift is reported and
+ * repaired, on one node per firing
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpenseCounterReconciliationJob {
+
+    static final String RECONCILE_JOB = "expense-counter-reconciliation";
+
+    private final ExpenseStatusCounterService counterService;
+    private final ScheduledJobRunner jobRunner;
+
+    @Scheduled(cron = "${iesa.counters.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        try {
+            jobRunner.runExclusively(RECONCILE_JOB, Duration.ofHours(1), Duration.ofMinutes(5),
+                    () -> counterService.reconcile().getDriftCount());
+        } catch (RuntimeException e) {
+            log.error("Expense status counter reconciliation failed", e);
+        }
+    }
+}
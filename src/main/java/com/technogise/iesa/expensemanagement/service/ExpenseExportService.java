@@ -0,0 +1,133 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.technogise.iesa.expensemanagement.dto.ExpenseExportRow;
+import com.technogise.iesa.expensemanagement.dto.ExpenseFilter;
+import com.technogise.iesa.expensemanagement.dto.ExportFormat;
+import com.technogise.iesa.expensemanagement.repository.ExpenseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes expense exports straight from a database cursor to the response stream.
+ * Each row is written and dropped before the next is read, so heap use is flat regardless of export size.
+ */
+@Service
+@Slf4j
+public class ExpenseExportService {
+
+    private static final String[] CSV_HEADER = {
+            "expense_id", "expense_date", "submitter_id", "submitter_name", "vendor", "total_amount", "currency",
+            "status", "submission_date", "approval_date", "payment_date", "payment_reference", "description",
+            "segment_code", "segment_name", "allocation_amount", "allocation_percentage"
+    };
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final ExpenseRepository expenseRepository;
+    private final ObjectWriter rowWriter;
+    private final int fetchSize;
+
+    public ExpenseExportService(ExpenseRepository expenseRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${iesa.export.fetch-size:1000}") int fetchSize) {
+        this.expenseRepository = expenseRepository;
+        this.rowWriter = objectMapper.writerFor(ExpenseExportRow.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Export matching expenses to the given stream. Runs in its own read-only transaction because it is
+     * invoked from the async response thread, after the controller method has returned.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExpenseFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Starting {} expense export with filter: {}", format, filter);
+        long rows = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        try (Stream<ExpenseExportRow> stream = expenseRepository.streamExportRows(filter, fetchSize)) {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(writer, CSV_HEADER);
+            }
+            Iterator<ExpenseExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                ExpenseExportRow row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, toCsvValues(row));
+                } else {
+                    writer.write(rowWriter.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+
+        log.info("Finished {} expense export: {} rows", format, rows);
+        return rows;
+    }
+
+    private String[] toCsvValues(ExpenseExportRow row) {
+        return new String[]{
+                str(row.getExpenseId()), str(row.getExpenseDate()), str(row.getSubmitterId()), text(row.getSubmitterName()),
+                text(row.getVendor()), str(row.getTotalAmount()), row.getCurrency(), row.getStatus(),
+                str(row.getSubmissionDate()), str(row.getApprovalDate()), str(row.getPaymentDate()),
+                text(row.getPaymentReference()), text(row.getDescription()), text(row.getSegmentCode()),
+                text(row.getSegmentName()),
+                str(row.getAllocationAmount()), str(row.getAllocationPercentage())
+        };
+    }
+
+    private void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuoting = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * User-entered text starting with a character spreadsheets read as a formula is prefixed with a
+     * quote, so opening the export cannot evaluate it
+     */
+    private static String text(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+    }
+
+    private static String str(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
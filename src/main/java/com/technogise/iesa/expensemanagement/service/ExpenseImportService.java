@@ -0,0 +1,376 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.dto.CreateExpenseRequest;
+import com.technogise.iesa.expensemanagement.dto.ExpenseImportError;
+import com.technogise.iesa.expensemanagement.dto.ExpenseImportResult;
+import com.technogise.iesa.expensemanagement.dto.SegmentAllocationRequest;
+import com.technogise.iesa.segmentmanagement.domain.Segment;
+import com.technogise.iesa.segmentmanagement.repository.SegmentRepository;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.domain.UuidV7Generator;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.usermanagement.domain.User;
+import com.technogise.iesa.usermanagement.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk expense import for card feeds and spreadsheet uploads.
+ *
+ * Rows are validated in a parallel pre-pass, segments are checked with one set-based lookup,
+ * and valid rows are written with JDBC batch inserts in chunked transactions. A failing row is
+ * reported with its row number and never fails the rest of the import.
+ */
+@Service
+@Slf4j
+public class ExpenseImportService {
+
+    static final String[] CSV_HEADER = {"expense_date", "vendor", "total_amount", "currency", "description", "allocations"};
+
+    private static final String INSERT_EXPENSE_SQL =
+            "INSERT INTO expenses (id, submitter_id, expense_date, vendor, total_amount, currency, description, status, "
+                    + "created_at, updated_at, created_by, updated_by, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_ALLOCATION_SQL =
+            "INSERT INTO segment_allocations (id, expense_id, segment_id, amount, percentage, description, "
+                    + "created_at, updated_at, created_by, updated_by, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SegmentRepository segmentRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final ExpenseStatusCounterService counterService;
+    private final DataVersionService dataVersionService;
+    private final int chunkSize;
+
+    public ExpenseImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                SegmentRepository segmentRepository,
+                                UserRepository userRepository,
+                                Validator validator,
+                                ExpenseStatusCounterService counterService,
+                                DataVersionService dataVersionService,
+                                @Value("${iesa.import.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.segmentRepository = segmentRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+        this.counterService = counterService;
+        this.dataVersionService = dataVersionService;
+        this.chunkSize = chunkSize;
+    }
+
+    public ExpenseImportResult importExpenses(List<CreateExpenseRequest> requests) {
+        return runImport(requests, new String[requests.size()]);
+    }
+
+    /**
+     * Import expenses from CSV with the header
+     * {@code expense_date,vendor,total_amount,currency,description,allocations}, where allocations is a
+     * {@code ;}-separated list of {@code segmentId:percentage} pairs. Fields may be double-quoted, and
+     * quoted fields may span lines.
+     */
+    public ExpenseImportResult importCsv(InputStream csv) throws IOException {
+        List<CreateExpenseRequest> requests = new ArrayList<>();
+        List<String> parseErrors = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = readCsvRecord(reader);
+            if (header == null || !Arrays.equals(parseCsvLine(header.replace("\uFEFF", "")), CSV_HEADER)) {
+                throw new IllegalArgumentException("CSV header must be: " + String.join(",", CSV_HEADER));
+            }
+            String record;
+            while ((record = readCsvRecord(reader)) != null) {
+                if (record.isBlank()) {
+                    continue;
+                }
+                try {
+                    requests.add(parseCsvRow(parseCsvLine(record)));
+                    parseErrors.add(null);
+                } catch (RuntimeException ex) {
+                    requests.add(null);
+                    parseErrors.add(ex.getMessage());
+                }
+            }
+        }
+
+        return runImport(requests, parseErrors.toArray(new String[0]));
+    }
+
+    private ExpenseImportResult runImport(List<CreateExpenseRequest> requests, String[] rowErrors) {
+        long startTime = System.currentTimeMillis();
+        int rowCount = requests.size();
+        log.info("Starting bulk import of {} expenses", rowCount);
+
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User submitter = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Current user not found"));
+
+        // Parallel pre-pass: each row is validated independently and writes only its own slot
+        IntStream.range(0, rowCount).parallel()
+                .filter(i -> rowErrors[i] == null)
+                .forEach(i -> rowErrors[i] = validateRow(requests.get(i)));
+
+        // One set-based lookup for every segment referenced by a still-valid row
+        Set<UUID> referencedSegmentIds = IntStream.range(0, rowCount)
+                .filter(i -> rowErrors[i] == null)
+                .mapToObj(requests::get)
+                .flatMap(request -> request.getSegmentAllocations().stream())
+                .map(SegmentAllocationRequest::getSegmentId)
+                .collect(Collectors.toSet());
+        Set<UUID> knownSegmentIds = segmentRepository.findAllById(referencedSegmentIds).stream()
+                .filter(segment -> !segment.isDeleted())
+                .map(Segment::getId)
+                .collect(Collectors.toSet());
+
+        List<Integer> insertable = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (rowErrors[i] == null) {
+                rowErrors[i] = checkSegmentsExist(requests.get(i), knownSegmentIds);
+            }
+            if (rowErrors[i] == null) {
+                insertable.add(i);
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < insertable.size(); from += chunkSize) {
+            List<Integer> chunk = insertable.subList(from, Math.min(from + chunkSize, insertable.size()));
+            imported += insertChunk(chunk, requests, submitter, rowErrors);
+        }
+
+        List<ExpenseImportError> errors = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (rowErrors[i] != null) {
+                errors.add(ExpenseImportError.builder().rowNumber(i + 1).message(rowErrors[i]).build());
+            }
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("Bulk import finished: {} imported, {} failed in {} ms", imported, errors.size(), duration);
+
+        return ExpenseImportResult.builder()
+                .totalRows(rowCount)
+                .importedCount(imported)
+                .failedCount(errors.size())
+                .errors(errors)
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Insert a chunk in one transaction. If the database rejects it, fall back to one transaction
+     * per row so only the offending rows are reported as failed.
+     */
+    private int insertChunk(List<Integer> chunk, List<CreateExpenseRequest> requests, User submitter, String[] rowErrors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batchInsert(chunk, requests, submitter));
+            return chunk.size();
+        } catch (DataAccessException ex) {
+            log.warn("Bulk import chunk of {} rows failed, retrying row by row: {}", chunk.size(), ex.getMessage());
+        }
+
+        int imported = 0;
+        for (Integer index : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchInsert(List.of(index), requests, submitter));
+                imported++;
+            } catch (DataAccessException ex) {
+                rowErrors[index] = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            }
+        }
+        return imported;
+    }
+
+    private void batchInsert(List<Integer> rows, List<CreateExpenseRequest> requests, User submitter) {
+        Timestamp now = Timestamp.from(Instant.now());
+        String username = submitter.getUsername();
+
+        List<Object[]> expenseRows = new ArrayList<>(rows.size());
+        List<Object[]> allocationRows = new ArrayList<>(rows.size() * 2);
+        BigDecimal importedAmount = BigDecimal.ZERO;
+
+        for (Integer index : rows) {
+            CreateExpenseRequest request = requests.get(index);
+            UUID expenseId = UuidV7Generator.generate();
+            importedAmount = importedAmount.add(request.getTotalAmount());
+            expenseRows.add(new Object[]{
+                    expenseId, submitter.getId(), Date.valueOf(request.getExpenseDate()), request.getVendor(),
+                    request.getTotalAmount(), request.getCurrency(), request.getDescription(),
+                    ExpenseStatus.DRAFT.name(), now, now, username, username
+            });
+            for (SegmentAllocationRequest allocation : request.getSegmentAllocations()) {
+                BigDecimal amount = request.getTotalAmount()
+                        .multiply(allocation.getPercentage())
+                        .divide(ONE_HUNDRED, 2, RoundingMode.HALF_UP);
+                allocationRows.add(new Object[]{
+                        UuidV7Generator.generate(), expenseId, allocation.getSegmentId(), amount, allocation.getPercentage(),
+                        allocation.getDescription(), now, now, username, username
+                });
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EXPENSE_SQL, expenseRows);
+        jdbcTemplate.batchUpdate(INSERT_ALLOCATION_SQL, allocationRows);
+        counterService.recordImportedDrafts(submitter, rows.size(), importedAmount);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
+    }
+
+    private String validateRow(CreateExpenseRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+
+        Set<ConstraintViolation<CreateExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        BigDecimal totalPercentage = request.getSegmentAllocations().stream()
+                .map(SegmentAllocationRequest::getPercentage)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (totalPercentage.compareTo(ONE_HUNDRED) != 0) {
+            return "Segment allocations must sum to 100%. Current sum: " + totalPercentage;
+        }
+        return null;
+    }
+
+    private String checkSegmentsExist(CreateExpenseRequest request, Set<UUID> knownSegmentIds) {
+        for (SegmentAllocationRequest allocation : request.getSegmentAllocations()) {
+            if (!knownSegmentIds.contains(allocation.getSegmentId())) {
+                return "Segment not found: " + allocation.getSegmentId();
+            }
+        }
+        return null;
+    }
+
+    private CreateExpenseRequest parseCsvRow(String[] fields) {
+        if (fields.length != CSV_HEADER.length) {
+            throw new IllegalArgumentException("Expected " + CSV_HEADER.length + " columns but found " + fields.length);
+        }
+
+        List<SegmentAllocationRequest> allocations = new ArrayList<>();
+        for (String pair : fields[5].split(";")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            String[] parts = pair.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid allocation '" + pair + "', expected segmentId:percentage");
+            }
+            allocations.add(SegmentAllocationRequest.builder()
+                    .segmentId(UUID.fromString(parts[0].trim()))
+                    .percentage(new BigDecimal(parts[1].trim()))
+                    .build());
+        }
+
+        return CreateExpenseRequest.builder()
+                .expenseDate(fields[0].isBlank() ? null : LocalDate.parse(fields[0].trim()))
+                .vendor(emptyToNull(fields[1]))
+                .totalAmount(fields[2].isBlank() ? null : new BigDecimal(fields[2].trim()))
+                .currency(emptyToNull(fields[3]))
+                .description(emptyToNull(fields[4]))
+                .segmentAllocations(allocations)
+                .build();
+    }
+
+    /**
+     * Read one CSV record, joining lines while a quoted field is still open. Doubled quotes inside a
+     * field come in pairs, so an odd number of quotes means the record continues on the next line.
+     *
+     * @return the record, or null at the end of the input
+     */
+    static String readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        boolean open = quoteCount(line) % 2 == 1;
+        while (open && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            open ^= quoteCount(line) % 2 == 1;
+        }
+        return record.toString();
+    }
+
+    private static int quoteCount(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Split one CSV record, honouring double-quoted fields and doubled quotes inside them
+     */
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -1,11 +1,14 @@
 package com.technogise.iesa.expensemanagement.service;
 
+import com.technogise.iesa.budgetmanagement.service.BudgetConsumptionService;
 import com.technogise.iesa.expensemanagement.domain.*;
 import com.technogise.iesa.expensemanagement.dto.*;
 import com.technogise.iesa.expensemanagement.repository.*;
 import com.technogise.iesa.segmentmanagement.domain.Segment;
 import com.technogise.iesa.segmentmanagement.repository.SegmentRepository;
+import com.technogise.iesa.shared.domain.DataDomain;
 import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.DataVersionService;
 import com.technogise.iesa.usermanagement.domain.User;
 import com.technogise.iesa.usermanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,37 +28,127 @@ import java.util.stream.Collectors;
 @Transactional
 public class ExpenseService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_SEARCH_OFFSET = 10_000;
+    static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
     private final ExpenseRepository expenseRepository;
     private final SegmentAllocationRepository segmentAllocationRepository;
     private final UserRepository userRepository;
     private final SegmentRepository segmentRepository;
     private final ExpenseMapper expenseMapper;
+    private final ExpenseStatusCounterService counterService;
+    private final BudgetConsumptionService budgetConsumptionService;
+    private final DataVersionService dataVersionService;
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> getAllExpenses() {
-        return expenseMapper.toDtoList(expenseRepository.findAllNotDeleted());
+        return toDtoList(expenseRepository.findAllNotDeleted());
+    }
+
+    /**
+     * List expenses one keyset page at a time. Fetches one row beyond the requested size
+     * to know whether another page exists without issuing a count query.
+     */
+    @Transactional(readOnly = true)
+    public ExpensePageDto getExpensePage(ExpenseFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter != null && filter.getFromDate() != null && filter.getToDate() != null
+                && filter.getToDate().isBefore(filter.getFromDate())) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+
+        ExpenseCursor after = cursor == null || cursor.isBlank() ? null : ExpenseCursor.decode(cursor);
+        List<Expense> expenses = expenseRepository.findPageAfter(filter, after, pageSize + 1);
+
+        boolean hasMore = expenses.size() > pageSize;
+        if (hasMore) {
+            expenses = expenses.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Expense last = expenses.get(expenses.size() - 1);
+            nextCursor = new ExpenseCursor(last.getExpenseDate(), last.getId()).encode();
+        }
+
+        return ExpensePageDto.builder()
+                .items(toDtoList(expenses))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Ranked full-text search. Relevance order cannot be keyset paginated, so pages are offset based
+     * and capped at a maximum depth.
+     */
+    @Transactional(readOnly = true)
+    public ExpenseSearchResultDto searchExpenses(String term, int page, Integer size) {
+        if (term == null || term.isBlank()) {
+            throw new IllegalArgumentException("Search term is required");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0 || (long) page * pageSize > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("Page must be between 0 and " + MAX_SEARCH_OFFSET / pageSize);
+        }
+
+        List<Expense> expenses = expenseRepository.searchExpenses(term.trim(), pageSize + 1, page * pageSize);
+        boolean hasMore = expenses.size() > pageSize;
+        if (hasMore) {
+            expenses = expenses.subList(0, pageSize);
+        }
+
+        return ExpenseSearchResultDto.builder()
+                .items(toDtoList(expenses))
+                .page(page)
+                .size(pageSize)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> autocompleteVendors(String prefix, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_AUTOCOMPLETE_LIMIT : Math.min(Math.max(limit, 1), MAX_AUTOCOMPLETE_LIMIT);
+        if (prefix == null || prefix.isBlank()) {
+            return Collections.emptyList();
+        }
+        String escaped = prefix.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return expenseRepository.findVendorNamesLike(escaped + "%", maxResults);
     }
 
     @Transactional(readOnly = true)
     public ExpenseDto getExpenseById(UUID id) {
         Expense expense = expenseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Expense not found with id: " + id));
+        expenseRepository.fetchMappingAssociations(List.of(expense));
         return expenseMapper.toDto(expense);
     }
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> getExpensesBySubmitter(UUID submitterId) {
-        return expenseMapper.toDtoList(expenseRepository.findBySubmitterId(submitterId));
+        return toDtoList(expenseRepository.findBySubmitterId(submitterId));
     }
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> getExpensesByStatus(ExpenseStatus status) {
-        return expenseMapper.toDtoList(expenseRepository.findByStatus(status));
+        return toDtoList(expenseRepository.findByStatus(status));
     }
 
     @Transactional(readOnly = true)
     public List<ExpenseDto> getPendingApprovals() {
-        return expenseMapper.toDtoList(expenseRepository.findPendingApprovals());
+        return toDtoList(expenseRepository.findPendingApprovals());
     }
 
     public ExpenseDto createExpense(CreateExpenseRequest request) {
@@ -100,6 +193,8 @@ public class ExpenseService {
         }
 
         expense = expenseRepository.save(expense);
+        counterService.recordCreated(expense);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
         log.info("Expense created successfully with id: {}", expense.getId());
 
         return expenseMapper.toDto(expense);
@@ -115,6 +210,7 @@ public class ExpenseService {
             throw new IllegalStateException("Expense cannot be edited in current status: " + expense.getStatus());
         }
 
+        BigDecimal previousAmount = expense.getTotalAmount();
         if (request.getExpenseDate() != null) expense.setExpenseDate(request.getExpenseDate());
         if (request.getVendor() != null) expense.setVendor(request.getVendor());
         if (request.getDescription() != null) expense.setDescription(request.getDescription());
@@ -147,6 +243,8 @@ public class ExpenseService {
         }
 
         expense = expenseRepository.save(expense);
+        counterService.recordAmountChange(expense, previousAmount);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
         return expenseMapper.toDto(expense);
     }
 
@@ -161,6 +259,9 @@ public class ExpenseService {
 
         expense.setDeletedAt(java.time.Instant.now());
         expenseRepository.save(expense);
+        counterService.recordRemoved(expense);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
+        budgetConsumptionService.reverseExpense(expense.getId());
     }
 
     public ExpenseDto submitExpense(UUID id) {
@@ -172,9 +273,12 @@ public class ExpenseService {
             throw new IllegalStateException("Expense cannot be submitted");
         }
 
+        ExpenseStatus previousStatus = expense.getStatus();
         expense.setStatus(ExpenseStatus.SUBMITTED);
         expense.setSubmissionDate(LocalDate.now());
         expense = expenseRepository.save(expense);
+        counterService.recordTransition(expense, previousStatus, ExpenseStatus.SUBMITTED);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
 
         return expenseMapper.toDto(expense);
     }
@@ -188,9 +292,13 @@ public class ExpenseService {
             throw new IllegalStateException("Expense cannot be approved in current status");
         }
 
+        ExpenseStatus previousStatus = expense.getStatus();
         expense.setStatus(ExpenseStatus.APPROVED);
         expense.setApprovalDate(LocalDate.now());
         expense = expenseRepository.save(expense);
+        counterService.recordTransition(expense, previousStatus, ExpenseStatus.APPROVED);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
+        budgetConsumptionService.recordApproval(expense);
 
         return expenseMapper.toDto(expense);
     }
@@ -204,13 +312,130 @@ public class ExpenseService {
             throw new IllegalStateException("Expense cannot be rejected in current status");
         }
 
+        ExpenseStatus previousStatus = expense.getStatus();
         expense.setStatus(ExpenseStatus.REJECTED);
         expense.setRejectionReason(reason);
         expense = expenseRepository.save(expense);
+        counterService.recordTransition(expense, previousStatus, ExpenseStatus.REJECTED);
+        dataVersionService.markChanged(DataDomain.EXPENSES);
+        budgetConsumptionService.reverseExpense(expense.getId());
 
         return expenseMapper.toDto(expense);
     }
 
+    /**
+     * Approve many submitted expenses at once. Each item carries the version the approver saw; items
+     * that are missing, stale or no longer awaiting approval are reported individually and the rest go through.
+     */
+    public BulkTransitionResult bulkApproveExpenses(BulkTransitionRequest request) {
+        return bulkTransition(request.getItems(), ExpenseStatus.APPROVED, LocalDate.now(), null);
+    }
+
+    /**
+     * Reject many submitted expenses at once with a shared reason, with per-item results as for bulk approval
+     */
+    public BulkTransitionResult bulkRejectExpenses(BulkTransitionRequest request) {
+        return bulkTransition(request.getItems(), ExpenseStatus.REJECTED, null, request.getReason());
+    }
+
+    /**
+     * Load every requested expense in one query, check versions and status in memory, then write all
+     * eligible transitions in one guarded batch. A row changed by someone else between the read and the
+     * write comes back with an update count of 0 and is reported as a conflict for that item only.
+     */
+    private BulkTransitionResult bulkTransition(List<ExpenseVersionRef> items, ExpenseStatus target,
+                                                LocalDate approvalDate, String rejectionReason) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one expense is required");
+        }
+        log.info("Bulk transition of {} expenses to {}", items.size(), target);
+
+        Set<UUID> ids = items.stream().map(ExpenseVersionRef::getId).collect(Collectors.toSet());
+        Map<UUID, Expense> expensesById = expenseRepository.findAllByIdNotDeleted(ids).stream()
+                .collect(Collectors.toMap(Expense::getId, e -> e));
+
+        BulkTransitionItemResult[] results = new BulkTransitionItemResult[items.size()];
+        List<Integer> eligibleIndexes = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            ExpenseVersionRef item = items.get(i);
+            Expense expense = expensesById.get(item.getId());
+            if (!seen.add(item.getId())) {
+                results[i] = itemResult(item.getId(), BulkTransitionOutcome.DUPLICATE, "Expense appears more than once in the request");
+            } else if (expense == null) {
+                results[i] = itemResult(item.getId(), BulkTransitionOutcome.NOT_FOUND, "Expense not found with id: " + item.getId());
+            } else if (!Objects.equals(expense.getVersion(), item.getVersion())) {
+                results[i] = itemResult(item.getId(), BulkTransitionOutcome.VERSION_CONFLICT,
+                        "Expense was modified: expected version " + item.getVersion() + " but found " + expense.getVersion());
+            } else if (target == ExpenseStatus.APPROVED ? !expense.canBeApproved() : !expense.canBeRejected()) {
+                results[i] = itemResult(item.getId(), BulkTransitionOutcome.INVALID_STATUS,
+                        "Expense cannot be " + target.name().toLowerCase(Locale.ROOT) + " in current status: " + expense.getStatus());
+            } else {
+                eligibleIndexes.add(i);
+            }
+        }
+
+        if (!eligibleIndexes.isEmpty()) {
+            List<ExpenseVersionRef> eligible = eligibleIndexes.stream().map(items::get).toList();
+            String username = SecurityContextHolder.getContext().getAuthentication().getName();
+            int[] updateCounts = expenseRepository.batchTransitionStatus(
+                    eligible, ExpenseStatus.SUBMITTED, target, approvalDate, rejectionReason, username);
+
+            List<Expense> transitioned = new ArrayList<>(eligible.size());
+            for (int j = 0; j < eligible.size(); j++) {
+                ExpenseVersionRef item = eligible.get(j);
+                if (updateCounts[j] == 0) {
+                    results[eligibleIndexes.get(j)] = itemResult(item.getId(), BulkTransitionOutcome.VERSION_CONFLICT,
+                            "Expense was modified concurrently");
+                } else {
+                    transitioned.add(expensesById.get(item.getId()));
+                    results[eligibleIndexes.get(j)] = BulkTransitionItemResult.builder()
+                            .id(item.getId())
+                            .outcome(BulkTransitionOutcome.SUCCESS)
+                            .newVersion(item.getVersion() + 1)
+                            .build();
+                }
+            }
+            // The batch bypassed Hibernate; continue with the written state, not the stale managed instances
+            transitioned = expenseRepository.reloadAll(transitioned);
+            counterService.recordTransitions(transitioned, ExpenseStatus.SUBMITTED, target);
+            dataVersionService.markChanged(DataDomain.EXPENSES);
+            if (target == ExpenseStatus.APPROVED) {
+                expenseRepository.fetchMappingAssociations(transitioned);
+                budgetConsumptionService.recordApprovals(transitioned);
+            } else {
+                budgetConsumptionService.reverseExpenses(transitioned.stream().map(Expense::getId).toList());
+            }
+        }
+
+        int succeeded = (int) Arrays.stream(results).filter(r -> r.getOutcome() == BulkTransitionOutcome.SUCCESS).count();
+        log.info("Bulk transition to {} finished: {} succeeded, {} failed", target, succeeded, items.size() - succeeded);
+
+        return BulkTransitionResult.builder()
+                .succeededCount(succeeded)
+                .failedCount(items.size() - succeeded)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private BulkTransitionItemResult itemResult(UUID id, BulkTransitionOutcome outcome, String message) {
+        return BulkTransitionItemResult.builder()
+                .id(id)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Map expenses after loading their allocations, segments and document uploaders in bulk,
+     * so the mapper never triggers a lazy load per row
+     */
+    private List<ExpenseDto> toDtoList(List<Expense> expenses) {
+        expenseRepository.fetchMappingAssociations(expenses);
+        return expenseMapper.toDtoList(expenses);
+    }
+
     private void validateSegmentAllocations(List<SegmentAllocationRequest> allocations, BigDecimal totalAmount) {
         if (allocations == null || allocations.isEmpty()) {
             throw new IllegalArgumentException("At least one segment allocation is required");
@@ -0,0 +1,261 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.domain.*;
+import com.technogise.iesa.expensemanagement.dto.*;
+import com.technogise.iesa.expensemanagement.repository.ExpenseStatusCounterRepository;
+import com.technogise.iesa.usermanagement.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the materialized expense status counters. Every write joins the caller's transaction,
+ * so counters commit or roll back together with the expense changes they describe. The ALL counters
+ * are striped by submitter (see ExpenseCounterScope.GLOBAL_STRIPES) so they are not a single row every
+ * expense write contends on.
+ */
+@Service
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class ExpenseStatusCounterService {
+
+    private final ExpenseStatusCounterRepository counterRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExpenseStatusCounterService(ExpenseStatusCounterRepository counterRepository,
+                                       PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordCreated(Expense expense) {
+        counterRepository.applyDeltas(deltas(expense.getSubmitter(), expense.getStatus(), 1, expense.getTotalAmount()));
+    }
+
+    public void recordRemoved(Expense expense) {
+        counterRepository.applyDeltas(deltas(expense.getSubmitter(), expense.getStatus(), -1, expense.getTotalAmount().negate()));
+    }
+
+    public void recordTransition(Expense expense, ExpenseStatus from, ExpenseStatus to) {
+        recordTransitions(List.of(expense), from, to);
+    }
+
+    /**
+     * Move a set of expenses from one status to another, as a single batch of counter updates
+     */
+    public void recordTransitions(Collection<Expense> expenses, ExpenseStatus from, ExpenseStatus to) {
+        if (expenses.isEmpty() || from == to) {
+            return;
+        }
+        List<ExpenseCounterDelta> deltas = new ArrayList<>();
+        for (Expense expense : expenses) {
+            deltas.addAll(deltas(expense.getSubmitter(), from, -1, expense.getTotalAmount().negate()));
+            deltas.addAll(deltas(expense.getSubmitter(), to, 1, expense.getTotalAmount()));
+        }
+        counterRepository.applyDeltas(deltas);
+    }
+
+    public void recordAmountChange(Expense expense, BigDecimal previousAmount) {
+        BigDecimal difference = expense.getTotalAmount().subtract(previousAmount);
+        if (difference.signum() != 0) {
+            counterRepository.applyDeltas(deltas(expense.getSubmitter(), expense.getStatus(), 0, difference));
+        }
+    }
+
+    /**
+     * Remove expenses the archiver moved out of the live tables. Soft-deleted ones were never counted.
+     */
+    public void recordArchived(Collection<ExpenseArchiveCandidate> archived) {
+        List<ExpenseCounterDelta> deltas = new ArrayList<>();
+        for (ExpenseArchiveCandidate expense : archived) {
+            if (!expense.isDeleted()) {
+                deltas.addAll(deltas(expense.getSubmitterId(), expense.getDepartmentId(), expense.getStatus(),
+                        -1, expense.getTotalAmount().negate()));
+            }
+        }
+        counterRepository.applyDeltas(deltas);
+    }
+
+    /**
+     * Count draft expenses inserted outside JPA, such as by the bulk importer
+     */
+    public void recordImportedDrafts(User submitter, int count, BigDecimal totalAmount) {
+        if (count > 0) {
+            counterRepository.applyDeltas(deltas(submitter, ExpenseStatus.DRAFT, count, totalAmount));
+        }
+    }
+
+    /**
+     * Move a user's counted expenses from their previous department to the new one. The user's
+     * submitter counters hold exactly what their department counters include, and are locked so the
+     * user's concurrent expense writes wait for the move.
+     */
+    public void recordDepartmentChange(UUID userId, UUID previousDepartmentId, UUID departmentId) {
+        if (Objects.equals(previousDepartmentId, departmentId)) {
+            return;
+        }
+        List<ExpenseCounterDelta> deltas = new ArrayList<>();
+        for (ExpenseStatusCounter counter : counterRepository.findByScopeForUpdate(ExpenseCounterScope.SUBMITTER, userId)) {
+            ExpenseStatus status = counter.getId().getStatus();
+            if (previousDepartmentId != null) {
+                deltas.add(new ExpenseCounterDelta(new ExpenseStatusCounterId(status, ExpenseCounterScope.DEPARTMENT,
+                        previousDepartmentId), -counter.getExpenseCount(), counter.getTotalAmount().negate()));
+            }
+            if (departmentId != null) {
+                deltas.add(new ExpenseCounterDelta(new ExpenseStatusCounterId(status, ExpenseCounterScope.DEPARTMENT,
+                        departmentId), counter.getExpenseCount(), counter.getTotalAmount()));
+            }
+        }
+        counterRepository.applyDeltas(deltas);
+    }
+
+    /**
+     * Counts and totals per status for one scope, with zeroes for statuses that have no expenses.
+     * Reads at most one row per status by key, or one per status and stripe for ALL, regardless of
+     * how many expenses exist.
+     */
+    @Transactional(readOnly = true)
+    public List<ExpenseStatusCountDto> getStatusCounts(ExpenseCounterScope scope, UUID scopeId) {
+        if (scope != ExpenseCounterScope.ALL && scopeId == null) {
+            throw new IllegalArgumentException("Scope id is required for scope " + scope);
+        }
+        List<ExpenseStatusCounter> counters = scope == ExpenseCounterScope.ALL
+                ? counterRepository.findAllByScope(ExpenseCounterScope.ALL)
+                : counterRepository.findByScope(scope, scopeId);
+        Map<ExpenseStatus, ExpenseStatusCounter> byStatus = counters.stream()
+                .collect(Collectors.toMap(c -> c.getId().getStatus(), Function.identity(), ExpenseStatusCounterService::sum));
+
+        return Arrays.stream(ExpenseStatus.values())
+                .map(status -> {
+                    ExpenseStatusCounter counter = byStatus.get(status);
+                    return ExpenseStatusCountDto.builder()
+                            .status(status.name())
+                            .expenseCount(counter == null ? 0 : counter.getExpenseCount())
+                            .totalAmount(counter == null ? BigDecimal.ZERO : counter.getTotalAmount())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Compare every counter with the expenses table and add the difference to the counters that drifted.
+     * Counters and expenses are read in one repeatable-read snapshot, in which they must agree, without
+     * locking out writers. The corrections are then added like any other delta in a second transaction,
+     * so counter changes committed in between are kept.
+     */
+    @Transactional(propagation = Propagation.NEVER)
+    public ExpenseCounterReconciliationResult reconcile() {
+        long startedAt = System.currentTimeMillis();
+        List<ExpenseStatusCounter> actual = new ArrayList<>();
+        Map<ExpenseStatusCounterId, ExpenseStatusCounter> stored = new HashMap<>();
+        snapshotTransaction.executeWithoutResult(status -> {
+            for (ExpenseStatusCounter counter : counterRepository.findAll()) {
+                stored.merge(unstriped(counter.getId()), counter, ExpenseStatusCounterService::sum);
+            }
+            actual.addAll(counterRepository.computeFromExpenses());
+        });
+
+        List<ExpenseCounterDrift> drifts = new ArrayList<>();
+        List<ExpenseCounterDelta> corrections = new ArrayList<>();
+        for (ExpenseStatusCounter expected : actual) {
+            ExpenseStatusCounter current = stored.remove(expected.getId());
+            long storedCount = current == null ? 0 : current.getExpenseCount();
+            BigDecimal storedAmount = current == null ? BigDecimal.ZERO : current.getTotalAmount();
+            if (storedCount != expected.getExpenseCount() || storedAmount.compareTo(expected.getTotalAmount()) != 0) {
+                drifts.add(drift(expected.getId(), storedCount, storedAmount, expected.getExpenseCount(), expected.getTotalAmount()));
+                corrections.add(new ExpenseCounterDelta(expected.getId(), expected.getExpenseCount() - storedCount,
+                        expected.getTotalAmount().subtract(storedAmount)));
+            }
+        }
+        // Whatever is left has no expenses behind it and should be empty
+        for (ExpenseStatusCounter leftover : stored.values()) {
+            if (leftover.getExpenseCount() != 0 || leftover.getTotalAmount().signum() != 0) {
+                drifts.add(drift(leftover.getId(), leftover.getExpenseCount(), leftover.getTotalAmount(), 0, BigDecimal.ZERO));
+                corrections.add(new ExpenseCounterDelta(leftover.getId(), -leftover.getExpenseCount(),
+                        leftover.getTotalAmount().negate()));
+            }
+        }
+
+        if (!corrections.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> counterRepository.applyDeltas(corrections));
+        }
+
+        long duration = System.currentTimeMillis() - startedAt;
+        if (drifts.isEmpty()) {
+            log.info("Expense status counters reconciled: {} counters, no drift ({} ms)", actual.size(), duration);
+        } else {
+            log.warn("Expense status counters reconciled: {} of {} counters had drifted and were repaired ({} ms)",
+                    drifts.size(), actual.size(), duration);
+        }
+
+        return ExpenseCounterReconciliationResult.builder()
+                .countersChecked(actual.size())
+                .driftCount(drifts.size())
+                .drifts(drifts)
+                .durationMs(duration)
+                .build();
+    }
+
+    /**
+     * Key of a counter with the ALL stripes folded onto stripe 0
+     */
+    private static ExpenseStatusCounterId unstriped(ExpenseStatusCounterId id) {
+        return id.getScope() == ExpenseCounterScope.ALL
+                ? new ExpenseStatusCounterId(id.getStatus(), ExpenseCounterScope.ALL, ExpenseCounterScope.GLOBAL_SCOPE_ID)
+                : id;
+    }
+
+    private static ExpenseStatusCounter sum(ExpenseStatusCounter a, ExpenseStatusCounter b) {
+        return ExpenseStatusCounter.builder()
+                .id(unstriped(a.getId()))
+                .expenseCount(a.getExpenseCount() + b.getExpenseCount())
+                .totalAmount(a.getTotalAmount().add(b.getTotalAmount()))
+                .updatedAt(a.getUpdatedAt())
+                .build();
+    }
+
+    private List<ExpenseCounterDelta> deltas(User submitter, ExpenseStatus status, long count, BigDecimal amount) {
+        UUID departmentId = submitter.getDepartment() == null ? null : submitter.getDepartment().getId();
+        return deltas(submitter.getId(), departmentId, status, count, amount);
+    }
+
+    private List<ExpenseCounterDelta> deltas(UUID submitterId, UUID departmentId, ExpenseStatus status, long count, BigDecimal amount) {
+        List<ExpenseCounterDelta> deltas = new ArrayList<>(3);
+        deltas.add(new ExpenseCounterDelta(
+                new ExpenseStatusCounterId(status, ExpenseCounterScope.ALL, ExpenseCounterScope.globalStripeId(submitterId)),
+                count, amount));
+        deltas.add(new ExpenseCounterDelta(
+                new ExpenseStatusCounterId(status, ExpenseCounterScope.SUBMITTER, submitterId), count, amount));
+        if (departmentId != null) {
+            deltas.add(new ExpenseCounterDelta(
+                    new ExpenseStatusCounterId(status, ExpenseCounterScope.DEPARTMENT, departmentId), count, amount));
+        }
+        return deltas;
+    }
+
+    private ExpenseCounterDrift drift(ExpenseStatusCounterId id, long storedCount, BigDecimal storedAmount,
+                                      long actualCount, BigDecimal actualAmount) {
+        return ExpenseCounterDrift.builder()
+                .status(id.getStatus().name())
+                .scope(id.getScope().name())
+                .scopeId(id.getScopeId())
+                .storedCount(storedCount)
+                .actualCount(actualCount)
+                .storedAmount(storedAmount)
+                .actualAmount(actualAmount)
+                .build();
+    }
+}
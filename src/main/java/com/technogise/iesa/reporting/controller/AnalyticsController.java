@@ -2,15 +2,19 @@ package com.technogise.iesa.reporting.controller;
 
 import com.technogise.iesa.reporting.domain.DimensionType;
 import com.technogise.iesa.reporting.dto.AnalyticsSnapshotDto;
+import com.technogise.iesa.reporting.service.AnalyticsSnapshotEtlService;
 import com.technogise.iesa.reporting.service.AnalyticsSnapshotService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +23,7 @@ import java.util.UUID;
 public class AnalyticsController {
 
     private final AnalyticsSnapshotService analyticsService;
+    private final AnalyticsSnapshotEtlService etlService;
 
     @GetMapping("/snapshots/{id}")
     public ResponseEntity<AnalyticsSnapshotDto> getSnapshotById(@PathVariable UUID id) {
@@ -61,4 +66,19 @@ public class AnalyticsController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         return ResponseEntity.ok(analyticsService.getTotalExpenseCountByDimension(dimension, startDate, endDate));
     }
+
+    /**
+     * Start computing snapshots for a date range in the background, by default the year up to yesterday
+     * within the archive retention. Days computed before are skipped unless force is set, so an interrupted
+     * backfill is resumed by repeating the request. Progress is at /api/v1/admin/jobs/runs/{runId}.
+     */
+    @PostMapping("/snapshots/backfill")
+    @PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+    public ResponseEntity<Map<String, UUID>> backfillSnapshots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean force) {
+        UUID runId = etlService.startBackfill(startDate, endDate, force);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("runId", runId));
+    }
 }
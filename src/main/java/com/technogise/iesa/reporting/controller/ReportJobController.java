@@ -0,0 +1,49 @@
+package com.technogise.iesa.reporting.controller;
+
+import com.technogise.iesa.reporting.dto.ReportJobDto;
+import com.technogise.iesa.reporting.dto.ReportJobResultPage;
+import com.technogise.iesa.reporting.service.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping("/{id}/jobs")
+    public ResponseEntity<ReportJobDto> submitJob(@PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(id));
+    }
+
+    @GetMapping("/{id}/scheduled-runs")
+    public ResponseEntity<List<ReportJobDto>> getScheduledRuns(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reportJobService.getScheduledRuns(id, limit));
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobDto> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs/{jobId}/results")
+    public ResponseEntity<ReportJobResultPage> getResultPage(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") int page) {
+        return ResponseEntity.ok(reportJobService.getResultPage(jobId, page));
+    }
+
+    @PostMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<ReportJobDto> cancelJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reportJobService.cancel(jobId));
+    }
+}
@@ -0,0 +1,13 @@
+package com.technogise.iesa.reporting.domain;
+
+/**
+ * Lifecycle of an asynchronous report job recorded in report_jobs
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED,
+    TIMED_OUT
+}
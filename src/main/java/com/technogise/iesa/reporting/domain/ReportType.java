@@ -1,16 +1,28 @@
 package com.technogise.iesa.reporting.domain;
 
+import com.technogise.iesa.shared.domain.DataDomain;
+
 /**
- * Enum for report types
+ * Enum for report types, with the data domain each one is computed from
  */
 public enum ReportType {
-    EXPENSE_SUMMARY,
-    SEGMENT_ANALYSIS,
-    BUDGET_VARIANCE,
-    DEPARTMENT_SPENDING,
-    TOP_SPENDERS,
-    PENDING_APPROVALS,
-    EXPENSE_AGING,
-    BUDGET_UTILIZATION,
-    TREND_ANALYSIS
+    EXPENSE_SUMMARY(DataDomain.EXPENSES),
+    SEGMENT_ANALYSIS(DataDomain.EXPENSES),
+    BUDGET_VARIANCE(DataDomain.BUDGETS),
+    DEPARTMENT_SPENDING(DataDomain.EXPENSES),
+    TOP_SPENDERS(DataDomain.EXPENSES),
+    PENDING_APPROVALS(DataDomain.EXPENSES),
+    EXPENSE_AGING(DataDomain.EXPENSES),
+    BUDGET_UTILIZATION(DataDomain.BUDGETS),
+    TREND_ANALYSIS(DataDomain.EXPENSES);
+
+    private final DataDomain dataDomain;
+
+    ReportType(DataDomain dataDomain) {
+        this.dataDomain = dataDomain;
+    }
+
+    public DataDomain getDataDomain() {
+        return dataDomain;
+    }
 }
@@ -0,0 +1,21 @@
+package com.technogise.iesa.reporting.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSnapshotEtlResult {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int daysComputed;
+    // Days already computed by an earlier run, left as they were
+    private int daysSkipped;
+    private List<LocalDate> failedDays;
+    private long rowsWritten;
+    private long durationMs;
+}
@@ -13,7 +13,12 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ReportExecutionResult {
+    private List<String> columns;
     private List<Map<String, Object>> data;
     private Integer totalRecords;
+    // True when the query had more rows than the configured row cap; data then holds the first rows only
+    private Boolean truncated;
     private Long executionTime;
+    // True when served from the result cache; executionTime is then the lookup time
+    private Boolean cached;
 }
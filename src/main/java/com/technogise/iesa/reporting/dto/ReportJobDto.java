@@ -0,0 +1,34 @@
+package com.technogise.iesa.reporting.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+    private UUID id;
+    private UUID reportId;
+    private String requestedBy;
+    // Cron fire time for runs started by the report scheduler
+    private OffsetDateTime scheduledFor;
+    private String status;
+    private String node;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Integer timeoutSeconds;
+    // Set once the job succeeded; results are read page by page
+    private List<String> columns;
+    private Integer totalRecords;
+    private Boolean truncated;
+    private Integer pageSize;
+    private Integer pageCount;
+    private Long resultBytes;
+    private String errorMessage;
+}
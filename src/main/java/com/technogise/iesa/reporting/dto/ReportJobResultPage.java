@@ -0,0 +1,22 @@
+package com.technogise.iesa.reporting.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResultPage {
+    private UUID jobId;
+    private Integer page;
+    private Integer pageSize;
+    private Integer pageCount;
+    private Integer totalRecords;
+    private Boolean truncated;
+    private List<String> columns;
+    private List<Map<String, Object>> data;
+}
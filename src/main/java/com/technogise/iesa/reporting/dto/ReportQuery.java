@@ -0,0 +1,16 @@
+package com.technogise.iesa.reporting.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * SQL compiled from a report's type, filters and date range, with its positional parameters
+ */
+@Getter
+@AllArgsConstructor
+public class ReportQuery {
+    private final String sql;
+    private final List<Object> parameters;
+}
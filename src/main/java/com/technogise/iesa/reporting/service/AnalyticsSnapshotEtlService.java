@@ -0,0 +1,303 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.reporting.dto.AnalyticsSnapshotEtlResult;
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Populates analytics_snapshots with one row per day and dimension value. A day is computed by a single
+ * statement: one scan of the day's expenses joined to their segment allocations, aggregated for every
+ * DimensionType at once with GROUPING SETS and upserted on uk_snapshot_unique. Expense-level dimensions
+ * (USER, DEPARTMENT, TIME_PERIOD) count each expense's full amount once; SEGMENT and CATEGORY (the
+ * allocated segment's type) sum allocated amounts. Draft expenses are left out.
+ *
+ * Each day is its own transaction, serialized per day by an advisory lock. Rows of the day the statement
+ * did not produce, e.g. of a segment whose expenses were deleted, are removed, and the day is recorded in
+ * analytics_snapshot_days. The nightly run recomputes the last lookback-days days, so expenses entered
+ * with an earlier date are picked up. Backfills run days in parallel on a fixed pool and skip recorded
+ * days unless forced, so an interrupted backfill resumes where it stopped when run again. They run in the
+ * background, one at a time per node, recorded in scheduled_job_runs.
+ *
+ * Days before the expense archive cutoff cannot be computed: their closed expenses have been moved to
+ * expense_archive, so recomputing them would replace correct snapshots with partial ones.
+ */
+@Service
+@Slf4j
+public class AnalyticsSnapshotEtlService {
+
+    static final String ETL_JOB = "analytics-snapshot-etl";
+    static final String BACKFILL_JOB = "analytics-snapshot-backfill";
+
+    private static final String LOCK_DAY_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('analytics_snapshots'), ?)";
+
+    private static final String DAY_COMPUTED_SQL =
+            "SELECT COUNT(*) FROM analytics_snapshot_days WHERE snapshot_date = ?";
+
+    // GROUPING(submitter, department, segment, segment type) is a bitmask with a 0 for each grouped
+    // column: 7 = USER, 11 = DEPARTMENT, 13 = SEGMENT, 14 = CATEGORY, 15 = the whole day
+    private static final String UPSERT_DAY_SQL =
+            "INSERT INTO analytics_snapshots (id, snapshot_date, dimension, dimension_value, total_expenses, "
+                    + "expense_count, approved_count, pending_count, rejected_count, created_at, updated_at, version) "
+                    + "SELECT gen_random_uuid(), CAST(? AS DATE), g.dimension, g.dimension_value, g.total_expenses, "
+                    + "g.expense_count, g.approved_count, g.pending_count, g.rejected_count, ?, ?, 0 FROM ("
+                    + "SELECT CASE GROUPING(r.submitter_id, r.department_id, r.segment_id, r.segment_type) "
+                    + "WHEN 7 THEN 'USER' WHEN 11 THEN 'DEPARTMENT' WHEN 13 THEN 'SEGMENT' WHEN 14 THEN 'CATEGORY' "
+                    + "ELSE 'TIME_PERIOD' END AS dimension, "
+                    + "CASE GROUPING(r.submitter_id, r.department_id, r.segment_id, r.segment_type) "
+                    + "WHEN 7 THEN CAST(r.submitter_id AS VARCHAR) "
+                    + "WHEN 11 THEN COALESCE(CAST(r.department_id AS VARCHAR), 'UNASSIGNED') "
+                    + "WHEN 13 THEN CAST(r.segment_id AS VARCHAR) WHEN 14 THEN r.segment_type "
+                    + "ELSE 'DAY' END AS dimension_value, "
+                    + "COALESCE(CASE WHEN GROUPING(r.segment_id, r.segment_type) < 3 THEN SUM(r.allocated_amount) "
+                    + "ELSE SUM(r.total_amount) FILTER (WHERE r.first_row) END, 0) AS total_expenses, "
+                    + "COUNT(DISTINCT r.expense_id) AS expense_count, "
+                    + "COUNT(DISTINCT r.expense_id) FILTER (WHERE r.status IN ('APPROVED', 'PAID')) AS approved_count, "
+                    + "COUNT(DISTINCT r.expense_id) FILTER (WHERE r.status = 'SUBMITTED') AS pending_count, "
+                    + "COUNT(DISTINCT r.expense_id) FILTER (WHERE r.status = 'REJECTED') AS rejected_count "
+                    + "FROM (SELECT e.id AS expense_id, e.status, e.total_amount, e.submitter_id, u.department_id, "
+                    + "sa.segment_id, s.segment_type, sa.amount AS allocated_amount, "
+                    + "ROW_NUMBER() OVER (PARTITION BY e.id ORDER BY sa.id) = 1 AS first_row "
+                    + "FROM expenses e JOIN users u ON u.id = e.submitter_id "
+                    + "LEFT JOIN segment_allocations sa ON sa.expense_id = e.id AND sa.deleted_at IS NULL "
+                    + "LEFT JOIN segments s ON s.id = sa.segment_id "
+                    + "WHERE e.expense_date = ? AND e.deleted_at IS NULL AND e.status <> 'DRAFT') r "
+                    + "GROUP BY GROUPING SETS ((r.submitter_id), (r.department_id), (r.segment_id), (r.segment_type), ()) "
+                    // Expenses without allocations form no SEGMENT or CATEGORY row
+                    + "HAVING (GROUPING(r.segment_id) = 1 OR r.segment_id IS NOT NULL) "
+                    + "AND (GROUPING(r.segment_type) = 1 OR r.segment_type IS NOT NULL)) g "
+                    + "ON CONFLICT (snapshot_date, dimension, dimension_value) DO UPDATE SET "
+                    + "total_expenses = EXCLUDED.total_expenses, expense_count = EXCLUDED.expense_count, "
+                    + "approved_count = EXCLUDED.approved_count, pending_count = EXCLUDED.pending_count, "
+                    + "rejected_count = EXCLUDED.rejected_count, updated_at = EXCLUDED.updated_at, deleted_at = NULL, "
+                    + "version = analytics_snapshots.version + 1";
+
+    private static final String DELETE_STALE_SQL =
+            "DELETE FROM analytics_snapshots WHERE snapshot_date = ? AND updated_at IS DISTINCT FROM ?";
+
+    private static final String RECORD_DAY_SQL =
+            "INSERT INTO analytics_snapshot_days (snapshot_date, computed_at, row_count, duration_ms) VALUES (?, ?, ?, ?) "
+                    + "ON CONFLICT (snapshot_date) DO UPDATE SET computed_at = EXCLUDED.computed_at, "
+                    + "row_count = EXCLUDED.row_count, duration_ms = EXCLUDED.duration_ms";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobRunner jobRunner;
+    private final MeterRegistry meterRegistry;
+    private final int lookbackDays;
+    private final int maxDays;
+    private final int archiveRetentionMonths;
+    private final ThreadPoolExecutor executor;
+    // Coordinates one backfill at a time; its days run on executor
+    private final ThreadPoolExecutor backfillExecutor;
+
+    public AnalyticsSnapshotEtlService(JdbcTemplate jdbcTemplate,
+                                       PlatformTransactionManager transactionManager,
+                                       ScheduledJobRunner jobRunner,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${iesa.analytics.etl.lookback-days:3}") int lookbackDays,
+                                       @Value("${iesa.analytics.etl.max-days:1100}") int maxDays,
+                                       @Value("${iesa.analytics.etl.parallelism:4}") int parallelism,
+                                       @Value("${iesa.archive.retention-months:18}") int archiveRetentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+        this.meterRegistry = meterRegistry;
+        this.lookbackDays = lookbackDays;
+        this.maxDays = maxDays;
+        this.archiveRetentionMonths = archiveRetentionMonths;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "analytics-etl-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.backfillExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "analytics-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Recompute the snapshots of yesterday and the lookback days before it
+     */
+    @Scheduled(cron = "${iesa.analytics.etl.cron:0 15 1 * * *}")
+    public void scheduledRun() {
+        try {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            jobRunner.runExclusively(ETL_JOB, Duration.ofHours(2), Duration.ofMinutes(5), () ->
+                    run(yesterday.minusDays(lookbackDays), yesterday, true).getRowsWritten());
+        } catch (RuntimeException e) {
+            log.error("Analytics snapshot ETL failed", e);
+        }
+    }
+
+    /**
+     * Start a backfill of the snapshots between the two dates, by default the year up to yesterday but no
+     * earlier than the archive cutoff. Days that fail make the run fail once the others are done.
+     *
+     * @return id of the run in scheduled_job_runs
+     * @throws ResourceLimitExceededException if a backfill is already running on this node
+     */
+    public UUID startBackfill(LocalDate startDate, LocalDate endDate, boolean force) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now().minusDays(1);
+        LocalDate start = startDate != null ? startDate : max(end.minusYears(1).plusDays(1), archiveCutoff());
+        validateRange(start, end);
+        return jobRunner.runInBackground(BACKFILL_JOB, backfillExecutor, () -> {
+            AnalyticsSnapshotEtlResult result = run(start, end, force);
+            if (!result.getFailedDays().isEmpty()) {
+                throw new IllegalStateException("Analytics snapshots of " + result.getFailedDays().size()
+                        + " days could not be computed: " + result.getFailedDays());
+            }
+            return result.getRowsWritten();
+        });
+    }
+
+    /**
+     * Compute the snapshots of every day between the two dates, inclusive, in parallel. Days already
+     * computed are skipped unless force is set. A failed day does not stop the others; it is reported
+     * and stays unrecorded, so running the same range again retries it.
+     */
+    public AnalyticsSnapshotEtlResult run(LocalDate startDate, LocalDate endDate, boolean force) {
+        validateRange(startDate, endDate);
+
+        long startedAt = System.nanoTime();
+        // Newest days first, as they are the ones read most
+        Map<LocalDate, Future<Integer>> futures = new LinkedHashMap<>();
+        for (LocalDate day = endDate; !day.isBefore(startDate); day = day.minusDays(1)) {
+            LocalDate snapshotDate = day;
+            futures.put(snapshotDate, executor.submit(() -> computeDay(snapshotDate, force)));
+        }
+
+        int computed = 0;
+        int skipped = 0;
+        long rows = 0;
+        List<LocalDate> failed = new ArrayList<>();
+        for (Map.Entry<LocalDate, Future<Integer>> entry : futures.entrySet()) {
+            try {
+                Integer written = entry.getValue().get();
+                if (written == null) {
+                    skipped++;
+                } else {
+                    computed++;
+                    rows += written;
+                }
+            } catch (ExecutionException e) {
+                log.warn("Analytics snapshots of {} could not be computed", entry.getKey(), e.getCause());
+                meterRegistry.counter("iesa.analytics.etl.days", "outcome", "failed").increment();
+                failed.add(entry.getKey());
+            } catch (InterruptedException e) {
+                futures.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Analytics snapshot run was interrupted", e);
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("Analytics snapshots {} to {}: {} days computed, {} skipped, {} failed, {} rows in {} ms",
+                startDate, endDate, computed, skipped, failed.size(), rows, durationMs);
+        return AnalyticsSnapshotEtlResult.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .daysComputed(computed)
+                .daysSkipped(skipped)
+                .failedDays(failed)
+                .rowsWritten(rows)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    /**
+     * Compute one day's snapshots in a single transaction
+     *
+     * @return rows written, or null if the day was already computed and force is not set
+     */
+    Integer computeDay(LocalDate day, boolean force) {
+        Date snapshotDate = Date.valueOf(day);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.query(LOCK_DAY_SQL, (RowCallbackHandler) rs -> {
+            }, (int) day.toEpochDay());
+            if (!force) {
+                Integer recorded = jdbcTemplate.queryForObject(DAY_COMPUTED_SQL, Integer.class, snapshotDate);
+                if (recorded != null && recorded > 0) {
+                    meterRegistry.counter("iesa.analytics.etl.days", "outcome", "skipped").increment();
+                    return null;
+                }
+            }
+
+            long startedAt = System.nanoTime();
+            Timestamp computedAt = Timestamp.valueOf(LocalDateTime.now());
+            int rows = jdbcTemplate.update(UPSERT_DAY_SQL, snapshotDate, computedAt, computedAt, snapshotDate);
+            int removed = jdbcTemplate.update(DELETE_STALE_SQL, snapshotDate, computedAt);
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            jdbcTemplate.update(RECORD_DAY_SQL, snapshotDate, computedAt, rows, durationMs);
+
+            meterRegistry.counter("iesa.analytics.etl.days", "outcome", "computed").increment();
+            meterRegistry.counter("iesa.analytics.etl.rows").increment(rows);
+            log.debug("Computed {} analytics snapshots of {} ({} stale removed) in {} ms", rows, day, removed, durationMs);
+            return rows;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("At most " + maxDays + " days can be computed per run");
+        }
+        LocalDate cutoff = archiveCutoff();
+        if (startDate.isBefore(cutoff)) {
+            throw new IllegalArgumentException("Snapshots before " + cutoff
+                    + " cannot be recomputed: closed expenses of those days have been archived");
+        }
+    }
+
+    // Same cutoff as ExpenseArchiveService: closed expenses dated before it may have been archived
+    private LocalDate archiveCutoff() {
+        return LocalDate.now().withDayOfMonth(1).minusMonths(archiveRetentionMonths);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,150 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportExecutionResult;
+import com.technogise.iesa.reporting.dto.ReportQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs compiled report queries. Rows are read through a cursor and collected up to the row cap; one
+ * extra row is requested so a capped result is flagged as truncated without counting the rest.
+ * Asynchronous report jobs stream rows to a handler instead, with their own cap and timeout.
+ */
+@Service
+@Slf4j
+public class ReportExecutionEngine {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportQueryCompiler queryCompiler;
+    private final int maxRows;
+    private final int fetchSize;
+    private final int queryTimeoutSeconds;
+
+    public ReportExecutionEngine(JdbcTemplate jdbcTemplate,
+                                 ReportQueryCompiler queryCompiler,
+                                 @Value("${iesa.reports.max-rows:10000}") int maxRows,
+                                 @Value("${iesa.reports.fetch-size:1000}") int fetchSize,
+                                 @Value("${iesa.reports.query-timeout-seconds:60}") int queryTimeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryCompiler = queryCompiler;
+        this.maxRows = maxRows;
+        this.fetchSize = fetchSize;
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+
+    @Transactional(readOnly = true)
+    public ReportExecutionResult execute(ReportType type, Map<String, Object> filters, LocalDate startDate, LocalDate endDate) {
+        long startedAt = System.nanoTime();
+        ReportQuery query = queryCompiler.compile(type, filters, startDate, endDate, maxRows + 1);
+        ReportExecutionResult result = jdbcTemplate.query(
+                connection -> prepare(connection, query, Math.min(fetchSize, maxRows + 1), queryTimeoutSeconds),
+                this::collect);
+
+        long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        result.setExecutionTime(executionTime);
+        log.debug("Executed {} report: {} rows{} in {} ms", type, result.getTotalRecords(),
+                Boolean.TRUE.equals(result.getTruncated()) ? " (truncated)" : "", executionTime);
+        return result;
+    }
+
+    /**
+     * Pass up to rowLimit rows to the handler without holding them in memory. Must run inside a
+     * transaction, which the caller owns so it can write what it receives in the same transaction.
+     *
+     * @return true if the query had more rows than rowLimit
+     */
+    public boolean stream(ReportType type, Map<String, Object> filters, LocalDate startDate, LocalDate endDate,
+                          int rowLimit, int timeoutSeconds, ReportRowHandler handler) {
+        ReportQuery query = queryCompiler.compile(type, filters, startDate, endDate, rowLimit + 1);
+        Boolean truncated = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = prepare(connection, query, Math.min(fetchSize, rowLimit + 1), timeoutSeconds);
+            handler.started(statement);
+            return statement;
+        }, rs -> {
+            List<String> columns = columns(rs.getMetaData());
+            handler.columns(columns);
+            int rows = 0;
+            while (rs.next()) {
+                if (rows == rowLimit) {
+                    return true;
+                }
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = value(rs.getObject(i + 1));
+                }
+                handler.row(values);
+                rows++;
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(truncated);
+    }
+
+    private static PreparedStatement prepare(Connection connection, ReportQuery query, int fetchSize,
+                                             int timeoutSeconds) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(query.getSql());
+        statement.setFetchSize(fetchSize);
+        statement.setQueryTimeout(timeoutSeconds);
+        List<Object> parameters = query.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            statement.setObject(i + 1, parameters.get(i));
+        }
+        return statement;
+    }
+
+    private ReportExecutionResult collect(ResultSet rs) throws SQLException {
+        List<String> columns = columns(rs.getMetaData());
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        boolean truncated = false;
+        while (rs.next()) {
+            if (rows.size() == maxRows) {
+                truncated = true;
+                break;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i), value(rs.getObject(i + 1)));
+            }
+            rows.add(row);
+        }
+        return ReportExecutionResult.builder()
+                .columns(columns)
+                .data(rows)
+                .totalRecords(rows.size())
+                .truncated(truncated)
+                .build();
+    }
+
+    private static List<String> columns(ResultSetMetaData metaData) throws SQLException {
+        List<String> columns = new ArrayList<>(metaData.getColumnCount());
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+        return columns;
+    }
+
+    private static Object value(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,686 @@
+package com.technogise.iesa.reporting.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.technogise.iesa.reporting.domain.Report;
+import com.technogise.iesa.reporting.domain.ReportJobStatus;
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportJobDto;
+import com.technogise.iesa.reporting.dto.ReportJobResultPage;
+import com.technogise.iesa.reporting.repository.ReportRepository;
+import com.technogise.iesa.shared.domain.UuidV7Generator;
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs reports asynchronously. A submitted job is recorded in report_jobs and executed on a bounded worker
+ * pool of the node that accepted it, so a long report holds neither a request thread nor a connection while
+ * the client waits. Rows are streamed into gzip-compressed pages of report_job_result_pages in the job's
+ * transaction, so a cancelled, timed out or failed job leaves no partial result.
+ *
+ * Each user may have a limited number of jobs queued or running across the cluster; runs started by the
+ * report scheduler are exempt and claim their fire time instead. A per-node watchdog
+ * refreshes the heartbeat of its jobs, picks up cancellations made through other nodes and cancels the
+ * running statement of jobs past their timeout. The cleanup job fails jobs whose node stopped and deletes
+ * finished jobs after the retention period.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    static final String CLEANUP_JOB = "report-job-cleanup";
+    static final String SCHEDULER = "scheduler";
+    static final int MAX_SCHEDULED_RUNS_LIMIT = 500;
+    static final String ADMIN_AUTHORITY = "ROLE_FINANCE_ADMIN";
+
+    // Serializes submissions per user so the active job count cannot be exceeded by concurrent requests
+    private static final String LOCK_USER_SQL =
+            "SELECT pg_advisory_xact_lock(hashtext('report_jobs'), hashtext(?))";
+
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO report_jobs (id, report_id, requested_by, status, created_at, heartbeat_at, timeout_seconds, page_size) "
+                    + "SELECT ?, ?, ?, 'QUEUED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ? "
+                    + "WHERE (SELECT COUNT(*) FROM report_jobs WHERE requested_by = ? AND status IN ('QUEUED', 'RUNNING')) < ?";
+
+    // The node whose insert wins the fire time runs it; the others find the row taken and skip
+    private static final String INSERT_SCHEDULED_JOB_SQL =
+            "INSERT INTO report_jobs (id, report_id, requested_by, status, created_at, heartbeat_at, timeout_seconds, page_size, scheduled_for) "
+                    + "VALUES (?, ?, ?, 'QUEUED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?, ?, ?) "
+                    + "ON CONFLICT (report_id, scheduled_for) WHERE scheduled_for IS NOT NULL DO NOTHING";
+
+    private static final String START_SQL =
+            "UPDATE report_jobs SET status = 'RUNNING', node = ?, started_at = CURRENT_TIMESTAMP, heartbeat_at = CURRENT_TIMESTAMP "
+                    + "WHERE id = ? AND status = 'QUEUED'";
+
+    private static final String INSERT_PAGE_SQL =
+            "INSERT INTO report_job_result_pages (job_id, page_number, row_count, data) VALUES (?, ?, ?, ?)";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE report_jobs SET status = 'SUCCEEDED', finished_at = CURRENT_TIMESTAMP, result_columns = ?, "
+                    + "total_records = ?, truncated = ?, page_count = ?, result_bytes = ? "
+                    + "WHERE id = ? AND status = 'RUNNING'";
+
+    private static final String FINISH_SQL =
+            "UPDATE report_jobs SET status = ?, finished_at = CURRENT_TIMESTAMP, error_message = ? "
+                    + "WHERE id = ? AND status IN ('QUEUED', 'RUNNING')";
+
+    private static final String TRACK_EXECUTION_SQL =
+            "UPDATE reports SET last_executed_at = CURRENT_TIMESTAMP, execution_count = execution_count + 1 WHERE id = ?";
+
+    // Returns the status of every job still present, so cancelled and deleted jobs can be stopped locally
+    private static final String HEARTBEAT_SQL =
+            "UPDATE report_jobs SET heartbeat_at = CURRENT_TIMESTAMP WHERE id = ANY(?) RETURNING id, status";
+
+    private static final String ABANDON_SQL =
+            "UPDATE report_jobs SET status = 'FAILED', finished_at = CURRENT_TIMESTAMP, "
+                    + "error_message = 'The node running the job stopped responding' "
+                    + "WHERE status IN ('QUEUED', 'RUNNING') AND heartbeat_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond'";
+
+    // Scheduled runs are kept longer: nobody is waiting to read them when they finish
+    private static final String PURGE_SQL =
+            "DELETE FROM report_jobs WHERE (scheduled_for IS NULL AND finished_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 hour') "
+                    + "OR (scheduled_for IS NOT NULL AND finished_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 day')";
+
+    private static final String SELECT_JOBS_SQL =
+            "SELECT id, report_id, requested_by, status, node, created_at, started_at, finished_at, timeout_seconds, "
+                    + "result_columns, total_records, truncated, page_size, page_count, result_bytes, error_message, scheduled_for "
+                    + "FROM report_jobs ";
+
+    private static final String REPORT_OWNER_SQL =
+            "SELECT EXISTS (SELECT 1 FROM reports r JOIN users u ON u.id = r.created_by_user_id WHERE r.id = ? AND u.username = ?)";
+
+    private static final String SELECT_PAGE_SQL =
+            "SELECT data FROM report_job_result_pages WHERE job_id = ? AND page_number = ?";
+
+    private static final TypeReference<List<String>> COLUMNS_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<List<Object>>> ROWS_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportRepository reportRepository;
+    private final ReportExecutionEngine executionEngine;
+    private final ScheduledJobRunner jobRunner;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowsReader;
+    private final MeterRegistry meterRegistry;
+    private final int maxActivePerUser;
+    private final int maxRows;
+    private final int pageSize;
+    private final int timeoutSeconds;
+    private final long abandonedAfterMs;
+    private final int retentionHours;
+    private final int scheduledRetentionDays;
+    private final int maxScheduledActive;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, LocalJob> localJobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ReportRepository reportRepository,
+                            ReportExecutionEngine executionEngine,
+                            ScheduledJobRunner jobRunner,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${iesa.reports.jobs.worker-threads:4}") int workerThreads,
+                            @Value("${iesa.reports.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${iesa.reports.jobs.max-active-per-user:2}") int maxActivePerUser,
+                            @Value("${iesa.reports.jobs.max-rows:1000000}") int maxRows,
+                            @Value("${iesa.reports.jobs.page-size:1000}") int pageSize,
+                            @Value("${iesa.reports.jobs.timeout-seconds:900}") int timeoutSeconds,
+                            @Value("${iesa.reports.jobs.abandoned-after-ms:120000}") long abandonedAfterMs,
+                            @Value("${iesa.reports.jobs.retention-hours:24}") int retentionHours,
+                            @Value("${iesa.reports.schedule.retention-days:35}") int scheduledRetentionDays,
+                            @Value("${iesa.reports.schedule.max-active-per-node:2}") int maxScheduledActive) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportRepository = reportRepository;
+        this.executionEngine = executionEngine;
+        this.jobRunner = jobRunner;
+        this.objectMapper = objectMapper;
+        // Amounts come back as BigDecimal, as the database returned them, rather than as doubles
+        this.rowsReader = objectMapper.readerFor(ROWS_TYPE).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.meterRegistry = meterRegistry;
+        this.maxActivePerUser = maxActivePerUser;
+        this.maxRows = maxRows;
+        this.pageSize = pageSize;
+        this.timeoutSeconds = timeoutSeconds;
+        this.abandonedAfterMs = abandonedAfterMs;
+        this.retentionHours = retentionHours;
+        this.scheduledRetentionDays = scheduledRetentionDays;
+        this.maxScheduledActive = maxScheduledActive;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "report-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("iesa.reports.jobs.queued", executor, pool -> pool.getQueue().size());
+        meterRegistry.gauge("iesa.reports.jobs.running", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    /**
+     * Queue an execution of the report with its current definition
+     *
+     * @throws ResourceLimitExceededException if the user already has the maximum number of active jobs
+     *                                        or this node's queue is full
+     */
+    public ReportJobDto submit(UUID reportId) {
+        ReportRun run = load(reportId);
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        UUID jobId = UuidV7Generator.generate();
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            jdbcTemplate.query(LOCK_USER_SQL, (RowCallbackHandler) rs -> {
+            }, username);
+            return jdbcTemplate.update(INSERT_JOB_SQL, jobId, reportId, username, timeoutSeconds, pageSize,
+                    username, maxActivePerUser);
+        });
+        if (inserted == null || inserted == 0) {
+            meterRegistry.counter("iesa.reports.jobs.rejected", "reason", "user-limit").increment();
+            throw new ResourceLimitExceededException(
+                    "At most " + maxActivePerUser + " report jobs may be queued or running per user");
+        }
+
+        enqueue(new LocalJob(jobId, run, false));
+        log.info("Queued report job {} for report {} ({}) requested by {}", jobId, reportId, run.type, username);
+        return findJob(jobId);
+    }
+
+    /**
+     * Queue the run of a scheduled report for one cron fire time, unless another node already claimed it
+     *
+     * @return true if this node claimed the run
+     * @throws ResourceLimitExceededException if this node's queue is full; the fire time is then left unclaimed
+     */
+    public boolean submitScheduled(UUID reportId, Instant fireTime) {
+        ReportRun run = load(reportId);
+        UUID jobId = UuidV7Generator.generate();
+        // Bound as an instant, so the stored value does not depend on this JVM's zone. Nodes compute the
+        // same fire time only because ReportScheduler evaluates every cron in the one configured zone.
+        if (jdbcTemplate.update(INSERT_SCHEDULED_JOB_SQL, jobId, reportId, SCHEDULER, timeoutSeconds, pageSize,
+                fireTime.atOffset(ZoneOffset.UTC)) == 0) {
+            return false;
+        }
+        enqueue(new LocalJob(jobId, run, true));
+        log.debug("Queued scheduled report job {} for report {} at {}", jobId, reportId, fireTime);
+        return true;
+    }
+
+    /**
+     * Whether this node can take another scheduled run right now. Scheduled runs may hold at most
+     * max-active-per-node of this node's queued and running jobs, so a burst of them never fills the
+     * queue or every worker and user submissions keep being accepted.
+     */
+    public boolean hasScheduledCapacity() {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            return false;
+        }
+        long scheduledActive = localJobs.values().stream().filter(job -> job.scheduled).count();
+        return scheduledActive < maxScheduledActive;
+    }
+
+    /**
+     * A job of the current user, or any job for finance admins. Scheduled runs belong to the report's creator.
+     *
+     * @throws ResourceNotFoundException if the job does not exist or belongs to someone else
+     */
+    public ReportJobDto getJob(UUID jobId) {
+        ReportJobDto job = findJob(jobId);
+        if (!canAccess(job, SecurityContextHolder.getContext().getAuthentication())) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Most recent scheduled runs of the report, newest fire time first. Only the report's creator and
+     * finance admins see them; for anyone else the report does not exist.
+     */
+    public List<ReportJobDto> getScheduledRuns(UUID reportId, int limit) {
+        if (limit < 1 || limit > MAX_SCHEDULED_RUNS_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SCHEDULED_RUNS_LIMIT);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!isAdmin(authentication) && !ownsReport(reportId, authentication.getName())) {
+            throw new ResourceNotFoundException("Report not found with id: " + reportId);
+        }
+        return jdbcTemplate.query(SELECT_JOBS_SQL + "WHERE report_id = ? AND scheduled_for IS NOT NULL "
+                + "ORDER BY scheduled_for DESC LIMIT ?", (rs, rowNum) -> toDto(rs), reportId, limit);
+    }
+
+    /**
+     * Rows of one result page of a succeeded job; pages are numbered from 0
+     */
+    public ReportJobResultPage getResultPage(UUID jobId, int page) {
+        ReportJobDto job = getJob(jobId);
+        if (!ReportJobStatus.SUCCEEDED.name().equals(job.getStatus())) {
+            throw new IllegalStateException("Report job has no results in status " + job.getStatus());
+        }
+        if (page < 0 || page >= Math.max(job.getPageCount(), 1)) {
+            throw new IllegalArgumentException("Page must be between 0 and " + (Math.max(job.getPageCount(), 1) - 1));
+        }
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        List<byte[]> pages = jdbcTemplate.query(SELECT_PAGE_SQL, (rs, rowNum) -> rs.getBytes(1), jobId, page);
+        if (!pages.isEmpty()) {
+            for (List<Object> values : decodePage(pages.get(0))) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < job.getColumns().size(); i++) {
+                    row.put(job.getColumns().get(i), values.get(i));
+                }
+                data.add(row);
+            }
+        }
+        return ReportJobResultPage.builder()
+                .jobId(jobId)
+                .page(page)
+                .pageSize(job.getPageSize())
+                .pageCount(job.getPageCount())
+                .totalRecords(job.getTotalRecords())
+                .truncated(job.getTruncated())
+                .columns(job.getColumns())
+                .data(data)
+                .build();
+    }
+
+    /**
+     * Cancel a queued or running job. A job running on another node stops at that node's next watchdog pass.
+     */
+    public ReportJobDto cancel(UUID jobId) {
+        getJob(jobId);
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (jdbcTemplate.update(FINISH_SQL, ReportJobStatus.CANCELLED.name(), "Cancelled by " + username, jobId) == 0) {
+            ReportJobDto job = findJob(jobId);
+            throw new IllegalStateException("Report job is already finished with status " + job.getStatus());
+        }
+        LocalJob job = localJobs.get(jobId);
+        if (job != null) {
+            job.stop(ReportJobStatus.CANCELLED);
+        }
+        log.info("Report job {} cancelled by {}", jobId, username);
+        return findJob(jobId);
+    }
+
+    @Scheduled(cron = "${iesa.reports.jobs.watchdog-cron:*/5 * * * * *}")
+    public void scheduledWatchdog() {
+        try {
+            watch();
+        } catch (RuntimeException e) {
+            log.error("Report job watchdog failed", e);
+        }
+    }
+
+    /**
+     * Refresh the heartbeat of this node's jobs, stop those cancelled or deleted elsewhere and time out
+     * those running past their deadline
+     */
+    void watch() {
+        if (localJobs.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (LocalJob job : localJobs.values()) {
+            if (job.deadline != 0 && now - job.deadline > 0) {
+                job.stop(ReportJobStatus.TIMED_OUT);
+            }
+        }
+
+        UUID[] ids = localJobs.keySet().toArray(UUID[]::new);
+        Map<UUID, String> statuses = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(HEARTBEAT_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            return statement;
+        }, (RowCallbackHandler) rs -> statuses.put(rs.getObject(1, UUID.class), rs.getString(2)));
+        for (UUID id : ids) {
+            String status = statuses.get(id);
+            LocalJob job = localJobs.get(id);
+            if (job != null && (status == null || status.equals(ReportJobStatus.CANCELLED.name()))) {
+                job.stop(ReportJobStatus.CANCELLED);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${iesa.reports.jobs.cleanup-cron:0 */5 * * * *}")
+    public void scheduledCleanup() {
+        try {
+            jobRunner.runExclusively(CLEANUP_JOB, Duration.ofMinutes(10), Duration.ofMinutes(1), this::cleanup);
+        } catch (RuntimeException e) {
+            log.error("Report job cleanup failed", e);
+        }
+    }
+
+    /**
+     * Fail jobs whose node stopped refreshing their heartbeat and delete jobs past the retention period
+     *
+     * @return number of jobs failed or deleted
+     */
+    public long cleanup() {
+        int abandoned = jdbcTemplate.update(ABANDON_SQL, abandonedAfterMs);
+        int purged = jdbcTemplate.update(PURGE_SQL, retentionHours, scheduledRetentionDays);
+        if (abandoned > 0) {
+            log.warn("Failed {} report jobs abandoned by their node", abandoned);
+        }
+        return abandoned + purged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        // Jobs stopped here are failed by the cleanup job once their heartbeat is older than abandoned-after
+        localJobs.values().forEach(job -> job.stop(ReportJobStatus.FAILED));
+    }
+
+    private ReportRun load(UUID reportId) {
+        return transactionTemplate.execute(status -> {
+            Report report = reportRepository.findById(reportId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Report not found with id: " + reportId));
+            return new ReportRun(reportId, report.getTemplate().getReportType(),
+                    report.getFilters() == null ? Map.of() : new LinkedHashMap<>(report.getFilters()),
+                    report.getStartDate(), report.getEndDate());
+        });
+    }
+
+    private void enqueue(LocalJob job) {
+        localJobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(job.id);
+            jdbcTemplate.update("DELETE FROM report_jobs WHERE id = ?", job.id);
+            meterRegistry.counter("iesa.reports.jobs.rejected", "reason", "queue-full").increment();
+            throw new ResourceLimitExceededException("The report job queue is full, try again later");
+        }
+    }
+
+    private void run(LocalJob job) {
+        try {
+            if (jdbcTemplate.update(START_SQL, jobRunner.getNodeId(), job.id) == 0) {
+                return;
+            }
+            long startedAt = System.nanoTime();
+            job.deadline = startedAt + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            PageWriter writer = new PageWriter(job);
+            Boolean completed = transactionTemplate.execute(status -> {
+                boolean truncated = executionEngine.stream(job.run.type, job.run.filters, job.run.startDate,
+                        job.run.endDate, maxRows, timeoutSeconds, writer);
+                writer.flush();
+                int updated = jdbcTemplate.update(COMPLETE_SQL, writeJson(writer.columns), writer.rows, truncated,
+                        writer.pages, writer.bytes, job.id);
+                if (updated == 0) {
+                    // Cancelled or failed as abandoned meanwhile; keep no result for it
+                    status.setRollbackOnly();
+                    return false;
+                }
+                jdbcTemplate.update(TRACK_EXECUTION_SQL, job.run.reportId);
+                return true;
+            });
+            if (Boolean.TRUE.equals(completed)) {
+                meterRegistry.counter("iesa.reports.jobs", "outcome", "succeeded").increment();
+                log.info("Report job {} produced {} rows in {} pages ({} bytes) in {} ms", job.id, writer.rows,
+                        writer.pages, writer.bytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            } else {
+                meterRegistry.counter("iesa.reports.jobs", "outcome", "cancelled").increment();
+            }
+        } catch (RuntimeException e) {
+            ReportJobStatus outcome = job.stopReason != null ? job.stopReason
+                    : job.deadline != 0 && System.nanoTime() - job.deadline >= 0 ? ReportJobStatus.TIMED_OUT
+                    : ReportJobStatus.FAILED;
+            String message = switch (outcome) {
+                case TIMED_OUT -> "Report job exceeded its timeout of " + timeoutSeconds + " seconds";
+                case CANCELLED -> null;
+                default -> truncate("Report job failed: " + e.getMessage());
+            };
+            if (outcome != ReportJobStatus.CANCELLED) {
+                jdbcTemplate.update(FINISH_SQL, outcome.name(), message, job.id);
+            }
+            meterRegistry.counter("iesa.reports.jobs", "outcome", outcome.name().toLowerCase(Locale.ROOT)).increment();
+            if (outcome == ReportJobStatus.FAILED) {
+                log.error("Report job {} failed", job.id, e);
+            } else {
+                log.info("Report job {} stopped: {}", job.id, outcome);
+            }
+        } finally {
+            localJobs.remove(job.id);
+        }
+    }
+
+    private String writeJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Report job result cannot be serialized", e);
+        }
+    }
+
+    private byte[] encodePage(List<Object[]> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private boolean canAccess(ReportJobDto job, Authentication authentication) {
+        String username = authentication.getName();
+        if (username.equals(job.getRequestedBy())) {
+            return true;
+        }
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        return SCHEDULER.equals(job.getRequestedBy()) && ownsReport(job.getReportId(), username);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream().anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    private boolean ownsReport(UUID reportId, String username) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(REPORT_OWNER_SQL, Boolean.class, reportId, username));
+    }
+
+    private ReportJobDto findJob(UUID jobId) {
+        List<ReportJobDto> jobs = jdbcTemplate.query(SELECT_JOBS_SQL + "WHERE id = ?", (rs, rowNum) -> toDto(rs), jobId);
+        if (jobs.isEmpty()) {
+            throw new ResourceNotFoundException("Report job not found with id: " + jobId);
+        }
+        return jobs.get(0);
+    }
+
+    private List<List<Object>> decodePage(byte[] data) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return rowsReader.readValue(gzip);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ReportJobDto toDto(ResultSet rs) throws SQLException {
+        String columns = rs.getString(10);
+        try {
+            return ReportJobDto.builder()
+                    .id(rs.getObject(1, UUID.class))
+                    .reportId(rs.getObject(2, UUID.class))
+                    .requestedBy(rs.getString(3))
+                    .scheduledFor(rs.getObject(17, OffsetDateTime.class))
+                    .status(rs.getString(4))
+                    .node(rs.getString(5))
+                    .createdAt(toLocalDateTime(rs.getTimestamp(6)))
+                    .startedAt(toLocalDateTime(rs.getTimestamp(7)))
+                    .finishedAt(toLocalDateTime(rs.getTimestamp(8)))
+                    .timeoutSeconds(rs.getInt(9))
+                    .columns(columns == null ? null : objectMapper.readValue(columns, COLUMNS_TYPE))
+                    .totalRecords((Integer) rs.getObject(11))
+                    .truncated((Boolean) rs.getObject(12))
+                    .pageSize(rs.getInt(13))
+                    .pageCount((Integer) rs.getObject(14))
+                    .resultBytes((Long) rs.getObject(15))
+                    .errorMessage(rs.getString(16))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable result columns of report job", e);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    /**
+     * Report definition captured at submission, so later edits do not change a queued job
+     */
+    private static final class ReportRun {
+        private final UUID reportId;
+        private final ReportType type;
+        private final Map<String, Object> filters;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        private ReportRun(UUID reportId, ReportType type, Map<String, Object> filters, LocalDate startDate, LocalDate endDate) {
+            this.reportId = reportId;
+            this.type = type;
+            this.filters = filters;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    private static final class LocalJob {
+        private final UUID id;
+        private final ReportRun run;
+        private final boolean scheduled;
+        // System.nanoTime() after which the job times out, 0 while queued
+        private volatile long deadline;
+        private volatile Statement statement;
+        private volatile ReportJobStatus stopReason;
+
+        private LocalJob(UUID id, ReportRun run, boolean scheduled) {
+            this.id = id;
+            this.run = run;
+            this.scheduled = scheduled;
+        }
+
+        private void stop(ReportJobStatus reason) {
+            if (stopReason != null) {
+                return;
+            }
+            stopReason = reason;
+            cancelStatement();
+        }
+
+        private void cancelStatement() {
+            Statement running = statement;
+            if (running == null) {
+                return;
+            }
+            try {
+                running.cancel();
+            } catch (SQLException e) {
+                log.warn("Could not cancel the statement of report job {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Buffers streamed rows into pages and writes each full page in the job's transaction
+     */
+    private final class PageWriter implements ReportRowHandler {
+        private final LocalJob job;
+        private final List<Object[]> buffer = new ArrayList<>();
+        private List<String> columns = List.of();
+        private int rows;
+        private int pages;
+        private long bytes;
+
+        private PageWriter(LocalJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void started(Statement statement) {
+            job.statement = statement;
+            // A stop that arrived before the statement existed had nothing to cancel
+            if (job.stopReason != null) {
+                job.cancelStatement();
+            }
+        }
+
+        @Override
+        public void columns(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            if (job.stopReason != null) {
+                throw new CancellationException("Report job " + job.id + " stopped: " + job.stopReason);
+            }
+            buffer.add(values);
+            rows++;
+            if (buffer.size() == pageSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] data = encodePage(buffer);
+            jdbcTemplate.update(INSERT_PAGE_SQL, job.id, pages, buffer.size(), data);
+            pages++;
+            bytes += data.length;
+            buffer.clear();
+        }
+    }
+}
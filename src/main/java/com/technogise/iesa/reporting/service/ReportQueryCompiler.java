@@ -0,0 +1,345 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportQuery;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compiles a report type with its filters and date range into one aggregation query, so reports are
+ * computed where the data lives and only result rows cross the wire. Filter values are always bound
+ * as parameters; the few values spliced into the SQL text, such as the trend interval, come from fixed
+ * whitelists.
+ * <p>
+ * Supported filters, as keys of the report's filters object:
+ * <ul>
+ *   <li>status: expense statuses; each report type has its own default</li>
+ *   <li>segmentIds, departmentIds, submitterIds: ids, or a single id</li>
+ *   <li>currency, minAmount, maxAmount: expense currency and total amount bounds</li>
+ *   <li>interval: DAY, WEEK, MONTH (default), QUARTER or YEAR for time series reports</li>
+ *   <li>limit: number of rows for TOP_SPENDERS, default 10</li>
+ *   <li>period: budget periods for the budget reports</li>
+ * </ul>
+ * The date range applies to the expense date, or selects budgets whose period overlaps it.
+ */
+@Component
+public class ReportQueryCompiler {
+
+    static final int DEFAULT_TOP_SPENDERS = 10;
+    static final int MAX_FILTER_VALUES = 1000;
+
+    private static final Set<String> EXPENSE_FILTERS = Set.of(
+            "status", "segmentIds", "departmentIds", "submitterIds", "currency", "minAmount", "maxAmount");
+    private static final Set<String> BUDGET_FILTERS = Set.of("segmentIds", "departmentIds", "period");
+    private static final Set<String> INTERVALS = Set.of("DAY", "WEEK", "MONTH", "QUARTER", "YEAR");
+
+    private static final List<ExpenseStatus> SPEND_STATUSES = List.of(ExpenseStatus.APPROVED, ExpenseStatus.PAID);
+    private static final List<ExpenseStatus> OPEN_STATUSES = List.of(ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED);
+
+    private static final String EXPENSE_FROM =
+            "FROM expenses e JOIN users u ON u.id = e.submitter_id ";
+
+    // Recorded consumption includes ledger deltas the compactor has not folded yet
+    private static final String BUDGET_CONSUMPTION =
+            "SELECT b.id, b.name, b.segment_id, b.department_id, b.period, b.start_date, b.end_date, b.allocated_amount, "
+                    + "b.consumed_amount + COALESCE((SELECT SUM(l.amount) FROM budget_consumption_ledger l "
+                    + "WHERE l.budget_id = b.id AND l.folded_at IS NULL), 0) AS consumed "
+                    + "FROM budgets b WHERE b.is_active = true AND b.deleted_at IS NULL ";
+
+    /**
+     * Compile the report. At most maxRows rows are returned; callers that need to detect truncation
+     * pass one more than they intend to show.
+     */
+    public ReportQuery compile(ReportType type, Map<String, Object> filters, LocalDate startDate, LocalDate endDate,
+                               int maxRows) {
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        Map<String, Object> given = filters == null ? Map.of() : filters;
+        Builder query = new Builder(given);
+        switch (type) {
+            case EXPENSE_SUMMARY -> {
+                query.allow(EXPENSE_FILTERS);
+                query.sql("SELECT e.status, COUNT(*) AS expense_count, SUM(e.total_amount) AS total_amount, "
+                        + "ROUND(AVG(e.total_amount), 2) AS average_amount, MIN(e.total_amount) AS min_amount, "
+                        + "MAX(e.total_amount) AS max_amount ")
+                        .sql(EXPENSE_FROM);
+                query.expenseConditions(startDate, endDate, List.of(), false);
+                query.sql("GROUP BY e.status ORDER BY total_amount DESC ");
+            }
+            case SEGMENT_ANALYSIS -> {
+                query.allow(EXPENSE_FILTERS);
+                query.sql("SELECT s.id AS segment_id, s.code AS segment_code, s.name AS segment_name, "
+                        + "COUNT(DISTINCT e.id) AS expense_count, SUM(sa.amount) AS total_amount, "
+                        + "ROUND(100 * SUM(sa.amount) / NULLIF(SUM(SUM(sa.amount)) OVER (), 0), 2) AS share_percentage ")
+                        .sql(EXPENSE_FROM)
+                        .sql("JOIN segment_allocations sa ON sa.expense_id = e.id JOIN segments s ON s.id = sa.segment_id ");
+                query.expenseConditions(startDate, endDate, SPEND_STATUSES, true);
+                query.sql("GROUP BY s.id, s.code, s.name ORDER BY total_amount DESC ");
+            }
+            case DEPARTMENT_SPENDING -> {
+                query.allow(EXPENSE_FILTERS).allow(Set.of("interval"));
+                String period = query.periodStart();
+                query.sql("SELECT d.id AS department_id, d.name AS department_name, " + period + " AS period_start, "
+                        + "COUNT(*) AS expense_count, SUM(e.total_amount) AS total_amount ")
+                        .sql(EXPENSE_FROM)
+                        .sql("LEFT JOIN departments d ON d.id = u.department_id ");
+                query.expenseConditions(startDate, endDate, SPEND_STATUSES, false);
+                query.sql("GROUP BY d.id, d.name, " + period + " ORDER BY period_start, department_name ");
+            }
+            case TOP_SPENDERS -> {
+                query.allow(EXPENSE_FILTERS).allow(Set.of("limit"));
+                query.sql("SELECT u.id AS submitter_id, CONCAT_WS(' ', u.first_name, u.last_name) AS submitter_name, "
+                        + "u.email, d.name AS department_name, COUNT(*) AS expense_count, "
+                        + "SUM(e.total_amount) AS total_amount, ROUND(AVG(e.total_amount), 2) AS average_amount ")
+                        .sql(EXPENSE_FROM)
+                        .sql("LEFT JOIN departments d ON d.id = u.department_id ");
+                query.expenseConditions(startDate, endDate, SPEND_STATUSES, false);
+                query.sql("GROUP BY u.id, u.first_name, u.last_name, u.email, d.name ORDER BY total_amount DESC, u.id ");
+                int limit = query.integer("limit", DEFAULT_TOP_SPENDERS);
+                if (limit < 1) {
+                    throw new IllegalArgumentException("Report filter limit must be at least 1");
+                }
+                maxRows = Math.min(maxRows, limit);
+            }
+            case PENDING_APPROVALS -> {
+                query.allow(EXPENSE_FILTERS).disallow("status");
+                query.sql("SELECT e.id AS expense_id, CONCAT_WS(' ', u.first_name, u.last_name) AS submitter_name, "
+                        + "d.name AS department_name, e.vendor, e.expense_date, e.submission_date, e.total_amount, "
+                        + "e.currency, CURRENT_DATE - COALESCE(e.submission_date, e.expense_date) AS days_pending ")
+                        .sql(EXPENSE_FROM)
+                        .sql("LEFT JOIN departments d ON d.id = u.department_id ");
+                query.expenseConditions(startDate, endDate, List.of(ExpenseStatus.SUBMITTED), false);
+                query.sql("ORDER BY days_pending DESC, e.id ");
+            }
+            case EXPENSE_AGING -> {
+                query.allow(EXPENSE_FILTERS);
+                query.sql("SELECT a.status, CASE WHEN a.age_days <= 7 THEN '0-7' WHEN a.age_days <= 30 THEN '8-30' "
+                        + "WHEN a.age_days <= 60 THEN '31-60' WHEN a.age_days <= 90 THEN '61-90' ELSE '90+' END AS age_bucket, "
+                        + "COUNT(*) AS expense_count, SUM(a.total_amount) AS total_amount, "
+                        + "ROUND(AVG(a.age_days), 1) AS average_age_days "
+                        + "FROM (SELECT e.status, e.total_amount, "
+                        + "CURRENT_DATE - COALESCE(e.submission_date, e.expense_date) AS age_days ")
+                        .sql(EXPENSE_FROM);
+                query.expenseConditions(startDate, endDate, OPEN_STATUSES, false);
+                query.sql(") a GROUP BY 1, 2 ORDER BY a.status, MIN(a.age_days) ");
+            }
+            case TREND_ANALYSIS -> {
+                query.allow(EXPENSE_FILTERS).allow(Set.of("interval"));
+                String period = query.periodStart();
+                query.sql("SELECT t.period_start, t.expense_count, t.total_amount, t.average_amount, "
+                        + "SUM(t.total_amount) OVER (ORDER BY t.period_start) AS cumulative_amount "
+                        + "FROM (SELECT " + period + " AS period_start, COUNT(*) AS expense_count, "
+                        + "SUM(e.total_amount) AS total_amount, ROUND(AVG(e.total_amount), 2) AS average_amount ")
+                        .sql(EXPENSE_FROM);
+                query.expenseConditions(startDate, endDate, SPEND_STATUSES, false);
+                query.sql("GROUP BY 1) t ORDER BY t.period_start ");
+            }
+            case BUDGET_VARIANCE -> {
+                query.allow(BUDGET_FILTERS);
+                query.sql("SELECT s.id AS segment_id, s.name AS segment_name, COUNT(*) AS budget_count, "
+                        + "SUM(c.allocated_amount) AS allocated_amount, SUM(c.consumed) AS consumed_amount, "
+                        + "SUM(c.allocated_amount - c.consumed) AS variance_amount, "
+                        + "ROUND(100 * SUM(c.allocated_amount - c.consumed) / NULLIF(SUM(c.allocated_amount), 0), 2) "
+                        + "AS variance_percentage FROM (")
+                        .sql(BUDGET_CONSUMPTION);
+                query.budgetConditions(startDate, endDate);
+                query.sql(") c LEFT JOIN segments s ON s.id = c.segment_id "
+                        + "GROUP BY s.id, s.name ORDER BY variance_amount, segment_name ");
+            }
+            case BUDGET_UTILIZATION -> {
+                query.allow(BUDGET_FILTERS);
+                query.sql("SELECT c.id AS budget_id, c.name AS budget_name, c.period, c.start_date, c.end_date, "
+                        + "s.name AS segment_name, d.name AS department_name, c.allocated_amount, "
+                        + "c.consumed AS consumed_amount, c.allocated_amount - c.consumed AS remaining_amount, "
+                        + "ROUND(100 * c.consumed / c.allocated_amount, 2) AS utilization_percentage FROM (")
+                        .sql(BUDGET_CONSUMPTION);
+                query.budgetConditions(startDate, endDate);
+                query.sql(") c LEFT JOIN segments s ON s.id = c.segment_id LEFT JOIN departments d ON d.id = c.department_id "
+                        + "ORDER BY utilization_percentage DESC, c.id ");
+            }
+        }
+        query.sql("LIMIT ?").param(maxRows);
+        return query.build();
+    }
+
+    /**
+     * Accumulates SQL text and its parameters, and checks the filters against the ones the report accepts
+     */
+    private static final class Builder {
+        private final Map<String, Object> filters;
+        private final Set<String> allowed = new HashSet<>();
+        private final StringBuilder sql = new StringBuilder();
+        private final List<Object> params = new ArrayList<>();
+
+        private Builder(Map<String, Object> filters) {
+            this.filters = filters;
+        }
+
+        private Builder allow(Set<String> keys) {
+            allowed.addAll(keys);
+            return this;
+        }
+
+        private Builder disallow(String key) {
+            allowed.remove(key);
+            return this;
+        }
+
+        private Builder sql(String text) {
+            sql.append(text);
+            return this;
+        }
+
+        private Builder param(Object value) {
+            params.add(value);
+            return this;
+        }
+
+        private void expenseConditions(LocalDate startDate, LocalDate endDate, List<ExpenseStatus> defaultStatuses,
+                                       boolean allocationJoined) {
+            sql("WHERE e.deleted_at IS NULL ");
+            if (startDate != null) {
+                sql("AND e.expense_date >= ? ").param(Date.valueOf(startDate));
+            }
+            if (endDate != null) {
+                sql("AND e.expense_date <= ? ").param(Date.valueOf(endDate));
+            }
+            List<String> statuses = strings("status").stream().map(Builder::status).toList();
+            if (statuses.isEmpty()) {
+                statuses = defaultStatuses.stream().map(Enum::name).toList();
+            }
+            in("e.status", statuses);
+            in("e.submitter_id", uuids("submitterIds"));
+            in("u.department_id", uuids("departmentIds"));
+            List<Object> segmentIds = uuids("segmentIds");
+            if (!segmentIds.isEmpty()) {
+                if (allocationJoined) {
+                    in("sa.segment_id", segmentIds);
+                } else {
+                    sql("AND EXISTS (SELECT 1 FROM segment_allocations fa WHERE fa.expense_id = e.id ");
+                    in("fa.segment_id", segmentIds);
+                    sql(") ");
+                }
+            }
+            String currency = string("currency");
+            if (currency != null) {
+                sql("AND e.currency = ? ").param(currency);
+            }
+            BigDecimal minAmount = decimal("minAmount");
+            if (minAmount != null) {
+                sql("AND e.total_amount >= ? ").param(minAmount);
+            }
+            BigDecimal maxAmount = decimal("maxAmount");
+            if (maxAmount != null) {
+                sql("AND e.total_amount <= ? ").param(maxAmount);
+            }
+        }
+
+        private void budgetConditions(LocalDate startDate, LocalDate endDate) {
+            if (startDate != null) {
+                sql("AND b.end_date >= ? ").param(Date.valueOf(startDate));
+            }
+            if (endDate != null) {
+                sql("AND b.start_date <= ? ").param(Date.valueOf(endDate));
+            }
+            in("b.segment_id", uuids("segmentIds"));
+            in("b.department_id", uuids("departmentIds"));
+            in("b.period", strings("period").stream().map(Builder::budgetPeriod).toList());
+        }
+
+        /**
+         * First day of the interval containing the expense date, for the interval filter
+         */
+        private String periodStart() {
+            String interval = string("interval");
+            interval = interval == null ? "MONTH" : interval.toUpperCase(Locale.ROOT);
+            if (!INTERVALS.contains(interval)) {
+                throw new IllegalArgumentException("Unsupported report interval: " + interval);
+            }
+            return "CAST(date_trunc('" + interval.toLowerCase(Locale.ROOT) + "', e.expense_date) AS DATE)";
+        }
+
+        private void in(String column, List<?> values) {
+            if (values.isEmpty()) {
+                return;
+            }
+            sql("AND ").sql(column).sql(" IN (").sql(String.join(", ", Collections.nCopies(values.size(), "?"))).sql(") ");
+            params.addAll(values);
+        }
+
+        private ReportQuery build() {
+            for (String key : filters.keySet()) {
+                if (!allowed.contains(key)) {
+                    throw new IllegalArgumentException("Unsupported report filter: " + key);
+                }
+            }
+            return new ReportQuery(sql.toString(), List.copyOf(params));
+        }
+
+        private List<String> strings(String key) {
+            Object value = filters.get(key);
+            if (value == null) {
+                return List.of();
+            }
+            List<?> values = value instanceof Collection<?> collection ? List.copyOf(collection) : List.of(value);
+            if (values.size() > MAX_FILTER_VALUES) {
+                throw new IllegalArgumentException("Report filter " + key + " accepts at most " + MAX_FILTER_VALUES + " values");
+            }
+            return values.stream().map(String::valueOf).toList();
+        }
+
+        private List<Object> uuids(String key) {
+            List<Object> ids = new ArrayList<>();
+            for (String value : strings(key)) {
+                try {
+                    ids.add(UUID.fromString(value));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Report filter " + key + " contains an invalid id: " + value);
+                }
+            }
+            return ids;
+        }
+
+        private String string(String key) {
+            Object value = filters.get(key);
+            return value == null ? null : value.toString();
+        }
+
+        private BigDecimal decimal(String key) {
+            String value = string(key);
+            try {
+                return value == null ? null : new BigDecimal(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Report filter " + key + " must be a number");
+            }
+        }
+
+        private int integer(String key, int defaultValue) {
+            BigDecimal value = decimal(key);
+            return value == null ? defaultValue : value.intValue();
+        }
+
+        private static String status(String value) {
+            try {
+                return ExpenseStatus.valueOf(value.toUpperCase(Locale.ROOT)).name();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown expense status in report filter: " + value);
+            }
+        }
+
+        private static String budgetPeriod(String value) {
+            try {
+                return BudgetPeriod.valueOf(value.toUpperCase(Locale.ROOT)).name();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown budget period in report filter: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.technogise.iesa.reporting.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportExecutionResult;
+import com.technogise.iesa.shared.service.DataVersionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of report results: a size-bounded in-process LRU in front of Redis. Keys include the
+ * version of the data domain the report reads (see DataVersionService), so a write makes every older
+ * result unreachable instead of requiring invalidation, and an unchanged domain keeps serving the same
+ * result. Entries also carry the current date because some reports age rows by it. Redis failures
+ * degrade to the local tier and the database; Redis is skipped for a while after a failure so a down
+ * server does not add its timeout to every request.
+ */
+@Service
+@Slf4j
+public class ReportResultCache {
+
+    private static final String KEY_PREFIX = "iesa:report-result:";
+
+    private final DataVersionService dataVersionService;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectWriter resultWriter;
+    private final ObjectReader resultReader;
+    private final ObjectWriter keyWriter;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final long localMaxBytes;
+    private final long maxEntryBytes;
+    private final Duration ttl;
+    private final long redisRetryIntervalMs;
+
+    // Access-ordered, so iteration starts at the least recently used entry. Guarded by this.
+    private final LinkedHashMap<String, LocalEntry> local = new LinkedHashMap<>(64, 0.75f, true);
+    private long localBytes;
+
+    private volatile long redisSkippedUntil;
+
+    public ReportResultCache(DataVersionService dataVersionService,
+                             StringRedisTemplate redisTemplate,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${iesa.reports.cache.enabled:true}") boolean enabled,
+                             @Value("${iesa.reports.cache.redis-enabled:true}") boolean redisEnabled,
+                             @Value("${iesa.reports.cache.local-max-bytes:67108864}") long localMaxBytes,
+                             @Value("${iesa.reports.cache.max-entry-bytes:4194304}") long maxEntryBytes,
+                             @Value("${iesa.reports.cache.ttl-minutes:60}") long ttlMinutes,
+                             @Value("${iesa.reports.cache.redis-retry-interval-ms:30000}") long redisRetryIntervalMs) {
+        this.dataVersionService = dataVersionService;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.resultWriter = objectMapper.writerFor(ReportExecutionResult.class);
+        // Amounts come back as BigDecimal, as the database returned them, rather than as doubles
+        this.resultReader = objectMapper.readerFor(ReportExecutionResult.class)
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.keyWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.localMaxBytes = localMaxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.redisRetryIntervalMs = redisRetryIntervalMs;
+
+        meterRegistry.gauge("iesa.reports.cache.local.bytes", this, cache -> cache.localSize(true));
+        meterRegistry.gauge("iesa.reports.cache.local.entries", this, cache -> cache.localSize(false));
+    }
+
+    /**
+     * Cached result of the report for the current data version, or the computed one, which is then cached
+     */
+    public ReportExecutionResult getOrCompute(UUID reportId, ReportType type, Map<String, Object> filters,
+                                              LocalDate startDate, LocalDate endDate,
+                                              Supplier<ReportExecutionResult> compute) {
+        if (!enabled) {
+            return computed(compute);
+        }
+        long startedAt = System.nanoTime();
+        String key = key(reportId, type, filters, startDate, endDate);
+        ReportExecutionResult cached = get(key);
+        if (cached != null) {
+            cached.setCached(true);
+            cached.setExecutionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return cached;
+        }
+        ReportExecutionResult result = computed(compute);
+        put(key, result);
+        return result;
+    }
+
+    private static ReportExecutionResult computed(Supplier<ReportExecutionResult> compute) {
+        ReportExecutionResult result = compute.get();
+        result.setCached(false);
+        return result;
+    }
+
+    String key(UUID reportId, ReportType type, Map<String, Object> filters, LocalDate startDate, LocalDate endDate) {
+        long version = dataVersionService.currentVersion(type.getDataDomain());
+        String parameters;
+        try {
+            parameters = type + "|" + keyWriter.writeValueAsString(filters == null ? Map.of() : filters)
+                    + "|" + startDate + "|" + endDate + "|" + LocalDate.now();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Report filters cannot be serialized", e);
+        }
+        return KEY_PREFIX + reportId + ":" + type.getDataDomain() + ":" + version + ":" + sha256(parameters);
+    }
+
+    private ReportExecutionResult get(String key) {
+        LocalEntry entry;
+        synchronized (this) {
+            entry = local.get(key);
+            if (entry != null && entry.expiresAt < System.currentTimeMillis()) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            record("local", "hit");
+            return read(entry.json);
+        }
+        record("local", "miss");
+
+        String json = redisGet(key);
+        if (json == null) {
+            return null;
+        }
+        ReportExecutionResult result = read(json);
+        if (result != null) {
+            putLocal(key, json);
+        }
+        return result;
+    }
+
+    private void put(String key, ReportExecutionResult result) {
+        String json;
+        try {
+            json = resultWriter.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            log.warn("Report result could not be serialized for caching", e);
+            return;
+        }
+        if (json.length() > maxEntryBytes) {
+            record("local", "oversize");
+            return;
+        }
+        putLocal(key, json);
+        redisPut(key, json);
+    }
+
+    private synchronized void putLocal(String key, String json) {
+        remove(key);
+        local.put(key, new LocalEntry(json, System.currentTimeMillis() + ttl.toMillis()));
+        localBytes += json.length();
+        Iterator<Map.Entry<String, LocalEntry>> eldest = local.entrySet().iterator();
+        while (localBytes > localMaxBytes && eldest.hasNext()) {
+            localBytes -= eldest.next().getValue().json.length();
+            eldest.remove();
+            meterRegistry.counter("iesa.reports.cache.evictions", "tier", "local").increment();
+        }
+    }
+
+    private void remove(String key) {
+        LocalEntry removed = local.remove(key);
+        if (removed != null) {
+            localBytes -= removed.json.length();
+        }
+    }
+
+    private String redisGet(String key) {
+        if (!redisAvailable()) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            record("redis", json == null ? "miss" : "hit");
+            return json;
+        } catch (RuntimeException e) {
+            redisFailed(e);
+            return null;
+        }
+    }
+
+    private void redisPut(String key, String json) {
+        if (!redisAvailable()) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(key, json, ttl);
+        } catch (RuntimeException e) {
+            redisFailed(e);
+        }
+    }
+
+    private boolean redisAvailable() {
+        return redisEnabled && System.currentTimeMillis() >= redisSkippedUntil;
+    }
+
+    private void redisFailed(RuntimeException e) {
+        record("redis", "error");
+        redisSkippedUntil = System.currentTimeMillis() + redisRetryIntervalMs;
+        log.warn("Report result cache cannot reach Redis, using the local tier only for {} ms: {}",
+                redisRetryIntervalMs, e.getMessage());
+    }
+
+    private ReportExecutionResult read(String json) {
+        try {
+            return resultReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable cached report result", e);
+            return null;
+        }
+    }
+
+    private void record(String tier, String result) {
+        meterRegistry.counter("iesa.reports.cache.requests", "tier", tier, "result", result).increment();
+    }
+
+    private synchronized double localSize(boolean bytes) {
+        return bytes ? localBytes : local.size();
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Results are kept serialized so every hit returns a fresh copy the caller may modify
+     */
+    private static final class LocalEntry {
+        private final String json;
+        private final long expiresAt;
+
+        private LocalEntry(String json, long expiresAt) {
+            this.json = json;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.technogise.iesa.reporting.service;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Receives the rows of a streamed report execution, see ReportExecutionEngine#stream
+ */
+public interface ReportRowHandler {
+
+    /**
+     * Called with the statement before it executes, so the caller can cancel it from another thread
+     */
+    default void started(Statement statement) {
+    }
+
+    void columns(List<String> columns);
+
+    /**
+     * Values in column order, with dates and timestamps already converted to java.time types
+     */
+    void row(Object[] values);
+}
@@ -0,0 +1,217 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Runs reports on their scheduled_cron. The next fire time of every scheduled report is kept in a priority
+ * queue ordered by due time; a one-second tick pops the due entries and hands them to ReportJobService,
+ * whose worker pool bounds how many run at once. Each report is due a fixed, report-specific jitter after
+ * its fire time, so thousands of reports on the same cron are spread over max-jitter-ms instead of firing
+ * together; the jitter stays under half the report's period. Entries are only taken while scheduled runs
+ * hold fewer than their share of the pool; the rest stay due for the next tick.
+ *
+ * Every node keeps the same queue and competes for due runs. A run is claimed by inserting its report
+ * and nominal fire time into report_jobs, which allows one row per pair, so each fire time runs exactly
+ * once in the cluster and nodes with spare capacity take more of the load. That only holds while every
+ * node computes the same fire times, so crons are evaluated in one configured zone, UTC by default, and
+ * never in the JVM's own. Schedules are reloaded every refresh; fire times missed while no node was
+ * running are not replayed.
+ */
+@Service
+@Slf4j
+public class ReportScheduler {
+
+    private static final String SELECT_SCHEDULES_SQL =
+            "SELECT id, scheduled_cron FROM reports WHERE scheduled_cron IS NOT NULL AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportJobService reportJobService;
+    private final MeterRegistry meterRegistry;
+    private final long maxJitterMs;
+    private final ZoneId zone;
+
+    // Guarded by this
+    private final PriorityQueue<ScheduleEntry> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.dueAt));
+    private Map<UUID, ScheduleEntry> entries;
+    private final Set<String> invalidCrons = new HashSet<>();
+
+    public ReportScheduler(JdbcTemplate jdbcTemplate,
+                           ReportJobService reportJobService,
+                           MeterRegistry meterRegistry,
+                           @Value("${iesa.reports.schedule.max-jitter-ms:300000}") long maxJitterMs,
+                           @Value("${iesa.reports.schedule.zone:UTC}") String zone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reportJobService = reportJobService;
+        this.meterRegistry = meterRegistry;
+        this.maxJitterMs = maxJitterMs;
+        if (zone == null || zone.isBlank()) {
+            throw new IllegalArgumentException("iesa.reports.schedule.zone must name a time zone shared by every node");
+        }
+        this.zone = ZoneId.of(zone);
+        meterRegistry.gauge("iesa.reports.schedule.entries", this, scheduler -> scheduler.size());
+    }
+
+    @Scheduled(cron = "${iesa.reports.schedule.refresh-cron:30 * * * * *}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Report schedule refresh failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${iesa.reports.schedule.dispatch-cron:* * * * * *}")
+    public void scheduledDispatch() {
+        try {
+            dispatchDue();
+        } catch (RuntimeException e) {
+            log.error("Report schedule dispatch failed", e);
+        }
+    }
+
+    /**
+     * Reload scheduled reports. Entries of reports whose cron is unchanged keep their pending fire time.
+     */
+    public void refresh() {
+        refresh(Instant.now());
+    }
+
+    void refresh(Instant now) {
+        Map<UUID, String> crons = new HashMap<>();
+        jdbcTemplate.query(SELECT_SCHEDULES_SQL, (RowCallbackHandler) rs -> crons.put(rs.getObject(1, UUID.class), rs.getString(2)));
+
+        synchronized (this) {
+            Map<UUID, ScheduleEntry> previous = entries == null ? Map.of() : entries;
+            Map<UUID, ScheduleEntry> loaded = new HashMap<>();
+            crons.forEach((reportId, cron) -> {
+                ScheduleEntry existing = previous.get(reportId);
+                if (existing != null && existing.cron.equals(cron)) {
+                    loaded.put(reportId, existing);
+                    return;
+                }
+                ScheduleEntry entry = schedule(reportId, cron, now);
+                if (entry != null) {
+                    loaded.put(reportId, entry);
+                }
+            });
+            entries = loaded;
+            queue.clear();
+            queue.addAll(loaded.values());
+        }
+        log.debug("Loaded {} report schedules", crons.size());
+    }
+
+    /**
+     * Claim and queue every due run while scheduled runs have room in the job pool
+     *
+     * @return number of runs this node claimed
+     */
+    public int dispatchDue() {
+        return dispatchDue(Instant.now());
+    }
+
+    synchronized int dispatchDue(Instant now) {
+        if (entries == null) {
+            refresh(now);
+        }
+        int claimed = 0;
+        while (!queue.isEmpty() && queue.peek().dueAt <= now.toEpochMilli()) {
+            if (!reportJobService.hasScheduledCapacity()) {
+                meterRegistry.counter("iesa.reports.schedule.dispatches", "outcome", "deferred").increment();
+                break;
+            }
+            ScheduleEntry entry = queue.poll();
+            try {
+                if (reportJobService.submitScheduled(entry.reportId, entry.fireTime)) {
+                    claimed++;
+                    meterRegistry.counter("iesa.reports.schedule.dispatches", "outcome", "claimed").increment();
+                } else {
+                    meterRegistry.counter("iesa.reports.schedule.dispatches", "outcome", "claimed-elsewhere").increment();
+                }
+            } catch (ResourceLimitExceededException e) {
+                // The pool filled up between the check and the claim; retry this fire time on the next tick
+                queue.add(entry);
+                meterRegistry.counter("iesa.reports.schedule.dispatches", "outcome", "deferred").increment();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Scheduled run of report {} at {} failed to start", entry.reportId, entry.fireTime, e);
+                meterRegistry.counter("iesa.reports.schedule.dispatches", "outcome", "failed").increment();
+            }
+            advance(entry, now);
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} scheduled report runs", claimed);
+        }
+        return claimed;
+    }
+
+    /**
+     * Replace a dispatched entry with its next fire time; fire times already past are skipped
+     */
+    private void advance(ScheduleEntry entry, Instant now) {
+        Instant after = entry.fireTime.isAfter(now) ? entry.fireTime : now;
+        ScheduleEntry next = schedule(entry.reportId, entry.cron, after);
+        if (next == null) {
+            entries.remove(entry.reportId);
+        } else {
+            entries.put(entry.reportId, next);
+            queue.add(next);
+        }
+    }
+
+    private ScheduleEntry schedule(UUID reportId, String cron, Instant after) {
+        CronExpression expression;
+        try {
+            expression = CronExpression.parse(cron);
+        } catch (IllegalArgumentException e) {
+            if (invalidCrons.add(cron)) {
+                log.warn("Ignoring invalid schedule '{}' of report {}: {}", cron, reportId, e.getMessage());
+            }
+            return null;
+        }
+        ZonedDateTime next = expression.next(after.atZone(zone));
+        if (next == null) {
+            return null;
+        }
+        ZonedDateTime following = expression.next(next);
+        long window = following == null ? maxJitterMs
+                : Math.min(maxJitterMs, Duration.between(next, following).toMillis() / 2);
+        long jitter = window <= 0 ? 0 : Math.floorMod(reportId.getLeastSignificantBits(), window);
+        Instant fireTime = next.toInstant();
+        return new ScheduleEntry(reportId, cron, fireTime, fireTime.toEpochMilli() + jitter);
+    }
+
+    private synchronized int size() {
+        return entries == null ? 0 : entries.size();
+    }
+
+    private static final class ScheduleEntry {
+        private final UUID reportId;
+        private final String cron;
+        // Nominal fire time, identical on every node, used to claim the run
+        private final Instant fireTime;
+        // Epoch millis at which this node tries to claim the run
+        private final long dueAt;
+
+        private ScheduleEntry(UUID reportId, String cron, Instant fireTime, long dueAt) {
+            this.reportId = reportId;
+            this.cron = cron;
+            this.fireTime = fireTime;
+            this.dueAt = dueAt;
+        }
+    }
+}
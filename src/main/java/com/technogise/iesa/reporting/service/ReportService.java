@@ -2,6 +2,7 @@ package com.technogise.iesa.reporting.service;
 
 import com.technogise.iesa.reporting.domain.Report;
 import com.technogise.iesa.reporting.domain.ReportTemplate;
+import com.technogise.iesa.reporting.domain.ReportType;
 import com.technogise.iesa.reporting.dto.*;
 import com.technogise.iesa.reporting.repository.ReportRepository;
 import com.technogise.iesa.reporting.repository.ReportTemplateRepository;
@@ -9,12 +10,11 @@ import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import com.technogise.iesa.usermanagement.domain.User;
 import com.technogise.iesa.usermanagement.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,6 +27,8 @@ public class ReportService {
     private final ReportTemplateRepository reportTemplateRepository;
     private final UserRepository userRepository;
     private final ReportMapper reportMapper;
+    private final ReportExecutionEngine reportExecutionEngine;
+    private final ReportResultCache reportResultCache;
 
     @Transactional(readOnly = true)
     public List<ReportDto> getAllReports() {
@@ -76,7 +78,7 @@ public class ReportService {
                 .filters(request.getFilters())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
-                .scheduledCron(request.getScheduledCron())
+                .scheduledCron(scheduledCron(request.getScheduledCron()))
                 .isFavorite(false)
                 .executionCount(0)
                 .build();
@@ -109,7 +111,8 @@ public class ReportService {
             report.setEndDate(request.getEndDate());
         }
         if (request.getScheduledCron() != null) {
-            report.setScheduledCron(request.getScheduledCron());
+            // A blank expression removes the schedule
+            report.setScheduledCron(scheduledCron(request.getScheduledCron()));
         }
 
         // Validate date range if both dates are set
@@ -139,28 +142,27 @@ public class ReportService {
     public ReportExecutionResult executeReport(UUID id) {
         Report report = findReportById(id);
 
+        ReportType type = report.getTemplate().getReportType();
+        ReportExecutionResult result = reportResultCache.getOrCompute(report.getId(), type,
+                report.getFilters(), report.getStartDate(), report.getEndDate(),
+                () -> reportExecutionEngine.execute(type, report.getFilters(), report.getStartDate(), report.getEndDate()));
+
         // Update execution tracking
         report.setLastExecutedAt(Instant.now());
         report.setExecutionCount(report.getExecutionCount() + 1);
         reportRepository.save(report);
 
-        // TODO: Implement actual report execution logic based on template query definition
-        // This is a placeholder implementation
-        long startTime = System.currentTimeMillis();
-
-        List<HashMap<String, Object>> data = new ArrayList<>();
-        // Add sample data structure
-        HashMap<String, Object> row = new HashMap<>();
-        row.put("message", "Report execution not yet implemented");
-        data.add(row);
-
-        long executionTime = System.currentTimeMillis() - startTime;
+        return result;
+    }
 
-        return ReportExecutionResult.builder()
-                .data(new ArrayList<>(data))
-                .totalRecords(data.size())
-                .executionTime(executionTime)
-                .build();
+    private static String scheduledCron(String cron) {
+        if (cron == null || cron.isBlank()) {
+            return null;
+        }
+        if (!CronExpression.isValidExpression(cron.trim())) {
+            throw new IllegalArgumentException("Invalid cron expression: " + cron);
+        }
+        return cron.trim();
     }
 
     private Report findReportById(UUID id) {
@@ -0,0 +1,42 @@
+package com.technogise.iesa.shared.controller;
+
+import com.technogise.iesa.shared.domain.PartitionedTable;
+import com.technogise.iesa.shared.dto.PartitionInfo;
+import com.technogise.iesa.shared.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/partitions")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+public class PartitionController {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    @GetMapping("/{table}")
+    public ResponseEntity<List<PartitionInfo>> listPartitions(@PathVariable PartitionedTable table) {
+        return ResponseEntity.ok(partitionMaintenanceService.listPartitions(table));
+    }
+
+    @PostMapping("/ensure")
+    public ResponseEntity<Void> ensureFuturePartitions() {
+        partitionMaintenanceService.ensureFuturePartitions();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{table}/detach")
+    public ResponseEntity<Map<String, String>> detachPartition(
+            @PathVariable PartitionedTable table,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        String partition = partitionMaintenanceService.detachPartition(table, month);
+        return ResponseEntity.ok(Map.of("detachedPartition", partition));
+    }
+}
@@ -0,0 +1,32 @@
+package com.technogise.iesa.shared.controller;
+
+import com.technogise.iesa.shared.dto.ScheduledJobRunDto;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/admin/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ROLE_FINANCE_ADMIN')")
+public class ScheduledJobController {
+
+    private final ScheduledJobRunner scheduledJobRunner;
+
+    @GetMapping("/runs")
+    public ResponseEntity<List<ScheduledJobRunDto>> getRecentRuns(
+            @RequestParam(required = false) String job,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(scheduledJobRunner.getRecentRuns(job, limit));
+    }
+
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<ScheduledJobRunDto> getRun(@PathVariable UUID id) {
+        return ResponseEntity.ok(scheduledJobRunner.getRun(id));
+    }
+}
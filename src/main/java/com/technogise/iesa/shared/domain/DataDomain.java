@@ -0,0 +1,19 @@
+package com.technogise.iesa.shared.domain;
+
+/**
+ * Groups of tables whose changes are tracked by a data version, backed by one sequence each
+ */
+public enum DataDomain {
+    EXPENSES("data_version_expenses"),
+    BUDGETS("data_version_budgets");
+
+    private final String sequenceName;
+
+    DataDomain(String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public String getSequenceName() {
+        return sequenceName;
+    }
+}
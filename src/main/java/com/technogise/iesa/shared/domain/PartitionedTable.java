@@ -0,0 +1,19 @@
+package com.technogise.iesa.shared.domain;
+
+/**
+ * Tables range-partitioned by month (see migration V20)
+ */
+public enum PartitionedTable {
+    EXPENSES("expenses"),
+    WORKFLOW_HISTORY("workflow_history");
+
+    private final String tableName;
+
+    PartitionedTable(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+}
@@ -0,0 +1,10 @@
+package com.technogise.iesa.shared.domain;
+
+/**
+ * Outcome of a scheduled job run recorded in scheduled_job_runs
+ */
+public enum ScheduledJobStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,14 @@
+package com.technogise.iesa.shared.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionInfo {
+    private String name;
+    private String bounds;
+    private long estimatedRows;
+    private long totalBytes;
+}
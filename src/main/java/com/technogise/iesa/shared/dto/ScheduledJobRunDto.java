@@ -0,0 +1,22 @@
+package com.technogise.iesa.shared.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobRunDto {
+    private UUID id;
+    private String jobName;
+    private String node;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private Long itemsProcessed;
+    private String errorMessage;
+}
@@ -0,0 +1,12 @@
+package com.technogise.iesa.shared.exception;
+
+/**
+ * Exception thrown when a request would exceed a concurrency or capacity limit; the client may retry later
+ */
+public class ResourceLimitExceededException extends RuntimeException {
+
+    public ResourceLimitExceededException(String message) {
+        super(message);
+    }
+
+}
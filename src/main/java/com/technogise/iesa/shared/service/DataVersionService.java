@@ -0,0 +1,75 @@
+package com.technogise.iesa.shared.service;
+
+import com.technogise.iesa.shared.domain.DataDomain;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cluster-wide change counters per data domain, for caches keyed by the version of the data they were
+ * computed from. A change is counted only after its transaction commits: a reader that sees the new
+ * version is then guaranteed to also see the new data, so nothing older can be cached under it.
+ */
+@Service
+@Slf4j
+public class DataVersionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate bumpTransaction;
+
+    public DataVersionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bumpTransaction = new TransactionTemplate(transactionManager);
+        // Runs from transaction completion callbacks, where the finished transaction must not be reused
+        this.bumpTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long currentVersion(DataDomain domain) {
+        // A sequence that was never advanced reports its start value as last_value
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM " + domain.getSequenceName(), Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Advance the domain's version once the current transaction commits, at most once per transaction,
+     * or right away when there is no transaction
+     */
+    public void markChanged(DataDomain domain) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(domain);
+            return;
+        }
+        String resourceKey = DataVersionService.class.getName() + "." + domain.name();
+        if (TransactionSynchronizationManager.hasResource(resourceKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(resourceKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(domain);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+            }
+        });
+    }
+
+    private void bump(DataDomain domain) {
+        try {
+            bumpTransaction.executeWithoutResult(status ->
+                    jdbcTemplate.queryForObject("SELECT nextval('" + domain.getSequenceName() + "')", Long.class));
+        } catch (RuntimeException e) {
+            // The data is committed either way; cached results of this domain expire through their TTL
+            log.error("Failed to advance {} data version", domain, e);
+        }
+    }
+}
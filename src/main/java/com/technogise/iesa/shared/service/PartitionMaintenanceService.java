@@ -0,0 +1,130 @@
+package com.technogise.iesa.shared.service;
+
+import com.technogise.iesa.shared.domain.PartitionedTable;
+import com.technogise.iesa.shared.dto.PartitionInfo;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of expenses and workflow_history ahead of the clock, and detaches
+ * old months so they can be archived and dropped without touching the live tables
+ */
+@Service
+@Slf4j
+public class PartitionMaintenanceService {
+
+    static final String PARTITION_JOB = "partition-maintenance";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledJobRunner jobRunner;
+    private final int monthsAhead;
+    private final int minRetentionMonths;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       ScheduledJobRunner jobRunner,
+                                       @Value("${iesa.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${iesa.partitions.min-retention-months:24}") int minRetentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRunner = jobRunner;
+        this.monthsAhead = monthsAhead;
+        this.minRetentionMonths = minRetentionMonths;
+    }
+
+    @Scheduled(cron = "${iesa.partitions.maintenance-cron:0 0 3 * * *}")
+    public void scheduledMaintenance() {
+        try {
+            jobRunner.runExclusively(PARTITION_JOB, Duration.ofMinutes(30), Duration.ofMinutes(5),
+                    this::ensureFuturePartitions);
+        } catch (RuntimeException e) {
+            log.error("Partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Create any missing partitions from the current month through the configured number of months ahead.
+     * The scheduled run happens on one node per firing; the database function also serializes callers per
+     * table, so a manual run cannot race it. A month whose rows already sit in the default partition has
+     * them moved into the new partition.
+     *
+     * @return the number of partitions created
+     */
+    public int ensureFuturePartitions() {
+        int total = 0;
+        for (PartitionedTable table : PartitionedTable.values()) {
+            try {
+                Integer created = jdbcTemplate.queryForObject(
+                        "SELECT ensure_monthly_partitions(?, ?)", Integer.class, table.getTableName(), monthsAhead);
+                if (created != null && created > 0) {
+                    log.info("Created {} monthly partitions for {}", created, table.getTableName());
+                    total += created;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to create partitions for {}", table.getTableName(), e);
+            }
+        }
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PartitionInfo> listPartitions(PartitionedTable table) {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), GREATEST(c.reltuples, 0)::BIGINT, "
+                        + "pg_total_relation_size(c.oid) "
+                        + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = ?::regclass ORDER BY c.relname",
+                (rs, rowNum) -> PartitionInfo.builder()
+                        .name(rs.getString(1))
+                        .bounds(rs.getString(2))
+                        .estimatedRows(rs.getLong(3))
+                        .totalBytes(rs.getLong(4))
+                        .build(),
+                table.getTableName());
+    }
+
+    /**
+     * Detach one month from its parent table. The partition stays in place as a standalone table that
+     * live queries no longer see, ready to be dumped to cold storage and dropped. Only months older than
+     * the minimum retention can be detached, and a month of expenses only once the archiver has moved all
+     * of its rows out, so no child rows or status counters are left pointing at expenses that vanished.
+     */
+    @Transactional
+    public String detachPartition(PartitionedTable table, YearMonth month) {
+        YearMonth oldestRetained = YearMonth.now().minusMonths(minRetentionMonths);
+        if (!month.isBefore(oldestRetained)) {
+            throw new IllegalArgumentException("Only partitions before " + oldestRetained + " can be detached");
+        }
+
+        String partition = table.getTableName() + "_p" + month.format(PARTITION_SUFFIX);
+        Boolean attached = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits WHERE inhrelid = to_regclass(?) AND inhparent = ?::regclass)",
+                Boolean.class, partition, table.getTableName());
+        if (!Boolean.TRUE.equals(attached)) {
+            throw new ResourceNotFoundException("Partition not found: " + partition);
+        }
+        if (table == PartitionedTable.EXPENSES) {
+            Boolean hasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class);
+            if (Boolean.TRUE.equals(hasRows)) {
+                throw new IllegalStateException("Partition " + partition + " still holds expenses; archive them before detaching");
+            }
+        }
+
+        // Detaching locks the parent exclusively; give up rather than queue behind long-running queries.
+        // CONCURRENTLY is not an option because the tables have a default partition.
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+        jdbcTemplate.execute("ALTER TABLE " + table.getTableName() + " DETACH PARTITION " + partition);
+        log.info("Detached partition {} from {}", partition, table.getTableName());
+        return partition;
+    }
+}
@@ -0,0 +1,233 @@
+package com.technogise.iesa.shared.service;
+
+import com.technogise.iesa.shared.domain.ScheduledJobStatus;
+import com.technogise.iesa.shared.domain.UuidV7Generator;
+import com.technogise.iesa.shared.dto.ScheduledJobRunDto;
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs scheduled maintenance jobs so that each cron firing executes on exactly one node of the cluster.
+ * Every node waits a random jitter, then tries to take the job's lease in scheduled_job_locks; only the
+ * winner runs the job. The lease is kept for at least lockAtLeastFor, so nodes whose jitter ends after a
+ * fast run finishes still find it taken, and expires after lockAtMostFor if the holder dies.
+ * Runs are recorded in scheduled_job_runs and measured under iesa.scheduled.job.*, as are jobs an admin
+ * starts on request through runInBackground.
+ */
+@Service
+@Slf4j
+public class ScheduledJobRunner {
+
+    static final int MAX_HISTORY_LIMIT = 500;
+
+    // Takes a free or expired lease; when another node holds it, the WHERE makes the upsert a no-op
+    private static final String ACQUIRE_SQL =
+            "INSERT INTO scheduled_job_locks (job_name, locked_by, locked_at, locked_until) "
+                    + "VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond') "
+                    + "ON CONFLICT (job_name) DO UPDATE SET locked_by = EXCLUDED.locked_by, "
+                    + "locked_at = EXCLUDED.locked_at, locked_until = EXCLUDED.locked_until "
+                    + "WHERE scheduled_job_locks.locked_until <= CURRENT_TIMESTAMP";
+
+    private static final String RELEASE_SQL =
+            "UPDATE scheduled_job_locks SET locked_until = "
+                    + "GREATEST(CURRENT_TIMESTAMP, locked_at + ? * INTERVAL '1 millisecond') "
+                    + "WHERE job_name = ? AND locked_by = ?";
+
+    private static final String SELECT_RUNS_SQL =
+            "SELECT id, job_name, node, status, started_at, finished_at, duration_ms, items_processed, error_message "
+                    + "FROM scheduled_job_runs ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final long maxJitterMs;
+
+    public ScheduledJobRunner(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${iesa.scheduling.node-id:}") String nodeId,
+                              @Value("${iesa.scheduling.max-jitter-ms:30000}") long maxJitterMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.maxJitterMs = maxJitterMs;
+    }
+
+    /**
+     * Run the job here if this node wins its lease for this firing
+     *
+     * @param task does the work and returns the number of items it processed
+     * @return true if the job ran on this node, whether or not it succeeded
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, LongSupplier task) {
+        if (!sleepJitter()) {
+            return false;
+        }
+        if (!tryAcquire(jobName, lockAtMostFor)) {
+            log.debug("Scheduled job {} is held by another node, skipping", jobName);
+            counter(jobName, "skipped").increment();
+            return false;
+        }
+
+        UUID runId = startRun(jobName);
+        long startedAt = System.nanoTime();
+        try {
+            execute(jobName, runId, startedAt, task);
+        } finally {
+            jdbcTemplate.update(RELEASE_SQL, lockAtLeastFor.toMillis(), jobName, nodeId);
+        }
+        return true;
+    }
+
+    /**
+     * Run a job started on request, such as a backfill, on the given executor. No lease is taken; the run is
+     * recorded before this returns, so its progress can be followed with {@link #getRun(UUID)}.
+     *
+     * @return id of the recorded run
+     * @throws ResourceLimitExceededException if the executor takes no more work
+     */
+    public UUID runInBackground(String jobName, Executor executor, LongSupplier task) {
+        UUID runId = startRun(jobName);
+        long startedAt = System.nanoTime();
+        try {
+            executor.execute(() -> execute(jobName, runId, startedAt, task));
+        } catch (RejectedExecutionException e) {
+            jdbcTemplate.update("DELETE FROM scheduled_job_runs WHERE id = ?", runId);
+            throw new ResourceLimitExceededException("Job " + jobName + " is already running, try again later");
+        }
+        return runId;
+    }
+
+    /**
+     * Name this node records as lease holder and run owner
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<ScheduledJobRunDto> getRecentRuns(String jobName, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_HISTORY_LIMIT);
+        }
+        if (jobName == null) {
+            return jdbcTemplate.query(SELECT_RUNS_SQL + "ORDER BY started_at DESC LIMIT ?",
+                    (rs, rowNum) -> toDto(rs), limit);
+        }
+        return jdbcTemplate.query(SELECT_RUNS_SQL + "WHERE job_name = ? ORDER BY started_at DESC LIMIT ?",
+                (rs, rowNum) -> toDto(rs), jobName, limit);
+    }
+
+    public ScheduledJobRunDto getRun(UUID id) {
+        List<ScheduledJobRunDto> runs = jdbcTemplate.query(SELECT_RUNS_SQL + "WHERE id = ?", (rs, rowNum) -> toDto(rs), id);
+        if (runs.isEmpty()) {
+            throw new ResourceNotFoundException("Job run not found with id: " + id);
+        }
+        return runs.get(0);
+    }
+
+    /**
+     * Delete run history older than the given number of days
+     */
+    public int purgeHistory(int retentionDays) {
+        return jdbcTemplate.update("DELETE FROM scheduled_job_runs WHERE started_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+    }
+
+    private UUID startRun(String jobName) {
+        UUID runId = UuidV7Generator.generate();
+        jdbcTemplate.update(
+                "INSERT INTO scheduled_job_runs (id, job_name, node, status, started_at) VALUES (?, ?, ?, ?, ?)",
+                runId, jobName, nodeId, ScheduledJobStatus.RUNNING.name(), Timestamp.valueOf(LocalDateTime.now()));
+        return runId;
+    }
+
+    private void execute(String jobName, UUID runId, long startedAt, LongSupplier task) {
+        try {
+            long items = task.getAsLong();
+            long durationMs = finish(jobName, "succeeded", startedAt);
+            jdbcTemplate.update(
+                    "UPDATE scheduled_job_runs SET status = ?, finished_at = ?, duration_ms = ?, items_processed = ? WHERE id = ?",
+                    ScheduledJobStatus.SUCCEEDED.name(), Timestamp.valueOf(LocalDateTime.now()), durationMs, items, runId);
+            meterRegistry.counter("iesa.scheduled.job.items", "job", jobName).increment(items);
+            log.info("Scheduled job {} processed {} items in {} ms", jobName, items, durationMs);
+        } catch (RuntimeException e) {
+            long durationMs = finish(jobName, "failed", startedAt);
+            jdbcTemplate.update(
+                    "UPDATE scheduled_job_runs SET status = ?, finished_at = ?, duration_ms = ?, error_message = ? WHERE id = ?",
+                    ScheduledJobStatus.FAILED.name(), Timestamp.valueOf(LocalDateTime.now()), durationMs,
+                    truncate(String.valueOf(e.getMessage())), runId);
+            log.error("Scheduled job {} failed after {} ms", jobName, durationMs, e);
+        }
+    }
+
+    private boolean tryAcquire(String jobName, Duration lockAtMostFor) {
+        return jdbcTemplate.update(ACQUIRE_SQL, jobName, nodeId, lockAtMostFor.toMillis()) == 1;
+    }
+
+    private boolean sleepJitter() {
+        if (maxJitterMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxJitterMs));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long finish(String jobName, String outcome, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        Timer.builder("iesa.scheduled.job.duration")
+                .tag("job", jobName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        counter(jobName, outcome).increment();
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private Counter counter(String jobName, String outcome) {
+        return meterRegistry.counter("iesa.scheduled.job.runs", "job", jobName, "outcome", outcome);
+    }
+
+    private ScheduledJobRunDto toDto(ResultSet rs) throws SQLException {
+        Timestamp finishedAt = rs.getTimestamp(6);
+        return ScheduledJobRunDto.builder()
+                .id(rs.getObject(1, UUID.class))
+                .jobName(rs.getString(2))
+                .node(rs.getString(3))
+                .status(rs.getString(4))
+                .startedAt(rs.getTimestamp(5).toLocalDateTime())
+                .finishedAt(finishedAt == null ? null : finishedAt.toLocalDateTime())
+                .durationMs((Long) rs.getObject(7))
+                .itemsProcessed((Long) rs.getObject(8))
+                .errorMessage(rs.getString(9))
+                .build();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
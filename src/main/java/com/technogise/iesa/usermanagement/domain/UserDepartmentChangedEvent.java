@@ -0,0 +1,17 @@
+package com.technogise.iesa.usermanagement.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that moves a user to another department
+ */
+@Getter
+@AllArgsConstructor
+public class UserDepartmentChangedEvent {
+    private final UUID userId;
+    private final UUID previousDepartmentId;
+    private final UUID departmentId;
+}
@@ -5,6 +5,7 @@ import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import com.technogise.iesa.usermanagement.domain.Department;
 import com.technogise.iesa.usermanagement.domain.Role;
 import com.technogise.iesa.usermanagement.domain.User;
+import com.technogise.iesa.usermanagement.domain.UserDepartmentChangedEvent;
 import com.technogise.iesa.usermanagement.dto.*;
 import com.technogise.iesa.usermanagement.repository.DepartmentRepository;
 import com.technogise.iesa.usermanagement.repository.RoleRepository;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -36,6 +38,7 @@ public class UserService {
     private final DepartmentRepository departmentRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all users
@@ -155,7 +158,11 @@ public class UserService {
         if (request.getDepartmentId() != null) {
             Department department = departmentRepository.findById(request.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department", "id", request.getDepartmentId()));
+            UUID previousDepartmentId = user.getDepartment() == null ? null : user.getDepartment().getId();
             user.setDepartment(department);
+            if (!department.getId().equals(previousDepartmentId)) {
+                eventPublisher.publishEvent(new UserDepartmentChangedEvent(user.getId(), previousDepartmentId, department.getId()));
+            }
         }
 
         // Update roles if provided
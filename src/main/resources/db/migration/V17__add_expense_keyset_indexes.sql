@@ -0,0 +1,21 @@
+-- =====================================================
+-- Migration V17: Add keyset pagination indexes for expenses
+-- Description: Supports cursor pagination ordered by (expense_date, id)
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Composite index matching ORDER BY expense_date DESC, id DESC for the unfiltered listing
+CREATE INDEX IF NOT EXISTS idx_expense_date_id
+    ON expenses(expense_date DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+-- Filtered listings seek on the filter column first, then walk the keyset order
+CREATE INDEX IF NOT EXISTS idx_expense_status_date_id
+    ON expenses(status, expense_date DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_expense_submitter_date_id
+    ON expenses(submitter_id, expense_date DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+COMMENT ON INDEX idx_expense_date_id IS 'Keyset pagination over live expenses';
@@ -0,0 +1,65 @@
+-- =====================================================
+-- Migration V18: Add full-text and trigram search for expenses
+-- Description: Replaces LIKE '%term%' scans with indexed search
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted search document: vendor matches rank above description matches
+ALTER TABLE expenses
+ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(vendor, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_expense_search_vector
+    ON expenses USING GIN (search_vector);
+
+-- Trigram index for partial and misspelled vendor matches
+CREATE INDEX IF NOT EXISTS idx_expense_vendor_trgm
+    ON expenses USING GIN (lower(vendor) gin_trgm_ops);
+
+-- Vendor dictionary for autocomplete: one row per distinct vendor instead of one per expense
+CREATE TABLE expense_vendors (
+    name_normalized VARCHAR(200) PRIMARY KEY,
+    display_name VARCHAR(200) NOT NULL,
+    usage_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Serves LIKE 'prefix%' lookups regardless of the database collation
+CREATE INDEX idx_expense_vendor_prefix
+    ON expense_vendors(name_normalized text_pattern_ops);
+
+INSERT INTO expense_vendors (name_normalized, display_name, usage_count)
+SELECT lower(trim(vendor)), max(trim(vendor)), count(*)
+FROM expenses
+WHERE vendor IS NOT NULL AND trim(vendor) <> ''
+GROUP BY lower(trim(vendor));
+
+-- Keep the dictionary current as expenses are written, including JDBC bulk imports
+CREATE OR REPLACE FUNCTION track_expense_vendor() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.vendor IS NOT NULL AND trim(NEW.vendor) <> '' THEN
+        INSERT INTO expense_vendors (name_normalized, display_name, usage_count)
+        VALUES (lower(trim(NEW.vendor)), trim(NEW.vendor), 1)
+        ON CONFLICT (name_normalized)
+        DO UPDATE SET usage_count = expense_vendors.usage_count + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_expense_vendor_insert
+    AFTER INSERT ON expenses
+    FOR EACH ROW EXECUTE FUNCTION track_expense_vendor();
+
+CREATE TRIGGER trg_expense_vendor_update
+    AFTER UPDATE OF vendor ON expenses
+    FOR EACH ROW
+    WHEN (OLD.vendor IS DISTINCT FROM NEW.vendor)
+    EXECUTE FUNCTION track_expense_vendor();
+
+COMMENT ON COLUMN expenses.search_vector IS 'Generated full-text document: vendor (weight A) and description (weight B)';
+COMMENT ON TABLE expense_vendors IS 'Distinct vendor names with usage counts, used for autocomplete';
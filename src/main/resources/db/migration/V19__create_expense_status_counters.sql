@@ -0,0 +1,41 @@
+-- =====================================================
+-- Migration V19: Create expense status counters
+-- Description: Materialized per-status counts and totals, overall and per department/submitter
+-- Date: 2026-10-18
+-- =====================================================
+
+-- One row per (status, scope, scope id). Scope ALL uses the nil UUID so the key never contains NULLs.
+CREATE TABLE expense_status_counters (
+    status VARCHAR(50) NOT NULL,
+    scope VARCHAR(20) NOT NULL,
+    scope_id UUID NOT NULL,
+    expense_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_expense_status_counters PRIMARY KEY (status, scope, scope_id),
+    CONSTRAINT chk_expense_status_counter_scope CHECK (scope IN ('ALL', 'DEPARTMENT', 'SUBMITTER'))
+);
+
+CREATE INDEX idx_expense_status_counters_scope ON expense_status_counters(scope, scope_id);
+
+-- Seed from existing expenses
+INSERT INTO expense_status_counters (status, scope, scope_id, expense_count, total_amount)
+SELECT e.status, 'ALL', '00000000-0000-0000-0000-000000000000'::uuid, COUNT(*), SUM(e.total_amount)
+FROM expenses e
+WHERE e.deleted_at IS NULL
+GROUP BY e.status;
+
+INSERT INTO expense_status_counters (status, scope, scope_id, expense_count, total_amount)
+SELECT e.status, 'DEPARTMENT', u.department_id, COUNT(*), SUM(e.total_amount)
+FROM expenses e
+JOIN users u ON u.id = e.submitter_id
+WHERE e.deleted_at IS NULL AND u.department_id IS NOT NULL
+GROUP BY e.status, u.department_id;
+
+INSERT INTO expense_status_counters (status, scope, scope_id, expense_count, total_amount)
+SELECT e.status, 'SUBMITTER', e.submitter_id, COUNT(*), SUM(e.total_amount)
+FROM expenses e
+WHERE e.deleted_at IS NULL
+GROUP BY e.status, e.submitter_id;
+
+COMMENT ON TABLE expense_status_counters IS 'Expense counts and totals per status, maintained in the same transaction as each status change';
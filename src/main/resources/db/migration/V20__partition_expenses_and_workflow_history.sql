@@ -0,0 +1,210 @@
+-- =====================================================
+-- Migration V20: Partition expenses and workflow_history by month
+-- Description: Rebuilds expenses (by expense_date) and workflow_history (by timestamp) as
+--              monthly range-partitioned tables, with functions to create and detach partitions
+-- Date: 2026-10-18
+-- =====================================================
+
+-- -----------------------------------------------------
+-- Partition management functions
+-- -----------------------------------------------------
+
+-- Partitions are named <parent>_pYYYYMM and cover [first day of month, first day of next month)
+CREATE OR REPLACE FUNCTION monthly_partition_name(parent TEXT, month DATE) RETURNS TEXT AS $$
+    SELECT parent || '_p' || to_char(month, 'YYYYMM');
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Create the partition for the month containing the given date, if missing. Returns true when created.
+-- Skipped (with a notice) when the default partition already holds rows for that month, since attaching
+-- over them would fail; such rows are moved by hand before the month is split out.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month)::DATE;
+    range_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := monthly_partition_name(parent, range_start);
+    partition_key TEXT;
+    default_name TEXT := parent || '_default';
+    conflicting BOOLEAN := false;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    SELECT a.attname INTO partition_key
+    FROM pg_partitioned_table p
+    JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+    WHERE p.partrelid = parent::regclass;
+
+    IF to_regclass(default_name) IS NOT NULL THEN
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I >= %L AND %I < %L)',
+                       default_name, partition_key, range_start, partition_key, range_end)
+            INTO conflicting;
+        IF conflicting THEN
+            RAISE NOTICE 'Skipping %: default partition holds rows for this month', partition_name;
+            RETURN false;
+        END IF;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, range_start, range_end);
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Make sure partitions exist from the current month through months_ahead months ahead.
+-- Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, months_ahead INT) RETURNS INT AS $$
+DECLARE
+    created INT := 0;
+    offset_months INT;
+BEGIN
+    FOR offset_months IN 0..months_ahead LOOP
+        IF create_monthly_partition(parent, (date_trunc('month', CURRENT_DATE) + make_interval(months => offset_months))::DATE) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- -----------------------------------------------------
+-- Foreign keys into the rebuilt tables
+-- -----------------------------------------------------
+
+-- A partitioned table can only enforce uniqueness on keys that include the partition column, so
+-- expenses(id) can no longer be the target of a foreign key. Child rows are written and removed
+-- through the expense aggregate (JPA cascades and the archiver), which keeps them consistent.
+ALTER TABLE segment_allocations DROP CONSTRAINT IF EXISTS fk_allocation_expense;
+ALTER TABLE expense_documents DROP CONSTRAINT IF EXISTS fk_document_expense;
+ALTER TABLE approval_actions DROP CONSTRAINT IF EXISTS fk_action_expense;
+ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comment_expense;
+ALTER TABLE workflow_history DROP CONSTRAINT IF EXISTS fk_history_expense;
+
+-- -----------------------------------------------------
+-- expenses, partitioned by expense_date
+-- -----------------------------------------------------
+
+CREATE TABLE expenses_partitioned (
+    LIKE expenses INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED INCLUDING COMMENTS
+) PARTITION BY RANGE (expense_date);
+
+ALTER TABLE expenses_partitioned ADD CONSTRAINT pk_expenses PRIMARY KEY (id, expense_date);
+
+-- Anything dated beyond the partitions created so far lands in the default partition
+CREATE TABLE expenses_partitioned_default PARTITION OF expenses_partitioned DEFAULT;
+
+DO $$
+DECLARE
+    first_month DATE;
+    month DATE;
+BEGIN
+    SELECT LEAST(date_trunc('month', min(expense_date)), date_trunc('month', CURRENT_DATE) - INTERVAL '12 months')::DATE
+    INTO first_month FROM expenses;
+    first_month := COALESCE(first_month, (date_trunc('month', CURRENT_DATE) - INTERVAL '12 months')::DATE);
+
+    -- One partition for everything older than the monthly range (at least a year back)
+    EXECUTE format('CREATE TABLE expenses_history PARTITION OF expenses_partitioned FOR VALUES FROM (MINVALUE) TO (%L)',
+                   first_month);
+
+    month := first_month;
+    WHILE month <= date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF expenses_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       monthly_partition_name('expenses', month), month, (month + INTERVAL '1 month')::DATE);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO expenses_partitioned (
+    id, submitter_id, expense_date, vendor, total_amount, currency, description, status,
+    submission_date, approval_date, rejection_reason, created_at, updated_at, created_by, updated_by,
+    deleted_at, version, payment_date, payment_reference)
+SELECT
+    id, submitter_id, expense_date, vendor, total_amount, currency, description, status,
+    submission_date, approval_date, rejection_reason, created_at, updated_at, created_by, updated_by,
+    deleted_at, version, payment_date, payment_reference
+FROM expenses;
+
+DROP TABLE expenses;
+ALTER TABLE expenses_partitioned RENAME TO expenses;
+ALTER TABLE expenses_partitioned_default RENAME TO expenses_default;
+
+ALTER TABLE expenses ADD CONSTRAINT fk_expense_submitter FOREIGN KEY (submitter_id)
+    REFERENCES users(id) ON DELETE RESTRICT;
+
+-- Indexes from V6, V14, V17 and V18, now created on every partition
+CREATE INDEX idx_expense_id ON expenses(id);
+CREATE INDEX idx_expense_submitter ON expenses(submitter_id);
+CREATE INDEX idx_expense_date ON expenses(expense_date);
+CREATE INDEX idx_expense_status ON expenses(status);
+CREATE INDEX idx_expense_submission_date ON expenses(submission_date);
+CREATE INDEX idx_expense_approval_date ON expenses(approval_date);
+CREATE INDEX idx_expense_deleted ON expenses(deleted_at);
+CREATE INDEX idx_expense_payment_date ON expenses(payment_date);
+CREATE INDEX idx_expense_date_id ON expenses(expense_date DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_expense_status_date_id ON expenses(status, expense_date DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_expense_submitter_date_id ON expenses(submitter_id, expense_date DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_expense_search_vector ON expenses USING GIN (search_vector);
+CREATE INDEX idx_expense_vendor_trgm ON expenses USING GIN (lower(vendor) gin_trgm_ops);
+
+CREATE TRIGGER trg_expense_vendor_insert
+    AFTER INSERT ON expenses
+    FOR EACH ROW EXECUTE FUNCTION track_expense_vendor();
+
+CREATE TRIGGER trg_expense_vendor_update
+    AFTER UPDATE OF vendor ON expenses
+    FOR EACH ROW
+    WHEN (OLD.vendor IS DISTINCT FROM NEW.vendor)
+    EXECUTE FUNCTION track_expense_vendor();
+
+COMMENT ON TABLE expenses IS 'Stores expense records with multi-segment allocation support, partitioned by month of expense_date';
+
+-- -----------------------------------------------------
+-- workflow_history, partitioned by timestamp
+-- -----------------------------------------------------
+
+CREATE TABLE workflow_history_partitioned (
+    LIKE workflow_history INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS
+) PARTITION BY RANGE (timestamp);
+
+ALTER TABLE workflow_history_partitioned ADD CONSTRAINT pk_workflow_history PRIMARY KEY (id, timestamp);
+
+CREATE TABLE workflow_history_partitioned_default PARTITION OF workflow_history_partitioned DEFAULT;
+
+DO $$
+DECLARE
+    first_month DATE;
+    month DATE;
+BEGIN
+    SELECT LEAST(date_trunc('month', min(timestamp)), date_trunc('month', CURRENT_DATE) - INTERVAL '12 months')::DATE
+    INTO first_month FROM workflow_history;
+    first_month := COALESCE(first_month, (date_trunc('month', CURRENT_DATE) - INTERVAL '12 months')::DATE);
+
+    EXECUTE format('CREATE TABLE workflow_history_history PARTITION OF workflow_history_partitioned FOR VALUES FROM (MINVALUE) TO (%L)',
+                   first_month);
+
+    month := first_month;
+    WHILE month <= date_trunc('month', CURRENT_DATE) + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF workflow_history_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       monthly_partition_name('workflow_history', month), month, (month + INTERVAL '1 month')::DATE);
+        month := (month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO workflow_history_partitioned
+SELECT * FROM workflow_history;
+
+DROP TABLE workflow_history;
+ALTER TABLE workflow_history_partitioned RENAME TO workflow_history;
+ALTER TABLE workflow_history_partitioned_default RENAME TO workflow_history_default;
+
+ALTER TABLE workflow_history ADD CONSTRAINT fk_history_actor FOREIGN KEY (actor_id)
+    REFERENCES users(id) ON DELETE RESTRICT;
+
+CREATE INDEX idx_history_id ON workflow_history(id);
+CREATE INDEX idx_history_expense ON workflow_history(expense_id);
+CREATE INDEX idx_history_actor ON workflow_history(actor_id);
+CREATE INDEX idx_history_timestamp ON workflow_history(timestamp);
+CREATE INDEX idx_history_to_status ON workflow_history(to_status);
+CREATE INDEX idx_history_from_status ON workflow_history(from_status);
+
+COMMENT ON TABLE workflow_history IS 'Immutable audit trail of expense status transitions, partitioned by month of timestamp';
@@ -0,0 +1,35 @@
+-- =====================================================
+-- Migration V21: Create expense archive
+-- Description: Cold storage for closed (PAID/REJECTED) expenses, one compressed document per expense
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Searchable header columns plus the full expense with its allocations, documents, comments,
+-- approval actions and history as one jsonb document. A low toast_tuple_target makes PostgreSQL
+-- compress documents that would otherwise be stored inline uncompressed.
+CREATE TABLE expense_archive (
+    id UUID PRIMARY KEY,
+    submitter_id UUID NOT NULL,
+    department_id UUID,
+    expense_date DATE NOT NULL,
+    vendor VARCHAR(200),
+    total_amount DECIMAL(19, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    archived_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    payload JSONB NOT NULL
+) WITH (toast_tuple_target = 256);
+
+-- Prefer lz4 where the server was built with it; otherwise the default pglz applies
+DO $$
+BEGIN
+    ALTER TABLE expense_archive ALTER COLUMN payload SET COMPRESSION lz4;
+EXCEPTION WHEN feature_not_supported OR invalid_parameter_value THEN
+    RAISE NOTICE 'lz4 compression unavailable, using the default';
+END $$;
+
+CREATE INDEX idx_expense_archive_submitter_date ON expense_archive(submitter_id, expense_date DESC);
+CREATE INDEX idx_expense_archive_department_date ON expense_archive(department_id, expense_date DESC);
+CREATE INDEX idx_expense_archive_date ON expense_archive(expense_date DESC, id DESC);
+
+COMMENT ON TABLE expense_archive IS 'Archived closed expenses with their child records, removed from the live tables';
@@ -0,0 +1,32 @@
+-- =====================================================
+-- Migration V22: Create budget consumption ledger
+-- Description: Append-only consumption deltas per budget, folded into budgets.consumed_amount by a compactor
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Writers only ever INSERT here, so concurrent consumers of one budget never wait on its row.
+-- The FK check takes a KEY SHARE lock on the budget, which neither blocks other inserts nor
+-- the compactor's consumed_amount update.
+CREATE TABLE budget_consumption_ledger (
+    id BIGSERIAL PRIMARY KEY,
+    budget_id UUID NOT NULL REFERENCES budgets(id) ON DELETE CASCADE,
+    expense_id UUID,
+    amount DECIMAL(15, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    folded_at TIMESTAMP,
+    CONSTRAINT check_ledger_amount CHECK (amount <> 0)
+);
+
+-- Read path: pending (not yet folded) deltas of one budget
+CREATE INDEX idx_budget_ledger_pending ON budget_consumption_ledger(budget_id) INCLUDE (amount)
+    WHERE folded_at IS NULL;
+
+-- Compactor: oldest pending deltas first
+CREATE INDEX idx_budget_ledger_unfolded ON budget_consumption_ledger(id) WHERE folded_at IS NULL;
+
+-- Postings of an expense, for reversal and audit
+CREATE INDEX idx_budget_ledger_expense ON budget_consumption_ledger(expense_id, budget_id)
+    WHERE expense_id IS NOT NULL;
+
+COMMENT ON TABLE budget_consumption_ledger IS 'Signed consumption deltas; consumed = budgets.consumed_amount + SUM(amount) WHERE folded_at IS NULL';
+COMMENT ON COLUMN budget_consumption_ledger.folded_at IS 'Set when the compactor adds this delta to budgets.consumed_amount';
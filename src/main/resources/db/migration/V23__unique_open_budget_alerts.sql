@@ -0,0 +1,17 @@
+-- =====================================================
+-- Migration V23: Unique open budget alerts
+-- Description: At most one unacknowledged alert per budget threshold, so alert inserts can skip duplicates
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Keep the earliest open alert where duplicates already exist
+DELETE FROM budget_alerts a
+USING budget_alerts b
+WHERE a.is_acknowledged = false
+  AND b.is_acknowledged = false
+  AND a.budget_id = b.budget_id
+  AND a.threshold_id = b.threshold_id
+  AND (a.triggered_date, a.id) > (b.triggered_date, b.id);
+
+CREATE UNIQUE INDEX uk_budget_alerts_open ON budget_alerts(budget_id, threshold_id)
+    WHERE is_acknowledged = false;
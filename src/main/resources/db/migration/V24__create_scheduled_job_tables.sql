@@ -0,0 +1,32 @@
+-- =====================================================
+-- Migration V24: Create scheduled job tables
+-- Description: Lease locks so each scheduled maintenance job runs on one node at a time, and run history
+-- Date: 2026-10-18
+-- =====================================================
+
+-- One row per job. A node holds the job while locked_until is in the future; all times use the database clock.
+CREATE TABLE scheduled_job_locks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(255) NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
+
+CREATE TABLE scheduled_job_runs (
+    id UUID PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    node VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duration_ms BIGINT,
+    items_processed BIGINT,
+    error_message VARCHAR(1000),
+    CONSTRAINT chk_scheduled_job_run_status CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED'))
+);
+
+CREATE INDEX idx_scheduled_job_runs_job_started ON scheduled_job_runs(job_name, started_at DESC);
+CREATE INDEX idx_scheduled_job_runs_started ON scheduled_job_runs(started_at);
+
+COMMENT ON TABLE scheduled_job_locks IS 'Lease locks for cluster-wide scheduled jobs';
+COMMENT ON TABLE scheduled_job_runs IS 'History of scheduled job executions, one row per run that acquired the lease';
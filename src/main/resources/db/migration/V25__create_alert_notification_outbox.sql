@@ -0,0 +1,26 @@
+-- =====================================================
+-- Migration V25: Create alert notification outbox
+-- Description: Notifications for threshold recipients, written in the same transaction as the alert
+--              and delivered in batches by the notification dispatcher
+-- Date: 2026-10-18
+-- =====================================================
+
+CREATE TABLE alert_notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    alert_id UUID NOT NULL REFERENCES budget_alerts(id) ON DELETE CASCADE,
+    recipient_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    CONSTRAINT chk_alert_notification_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+-- The dispatcher only ever scans due pending rows
+CREATE INDEX idx_alert_notification_due ON alert_notification_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_alert_notification_alert ON alert_notification_outbox(alert_id);
+
+COMMENT ON TABLE alert_notification_outbox IS 'Pending and delivered budget alert notifications, one row per alert and recipient';
+COMMENT ON COLUMN alert_notification_outbox.next_attempt_at IS 'Earliest next delivery attempt; pushed forward while a dispatcher holds the row and after each failure';
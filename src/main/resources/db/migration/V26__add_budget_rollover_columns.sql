@@ -0,0 +1,19 @@
+-- =====================================================
+-- Migration V26: Add budget rollover columns
+-- Description: Link each budget generated by the period rollover job to the budget it continues
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE budgets
+    ADD COLUMN rolled_over_from_id UUID REFERENCES budgets(id) ON DELETE SET NULL,
+    ADD COLUMN carried_forward_amount DECIMAL(15, 2);
+
+-- A budget rolls over at most once; re-running the job for the same period inserts nothing
+CREATE UNIQUE INDEX uk_budgets_rolled_over_from ON budgets(rolled_over_from_id);
+
+-- Rollover scan: active budgets whose period ended on a given day
+CREATE INDEX idx_budgets_rollover_candidates ON budgets(end_date, id)
+    WHERE is_active = true AND deleted_at IS NULL;
+
+COMMENT ON COLUMN budgets.rolled_over_from_id IS 'Budget of the previous period this one was generated from by the rollover job';
+COMMENT ON COLUMN budgets.carried_forward_amount IS 'Part of allocated_amount carried over from the previous period (negative when an overrun was deducted)';
@@ -0,0 +1,13 @@
+-- =====================================================
+-- Migration V27: Create data version sequences
+-- Description: Per-domain change counters used to key cached report results
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Bumped with nextval after each committed write to the domain. Sequences are not transactional,
+-- so concurrent writers never wait on each other for the bump.
+CREATE SEQUENCE data_version_expenses;
+CREATE SEQUENCE data_version_budgets;
+
+COMMENT ON SEQUENCE data_version_expenses IS 'Advanced after every committed change to expenses and their allocations';
+COMMENT ON SEQUENCE data_version_budgets IS 'Advanced after every committed change to budgets or their consumption';
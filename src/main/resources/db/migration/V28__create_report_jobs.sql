@@ -0,0 +1,49 @@
+-- =====================================================
+-- Migration V28: Create report job tables
+-- Description: Asynchronous report executions and their results, stored as gzip-compressed pages
+-- Date: 2026-10-18
+-- =====================================================
+
+-- A node owns the jobs it accepted and refreshes heartbeat_at while they are queued or running;
+-- jobs whose heartbeat stops are failed by the cleanup job. All times use the database clock.
+CREATE TABLE report_jobs (
+    id UUID PRIMARY KEY,
+    report_id UUID NOT NULL REFERENCES reports(id) ON DELETE CASCADE,
+    requested_by VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    node VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    heartbeat_at TIMESTAMP NOT NULL,
+    timeout_seconds INTEGER NOT NULL,
+    page_size INTEGER NOT NULL,
+    result_columns TEXT,
+    total_records INTEGER,
+    truncated BOOLEAN,
+    page_count INTEGER,
+    result_bytes BIGINT,
+    error_message VARCHAR(1000),
+    CONSTRAINT chk_report_job_status CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED', 'CANCELLED', 'TIMED_OUT'))
+);
+
+CREATE INDEX idx_report_jobs_active_user ON report_jobs(requested_by) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_report_jobs_active_heartbeat ON report_jobs(heartbeat_at) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_report_jobs_finished ON report_jobs(finished_at);
+CREATE INDEX idx_report_jobs_report ON report_jobs(report_id);
+
+CREATE TABLE report_job_result_pages (
+    job_id UUID NOT NULL REFERENCES report_jobs(id) ON DELETE CASCADE,
+    page_number INTEGER NOT NULL,
+    row_count INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    PRIMARY KEY (job_id, page_number)
+);
+
+-- Pages are already gzip-compressed; store them out of line without a second compression attempt
+ALTER TABLE report_job_result_pages ALTER COLUMN data SET STORAGE EXTERNAL;
+
+COMMENT ON TABLE report_jobs IS 'Asynchronous report executions, kept until the retention period after they finish';
+COMMENT ON COLUMN report_jobs.result_columns IS 'JSON array of result column names, in the order of the values in each page row';
+COMMENT ON TABLE report_job_result_pages IS 'Report job results, page_size rows per page';
+COMMENT ON COLUMN report_job_result_pages.data IS 'Gzip-compressed JSON array of rows, each an array of values in result_columns order';
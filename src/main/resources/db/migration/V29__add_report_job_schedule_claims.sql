@@ -0,0 +1,12 @@
+-- =====================================================
+-- Migration V29: Add scheduled report runs to report jobs
+-- Description: Jobs started by the report scheduler record the cron fire time they run for; the unique
+--              index lets exactly one node claim each fire time of a report
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE report_jobs ADD COLUMN scheduled_for TIMESTAMP;
+
+CREATE UNIQUE INDEX uk_report_jobs_scheduled_run ON report_jobs(report_id, scheduled_for) WHERE scheduled_for IS NOT NULL;
+
+COMMENT ON COLUMN report_jobs.scheduled_for IS 'Cron fire time of a scheduled run; NULL for jobs submitted by users';
@@ -0,0 +1,15 @@
+-- =====================================================
+-- Migration V30: Create analytics snapshot days
+-- Description: Records each day whose analytics snapshots have been computed, so backfills can resume
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Written in the same transaction as the day's snapshot rows; a day listed here is complete
+CREATE TABLE analytics_snapshot_days (
+    snapshot_date DATE PRIMARY KEY,
+    computed_at TIMESTAMP NOT NULL,
+    row_count INTEGER NOT NULL,
+    duration_ms BIGINT NOT NULL
+);
+
+COMMENT ON TABLE analytics_snapshot_days IS 'Days whose analytics snapshots have been computed by the snapshot ETL';
@@ -0,0 +1,98 @@
+-- =====================================================
+-- Migration V31: Count expense vendors per statement
+-- Description: Vendor usage counts follow vendor changes, soft deletes, deletes and archiving, and are
+--              applied once per statement instead of once per row
+-- Date: 2026-10-18
+-- =====================================================
+
+DROP TRIGGER IF EXISTS trg_expense_vendor_insert ON expenses;
+DROP TRIGGER IF EXISTS trg_expense_vendor_update ON expenses;
+DROP FUNCTION IF EXISTS track_expense_vendor();
+
+-- Add the net change of each vendor to the dictionary. Rows are upserted in name order so concurrent
+-- statements lock them in the same order; vendors no longer used by any live expense are removed.
+CREATE OR REPLACE FUNCTION apply_expense_vendor_deltas(names TEXT[], display_names TEXT[], deltas BIGINT[])
+RETURNS VOID AS $$
+BEGIN
+    IF names IS NULL THEN
+        RETURN;
+    END IF;
+    INSERT INTO expense_vendors (name_normalized, display_name, usage_count)
+    SELECT d.name_normalized, d.display_name, d.delta
+    FROM unnest(names, display_names, deltas) AS d(name_normalized, display_name, delta)
+    ORDER BY d.name_normalized
+    ON CONFLICT (name_normalized)
+    DO UPDATE SET usage_count = expense_vendors.usage_count + EXCLUDED.usage_count;
+
+    DELETE FROM expense_vendors WHERE name_normalized = ANY(names) AND usage_count <= 0;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only live expenses count: a soft delete is an update that removes the expense's vendor, and deleting
+-- or archiving an expense removes it as well
+CREATE OR REPLACE FUNCTION track_expense_vendors() RETURNS TRIGGER AS $$
+DECLARE
+    names TEXT[];
+    display_names TEXT[];
+    deltas BIGINT[];
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        SELECT array_agg(c.name_normalized), array_agg(c.display_name), array_agg(c.delta)
+        INTO names, display_names, deltas
+        FROM (SELECT lower(trim(vendor)) AS name_normalized, max(trim(vendor)) AS display_name, count(*) AS delta
+              FROM new_rows
+              WHERE vendor IS NOT NULL AND trim(vendor) <> '' AND deleted_at IS NULL
+              GROUP BY lower(trim(vendor))) c;
+    ELSIF TG_OP = 'DELETE' THEN
+        SELECT array_agg(c.name_normalized), array_agg(c.display_name), array_agg(c.delta)
+        INTO names, display_names, deltas
+        FROM (SELECT lower(trim(vendor)) AS name_normalized, max(trim(vendor)) AS display_name, -count(*) AS delta
+              FROM old_rows
+              WHERE vendor IS NOT NULL AND trim(vendor) <> '' AND deleted_at IS NULL
+              GROUP BY lower(trim(vendor))) c;
+    ELSE
+        SELECT array_agg(c.name_normalized), array_agg(c.display_name), array_agg(c.delta)
+        INTO names, display_names, deltas
+        FROM (SELECT u.name_normalized, max(u.display_name) AS display_name, sum(u.delta) AS delta
+              FROM (SELECT lower(trim(vendor)) AS name_normalized, trim(vendor) AS display_name, 1 AS delta
+                    FROM new_rows
+                    WHERE vendor IS NOT NULL AND trim(vendor) <> '' AND deleted_at IS NULL
+                    UNION ALL
+                    SELECT lower(trim(vendor)), trim(vendor), -1
+                    FROM old_rows
+                    WHERE vendor IS NOT NULL AND trim(vendor) <> '' AND deleted_at IS NULL) u
+              GROUP BY u.name_normalized
+              HAVING sum(u.delta) <> 0) c;
+    END IF;
+    PERFORM apply_expense_vendor_deltas(names, display_names, deltas);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_expense_vendors_insert
+    AFTER INSERT ON expenses
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_vendors();
+
+-- Transition tables cannot be combined with UPDATE OF column lists; statements that change neither
+-- vendor nor deleted_at produce no deltas
+CREATE TRIGGER trg_expense_vendors_update
+    AFTER UPDATE ON expenses
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_vendors();
+
+CREATE TRIGGER trg_expense_vendors_delete
+    AFTER DELETE ON expenses
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_vendors();
+
+-- Rebuild from live expenses; the old row triggers never decremented
+TRUNCATE expense_vendors;
+
+INSERT INTO expense_vendors (name_normalized, display_name, usage_count)
+SELECT lower(trim(vendor)), max(trim(vendor)), count(*)
+FROM expenses
+WHERE vendor IS NOT NULL AND trim(vendor) <> '' AND deleted_at IS NULL
+GROUP BY lower(trim(vendor));
+
+COMMENT ON COLUMN expense_vendors.usage_count IS 'Live (not deleted or archived) expenses with this vendor';
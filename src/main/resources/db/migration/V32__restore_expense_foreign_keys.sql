@@ -0,0 +1,172 @@
+-- =====================================================
+-- Migration V32: Restore foreign keys to expenses
+-- Description: A unique expense_ids table, kept in step with the partitioned expenses table, is the
+--              target for the child tables' foreign keys again; creating a month whose rows sit in the
+--              default partition now moves them instead of skipping the month
+-- Date: 2026-10-18
+-- =====================================================
+
+-- -----------------------------------------------------
+-- expense_ids: one row per expense, across all partitions
+-- -----------------------------------------------------
+
+-- expenses is partitioned by expense_date, so its primary key is (id, expense_date) and cannot be
+-- referenced by id alone. This table holds the ids once, which makes id unique across partitions again
+-- and gives the child tables something to reference.
+CREATE TABLE expense_ids (
+    id UUID PRIMARY KEY,
+    expense_date DATE NOT NULL
+);
+
+INSERT INTO expense_ids (id, expense_date)
+SELECT id, expense_date FROM expenses;
+
+-- Statement triggers on the parent only fire for statements against expenses itself. An update that
+-- moves a row to another partition shows up in the update transition tables, not as a delete, so
+-- changing expense_date never cascades into the children.
+CREATE OR REPLACE FUNCTION track_expense_ids() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO expense_ids (id, expense_date)
+        SELECT id, expense_date FROM new_rows;
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM expense_ids WHERE id IN (SELECT id FROM old_rows);
+    ELSE
+        IF EXISTS (SELECT id FROM old_rows EXCEPT SELECT id FROM new_rows) THEN
+            RAISE EXCEPTION 'The id of an expense cannot be changed' USING ERRCODE = 'integrity_constraint_violation';
+        END IF;
+        UPDATE expense_ids x SET expense_date = n.expense_date
+        FROM new_rows n
+        WHERE x.id = n.id AND x.expense_date <> n.expense_date;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_expense_ids_insert
+    AFTER INSERT ON expenses
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_ids();
+
+CREATE TRIGGER trg_expense_ids_update
+    AFTER UPDATE ON expenses
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_ids();
+
+CREATE TRIGGER trg_expense_ids_delete
+    AFTER DELETE ON expenses
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION track_expense_ids();
+
+COMMENT ON TABLE expense_ids IS 'Every expense id exactly once; the foreign key target for tables that reference expenses';
+
+-- -----------------------------------------------------
+-- Foreign keys from the child tables
+-- -----------------------------------------------------
+
+-- Rows written while V20 left the children unchecked may point at expenses that no longer exist;
+-- deleting the expense would have cascaded to them
+DELETE FROM segment_allocations c WHERE NOT EXISTS (SELECT 1 FROM expense_ids x WHERE x.id = c.expense_id);
+DELETE FROM expense_documents c WHERE NOT EXISTS (SELECT 1 FROM expense_ids x WHERE x.id = c.expense_id);
+DELETE FROM approval_actions c WHERE NOT EXISTS (SELECT 1 FROM expense_ids x WHERE x.id = c.expense_id);
+DELETE FROM comments c WHERE NOT EXISTS (SELECT 1 FROM expense_ids x WHERE x.id = c.expense_id);
+DELETE FROM workflow_history c WHERE NOT EXISTS (SELECT 1 FROM expense_ids x WHERE x.id = c.expense_id);
+
+ALTER TABLE segment_allocations ADD CONSTRAINT fk_allocation_expense FOREIGN KEY (expense_id)
+    REFERENCES expense_ids(id) ON DELETE CASCADE;
+ALTER TABLE expense_documents ADD CONSTRAINT fk_document_expense FOREIGN KEY (expense_id)
+    REFERENCES expense_ids(id) ON DELETE CASCADE;
+ALTER TABLE approval_actions ADD CONSTRAINT fk_action_expense FOREIGN KEY (expense_id)
+    REFERENCES expense_ids(id) ON DELETE CASCADE;
+ALTER TABLE comments ADD CONSTRAINT fk_comment_expense FOREIGN KEY (expense_id)
+    REFERENCES expense_ids(id) ON DELETE CASCADE;
+ALTER TABLE workflow_history ADD CONSTRAINT fk_history_expense FOREIGN KEY (expense_id)
+    REFERENCES expense_ids(id) ON DELETE CASCADE;
+
+-- -----------------------------------------------------
+-- Partition management functions
+-- -----------------------------------------------------
+
+-- Create the partition for the month containing the given date, if missing. Returns true when created.
+-- When the default partition already holds rows for that month, the partition is built as a standalone
+-- table, the rows are moved into it and it is then attached. The rows are moved with statements on the
+-- partitions themselves, so the triggers on the parent (vendor counts, expense_ids) do not fire.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month)::DATE;
+    range_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := monthly_partition_name(parent, range_start);
+    partition_key TEXT;
+    default_name TEXT := parent || '_default';
+    columns TEXT;
+    conflicting BOOLEAN := false;
+    moved BIGINT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    SELECT a.attname INTO partition_key
+    FROM pg_partitioned_table p
+    JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+    WHERE p.partrelid = parent::regclass;
+
+    IF to_regclass(default_name) IS NOT NULL THEN
+        -- Keep new rows for the month out of the default partition until it has been split off
+        EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', default_name);
+        EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I >= %L AND %I < %L)',
+                       default_name, partition_key, range_start, partition_key, range_end)
+            INTO conflicting;
+    END IF;
+
+    IF NOT conflicting THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, range_start, range_end);
+        RETURN true;
+    END IF;
+
+    -- Generated columns are computed again on insert
+    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO columns
+    FROM pg_attribute
+    WHERE attrelid = parent::regclass AND attnum > 0 AND NOT attisdropped AND attgenerated = '';
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)',
+                   partition_name, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                       || 'INSERT INTO %I (%s) SELECT %s FROM moved',
+                   default_name, partition_key, range_start, partition_key, range_end,
+                   partition_name, columns, columns);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, range_start, range_end);
+    RAISE NOTICE 'Moved % rows from % into %', moved, default_name, partition_name;
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Make sure partitions exist from the current month through months_ahead months ahead.
+-- Returns the number of partitions created. Concurrent calls for the same table wait for each other.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, months_ahead INT) RETURNS INT AS $$
+DECLARE
+    created INT := 0;
+    offset_months INT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('monthly_partitions'), hashtext(parent));
+    FOR offset_months IN 0..months_ahead LOOP
+        IF create_monthly_partition(parent, (date_trunc('month', CURRENT_DATE) + make_interval(months => offset_months))::DATE) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Split out the months the previous version skipped because the default partition held their rows
+DO $$
+DECLARE
+    parent TEXT;
+BEGIN
+    FOREACH parent IN ARRAY ARRAY['expenses', 'workflow_history'] LOOP
+        PERFORM ensure_monthly_partitions(parent, 3);
+    END LOOP;
+END $$;
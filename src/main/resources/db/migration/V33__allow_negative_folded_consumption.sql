@@ -0,0 +1,10 @@
+-- =====================================================
+-- Migration V33: Allow negative folded consumption
+-- Description: consumed_amount holds the exact sum of the folded ledger deltas, so it may dip below zero
+--              while a reversal is folded before the entry it reverses
+-- Date: 2026-10-18
+-- =====================================================
+
+ALTER TABLE budgets DROP CONSTRAINT IF EXISTS check_consumed_amount;
+
+COMMENT ON COLUMN budgets.consumed_amount IS 'Sum of the folded budget_consumption_ledger deltas; negative while a reversal is ahead of its entry';
@@ -0,0 +1,20 @@
+-- =====================================================
+-- Migration V34: Add budget ledger entry source
+-- Description: Tells expense postings, manual adjustments and reconciliation corrections apart, so
+--              reconciliation can keep manual adjustments instead of cancelling them
+-- Date: 2026-10-18
+-- =====================================================
+
+-- The constant default is a catalog-only change; only entries without an expense are rewritten.
+-- Corrections appended before this migration cannot be told apart from manual adjustments.
+ALTER TABLE budget_consumption_ledger ADD COLUMN source VARCHAR(20) NOT NULL DEFAULT 'EXPENSE';
+
+UPDATE budget_consumption_ledger SET source = 'MANUAL' WHERE expense_id IS NULL;
+
+ALTER TABLE budget_consumption_ledger ALTER COLUMN source DROP DEFAULT;
+
+-- Reconciliation: manual adjustments of one budget, folded or not
+CREATE INDEX idx_budget_ledger_manual ON budget_consumption_ledger(budget_id) INCLUDE (amount)
+    WHERE source = 'MANUAL';
+
+COMMENT ON COLUMN budget_consumption_ledger.source IS 'EXPENSE, MANUAL or RECONCILIATION';
@@ -0,0 +1,11 @@
+-- =====================================================
+-- Migration V35: Store report fire times with zone
+-- Description: scheduled_for becomes TIMESTAMPTZ, so every node claims a fire time as the same instant
+--              whatever its JVM zone, and the two runs of an hour repeated at a DST fall-back stay distinct
+-- Date: 2026-10-18
+-- =====================================================
+
+-- Existing values are read in the session time zone, which is what the nodes wrote them in
+ALTER TABLE report_jobs ALTER COLUMN scheduled_for TYPE TIMESTAMPTZ;
+
+COMMENT ON COLUMN report_jobs.scheduled_for IS 'Cron fire time (an instant) of a scheduled run; NULL for jobs submitted by users';
@@ -0,0 +1,123 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertNotificationDispatcherTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AlertNotificationChannel channel;
+
+    private AlertNotificationDispatcher dispatcher;
+    private UUID recipientId;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new AlertNotificationDispatcher(jdbcTemplate, channel, new SimpleMeterRegistry(),
+                10, 5, 3, 1000, 60000, 300000);
+        recipientId = UUID.randomUUID();
+    }
+
+    @Test
+    void dispatch_ShouldDeliverOneDigestPerRecipient() throws SQLException {
+        // Arrange
+        UUID otherRecipientId = UUID.randomUUID();
+        stubClaim(row(1L, recipientId), row(2L, recipientId), row(3L, otherRecipientId));
+
+        // Act
+        int delivered = dispatcher.dispatch();
+
+        // Assert
+        ArgumentCaptor<AlertNotificationDigest> digests = ArgumentCaptor.forClass(AlertNotificationDigest.class);
+        verify(channel, times(2)).deliver(digests.capture());
+        assertThat(digests.getAllValues().get(0).getRecipientId()).isEqualTo(recipientId);
+        assertThat(digests.getAllValues().get(0).getItems()).hasSize(2);
+        assertThat(digests.getAllValues().get(0).getRecipientName()).isEqualTo("Jane Doe");
+        assertThat(delivered).isEqualTo(3);
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void dispatch_WhenDeliveryFails_ShouldScheduleRetryAndContinue() throws SQLException {
+        // Arrange
+        UUID otherRecipientId = UUID.randomUUID();
+        stubClaim(row(1L, recipientId), row(2L, otherRecipientId));
+        doThrow(new IllegalStateException("smtp down"))
+                .when(channel).deliver(argThat(digest -> digest.getRecipientId().equals(recipientId)));
+
+        // Act
+        int delivered = dispatcher.dispatch();
+
+        // Assert
+        assertThat(delivered).isEqualTo(1);
+        verify(channel, times(2)).deliver(any());
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+    }
+
+    @Test
+    void dispatch_WhenNothingDue_ShouldNotDeliver() {
+        // Arrange
+        when(jdbcTemplate.query(startsWith("WITH claimed"), any(RowMapper.class), eq(300000L), eq(10)))
+                .thenReturn(List.of());
+
+        // Act
+        int delivered = dispatcher.dispatch();
+
+        // Assert
+        assertThat(delivered).isZero();
+        verifyNoInteractions(channel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubClaim(ResultSet... rows) {
+        when(jdbcTemplate.query(startsWith("WITH claimed"), any(RowMapper.class), eq(300000L), eq(10)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    List<Object> claimed = new ArrayList<>();
+                    for (int i = 0; i < rows.length; i++) {
+                        claimed.add(mapper.mapRow(rows[i], i));
+                    }
+                    return claimed;
+                });
+    }
+
+    private ResultSet row(long id, UUID recipient) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(id);
+        when(rs.getObject(2, UUID.class)).thenReturn(recipient);
+        when(rs.getString(3)).thenReturn("jane@example.com");
+        when(rs.getString(4)).thenReturn("Jane");
+        when(rs.getString(5)).thenReturn("Doe");
+        when(rs.getObject(6, UUID.class)).thenReturn(UUID.randomUUID());
+        when(rs.getObject(7, UUID.class)).thenReturn(UUID.randomUUID());
+        when(rs.getString(8)).thenReturn("Q1 Marketing Budget");
+        when(rs.getString(9)).thenReturn("Budget threshold of 80.00% has been reached");
+        when(rs.getTimestamp(10)).thenReturn(Timestamp.valueOf(LocalDateTime.now()));
+        return rs;
+    }
+}
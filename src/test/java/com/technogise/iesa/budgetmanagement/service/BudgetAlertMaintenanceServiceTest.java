@@ -0,0 +1,76 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetAlertMaintenanceServiceTest {
+
+    @Mock
+    private BudgetAlertService alertService;
+
+    @Mock
+    private BudgetAlertRepository alertRepository;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BudgetAlertMaintenanceService maintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        maintenanceService = new BudgetAlertMaintenanceService(alertService, alertRepository, jobRunner,
+                transactionManager, 90, 7, 100, 3, 30);
+    }
+
+    @Test
+    void purgeOldAlerts_ShouldDeleteChunksUntilAShortChunk() {
+        // Arrange
+        when(alertRepository.deleteTriggeredBefore(any(Instant.class), eq(100))).thenReturn(100, 42);
+
+        // Act
+        long deleted = maintenanceService.purgeOldAlerts(90);
+
+        // Assert
+        assertThat(deleted).isEqualTo(142);
+        verify(alertRepository, times(2)).deleteTriggeredBefore(any(Instant.class), eq(100));
+    }
+
+    @Test
+    void purgeAcknowledgedAlerts_ShouldStopAtMaxChunksPerRun() {
+        // Arrange
+        when(alertRepository.deleteAcknowledgedBefore(any(Instant.class), eq(100))).thenReturn(100);
+
+        // Act
+        long deleted = maintenanceService.purgeAcknowledgedAlerts(0);
+
+        // Assert
+        assertThat(deleted).isEqualTo(300);
+        verify(alertRepository, times(3)).deleteAcknowledgedBefore(any(Instant.class), eq(100));
+    }
+
+    @Test
+    void scheduledSweep_ShouldRunThroughTheExclusiveJobRunner() {
+        // Act
+        maintenanceService.scheduledSweep();
+
+        // Assert
+        verify(jobRunner).runExclusively(eq(BudgetAlertMaintenanceService.SWEEP_JOB), any(), any(), any());
+        verifyNoInteractions(alertService);
+    }
+}
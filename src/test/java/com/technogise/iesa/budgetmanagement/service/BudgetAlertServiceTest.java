@@ -5,8 +5,11 @@ import com.technogise.iesa.budgetmanagement.domain.BudgetAlert;
 import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
 import com.technogise.iesa.budgetmanagement.domain.BudgetThreshold;
 import com.technogise.iesa.budgetmanagement.dto.BudgetAlertDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel;
 import com.technogise.iesa.budgetmanagement.dto.BudgetMapper;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
 import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
 import com.technogise.iesa.budgetmanagement.repository.BudgetThresholdRepository;
 import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +45,12 @@ class BudgetAlertServiceTest {
     @Mock
     private BudgetMapper budgetMapper;
 
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetThresholdIndex thresholdIndex;
+
     @InjectMocks
     private BudgetAlertService alertService;
 
@@ -217,6 +227,7 @@ class BudgetAlertServiceTest {
         assertThat(result.getMessage()).contains("80.0%");
         verify(thresholdRepository, times(1)).findById(thresholdId);
         verify(alertRepository, times(1)).save(any(BudgetAlert.class));
+        verify(alertRepository, times(1)).enqueueNotifications(alertId);
     }
 
     @Test
@@ -284,76 +295,75 @@ class BudgetAlertServiceTest {
     }
 
     @Test
-    void deleteAcknowledgedAlerts_ShouldDeleteOnlyAcknowledged() {
-        // Arrange
-        when(alertRepository.deleteByIsAcknowledged(true)).thenReturn(5);
-
-        // Act
-        int deletedCount = alertService.deleteAcknowledgedAlerts();
-
-        // Assert
-        assertThat(deletedCount).isEqualTo(5);
-        verify(alertRepository, times(1)).deleteByIsAcknowledged(true);
-    }
-
-    @Test
-    void deleteOldAlerts_ShouldDeleteAlertsOlderThanDays() {
+    void checkAndCreateAlerts_WhenThresholdBreached_ShouldCreateAlert() {
         // Arrange
-        int days = 30;
-        when(alertRepository.deleteOldAlerts(any(Instant.class))).thenReturn(10);
+        List<BudgetConsumptionLevel> levels = List.of(
+                new BudgetConsumptionLevel(budgetId, new BigDecimal("41000.00"), null));
+        List<BudgetThresholdCrossing> reached = List.of(
+                new BudgetThresholdCrossing(budgetId, thresholdId, new BigDecimal("80.0")));
+        when(thresholdRepository.findBudgetIdsWithEnabledThresholds()).thenReturn(List.of(budgetId));
+        when(budgetRepository.findConsumptionLevels(List.of(budgetId))).thenReturn(levels);
+        when(thresholdIndex.findReached(levels)).thenReturn(reached);
+        when(alertRepository.insertOpenAlerts(reached)).thenReturn(1);
 
         // Act
-        int deletedCount = alertService.deleteOldAlerts(days);
+        int alertsCreated = alertService.checkAndCreateAlerts();
 
         // Assert
-        assertThat(deletedCount).isEqualTo(10);
-        verify(alertRepository, times(1)).deleteOldAlerts(any(Instant.class));
+        assertThat(alertsCreated).isEqualTo(1);
+        verify(alertRepository, times(1)).insertOpenAlerts(reached);
     }
 
     @Test
-    void checkAndCreateAlerts_WhenThresholdBreached_ShouldCreateAlert() {
+    void checkAndCreateAlerts_WhenThresholdNotBreached_ShouldNotCreateAlert() {
         // Arrange
-        when(thresholdRepository.findByAlertEnabled(true)).thenReturn(Arrays.asList(threshold));
-        when(alertRepository.existsByBudgetIdAndThresholdIdAndIsAcknowledged(budgetId, thresholdId, false))
-                .thenReturn(false);
-        when(alertRepository.save(any(BudgetAlert.class))).thenReturn(alert);
+        List<BudgetConsumptionLevel> levels = List.of(
+                new BudgetConsumptionLevel(budgetId, new BigDecimal("30000.00"), null)); // 60% - below 80% threshold
+        when(thresholdRepository.findBudgetIdsWithEnabledThresholds()).thenReturn(List.of(budgetId));
+        when(budgetRepository.findConsumptionLevels(List.of(budgetId))).thenReturn(levels);
+        when(thresholdIndex.findReached(levels)).thenReturn(List.of());
 
         // Act
         int alertsCreated = alertService.checkAndCreateAlerts();
 
         // Assert
-        assertThat(alertsCreated).isEqualTo(1);
-        verify(thresholdRepository, times(1)).findByAlertEnabled(true);
-        verify(alertRepository, times(1)).save(any(BudgetAlert.class));
+        assertThat(alertsCreated).isEqualTo(0);
+        verify(alertRepository, never()).insertOpenAlerts(any());
     }
 
     @Test
-    void checkAndCreateAlerts_WhenThresholdNotBreached_ShouldNotCreateAlert() {
+    void checkAndCreateAlerts_WhenAlertAlreadyExists_ShouldNotCreateDuplicate() {
         // Arrange
-        budget.setConsumedAmount(new BigDecimal("30000.00")); // 60% - below 80% threshold
-        when(thresholdRepository.findByAlertEnabled(true)).thenReturn(Arrays.asList(threshold));
+        List<BudgetConsumptionLevel> levels = List.of(
+                new BudgetConsumptionLevel(budgetId, new BigDecimal("41000.00"), null));
+        List<BudgetThresholdCrossing> reached = List.of(
+                new BudgetThresholdCrossing(budgetId, thresholdId, new BigDecimal("80.0")));
+        when(thresholdRepository.findBudgetIdsWithEnabledThresholds()).thenReturn(List.of(budgetId));
+        when(budgetRepository.findConsumptionLevels(List.of(budgetId))).thenReturn(levels);
+        when(thresholdIndex.findReached(levels)).thenReturn(reached);
+        when(alertRepository.insertOpenAlerts(reached)).thenReturn(0); // open alert already present
 
         // Act
         int alertsCreated = alertService.checkAndCreateAlerts();
 
         // Assert
         assertThat(alertsCreated).isEqualTo(0);
-        verify(thresholdRepository, times(1)).findByAlertEnabled(true);
-        verify(alertRepository, never()).save(any());
     }
 
     @Test
-    void checkAndCreateAlerts_WhenAlertAlreadyExists_ShouldNotCreateDuplicate() {
+    void checkAndCreateAlerts_ShouldProcessBudgetsInChunks() {
         // Arrange
-        when(thresholdRepository.findByAlertEnabled(true)).thenReturn(Arrays.asList(threshold));
-        when(alertRepository.existsByBudgetIdAndThresholdIdAndIsAcknowledged(budgetId, thresholdId, false))
-                .thenReturn(true);
+        List<UUID> budgetIds = new ArrayList<>();
+        for (int i = 0; i < BudgetAlertService.CHECK_CHUNK_SIZE + 1; i++) {
+            budgetIds.add(UUID.randomUUID());
+        }
+        when(thresholdRepository.findBudgetIdsWithEnabledThresholds()).thenReturn(budgetIds);
+        when(thresholdIndex.findReached(any())).thenReturn(List.of());
 
         // Act
-        int alertsCreated = alertService.checkAndCreateAlerts();
+        alertService.checkAndCreateAlerts();
 
         // Assert
-        assertThat(alertsCreated).isEqualTo(0);
-        verify(alertRepository, never()).save(any());
+        verify(budgetRepository, times(2)).findConsumptionLevels(any());
     }
 }
@@ -0,0 +1,122 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.dto.BudgetExpensePosting;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.expensemanagement.domain.Expense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.domain.SegmentAllocation;
+import com.technogise.iesa.segmentmanagement.domain.Segment;
+import com.technogise.iesa.usermanagement.domain.Department;
+import com.technogise.iesa.usermanagement.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetConsumptionServiceTest {
+
+    @Mock
+    private BudgetConsumptionLedgerRepository ledgerRepository;
+
+    @Mock
+    private BudgetIntervalIndex budgetIndex;
+
+    @Mock
+    private BudgetThresholdMonitor thresholdMonitor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BudgetConsumptionService consumptionService;
+
+    private UUID departmentId;
+    private Segment travel;
+    private Segment meals;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        departmentId = UUID.randomUUID();
+        travel = Segment.builder().id(UUID.randomUUID()).name("Travel").build();
+        meals = Segment.builder().id(UUID.randomUUID()).name("Meals").build();
+        User submitter = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .department(Department.builder().id(departmentId).name("Engineering").build())
+                .build();
+        expense = Expense.builder()
+                .id(UUID.randomUUID())
+                .submitter(submitter)
+                .expenseDate(LocalDate.of(2026, 3, 10))
+                .status(ExpenseStatus.APPROVED)
+                .build();
+        expense.addSegmentAllocation(SegmentAllocation.builder().segment(travel).amount(new BigDecimal("300.00")).build());
+        expense.addSegmentAllocation(SegmentAllocation.builder().segment(meals).amount(new BigDecimal("200.00")).build());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordApproval_ShouldPostOneEntryPerMatchingBudget() {
+        // Arrange
+        UUID travelBudget = UUID.randomUUID();
+        UUID departmentBudget = UUID.randomUUID();
+        when(budgetIndex.findMatching(travel.getId(), departmentId, expense.getExpenseDate()))
+                .thenReturn(List.of(travelBudget, departmentBudget));
+        when(budgetIndex.findMatching(meals.getId(), departmentId, expense.getExpenseDate()))
+                .thenReturn(List.of(departmentBudget));
+
+        // Act
+        consumptionService.recordApproval(expense);
+
+        // Assert
+        ArgumentCaptor<Collection<BudgetConsumptionEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(ledgerRepository).appendEntries(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(BudgetConsumptionEntry::getBudgetId, BudgetConsumptionEntry::getExpenseId, e -> e.getAmount().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple(travelBudget, expense.getId(), "300.00"),
+                        tuple(departmentBudget, expense.getId(), "500.00"));
+        verify(thresholdMonitor).onConsumptionPosted(Map.of(
+                travelBudget, new BigDecimal("300.00"), departmentBudget, new BigDecimal("500.00")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reverseExpense_ShouldNegateNetPostingsAndSkipSettledOnes() {
+        // Arrange
+        UUID postedBudget = UUID.randomUUID();
+        UUID settledBudget = UUID.randomUUID();
+        when(ledgerRepository.sumByExpenseIds(List.of(expense.getId()))).thenReturn(List.of(
+                new BudgetExpensePosting(expense.getId(), postedBudget, new BigDecimal("500.00")),
+                new BudgetExpensePosting(expense.getId(), settledBudget, new BigDecimal("0.00"))));
+
+        // Act
+        consumptionService.reverseExpense(expense.getId());
+
+        // Assert
+        ArgumentCaptor<Collection<BudgetConsumptionEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(ledgerRepository).appendEntries(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getBudgetId()).isEqualTo(postedBudget);
+            assertThat(entry.getAmount()).isEqualByComparingTo("-500.00");
+        });
+    }
+}
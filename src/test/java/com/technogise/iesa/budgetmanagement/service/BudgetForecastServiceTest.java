@@ -0,0 +1,143 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetForecastInput;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetForecastServiceTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetConsumptionLedgerRepository ledgerRepository;
+
+    @InjectMocks
+    private BudgetForecastService forecastService;
+
+    private UUID budgetId;
+    private LocalDate today;
+    private BudgetForecastInput input;
+
+    @BeforeEach
+    void setUp() {
+        budgetId = UUID.randomUUID();
+        today = LocalDate.now();
+        // 10 days elapsed, 20 days to go, 1000 spent at 100 per day out of 2500
+        input = new BudgetForecastInput(budgetId, "Q1 Marketing Budget", today.minusDays(10), today.plusDays(20),
+                new BigDecimal("2500.00"), new BigDecimal("900.00"), new BigDecimal("100.00"));
+    }
+
+    @Test
+    void getForecast_WithSteadySpend_ShouldProjectExhaustionDate() {
+        // Arrange
+        when(budgetRepository.findForecastInputs(List.of(budgetId))).thenReturn(List.of(input));
+        when(ledgerRepository.sumDailyByBudgetIds(eq(List.of(budgetId)), any(Instant.class), any(Instant.class)))
+                .thenReturn(steadyDays(10));
+
+        // Act
+        BudgetForecastDto forecast = forecastService.getForecast(budgetId);
+
+        // Assert
+        assertThat(forecast.getDailyBurnRate()).isEqualByComparingTo("100.00");
+        assertThat(forecast.getBurnRateTrend()).isEqualByComparingTo("0.00");
+        assertThat(forecast.getConsumedAmount()).isEqualByComparingTo("1000.00");
+        assertThat(forecast.getProjectedEndOfPeriodSpend()).isEqualByComparingTo("3000.00");
+        assertThat(forecast.getProjectedOverrun()).isEqualByComparingTo("500.00");
+        assertThat(forecast.getProjectedExhaustionDate()).isEqualTo(today.plusDays(15));
+        assertThat(forecast.getDaysObserved()).isEqualTo(10);
+    }
+
+    @Test
+    void getForecast_WhenModelIsCurrent_ShouldNotReadLedgerAgain() {
+        // Arrange
+        when(budgetRepository.findForecastInputs(List.of(budgetId))).thenReturn(List.of(input));
+        when(ledgerRepository.sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class)))
+                .thenReturn(steadyDays(10));
+        forecastService.getForecast(budgetId);
+
+        // Act
+        BudgetForecastDto forecast = forecastService.getForecast(budgetId);
+
+        // Assert
+        assertThat(forecast.getDailyBurnRate()).isEqualByComparingTo("100.00");
+        verify(ledgerRepository, times(1)).sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void onBudgetsChanged_ShouldRebuildModelFromLedger() {
+        // Arrange
+        when(budgetRepository.findForecastInputs(List.of(budgetId))).thenReturn(List.of(input));
+        when(ledgerRepository.sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class)))
+                .thenReturn(steadyDays(10));
+        forecastService.getForecast(budgetId);
+
+        // Act
+        forecastService.onBudgetsChanged(new BudgetsChangedEvent(budgetId));
+        forecastService.getForecast(budgetId);
+
+        // Assert
+        verify(ledgerRepository, times(2)).sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void getActiveForecasts_ShouldForecastEveryActiveBudget() {
+        // Arrange
+        UUID idleBudgetId = UUID.randomUUID();
+        BudgetForecastInput idle = new BudgetForecastInput(idleBudgetId, "Idle Budget", today.minusDays(5),
+                today.plusDays(5), new BigDecimal("1000.00"), BigDecimal.ZERO, null);
+        when(budgetRepository.findActiveForecastInputs()).thenReturn(List.of(input, idle));
+        when(ledgerRepository.sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class)))
+                .thenReturn(steadyDays(10));
+
+        // Act
+        List<BudgetForecastDto> forecasts = forecastService.getActiveForecasts();
+
+        // Assert
+        assertThat(forecasts).extracting(BudgetForecastDto::getBudgetId).containsExactly(budgetId, idleBudgetId);
+        assertThat(forecasts.get(1).getDailyBurnRate()).isEqualByComparingTo("0.00");
+        assertThat(forecasts.get(1).getProjectedExhaustionDate()).isNull();
+        verify(ledgerRepository, times(1)).sumDailyByBudgetIds(anyCollection(), any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void getForecast_WhenBudgetNotFound_ShouldThrowException() {
+        // Arrange
+        when(budgetRepository.findForecastInputs(List.of(budgetId))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> forecastService.getForecast(budgetId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private List<BudgetDailyConsumption> steadyDays(int days) {
+        List<BudgetDailyConsumption> series = new ArrayList<>();
+        for (int i = days; i >= 1; i--) {
+            series.add(new BudgetDailyConsumption(budgetId, today.minusDays(i), new BigDecimal("100.00")));
+        }
+        return series;
+    }
+}
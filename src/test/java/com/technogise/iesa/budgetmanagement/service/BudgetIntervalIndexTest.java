@@ -0,0 +1,102 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetInterval;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetIntervalIndexTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @InjectMocks
+    private BudgetIntervalIndex budgetIndex;
+
+    private UUID segmentId;
+    private UUID departmentId;
+
+    @BeforeEach
+    void setUp() {
+        segmentId = UUID.randomUUID();
+        departmentId = UUID.randomUUID();
+    }
+
+    @Test
+    void findMatching_ShouldReturnBudgetsWhoseScopeAndRangeCoverTheAllocation() {
+        // Arrange
+        BudgetInterval annual = interval(segmentId, departmentId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        BudgetInterval march = interval(segmentId, departmentId, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+        BudgetInterval april = interval(segmentId, departmentId, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+        BudgetInterval segmentWide = interval(segmentId, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 30));
+        BudgetInterval departmentWide = interval(null, departmentId, LocalDate.of(2026, 3, 15), LocalDate.of(2026, 3, 20));
+        BudgetInterval otherSegment = interval(UUID.randomUUID(), departmentId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        when(budgetRepository.findActiveIntervals())
+                .thenReturn(List.of(april, otherSegment, march, departmentWide, annual, segmentWide));
+
+        // Act
+        List<UUID> matches = budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 3, 31));
+
+        // Assert
+        assertThat(matches).containsExactlyInAnyOrder(annual.getBudgetId(), march.getBudgetId(), segmentWide.getBudgetId());
+    }
+
+    @Test
+    void findMatching_ShouldIncludeBoundaryDaysAndExcludeOutsideDates() {
+        // Arrange
+        BudgetInterval q1 = interval(segmentId, departmentId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31));
+        when(budgetRepository.findActiveIntervals()).thenReturn(List.of(q1));
+
+        // Act & Assert
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 1, 1))).containsExactly(q1.getBudgetId());
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 3, 31))).containsExactly(q1.getBudgetId());
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2025, 12, 31))).isEmpty();
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 4, 1))).isEmpty();
+        verify(budgetRepository, times(1)).findActiveIntervals();
+    }
+
+    @Test
+    void findMatching_WhenSubmitterHasNoDepartment_ShouldOnlyMatchBudgetsWithoutDepartment() {
+        // Arrange
+        BudgetInterval segmentWide = interval(segmentId, null, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        BudgetInterval departmental = interval(segmentId, departmentId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        when(budgetRepository.findActiveIntervals()).thenReturn(List.of(segmentWide, departmental));
+
+        // Act
+        List<UUID> matches = budgetIndex.findMatching(segmentId, null, LocalDate.of(2026, 5, 1));
+
+        // Assert
+        assertThat(matches).containsExactly(segmentWide.getBudgetId());
+    }
+
+    @Test
+    void onBudgetsChanged_ShouldRebuildTheIndex() {
+        // Arrange
+        BudgetInterval q1 = interval(segmentId, departmentId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31));
+        when(budgetRepository.findActiveIntervals()).thenReturn(List.of(), List.of(q1));
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 2, 1))).isEmpty();
+
+        // Act
+        budgetIndex.onBudgetsChanged(new BudgetsChangedEvent(q1.getBudgetId()));
+
+        // Assert
+        assertThat(budgetIndex.findMatching(segmentId, departmentId, LocalDate.of(2026, 2, 1))).containsExactly(q1.getBudgetId());
+    }
+
+    private BudgetInterval interval(UUID segment, UUID department, LocalDate start, LocalDate end) {
+        return new BudgetInterval(UUID.randomUUID(), segment, department, start, end);
+    }
+}
@@ -0,0 +1,85 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetLedgerCompactionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetLedgerCompactionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BudgetLedgerCompactionService compactionService;
+
+    @BeforeEach
+    void setUp() {
+        compactionService = new BudgetLedgerCompactionService(jdbcTemplate, transactionManager, 100, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compact_ShouldFoldBatchesUntilAShortBatch() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), eq(Boolean.class)))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("WITH batch"), any(RowMapper.class), eq(100), any(), any()))
+                .thenReturn(new long[]{100, 3}, new long[]{40, 2});
+
+        // Act
+        BudgetLedgerCompactionResult result = compactionService.compact();
+
+        // Assert
+        assertThat(result.getEntriesFolded()).isEqualTo(140);
+        assertThat(result.getBudgetsUpdated()).isEqualTo(5);
+        assertThat(result.getBatches()).isEqualTo(2);
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compact_WhenAnotherNodeHoldsTheLock_ShouldSkip() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), eq(Boolean.class)))
+                .thenReturn(false);
+
+        // Act
+        BudgetLedgerCompactionResult result = compactionService.compact();
+
+        // Assert
+        assertThat(result.getBatches()).isZero();
+        assertThat(result.isComplete()).isFalse();
+        verify(jdbcTemplate, never()).queryForObject(startsWith("WITH batch"), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compact_ShouldStopAtTheBatchLimit() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), eq(Boolean.class)))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("WITH batch"), any(RowMapper.class), eq(100), any(), any()))
+                .thenReturn(new long[]{100, 1});
+
+        // Act
+        BudgetLedgerCompactionResult result = compactionService.compact();
+
+        // Assert
+        assertThat(result.getBatches()).isEqualTo(10);
+        assertThat(result.getEntriesFolded()).isEqualTo(1000);
+        assertThat(result.isComplete()).isFalse();
+    }
+}
@@ -0,0 +1,109 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetReconciliationResult;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetReconciliationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    @Mock
+    private BudgetThresholdMonitor thresholdMonitor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BudgetReconciliationService reconciliationService;
+
+    private final UUID driftedBudgetId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        reconciliationService = new BudgetReconciliationService(jdbcTemplate, transactionManager, jobRunner,
+                thresholdMonitor, eventPublisher, 2, 2, 100, 100, 10, false, 18);
+
+        when(jdbcTemplate.queryForList(startsWith("SELECT id FROM budgets"), eq(UUID.class), any()))
+                .thenReturn(List.of(UUID.randomUUID(), driftedBudgetId, UUID.randomUUID()));
+        ResultSet drifted = mock(ResultSet.class);
+        when(drifted.getObject(1, UUID.class)).thenReturn(driftedBudgetId);
+        when(drifted.getString(2)).thenReturn("Q1 Marketing Budget");
+        when(drifted.getBigDecimal(3)).thenReturn(new BigDecimal("1200.00"));
+        when(drifted.getBigDecimal(4)).thenReturn(new BigDecimal("950.00"));
+        // Only the first partition to be checked reports a drifted row
+        AtomicInteger partitionsChecked = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (partitionsChecked.getAndIncrement() == 0) {
+                invocation.<RowCallbackHandler>getArgument(1).processRow(drifted);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void reconcile_ShouldReportDriftAcrossPartitionsWithoutRepairing() {
+        // Act
+        BudgetReconciliationResult result = reconciliationService.reconcile(false);
+
+        // Assert
+        assertThat(result.getBudgetsChecked()).isEqualTo(3);
+        assertThat(result.getPartitions()).isEqualTo(2);
+        assertThat(result.getDriftCount()).isEqualTo(1);
+        assertThat(result.getTotalAbsoluteDrift()).isEqualByComparingTo("250.00");
+        assertThat(result.getDrifts().get(0).getBudgetId()).isEqualTo(driftedBudgetId);
+        assertThat(result.getDrifts().get(0).getDifference()).isEqualByComparingTo("-250.00");
+        assertThat(result.isRepaired()).isFalse();
+        verify(jdbcTemplate, never()).query(any(PreparedStatementCreator.class), any(RowMapper.class));
+        verifyNoInteractions(thresholdMonitor, eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_WithRepair_ShouldPostCorrectionsCheckThresholdsAndPublishThem() {
+        // Arrange
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class))).thenReturn(List.of(
+                BudgetConsumptionEntry.builder().id(41L).budgetId(driftedBudgetId).amount(new BigDecimal("-250.00")).build()));
+
+        // Act
+        BudgetReconciliationResult result = reconciliationService.reconcile(true);
+
+        // Assert
+        assertThat(result.getBudgetsRepaired()).isEqualTo(1);
+        verify(thresholdMonitor).onConsumptionPosted(argThat(posted ->
+                posted.get(driftedBudgetId).compareTo(new BigDecimal("-250.00")) == 0));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BudgetConsumptionPostedEvent posted
+                && posted.getAmountByBudget().get(driftedBudgetId).compareTo(new BigDecimal("-250.00")) == 0
+                && posted.getLedgerId() == 41));
+    }
+}
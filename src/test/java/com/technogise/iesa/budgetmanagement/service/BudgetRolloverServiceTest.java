@@ -0,0 +1,227 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetCarryForwardMode;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRolloverResult;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetRolloverServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    @Mock
+    private BudgetIntervalIndex budgetIndex;
+
+    @Mock
+    private BudgetRollupService rollupService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private BudgetRolloverService rolloverService;
+
+    private final LocalDate periodEnd = LocalDate.now().minusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        rolloverService = new BudgetRolloverService(jdbcTemplate, transactionManager, jobRunner, budgetIndex,
+                rollupService, dataVersionService, 2, 7, BudgetCarryForwardMode.NONE, new BigDecimal("10"));
+    }
+
+    @Test
+    void rollover_ShouldWalkChunksUntilAShortChunk() throws Exception {
+        // Arrange
+        UUID rolledOver = UUID.randomUUID();
+        UUID lastOfFirstChunk = UUID.randomUUID();
+        UUID threshold = UUID.randomUUID();
+        Answer<Object> firstChunk = candidates(
+                candidate(rolledOver, "1000", "0", "50", true, threshold),
+                candidate(lastOfFirstChunk, "500", "0", "0", false));
+        Answer<Object> lastChunk = candidates(candidate(UUID.randomUUID(), "800", "0", "0", true));
+        List<Object[]> arrays = new ArrayList<>();
+        Answer<Object> firstInsert = insert(arrays, 1, 3, 2);
+        Answer<Object> lastInsert = insert(arrays, 1, 0, 0);
+        when(jdbcTemplate.query(startsWith("SELECT b.id"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(firstChunk)
+                .thenAnswer(lastChunk);
+        when(jdbcTemplate.query(startsWith("WITH planned"), any(PreparedStatementSetter.class), any(ResultSetExtractor.class)))
+                .thenAnswer(firstInsert)
+                .thenAnswer(lastInsert);
+
+        // Act
+        BudgetRolloverResult result = rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.UNSPENT_CAPPED, null);
+
+        // Assert
+        assertThat(result.getBudgetsScanned()).isEqualTo(3);
+        assertThat(result.getBudgetsCreated()).isEqualTo(2);
+        assertThat(result.getThresholdsCreated()).isEqualTo(3);
+        assertThat(result.getRecipientsCreated()).isEqualTo(2);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(result.getCarryForwardMode()).isEqualTo("UNSPENT_CAPPED");
+        verify(jdbcTemplate).query(startsWith("SELECT b.id"), any(RowMapper.class),
+                eq(lastOfFirstChunk), any(), any(), eq(2));
+        assertThat(arrays.get(0)).hasSize(1);
+        assertThat(((UUID) arrays.get(0)[0]).version()).isEqualTo(7);
+        assertThat(arrays.get(1)).containsExactly(rolledOver);
+        assertThat(arrays.get(2)).containsExactly(new BigDecimal("1050.00"));
+        assertThat(arrays.get(5)).containsExactly(threshold);
+        assertThat(((UUID) arrays.get(4)[0]).version()).isEqualTo(7);
+        verify(budgetIndex).refresh();
+        verify(rollupService).rebuild();
+        verify(dataVersionService).markChanged(DataDomain.BUDGETS);
+    }
+
+    @Test
+    void rollover_WhenAlreadyRolledOver_ShouldCreateNothingAndSkipReloads() throws Exception {
+        // Arrange
+        Answer<Object> onlyChunk = candidates(candidate(UUID.randomUUID(), "1000", "0", "100", false));
+        when(jdbcTemplate.query(startsWith("SELECT b.id"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(onlyChunk);
+
+        // Act
+        BudgetRolloverResult result = rolloverService.rollover(periodEnd, periodEnd, null, null);
+
+        // Assert
+        assertThat(result.getBudgetsScanned()).isEqualTo(1);
+        assertThat(result.getBudgetsCreated()).isZero();
+        assertThat(result.getCarryForwardMode()).isEqualTo("NONE");
+        verify(jdbcTemplate, never()).query(startsWith("WITH planned"), any(PreparedStatementSetter.class),
+                any(ResultSetExtractor.class));
+        verify(budgetIndex, never()).refresh();
+        verify(rollupService, never()).rebuild();
+    }
+
+    @Test
+    void rollover_OverTwoPeriods_ShouldCarryFromTheBaseAllocationWithoutCompounding() throws Exception {
+        // Arrange: 1000 base; the first period leaves 200 unspent or overruns by 300, the second leaves 150
+        List<Object[]> arrays = new ArrayList<>();
+        Answer<Object> inserts = insert(arrays, 1, 0, 0);
+        Answer<Object> unspentFirst = candidates(candidate(UUID.randomUUID(), "1000", "0", "200", true));
+        Answer<Object> unspentSecond = candidates(candidate(UUID.randomUUID(), "1200.00", "200.00", "150", true));
+        Answer<Object> netFirst = candidates(candidate(UUID.randomUUID(), "1000", "0", "-300", true));
+        Answer<Object> netSecond = candidates(candidate(UUID.randomUUID(), "700.00", "-300.00", "150", true));
+        Answer<Object> cappedSecond = candidates(candidate(UUID.randomUUID(), "1200.00", "200.00", "500", true));
+        when(jdbcTemplate.query(startsWith("WITH planned"), any(PreparedStatementSetter.class), any(ResultSetExtractor.class)))
+                .thenAnswer(inserts);
+        when(jdbcTemplate.query(startsWith("SELECT b.id"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(unspentFirst)
+                .thenAnswer(unspentSecond)
+                .thenAnswer(netFirst)
+                .thenAnswer(netSecond)
+                .thenAnswer(cappedSecond);
+
+        // Act
+        rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.UNSPENT, null);
+        rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.UNSPENT, null);
+        rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.NET, null);
+        rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.NET, null);
+        rolloverService.rollover(periodEnd, periodEnd, BudgetCarryForwardMode.UNSPENT_CAPPED, null);
+
+        // Assert: allocation, carried forward amount of each generated budget
+        assertThat(plannedAmounts(arrays, 0)).containsExactly(new BigDecimal("1200.00"), new BigDecimal("200.00"));
+        assertThat(plannedAmounts(arrays, 1)).containsExactly(new BigDecimal("1150.00"), new BigDecimal("150.00"));
+        assertThat(plannedAmounts(arrays, 2)).containsExactly(new BigDecimal("700.00"), new BigDecimal("-300.00"));
+        assertThat(plannedAmounts(arrays, 3)).containsExactly(new BigDecimal("1150.00"), new BigDecimal("150.00"));
+        // The 10% cap applies to the 1000 base, not the 1200 allocation
+        assertThat(plannedAmounts(arrays, 4)).containsExactly(new BigDecimal("1100.00"), new BigDecimal("100.00"));
+    }
+
+    @Test
+    void rollover_WhenPeriodHasNotEnded_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> rolloverService.rollover(periodEnd, LocalDate.now(), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static ResultSet candidate(UUID id, String allocated, String carriedForward, String remaining,
+                                       boolean plannable, UUID... thresholdIds) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        Array thresholds = mock(Array.class);
+        lenient().when(rs.getObject(1, UUID.class)).thenReturn(id);
+        lenient().when(rs.getBigDecimal(2)).thenReturn(new BigDecimal(allocated));
+        lenient().when(rs.getBigDecimal(3)).thenReturn(new BigDecimal(carriedForward));
+        lenient().when(rs.getBigDecimal(4)).thenReturn(new BigDecimal(remaining));
+        lenient().when(rs.getBoolean(5)).thenReturn(plannable);
+        lenient().when(rs.getArray(6)).thenReturn(thresholds);
+        lenient().when(thresholds.getArray()).thenReturn(thresholdIds);
+        return rs;
+    }
+
+    private static Answer<Object> candidates(ResultSet... rows) {
+        return invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                mapped.add(mapper.mapRow(rows[i], i));
+            }
+            return mapped;
+        };
+    }
+
+    /**
+     * Runs the statement setter against a connection that records every bound array, in bind order,
+     * then answers with the given counts
+     */
+    private static Answer<Object> insert(List<Object[]> arrays, long budgets, long thresholds, long recipients)
+            throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.createArrayOf(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            arrays.add(invocation.getArgument(1));
+            return null;
+        });
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getConnection()).thenReturn(connection);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(budgets);
+        when(rs.getLong(2)).thenReturn(thresholds);
+        when(rs.getLong(3)).thenReturn(recipients);
+        return invocation -> {
+            invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+            return invocation.<ResultSetExtractor<?>>getArgument(2).extractData(rs);
+        };
+    }
+
+    /**
+     * Allocation and carried forward amount of the single budget planned by the given insert
+     */
+    private static List<Object> plannedAmounts(List<Object[]> arrays, int insert) {
+        int first = insert * 6;
+        return List.of(arrays.get(first + 2)[0], arrays.get(first + 3)[0]);
+    }
+}
@@ -0,0 +1,179 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupContribution;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupDto;
+import com.technogise.iesa.budgetmanagement.dto.BudgetRollupNodeDto;
+import com.technogise.iesa.budgetmanagement.dto.RollupTreeNode;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetRollupServiceTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetConsumptionLedgerRepository ledgerRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BudgetRollupService rollupService;
+
+    private UUID operationsId;
+    private UUID travelId;
+    private UUID engineeringId;
+    private UUID travelBudgetId;
+    private UUID operationsBudgetId;
+
+    @BeforeEach
+    void setUp() {
+        operationsId = UUID.randomUUID();
+        travelId = UUID.randomUUID();
+        engineeringId = UUID.randomUUID();
+        travelBudgetId = UUID.randomUUID();
+        operationsBudgetId = UUID.randomUUID();
+
+        when(budgetRepository.findSegmentTreeNodes()).thenReturn(List.of(
+                new RollupTreeNode(operationsId, null, "Operations", "OPS"),
+                new RollupTreeNode(travelId, operationsId, "Travel", "TRV")));
+        when(budgetRepository.findDepartmentTreeNodes()).thenReturn(List.of(
+                new RollupTreeNode(engineeringId, null, "Engineering", "ENG")));
+        when(budgetRepository.findActiveRollupContributions()).thenReturn(List.of(
+                contribution(travelBudgetId, travelId, engineeringId, "1000.00", "150.00", "50.00"),
+                contribution(operationsBudgetId, operationsId, null, "500.00", "100.00", null)));
+        when(ledgerRepository.findMaxId()).thenReturn(10L);
+    }
+
+    @Test
+    void getRollup_ShouldAggregateBudgetsUpTheTrees() {
+        // Act
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert
+        BudgetRollupNodeDto operations = rollup.getSegments().get(0);
+        assertThat(operations.getId()).isEqualTo(operationsId);
+        assertThat(operations.getBudgetCount()).isEqualTo(1);
+        assertThat(operations.getAllocatedAmount()).isEqualByComparingTo("500.00");
+        assertThat(operations.getTotalBudgetCount()).isEqualTo(2);
+        assertThat(operations.getTotalAllocatedAmount()).isEqualByComparingTo("1500.00");
+        assertThat(operations.getTotalConsumedAmount()).isEqualByComparingTo("300.00");
+        assertThat(operations.getTotalRemainingAmount()).isEqualByComparingTo("1200.00");
+        assertThat(operations.getUtilizationPercentage()).isEqualByComparingTo("20.00");
+        assertThat(operations.getChildren()).extracting(BudgetRollupNodeDto::getId).containsExactly(travelId);
+        assertThat(rollup.getDepartments().get(0).getTotalAllocatedAmount()).isEqualByComparingTo("1000.00");
+        assertThat(rollup.getUnassignedDepartment().getTotalAllocatedAmount()).isEqualByComparingTo("500.00");
+    }
+
+    @Test
+    void onConsumptionPosted_ShouldUpdateNodeAndAncestorsWithoutReloading() {
+        // Arrange
+        rollupService.getRollup();
+
+        // Act
+        rollupService.onConsumptionPosted(new BudgetConsumptionPostedEvent(Map.of(travelBudgetId, new BigDecimal("75.00")), 11));
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert
+        BudgetRollupNodeDto operations = rollup.getSegments().get(0);
+        assertThat(operations.getTotalConsumedAmount()).isEqualByComparingTo("375.00");
+        assertThat(operations.getChildren().get(0).getTotalConsumedAmount()).isEqualByComparingTo("275.00");
+        assertThat(rollup.getDepartments().get(0).getTotalConsumedAmount()).isEqualByComparingTo("275.00");
+        verify(budgetRepository, times(1)).findActiveRollupContributions();
+    }
+
+    @Test
+    void onConsumptionPosted_WhenSnapshotAlreadyIncludesThePosting_ShouldSkipIt() {
+        // Arrange
+        rollupService.getRollup();
+
+        // Act
+        rollupService.onConsumptionPosted(new BudgetConsumptionPostedEvent(Map.of(travelBudgetId, new BigDecimal("75.00")), 10));
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert
+        assertThat(rollup.getSegments().get(0).getTotalConsumedAmount()).isEqualByComparingTo("300.00");
+    }
+
+    @Test
+    void rebuild_WhenPostingsArriveWhileLoading_ShouldCountOnlyThoseAfterTheSnapshot() {
+        // Arrange: the second load sees consumption up to ledger id 12; 12 committed before it, 13 after
+        rollupService.getRollup();
+        when(ledgerRepository.findMaxId()).thenReturn(12L);
+        when(budgetRepository.findActiveRollupContributions()).thenAnswer(invocation -> {
+            rollupService.onConsumptionPosted(new BudgetConsumptionPostedEvent(Map.of(travelBudgetId, new BigDecimal("40.00")), 12));
+            rollupService.onConsumptionPosted(new BudgetConsumptionPostedEvent(Map.of(travelBudgetId, new BigDecimal("25.00")), 13));
+            return List.of(
+                    contribution(travelBudgetId, travelId, engineeringId, "1000.00", "150.00", "90.00"),
+                    contribution(operationsBudgetId, operationsId, null, "500.00", "100.00", null));
+        });
+
+        // Act
+        rollupService.rebuild();
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert: 150 + 90 from the snapshot, 25 from the later posting, 100 from operations
+        assertThat(rollup.getSegments().get(0).getTotalConsumedAmount()).isEqualByComparingTo("365.00");
+        assertThat(rollup.getDepartments().get(0).getTotalConsumedAmount()).isEqualByComparingTo("265.00");
+    }
+
+    @Test
+    void onBudgetsChanged_ShouldMoveBudgetBetweenNodes() {
+        // Arrange
+        rollupService.getRollup();
+        when(budgetRepository.findRollupContributions(List.of(operationsBudgetId))).thenReturn(List.of(
+                contribution(operationsBudgetId, travelId, engineeringId, "800.00", "100.00", null)));
+
+        // Act
+        rollupService.onBudgetsChanged(new BudgetsChangedEvent(operationsBudgetId));
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert
+        BudgetRollupNodeDto operations = rollup.getSegments().get(0);
+        assertThat(operations.getBudgetCount()).isZero();
+        assertThat(operations.getTotalAllocatedAmount()).isEqualByComparingTo("1800.00");
+        assertThat(operations.getChildren().get(0).getBudgetCount()).isEqualTo(2);
+        assertThat(rollup.getUnassignedDepartment().getTotalBudgetCount()).isZero();
+        assertThat(rollup.getDepartments().get(0).getTotalAllocatedAmount()).isEqualByComparingTo("1800.00");
+    }
+
+    @Test
+    void onBudgetsChanged_WhenBudgetDeactivated_ShouldRemoveItsFigures() {
+        // Arrange
+        rollupService.getRollup();
+        when(budgetRepository.findRollupContributions(List.of(travelBudgetId))).thenReturn(List.of());
+
+        // Act
+        rollupService.onBudgetsChanged(new BudgetsChangedEvent(travelBudgetId));
+        BudgetRollupDto rollup = rollupService.getRollup();
+
+        // Assert
+        assertThat(rollup.getSegments().get(0).getTotalAllocatedAmount()).isEqualByComparingTo("500.00");
+        assertThat(rollup.getDepartments().get(0).getTotalBudgetCount()).isZero();
+    }
+
+    private static BudgetRollupContribution contribution(UUID budgetId, UUID segmentId, UUID departmentId,
+                                                         String allocated, String consumed, String pending) {
+        return new BudgetRollupContribution(budgetId, segmentId, departmentId, new BigDecimal(allocated),
+                new BigDecimal(consumed), pending == null ? null : new BigDecimal(pending));
+    }
+}
@@ -1,8 +1,12 @@
 package com.technogise.iesa.budgetmanagement.service;
 
 import com.technogise.iesa.budgetmanagement.domain.Budget;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionEntry;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionPostedEvent;
+import com.technogise.iesa.budgetmanagement.domain.BudgetConsumptionSource;
 import com.technogise.iesa.budgetmanagement.domain.BudgetPeriod;
 import com.technogise.iesa.budgetmanagement.dto.*;
+import com.technogise.iesa.budgetmanagement.repository.BudgetConsumptionLedgerRepository;
 import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
 import com.technogise.iesa.usermanagement.domain.Department;
 import com.technogise.iesa.usermanagement.repository.DepartmentRepository;
@@ -13,15 +17,19 @@ import com.technogise.iesa.shared.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +52,18 @@ class BudgetServiceTest {
     @Mock
     private BudgetMapper budgetMapper;
 
+    @Mock
+    private BudgetConsumptionLedgerRepository ledgerRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BudgetThresholdMonitor thresholdMonitor;
+
+    @Mock
+    private BudgetIntervalIndex budgetIndex;
+
     @InjectMocks
     private BudgetService budgetService;
 
@@ -401,19 +421,71 @@ class BudgetServiceTest {
     }
 
     @Test
-    void updateConsumption_ShouldUpdateConsumedAmount() {
+    void updateConsumption_ShouldAppendLedgerEntryWithoutWritingBudget() {
         // Arrange
         BigDecimal additionalAmount = new BigDecimal("5000.00");
         when(budgetRepository.findById(budgetId)).thenReturn(Optional.of(budget));
-        when(budgetRepository.save(budget)).thenReturn(budget);
+        when(ledgerRepository.sumPendingByBudgetId(budgetId)).thenReturn(additionalAmount);
+        when(ledgerRepository.save(any(BudgetConsumptionEntry.class)))
+                .thenReturn(BudgetConsumptionEntry.builder().id(42L).build());
         when(budgetMapper.toDto(budget)).thenReturn(budgetDto);
 
         // Act
         BudgetDto result = budgetService.updateConsumption(budgetId, additionalAmount);
 
         // Assert
-        assertThat(budget.getConsumedAmount()).isEqualTo(new BigDecimal("30000.00"));
-        verify(budgetRepository, times(1)).save(budget);
+        ArgumentCaptor<BudgetConsumptionEntry> captor = ArgumentCaptor.forClass(BudgetConsumptionEntry.class);
+        verify(ledgerRepository).save(captor.capture());
+        assertThat(captor.getValue().getBudgetId()).isEqualTo(budgetId);
+        assertThat(captor.getValue().getAmount()).isEqualByComparingTo(additionalAmount);
+        assertThat(captor.getValue().getSource()).isEqualTo(BudgetConsumptionSource.MANUAL);
+        assertThat(budget.getConsumedAmount()).isEqualByComparingTo(new BigDecimal("25000.00"));
+        assertThat(result.getConsumedAmount()).isEqualByComparingTo(new BigDecimal("30000.00"));
+        assertThat(result.getRemainingAmount()).isEqualByComparingTo(new BigDecimal("20000.00"));
+        assertThat(result.getUtilizationPercentage()).isEqualByComparingTo(new BigDecimal("60.00"));
+        verify(budgetRepository, never()).save(any());
+        verify(thresholdMonitor).onConsumptionPosted(Map.of(budgetId, additionalAmount));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof BudgetConsumptionPostedEvent posted
+                && posted.getLedgerId() == 42));
+    }
+
+    @Test
+    void updateConsumption_WithZeroAmount_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> budgetService.updateConsumption(budgetId, BigDecimal.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(ledgerRepository);
+    }
+
+    @Test
+    void getRemainingAmount_ShouldIncludePendingLedgerDeltas() {
+        // Arrange
+        when(budgetRepository.findById(budgetId)).thenReturn(Optional.of(budget));
+        when(ledgerRepository.sumPendingByBudgetId(budgetId)).thenReturn(new BigDecimal("7500.00"));
+
+        // Act
+        BigDecimal remaining = budgetService.getRemainingAmount(budgetId);
+
+        // Assert
+        assertThat(remaining).isEqualByComparingTo(new BigDecimal("17500.00"));
+    }
+
+    @Test
+    void getAllBudgets_ShouldApplyPendingLedgerDeltasToDtos() {
+        // Arrange
+        List<Budget> budgets = Arrays.asList(budget);
+        when(budgetRepository.findAllNotDeleted()).thenReturn(budgets);
+        when(budgetMapper.toDtoList(budgets)).thenReturn(Arrays.asList(budgetDto));
+        when(ledgerRepository.sumPendingByBudgetIds(List.of(budgetId)))
+                .thenReturn(List.of(new BudgetPendingConsumption(budgetId, new BigDecimal("-5000.00"))));
+
+        // Act
+        List<BudgetDto> result = budgetService.getAllBudgets();
+
+        // Assert
+        assertThat(result.get(0).getConsumedAmount()).isEqualByComparingTo(new BigDecimal("20000.00"));
+        assertThat(result.get(0).getRemainingAmount()).isEqualByComparingTo(new BigDecimal("30000.00"));
+        assertThat(result.get(0).getUtilizationPercentage()).isEqualByComparingTo(new BigDecimal("40.00"));
     }
 
     @Test
@@ -467,4 +539,53 @@ class BudgetServiceTest {
         // Assert
         assertThat(available).isFalse();
     }
+
+    @Test
+    void checkBudgetAvailability_WithLines_ShouldApplyCumulativeAmountsPerBudget() {
+        // Arrange
+        LocalDate date = LocalDate.of(2025, 2, 1);
+        BudgetAvailabilityLineRequest first = line(date, "15000.00");
+        BudgetAvailabilityLineRequest second = line(date, "15000.00");
+        when(budgetIndex.findMatching(segmentId, departmentId, date)).thenReturn(List.of(budgetId));
+        when(budgetRepository.findCapacities(Set.of(budgetId))).thenReturn(List.of(
+                new BudgetCapacity(budgetId, "Q1 Marketing Budget", new BigDecimal("50000.00"),
+                        new BigDecimal("20000.00"), new BigDecimal("5000.00"))));
+
+        // Act
+        BudgetAvailabilityCheckResponse response = budgetService.checkBudgetAvailability(List.of(first, second));
+
+        // Assert - 25000 remaining covers the first line but not both
+        assertThat(response.isAllAvailable()).isFalse();
+        assertThat(response.getLines().get(0).isAvailable()).isTrue();
+        assertThat(response.getLines().get(1).isAvailable()).isFalse();
+        assertThat(response.getLines().get(1).getExceededBudgetIds()).containsExactly(budgetId);
+        assertThat(response.getBudgets()).hasSize(1);
+        assertThat(response.getBudgets().get(0).getRemainingAmount()).isEqualByComparingTo("25000.00");
+        assertThat(response.getBudgets().get(0).getRequestedAmount()).isEqualByComparingTo("30000.00");
+        verify(budgetRepository, times(1)).findCapacities(any());
+    }
+
+    @Test
+    void checkBudgetAvailability_WithLinesUnderNoBudget_ShouldReportAvailableWithoutQuery() {
+        // Arrange
+        LocalDate date = LocalDate.of(2025, 6, 1);
+        when(budgetIndex.findMatching(segmentId, departmentId, date)).thenReturn(List.of());
+
+        // Act
+        BudgetAvailabilityCheckResponse response = budgetService.checkBudgetAvailability(List.of(line(date, "100.00")));
+
+        // Assert
+        assertThat(response.isAllAvailable()).isTrue();
+        assertThat(response.getLines().get(0).getBudgetIds()).isEmpty();
+        verify(budgetRepository, never()).findCapacities(any());
+    }
+
+    private BudgetAvailabilityLineRequest line(LocalDate date, String amount) {
+        return BudgetAvailabilityLineRequest.builder()
+                .segmentId(segmentId)
+                .departmentId(departmentId)
+                .date(date)
+                .amount(new BigDecimal(amount))
+                .build();
+    }
 }
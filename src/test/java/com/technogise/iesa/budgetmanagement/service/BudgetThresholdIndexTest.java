@@ -0,0 +1,102 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.domain.BudgetsChangedEvent;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionChange;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdTrigger;
+import com.technogise.iesa.budgetmanagement.repository.BudgetThresholdRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetThresholdIndexTest {
+
+    @Mock
+    private BudgetThresholdRepository thresholdRepository;
+
+    @InjectMocks
+    private BudgetThresholdIndex thresholdIndex;
+
+    private UUID budgetId;
+    private BudgetThresholdTrigger fifty;
+    private BudgetThresholdTrigger eighty;
+    private BudgetThresholdTrigger hundred;
+
+    @BeforeEach
+    void setUp() {
+        budgetId = UUID.randomUUID();
+        BigDecimal allocated = new BigDecimal("10000.00");
+        fifty = new BudgetThresholdTrigger(UUID.randomUUID(), budgetId, allocated, new BigDecimal("50.00"));
+        eighty = new BudgetThresholdTrigger(UUID.randomUUID(), budgetId, allocated, new BigDecimal("80.00"));
+        hundred = new BudgetThresholdTrigger(UUID.randomUUID(), budgetId, allocated, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void findCrossed_ShouldReturnEveryThresholdBetweenBeforeAndAfter() {
+        // Arrange
+        when(thresholdRepository.findEnabledTriggersByBudgetIds(List.of(budgetId))).thenReturn(List.of(hundred, fifty, eighty));
+
+        // Act
+        List<BudgetThresholdCrossing> crossed = thresholdIndex.findCrossed(List.of(
+                new BudgetConsumptionChange(budgetId, new BigDecimal("4999.99"), new BigDecimal("8000.00"))));
+
+        // Assert
+        assertThat(crossed).extracting(BudgetThresholdCrossing::getThresholdId)
+                .containsExactly(fifty.getThresholdId(), eighty.getThresholdId());
+    }
+
+    @Test
+    void findCrossed_WhenAlreadyAboveThreshold_ShouldNotReportItAgain() {
+        // Arrange
+        when(thresholdRepository.findEnabledTriggersByBudgetIds(List.of(budgetId))).thenReturn(List.of(fifty, eighty));
+
+        // Act
+        List<BudgetThresholdCrossing> crossed = thresholdIndex.findCrossed(List.of(
+                new BudgetConsumptionChange(budgetId, new BigDecimal("5000.00"), new BigDecimal("7999.99"))));
+
+        // Assert
+        assertThat(crossed).isEmpty();
+    }
+
+    @Test
+    void findCrossed_ShouldCacheLaddersUntilTheBudgetChanges() {
+        // Arrange
+        when(thresholdRepository.findEnabledTriggersByBudgetIds(anyCollection())).thenReturn(List.of(fifty));
+        BudgetConsumptionChange change = new BudgetConsumptionChange(budgetId, BigDecimal.ZERO, new BigDecimal("6000.00"));
+
+        // Act
+        thresholdIndex.findCrossed(List.of(change));
+        thresholdIndex.findCrossed(List.of(change));
+        thresholdIndex.onBudgetsChanged(new BudgetsChangedEvent(budgetId));
+        List<BudgetThresholdCrossing> crossed = thresholdIndex.findCrossed(List.of(change));
+
+        // Assert
+        assertThat(crossed).hasSize(1);
+        verify(thresholdRepository, times(2)).findEnabledTriggersByBudgetIds(anyCollection());
+    }
+
+    @Test
+    void findCrossed_WhenBudgetHasNoThresholds_ShouldReturnNothing() {
+        // Arrange
+        when(thresholdRepository.findEnabledTriggersByBudgetIds(List.of(budgetId))).thenReturn(List.of());
+
+        // Act
+        List<BudgetThresholdCrossing> crossed = thresholdIndex.findCrossed(List.of(
+                new BudgetConsumptionChange(budgetId, BigDecimal.ZERO, new BigDecimal("99999.00"))));
+
+        // Assert
+        assertThat(crossed).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionChange;
+import com.technogise.iesa.budgetmanagement.dto.BudgetConsumptionLevel;
+import com.technogise.iesa.budgetmanagement.dto.BudgetThresholdCrossing;
+import com.technogise.iesa.budgetmanagement.repository.BudgetAlertRepository;
+import com.technogise.iesa.budgetmanagement.repository.BudgetRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetThresholdMonitorTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetAlertRepository alertRepository;
+
+    @Mock
+    private BudgetThresholdIndex thresholdIndex;
+
+    @InjectMocks
+    private BudgetThresholdMonitor thresholdMonitor;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onConsumptionPosted_ShouldCheckFromThePreviousLevelAndInsertAlertsInOneBatch() {
+        // Arrange
+        UUID budgetId = UUID.randomUUID();
+        BudgetThresholdCrossing crossing = new BudgetThresholdCrossing(budgetId, UUID.randomUUID(), new BigDecimal("80.00"));
+        when(budgetRepository.findConsumptionLevels(List.of(budgetId))).thenReturn(List.of(
+                new BudgetConsumptionLevel(budgetId, new BigDecimal("7000.00"), new BigDecimal("1500.00"))));
+        when(thresholdIndex.findCrossed(any())).thenReturn(List.of(crossing));
+        when(alertRepository.insertOpenAlerts(List.of(crossing))).thenReturn(1);
+
+        // Act
+        int created = thresholdMonitor.onConsumptionPosted(Map.of(budgetId, new BigDecimal("1000.00")));
+
+        // Assert
+        assertThat(created).isEqualTo(1);
+        ArgumentCaptor<Collection<BudgetConsumptionChange>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(thresholdIndex).findCrossed(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(change -> {
+            assertThat(change.getBefore()).isEqualByComparingTo("7500.00");
+            assertThat(change.getAfter()).isEqualByComparingTo("8500.00");
+        });
+    }
+
+    @Test
+    void onConsumptionPosted_WhenOnlyReleases_ShouldNotQuery() {
+        // Act
+        int created = thresholdMonitor.onConsumptionPosted(Map.of(UUID.randomUUID(), new BigDecimal("-250.00")));
+
+        // Assert
+        assertThat(created).isZero();
+        verifyNoInteractions(budgetRepository, thresholdIndex, alertRepository);
+    }
+}
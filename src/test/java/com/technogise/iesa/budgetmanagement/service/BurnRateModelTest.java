@@ -0,0 +1,81 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.BudgetDailyConsumption;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BurnRateModelTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final UUID BUDGET_ID = UUID.randomUUID();
+
+    @Test
+    void advance_WithLinearSpend_ShouldFitRateAndTrend() {
+        // Arrange
+        BurnRateModel model = new BurnRateModel(START);
+
+        // Act - spend 100 + 10 per day for 10 days
+        for (int day = 0; day < 10; day++) {
+            model.advance(List.of(daily(day, 100 + 10 * day)), START.plusDays(day));
+        }
+        BurnRateModel.Fit fit = model.fit();
+
+        // Assert
+        assertThat(fit.getDaysObserved()).isEqualTo(10);
+        assertThat(fit.getSlope()).isCloseTo(10, within(1e-9));
+        assertThat(fit.rateAt(10)).isCloseTo(200, within(1e-9));
+    }
+
+    @Test
+    void advance_WithGaps_ShouldCountMissingDaysAsZeroSpend() {
+        // Arrange
+        BurnRateModel incremental = new BurnRateModel(START);
+        BurnRateModel explicit = new BurnRateModel(START);
+
+        // Act
+        incremental.advance(List.of(daily(0, 50), daily(5, 80)), START.plusDays(9));
+        explicit.advance(List.of(daily(0, 50), daily(1, 0), daily(2, 0), daily(3, 0), daily(4, 0), daily(5, 80),
+                daily(6, 0), daily(7, 0), daily(8, 0), daily(9, 0)), START.plusDays(9));
+
+        // Assert
+        assertThat(incremental.fit().getDaysObserved()).isEqualTo(10);
+        assertThat(incremental.fit().getSlope()).isCloseTo(explicit.fit().getSlope(), within(1e-9));
+        assertThat(incremental.fit().rateAt(3)).isCloseTo(explicit.fit().rateAt(3), within(1e-9));
+        assertThat(incremental.nextDate()).isEqualTo(START.plusDays(10));
+    }
+
+    @Test
+    void advance_WithDaysAlreadyCovered_ShouldIgnoreThem() {
+        // Arrange
+        BurnRateModel model = new BurnRateModel(START);
+        model.advance(List.of(daily(0, 100), daily(1, 100)), START.plusDays(1));
+
+        // Act
+        model.advance(List.of(daily(0, 100), daily(1, 100), daily(2, 100)), START.plusDays(2));
+
+        // Assert
+        assertThat(model.fit().getDaysObserved()).isEqualTo(3);
+        assertThat(model.fit().rateAt(3)).isCloseTo(100, within(1e-9));
+    }
+
+    @Test
+    void fit_WhenDecliningBelowZero_ShouldNotProjectNegativeSpend() {
+        // Arrange
+        BurnRateModel model = new BurnRateModel(START);
+        model.advance(List.of(daily(0, 100), daily(1, 50)), START.plusDays(1));
+
+        // Act & Assert
+        assertThat(model.fit().rateAt(5)).isZero();
+    }
+
+    private static BudgetDailyConsumption daily(int day, double amount) {
+        return new BudgetDailyConsumption(BUDGET_ID, START.plusDays(day), BigDecimal.valueOf(amount));
+    }
+}
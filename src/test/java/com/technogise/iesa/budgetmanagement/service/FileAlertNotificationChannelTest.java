@@ -0,0 +1,41 @@
+package com.technogise.iesa.budgetmanagement.service;
+
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationDigest;
+import com.technogise.iesa.budgetmanagement.dto.AlertNotificationItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileAlertNotificationChannelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void deliver_ShouldAppendDigestToFile() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("notifications.log");
+        FileAlertNotificationChannel channel = new FileAlertNotificationChannel(file.toString());
+        AlertNotificationDigest digest = new AlertNotificationDigest(UUID.randomUUID(), "jane@example.com", "Jane Doe",
+                List.of(new AlertNotificationItem(UUID.randomUUID(), UUID.randomUUID(), "Q1 Marketing Budget",
+                        "Budget threshold of 80.00% has been reached", LocalDateTime.now())));
+
+        // Act
+        channel.deliver(digest);
+        channel.deliver(digest);
+
+        // Assert
+        String content = Files.readString(file);
+        assertThat(content).contains("To: Jane Doe <jane@example.com>");
+        assertThat(content).contains("Q1 Marketing Budget: Budget threshold of 80.00% has been reached");
+        assertThat(content.split("Subject: ")).hasSize(3);
+    }
+}
@@ -0,0 +1,191 @@
+package com.technogise.iesa.expensemanagement.repository;
+
+import com.technogise.iesa.expensemanagement.domain.Document;
+import com.technogise.iesa.expensemanagement.domain.Expense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.domain.SegmentAllocation;
+import com.technogise.iesa.expensemanagement.dto.ExpenseDto;
+import com.technogise.iesa.expensemanagement.dto.ExpenseFilter;
+import com.technogise.iesa.expensemanagement.dto.ExpenseMapper;
+import com.technogise.iesa.expensemanagement.dto.ExpenseMapperImpl;
+import com.technogise.iesa.expensemanagement.dto.ExpenseVersionRef;
+import com.technogise.iesa.segmentmanagement.domain.Segment;
+import com.technogise.iesa.segmentmanagement.domain.SegmentType;
+import com.technogise.iesa.usermanagement.domain.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the expense read path against N+1 regressions by counting the JDBC statements needed
+ * to load and map a page of expenses
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=100",
+        "spring.datasource.url=jdbc:h2:mem:expense-read-path;MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ExpenseMapperImpl.class)
+class ExpenseRepositoryTest {
+
+    private static final int EXPENSE_COUNT = 60;
+    private static final int USER_COUNT = 12;
+    private static final int SEGMENT_COUNT = 5;
+
+    /**
+     * Page query, allocations + segments, documents + uploaders, and batched loads of the users' roles
+     */
+    private static final long MAX_STATEMENTS_PER_PAGE = 6;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseMapper expenseMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = User.builder()
+                    .username("user" + i)
+                    .email("user" + i + "@example.com")
+                    .passwordHash("hash")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .build();
+            entityManager.persist(user);
+            users.add(user);
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment segment = Segment.builder()
+                    .name("Segment " + i)
+                    .code("SEG-" + i)
+                    .segmentType(SegmentType.COST_CENTER)
+                    .build();
+            entityManager.persist(segment);
+            segments.add(segment);
+        }
+
+        for (int i = 0; i < EXPENSE_COUNT; i++) {
+            User submitter = users.get(i % USER_COUNT);
+            Expense expense = Expense.builder()
+                    .submitter(submitter)
+                    .expenseDate(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .vendor("Vendor " + i)
+                    .totalAmount(new BigDecimal("100.00"))
+                    .status(ExpenseStatus.SUBMITTED)
+                    .build();
+            expense.addSegmentAllocation(allocation(segments.get(i % SEGMENT_COUNT), "60.00"));
+            expense.addSegmentAllocation(allocation(segments.get((i + 1) % SEGMENT_COUNT), "40.00"));
+            expense.addDocument(Document.builder()
+                    .fileName("receipt-" + i + ".pdf")
+                    .fileType("pdf")
+                    .fileSize(1024L)
+                    .storageKey("receipts/" + i)
+                    .uploadedBy(users.get((i + 1) % USER_COUNT))
+                    .build());
+            entityManager.persist(expense);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageAfter_ThenMapping_ShouldUseBoundedNumberOfStatements() {
+        // Act
+        List<Expense> page = expenseRepository.findPageAfter(new ExpenseFilter(), null, 50);
+        expenseRepository.fetchMappingAssociations(page);
+        List<ExpenseDto> dtos = expenseMapper.toDtoList(page);
+
+        // Assert
+        assertThat(dtos).hasSize(50);
+        assertThat(dtos.get(0).getSubmitterName()).startsWith("First");
+        assertThat(dtos.get(0).getSegmentAllocations()).hasSize(2);
+        assertThat(dtos.get(0).getSegmentAllocations().get(0).getSegmentCode()).startsWith("SEG-");
+        assertThat(dtos.get(0).getDocuments()).hasSize(1);
+        assertThat(dtos.get(0).getDocuments().get(0).getUploadedByName()).startsWith("First");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void findAllNotDeleted_ThenMapping_ShouldNotGrowWithRowCount() {
+        // Act
+        List<Expense> expenses = expenseRepository.findAllNotDeleted();
+        expenseRepository.fetchMappingAssociations(expenses);
+        List<ExpenseDto> dtos = expenseMapper.toDtoList(expenses);
+
+        // Assert
+        assertThat(dtos).hasSize(EXPENSE_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void streamExportRows_ShouldFlattenAllocations() {
+        // Act
+        long rows;
+        try (var stream = expenseRepository.streamExportRows(new ExpenseFilter(), 100)) {
+            rows = stream.count();
+        }
+
+        // Assert
+        assertThat(rows).isEqualTo(EXPENSE_COUNT * 2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void batchTransitionStatus_ThenReloadAll_ShouldLeaveNoStaleInstanceToFlush() {
+        // Arrange
+        Expense expense = expenseRepository.findAllNotDeleted().get(0);
+        long version = expense.getVersion();
+
+        // Act
+        int[] counts = expenseRepository.batchTransitionStatus(List.of(new ExpenseVersionRef(expense.getId(), version)),
+                ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED, LocalDate.of(2025, 6, 1), null, "approver");
+        List<Expense> reloaded = expenseRepository.reloadAll(List.of(expense));
+        reloaded.get(0).setVendor("Renamed vendor");
+        entityManager.flush();
+
+        // Assert
+        assertThat(counts).containsExactly(1);
+        assertThat(reloaded.get(0)).isNotSameAs(expense);
+        assertThat(reloaded.get(0).getStatus()).isEqualTo(ExpenseStatus.APPROVED);
+        assertThat(reloaded.get(0).getApprovalDate()).isEqualTo(LocalDate.of(2025, 6, 1));
+        assertThat(reloaded.get(0).getVersion()).isEqualTo(version + 2);
+    }
+
+    private SegmentAllocation allocation(Segment segment, String percentage) {
+        return SegmentAllocation.builder()
+                .segment(segment)
+                .amount(new BigDecimal(percentage))
+                .percentage(new BigDecimal(percentage))
+                .build();
+    }
+}
@@ -0,0 +1,167 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.domain.ArchivedExpense;
+import com.technogise.iesa.expensemanagement.domain.ExpenseStatus;
+import com.technogise.iesa.expensemanagement.dto.ArchivedExpenseDto;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveCandidate;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveResult;
+import com.technogise.iesa.expensemanagement.repository.ArchivedExpenseRepository;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseArchiveServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ArchivedExpenseRepository archivedExpenseRepository;
+
+    @Mock
+    private ExpenseStatusCounterService counterService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    private ExpenseArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new ExpenseArchiveService(jdbcTemplate, transactionManager, archivedExpenseRepository,
+                counterService, dataVersionService, jobRunner, 18, 2, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveClosedExpenses_ShouldMoveChunksUntilAShortChunk() {
+        // Arrange
+        when(jdbcTemplate.query(startsWith("SELECT e.id"), any(RowMapper.class), any(), any()))
+                .thenReturn(List.of(candidate(), candidate()))
+                .thenReturn(List.of(candidate()));
+
+        // Act
+        ExpenseArchiveResult result = archiveService.archiveClosedExpenses();
+
+        // Assert
+        assertThat(result.getArchivedCount()).isEqualTo(3);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getCutoffDate()).isEqualTo(LocalDate.now().withDayOfMonth(1).minusMonths(18));
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO expense_archive"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM workflow_history"), any(PreparedStatementSetter.class));
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM expenses"), any(PreparedStatementSetter.class));
+        verify(counterService, times(2)).recordArchived(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void archiveClosedExpenses_WhenChunkLimitReached_ShouldReportIncomplete() {
+        // Arrange
+        archiveService = new ExpenseArchiveService(jdbcTemplate, transactionManager, archivedExpenseRepository,
+                counterService, dataVersionService, jobRunner, 18, 2, 1);
+        when(jdbcTemplate.query(startsWith("SELECT e.id"), any(RowMapper.class), any(), any()))
+                .thenReturn(List.of(candidate(), candidate()));
+
+        // Act
+        ExpenseArchiveResult result = archiveService.archiveClosedExpenses();
+
+        // Assert
+        assertThat(result.getArchivedCount()).isEqualTo(2);
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    void scheduledArchive_ShouldRunOnlyThroughTheClusterLease() {
+        // Arrange
+        when(jobRunner.runExclusively(eq(ExpenseArchiveService.ARCHIVE_JOB), any(Duration.class), any(Duration.class),
+                any(LongSupplier.class))).thenReturn(false);
+
+        // Act
+        archiveService.scheduledArchive();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate, counterService);
+    }
+
+    @Test
+    void getArchivedExpense_ShouldIncludePayload() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ArchivedExpense archived = ArchivedExpense.builder()
+                .id(id)
+                .submitterId(UUID.randomUUID())
+                .expenseDate(LocalDate.of(2023, 1, 15))
+                .totalAmount(new BigDecimal("120.00"))
+                .currency("USD")
+                .status(ExpenseStatus.PAID)
+                .archivedAt(LocalDateTime.now())
+                .payload(Map.of("segmentAllocations", List.of()))
+                .build();
+        when(archivedExpenseRepository.findById(id)).thenReturn(Optional.of(archived));
+
+        // Act
+        ArchivedExpenseDto result = archiveService.getArchivedExpense(id);
+
+        // Assert
+        assertThat(result.getStatus()).isEqualTo("PAID");
+        assertThat(result.getPayload()).containsKey("segmentAllocations");
+    }
+
+    @Test
+    void getArchivedExpense_WhenNotExists_ShouldThrowException() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(archivedExpenseRepository.findById(id)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> archiveService.getArchivedExpense(id))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Archived expense not found");
+    }
+
+    @Test
+    void searchArchive_WithOversizedPage_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> archiveService.searchArchive(null, null, null, null, 0, 500))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Page size");
+        verifyNoInteractions(archivedExpenseRepository);
+    }
+
+    private ExpenseArchiveCandidate candidate() {
+        return new ExpenseArchiveCandidate(UUID.randomUUID(), LocalDate.of(2023, 1, 15), ExpenseStatus.PAID,
+                UUID.randomUUID(), null, new BigDecimal("120.00"), false);
+    }
+}
@@ -0,0 +1,134 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.technogise.iesa.expensemanagement.dto.ExpenseExportRow;
+import com.technogise.iesa.expensemanagement.dto.ExpenseFilter;
+import com.technogise.iesa.expensemanagement.dto.ExportFormat;
+import com.technogise.iesa.expensemanagement.repository.ExpenseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseExportServiceTest {
+
+    private static final int FETCH_SIZE = 500;
+
+    @Mock
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseExportService exportService;
+
+    private ExpenseExportRow firstAllocation;
+    private ExpenseExportRow secondAllocation;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExpenseExportService(expenseRepository, objectMapper, FETCH_SIZE);
+
+        UUID expenseId = UUID.randomUUID();
+        firstAllocation = ExpenseExportRow.builder()
+                .expenseId(expenseId)
+                .expenseDate(LocalDate.of(2025, 10, 1))
+                .submitterName("Test User")
+                .vendor("Acme, Inc.")
+                .totalAmount(new BigDecimal("1000.00"))
+                .currency("USD")
+                .status("APPROVED")
+                .description("Team \"offsite\" dinner")
+                .segmentCode("ENG-001")
+                .allocationAmount(new BigDecimal("600.00"))
+                .allocationPercentage(new BigDecimal("60.00"))
+                .build();
+        secondAllocation = ExpenseExportRow.builder()
+                .expenseId(expenseId)
+                .expenseDate(LocalDate.of(2025, 10, 1))
+                .submitterName("Test User")
+                .vendor("Acme, Inc.")
+                .totalAmount(new BigDecimal("1000.00"))
+                .currency("USD")
+                .status("APPROVED")
+                .segmentCode("MKT-001")
+                .allocationAmount(new BigDecimal("400.00"))
+                .allocationPercentage(new BigDecimal("40.00"))
+                .build();
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteHeaderAndOneEscapedLinePerAllocation() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(expenseRepository.streamExportRows(any(ExpenseFilter.class), eq(FETCH_SIZE)))
+                .thenReturn(Stream.of(firstAllocation, secondAllocation).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(new ExpenseFilter(), ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("expense_id,expense_date,");
+        assertThat(lines[1]).contains("\"Acme, Inc.\"", "\"Team \"\"offsite\"\" dinner\"", "ENG-001", "600.00");
+        assertThat(lines[2]).contains("MKT-001", "400.00");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void export_AsCsv_ShouldPrefixTextThatSpreadsheetsWouldEvaluate() throws Exception {
+        // Arrange
+        firstAllocation.setVendor("=HYPERLINK(\"http://evil\")");
+        firstAllocation.setDescription("@SUM(A1)");
+        when(expenseRepository.streamExportRows(any(ExpenseFilter.class), eq(FETCH_SIZE)))
+                .thenReturn(Stream.of(firstAllocation));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(new ExpenseFilter(), ExportFormat.CSV, out);
+
+        // Assert
+        String line = out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertThat(line).contains("\"'=HYPERLINK(\"\"http://evil\"\")\"", ",'@SUM(A1),", "600.00");
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        when(expenseRepository.streamExportRows(any(ExpenseFilter.class), eq(FETCH_SIZE)))
+                .thenReturn(Stream.of(firstAllocation, secondAllocation));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(new ExpenseFilter(), ExportFormat.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertThat(first.get("vendor").asText()).isEqualTo("Acme, Inc.");
+        assertThat(first.get("expenseDate").asText()).isEqualTo("2025-10-01");
+        assertThat(first.get("segmentCode").asText()).isEqualTo("ENG-001");
+    }
+}
@@ -0,0 +1,213 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.dto.CreateExpenseRequest;
+import com.technogise.iesa.expensemanagement.dto.ExpenseImportResult;
+import com.technogise.iesa.expensemanagement.dto.SegmentAllocationRequest;
+import com.technogise.iesa.segmentmanagement.domain.Segment;
+import com.technogise.iesa.segmentmanagement.domain.SegmentType;
+import com.technogise.iesa.segmentmanagement.repository.SegmentRepository;
+import com.technogise.iesa.shared.service.DataVersionService;
+import com.technogise.iesa.usermanagement.domain.User;
+import com.technogise.iesa.usermanagement.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseImportServiceTest {
+
+    private static final String INSERT_EXPENSES = "INSERT INTO expenses";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SegmentRepository segmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExpenseStatusCounterService counterService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    private ExpenseImportService importService;
+
+    private UUID segmentId;
+    private Segment segment;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ExpenseImportService(jdbcTemplate, transactionManager, segmentRepository, userRepository,
+                Validation.buildDefaultValidatorFactory().getValidator(), counterService, dataVersionService, 2);
+
+        segmentId = UUID.randomUUID();
+        segment = Segment.builder()
+                .id(segmentId)
+                .name("Engineering")
+                .code("ENG-001")
+                .segmentType(SegmentType.COST_CENTER)
+                .build();
+
+        User user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testuser", null, Collections.emptyList()));
+        lenient().when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importExpenses_ShouldInsertValidRowsAndReportInvalidOnes() {
+        // Arrange
+        UUID unknownSegmentId = UUID.randomUUID();
+        List<CreateExpenseRequest> requests = Arrays.asList(
+                request(segmentId, "100.00"),
+                request(segmentId, "50.00"),
+                request(unknownSegmentId, "100.00"),
+                request(segmentId, "100.00")
+        );
+        when(segmentRepository.findAllById(anyIterable())).thenReturn(List.of(segment));
+
+        // Act
+        ExpenseImportResult result = importService.importExpenses(requests);
+
+        // Assert
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getImportedCount()).isEqualTo(2);
+        assertThat(result.getFailedCount()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("rowNumber").containsExactly(2, 3);
+        assertThat(result.getErrors().get(0).getMessage()).contains("must sum to 100%");
+        assertThat(result.getErrors().get(1).getMessage()).contains("Segment not found");
+        verify(segmentRepository, times(1)).findAllById(anyIterable());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(INSERT_EXPENSES), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        verify(counterService).recordImportedDrafts(any(User.class), eq(2), eq(new BigDecimal("200.00")));
+    }
+
+    @Test
+    void importExpenses_WhenChunkFails_ShouldRetryRowByRowAndReportOnlyFailingRow() {
+        // Arrange
+        List<CreateExpenseRequest> requests = Arrays.asList(request(segmentId, "100.00"), request(segmentId, "100.00"));
+        when(segmentRepository.findAllById(anyIterable())).thenReturn(List.of(segment));
+        when(jdbcTemplate.batchUpdate(startsWith(INSERT_EXPENSES), anyList()))
+                .thenThrow(new DataIntegrityViolationException("chunk failed"))
+                .thenReturn(new int[]{1})
+                .thenThrow(new DataIntegrityViolationException("row failed"));
+
+        // Act
+        ExpenseImportResult result = importService.importExpenses(requests);
+
+        // Assert
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getRowNumber()).isEqualTo(2);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("row failed");
+    }
+
+    @Test
+    void importCsv_ShouldParseQuotedFieldsAndReportMalformedRows() throws Exception {
+        // Arrange
+        String csv = "expense_date,vendor,total_amount,currency,description,allocations\n"
+                + "2025-10-01,\"Acme, Inc.\",120.50,USD,\"Team \"\"offsite\"\"\"," + segmentId + ":100\n"
+                + "not-a-date,Acme,10.00,USD,,\n";
+        when(segmentRepository.findAllById(anyIterable())).thenReturn(List.of(segment));
+
+        // Act
+        ExpenseImportResult result = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(result.getTotalRows()).isEqualTo(2);
+        assertThat(result.getImportedCount()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("rowNumber").containsExactly(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(INSERT_EXPENSES), rows.capture());
+        assertThat(rows.getValue().get(0)[3]).isEqualTo("Acme, Inc.");
+        assertThat(rows.getValue().get(0)[6]).isEqualTo("Team \"offsite\"");
+    }
+
+    @Test
+    void importCsv_WithNewlineInQuotedField_ShouldKeepTheRecordTogether() throws Exception {
+        // Arrange
+        String csv = "expense_date,vendor,total_amount,currency,description,allocations\n"
+                + "2025-10-01,Acme,120.50,USD,\"Flights\nand \"\"hotel\"\"\"," + segmentId + ":100\n"
+                + "2025-10-02,Acme,80.00,USD,Taxi," + segmentId + ":100\n";
+        when(segmentRepository.findAllById(anyIterable())).thenReturn(List.of(segment));
+
+        // Act
+        ExpenseImportResult result = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(result.getTotalRows()).isEqualTo(2);
+        assertThat(result.getImportedCount()).isEqualTo(2);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(INSERT_EXPENSES), rows.capture());
+        assertThat(rows.getValue().get(0)[6]).isEqualTo("Flights\nand \"hotel\"");
+        assertThat(rows.getValue().get(1)[6]).isEqualTo("Taxi");
+    }
+
+    @Test
+    void importCsv_WithWrongHeader_ShouldThrowException() {
+        // Arrange
+        String csv = "date,amount\n2025-10-01,10.00\n";
+
+        // Act & Assert
+        assertThatThrownBy(() -> importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("CSV header must be");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private CreateExpenseRequest request(UUID segment, String percentage) {
+        return CreateExpenseRequest.builder()
+                .expenseDate(LocalDate.of(2025, 10, 1))
+                .vendor("Card Vendor")
+                .totalAmount(new BigDecimal("100.00"))
+                .currency("USD")
+                .segmentAllocations(Collections.singletonList(SegmentAllocationRequest.builder()
+                        .segmentId(segment)
+                        .percentage(new BigDecimal(percentage))
+                        .build()))
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.technogise.iesa.expensemanagement.service;
 
+import com.technogise.iesa.budgetmanagement.service.BudgetConsumptionService;
 import com.technogise.iesa.expensemanagement.domain.*;
 import com.technogise.iesa.expensemanagement.dto.*;
 import com.technogise.iesa.expensemanagement.repository.ExpenseRepository;
@@ -8,6 +9,7 @@ import com.technogise.iesa.segmentmanagement.domain.Segment;
 import com.technogise.iesa.segmentmanagement.domain.SegmentType;
 import com.technogise.iesa.segmentmanagement.repository.SegmentRepository;
 import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.DataVersionService;
 import com.technogise.iesa.usermanagement.domain.User;
 import com.technogise.iesa.usermanagement.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,12 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +60,15 @@ class ExpenseServiceTest {
     @Mock
     private ExpenseMapper expenseMapper;
 
+    @Mock
+    private ExpenseStatusCounterService counterService;
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private BudgetConsumptionService budgetConsumptionService;
+
     @InjectMocks
     private ExpenseService expenseService;
 
@@ -160,6 +177,109 @@ class ExpenseServiceTest {
         verify(expenseMapper, times(1)).toDtoList(expenses);
     }
 
+    @Test
+    void getExpensePage_WhenMoreRowsExist_ShouldReturnCursorForLastItem() {
+        // Arrange
+        Expense older = Expense.builder()
+                .id(UUID.randomUUID())
+                .submitter(user)
+                .expenseDate(LocalDate.of(2025, 9, 1))
+                .totalAmount(new BigDecimal("50.00"))
+                .build();
+        ExpenseFilter filter = ExpenseFilter.builder().status(ExpenseStatus.DRAFT).build();
+
+        when(expenseRepository.findPageAfter(filter, null, 2)).thenReturn(Arrays.asList(expense, older));
+        when(expenseMapper.toDtoList(Collections.singletonList(expense))).thenReturn(Collections.singletonList(expenseDto));
+
+        // Act
+        ExpensePageDto result = expenseService.getExpensePage(filter, null, 1);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isHasMore()).isTrue();
+        ExpenseCursor cursor = ExpenseCursor.decode(result.getNextCursor());
+        assertThat(cursor.getExpenseDate()).isEqualTo(expense.getExpenseDate());
+        assertThat(cursor.getId()).isEqualTo(expenseId);
+    }
+
+    @Test
+    void getExpensePage_WithCursor_ShouldContinueAfterCursor() {
+        // Arrange
+        ExpenseCursor cursor = new ExpenseCursor(LocalDate.of(2025, 11, 1), UUID.randomUUID());
+
+        when(expenseRepository.findPageAfter(any(), any(ExpenseCursor.class), eq(ExpenseService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Collections.singletonList(expense));
+        when(expenseMapper.toDtoList(Collections.singletonList(expense))).thenReturn(Collections.singletonList(expenseDto));
+
+        // Act
+        ExpensePageDto result = expenseService.getExpensePage(new ExpenseFilter(), cursor.encode(), null);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(expenseRepository).findPageAfter(any(), argThat(after ->
+                after.getId().equals(cursor.getId()) && after.getExpenseDate().equals(cursor.getExpenseDate())),
+                eq(ExpenseService.DEFAULT_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getExpensePage_WithInvalidCursor_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> expenseService.getExpensePage(new ExpenseFilter(), "not-a-cursor", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid expense cursor");
+
+        verify(expenseRepository, never()).findPageAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    void getExpensePage_WithOversizedPage_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> expenseService.getExpensePage(new ExpenseFilter(), null, ExpenseService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Page size must be between");
+    }
+
+    @Test
+    void searchExpenses_ShouldRequestOneExtraRowAndUseOffset() {
+        // Arrange
+        when(expenseRepository.searchExpenses("taxi airport", 11, 20)).thenReturn(Collections.singletonList(expense));
+        when(expenseMapper.toDtoList(Collections.singletonList(expense))).thenReturn(Collections.singletonList(expenseDto));
+
+        // Act
+        ExpenseSearchResultDto result = expenseService.searchExpenses("  taxi airport ", 2, 10);
+
+        // Assert
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getPage()).isEqualTo(2);
+        assertThat(result.isHasMore()).isFalse();
+        verify(expenseRepository, times(1)).searchExpenses("taxi airport", 11, 20);
+    }
+
+    @Test
+    void searchExpenses_WithBlankTerm_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> expenseService.searchExpenses(" ", 0, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Search term is required");
+
+        verify(expenseRepository, never()).searchExpenses(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void autocompleteVendors_ShouldEscapeLikeWildcardsAndCapLimit() {
+        // Arrange
+        when(expenseRepository.findVendorNamesLike("50\\%\\_off%", ExpenseService.MAX_AUTOCOMPLETE_LIMIT))
+                .thenReturn(Collections.singletonList("50%_Off Store"));
+
+        // Act
+        List<String> result = expenseService.autocompleteVendors("50%_OFF", 500);
+
+        // Assert
+        assertThat(result).containsExactly("50%_Off Store");
+    }
+
     @Test
     void getExpenseById_WhenExists_ShouldReturnExpense() {
         // Arrange
@@ -359,6 +479,8 @@ class ExpenseServiceTest {
         assertThat(expense.getDeletedAt()).isNotNull();
         verify(expenseRepository, times(1)).findById(expenseId);
         verify(expenseRepository, times(1)).save(expense);
+        verify(counterService).recordRemoved(expense);
+        verify(budgetConsumptionService).reverseExpense(expenseId);
     }
 
     @Test
@@ -424,6 +546,8 @@ class ExpenseServiceTest {
         assertThat(expense.getApprovalDate()).isNotNull();
         verify(expenseRepository, times(1)).findById(expenseId);
         verify(expenseRepository, times(1)).save(expense);
+        verify(counterService).recordTransition(expense, ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED);
+        verify(budgetConsumptionService).recordApproval(expense);
     }
 
     @Test
@@ -458,6 +582,7 @@ class ExpenseServiceTest {
         assertThat(expense.getRejectionReason()).isEqualTo(rejectionReason);
         verify(expenseRepository, times(1)).findById(expenseId);
         verify(expenseRepository, times(1)).save(expense);
+        verify(budgetConsumptionService).reverseExpense(expenseId);
     }
 
     @Test
@@ -475,6 +600,82 @@ class ExpenseServiceTest {
         verify(expenseRepository, never()).save(any());
     }
 
+    @Test
+    void bulkApproveExpenses_ShouldReportEachItemAndWriteEligibleOnesInOneBatch() {
+        // Arrange
+        setupSecurityContext("testuser");
+        expense.setStatus(ExpenseStatus.SUBMITTED);
+        expense.setVersion(3L);
+
+        Expense stale = Expense.builder().id(UUID.randomUUID()).submitter(user).status(ExpenseStatus.SUBMITTED).build();
+        stale.setVersion(5L);
+        Expense draft = Expense.builder().id(UUID.randomUUID()).submitter(user).status(ExpenseStatus.DRAFT).build();
+        draft.setVersion(1L);
+        Expense raced = Expense.builder().id(UUID.randomUUID()).submitter(user).status(ExpenseStatus.SUBMITTED).build();
+        raced.setVersion(0L);
+        UUID missingId = UUID.randomUUID();
+
+        BulkTransitionRequest request = BulkTransitionRequest.builder()
+                .items(List.of(
+                        new ExpenseVersionRef(expenseId, 3L),
+                        new ExpenseVersionRef(stale.getId(), 4L),
+                        new ExpenseVersionRef(draft.getId(), 1L),
+                        new ExpenseVersionRef(missingId, 0L),
+                        new ExpenseVersionRef(raced.getId(), 0L),
+                        new ExpenseVersionRef(expenseId, 3L)))
+                .build();
+
+        when(expenseRepository.findAllByIdNotDeleted(any())).thenReturn(List.of(expense, stale, draft, raced));
+        when(expenseRepository.batchTransitionStatus(anyList(), eq(ExpenseStatus.SUBMITTED), eq(ExpenseStatus.APPROVED),
+                any(LocalDate.class), isNull(), eq("testuser"))).thenReturn(new int[]{1, 0});
+        Expense approved = Expense.builder().id(expenseId).submitter(user).status(ExpenseStatus.APPROVED).build();
+        approved.setVersion(4L);
+        when(expenseRepository.reloadAll(List.of(expense))).thenReturn(List.of(approved));
+
+        // Act
+        BulkTransitionResult result = expenseService.bulkApproveExpenses(request);
+
+        // Assert
+        assertThat(result.getSucceededCount()).isEqualTo(1);
+        assertThat(result.getFailedCount()).isEqualTo(5);
+        assertThat(result.getResults()).extracting(BulkTransitionItemResult::getOutcome).containsExactly(
+                BulkTransitionOutcome.SUCCESS,
+                BulkTransitionOutcome.VERSION_CONFLICT,
+                BulkTransitionOutcome.INVALID_STATUS,
+                BulkTransitionOutcome.NOT_FOUND,
+                BulkTransitionOutcome.VERSION_CONFLICT,
+                BulkTransitionOutcome.DUPLICATE);
+        assertThat(result.getResults().get(0).getNewVersion()).isEqualTo(4L);
+        verify(expenseRepository, times(1)).findAllByIdNotDeleted(any());
+        verify(expenseRepository, times(1)).batchTransitionStatus(
+                argThat(items -> items.size() == 2 && items.get(0).getId().equals(expenseId) && items.get(1).getId().equals(raced.getId())),
+                any(), any(), any(), any(), any());
+        verify(expenseRepository, never()).save(any());
+        verify(counterService).recordTransitions(List.of(approved), ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED);
+        verify(budgetConsumptionService).recordApprovals(List.of(approved));
+    }
+
+    @Test
+    void bulkRejectExpenses_WhenNothingEligible_ShouldNotWrite() {
+        // Arrange
+        expense.setStatus(ExpenseStatus.APPROVED);
+        expense.setVersion(0L);
+        BulkTransitionRequest request = BulkTransitionRequest.builder()
+                .items(List.of(new ExpenseVersionRef(expenseId, 0L)))
+                .reason("Duplicate claim")
+                .build();
+        when(expenseRepository.findAllByIdNotDeleted(any())).thenReturn(List.of(expense));
+
+        // Act
+        BulkTransitionResult result = expenseService.bulkRejectExpenses(request);
+
+        // Assert
+        assertThat(result.getFailedCount()).isEqualTo(1);
+        assertThat(result.getResults().get(0).getOutcome()).isEqualTo(BulkTransitionOutcome.INVALID_STATUS);
+        assertThat(result.getResults().get(0).getMessage()).contains("cannot be rejected");
+        verify(expenseRepository, never()).batchTransitionStatus(any(), any(), any(), any(), any(), any());
+    }
+
     private void setupSecurityContext(String username) {
         Authentication authentication = new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
         SecurityContext securityContext = mock(SecurityContext.class);
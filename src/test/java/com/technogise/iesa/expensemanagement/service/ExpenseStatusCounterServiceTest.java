@@ -0,0 +1,213 @@
+package com.technogise.iesa.expensemanagement.service;
+
+import com.technogise.iesa.expensemanagement.domain.*;
+import com.technogise.iesa.expensemanagement.dto.ExpenseArchiveCandidate;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCounterDelta;
+import com.technogise.iesa.expensemanagement.dto.ExpenseCounterReconciliationResult;
+import com.technogise.iesa.expensemanagement.dto.ExpenseStatusCountDto;
+import com.technogise.iesa.expensemanagement.repository.ExpenseStatusCounterRepository;
+import com.technogise.iesa.usermanagement.domain.Department;
+import com.technogise.iesa.usermanagement.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpenseStatusCounterServiceTest {
+
+    @Mock
+    private ExpenseStatusCounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ExpenseStatusCounterService counterService;
+
+    private User submitter;
+    private UUID departmentId;
+    private Expense expense;
+
+    @BeforeEach
+    void setUp() {
+        departmentId = UUID.randomUUID();
+        Department department = new Department();
+        department.setId(departmentId);
+
+        submitter = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .department(department)
+                .build();
+
+        expense = Expense.builder()
+                .id(UUID.randomUUID())
+                .submitter(submitter)
+                .totalAmount(new BigDecimal("250.00"))
+                .status(ExpenseStatus.SUBMITTED)
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordTransition_ShouldMoveCountAndAmountAtEveryScope() {
+        // Act
+        counterService.recordTransition(expense, ExpenseStatus.SUBMITTED, ExpenseStatus.APPROVED);
+
+        // Assert
+        ArgumentCaptor<Collection<ExpenseCounterDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).applyDeltas(captor.capture());
+        assertThat(captor.getValue()).hasSize(6);
+        assertThat(captor.getValue())
+                .filteredOn(d -> d.getKey().getStatus() == ExpenseStatus.SUBMITTED)
+                .allMatch(d -> d.getCountDelta() == -1 && d.getAmountDelta().compareTo(new BigDecimal("-250.00")) == 0)
+                .extracting(d -> d.getKey().getScopeId())
+                .containsExactlyInAnyOrder(ExpenseCounterScope.globalStripeId(submitter.getId()), submitter.getId(), departmentId);
+        assertThat(captor.getValue())
+                .filteredOn(d -> d.getKey().getStatus() == ExpenseStatus.APPROVED)
+                .allMatch(d -> d.getCountDelta() == 1 && d.getAmountDelta().compareTo(new BigDecimal("250.00")) == 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordArchived_ShouldSkipSoftDeletedExpenses() {
+        // Arrange
+        ExpenseArchiveCandidate live = new ExpenseArchiveCandidate(UUID.randomUUID(), LocalDate.of(2023, 1, 1),
+                ExpenseStatus.PAID, submitter.getId(), departmentId, new BigDecimal("80.00"), false);
+        ExpenseArchiveCandidate deleted = new ExpenseArchiveCandidate(UUID.randomUUID(), LocalDate.of(2023, 1, 1),
+                ExpenseStatus.REJECTED, submitter.getId(), null, new BigDecimal("40.00"), true);
+
+        // Act
+        counterService.recordArchived(List.of(live, deleted));
+
+        // Assert
+        ArgumentCaptor<Collection<ExpenseCounterDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).applyDeltas(captor.capture());
+        assertThat(captor.getValue()).hasSize(3)
+                .allMatch(d -> d.getKey().getStatus() == ExpenseStatus.PAID && d.getCountDelta() == -1);
+    }
+
+    @Test
+    void getStatusCounts_ShouldFillMissingStatusesWithZero() {
+        // Arrange
+        ExpenseStatusCounter approved = counter(ExpenseStatus.APPROVED, ExpenseCounterScope.DEPARTMENT, departmentId, 3, "750.00");
+        when(counterRepository.findByScope(ExpenseCounterScope.DEPARTMENT, departmentId)).thenReturn(List.of(approved));
+
+        // Act
+        List<ExpenseStatusCountDto> result = counterService.getStatusCounts(ExpenseCounterScope.DEPARTMENT, departmentId);
+
+        // Assert
+        assertThat(result).hasSize(ExpenseStatus.values().length);
+        assertThat(result).filteredOn(c -> c.getStatus().equals("APPROVED"))
+                .singleElement()
+                .satisfies(c -> assertThat(c.getExpenseCount()).isEqualTo(3));
+        assertThat(result).filteredOn(c -> c.getStatus().equals("DRAFT"))
+                .singleElement()
+                .satisfies(c -> assertThat(c.getTotalAmount()).isEqualByComparingTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    void getStatusCounts_WithoutScopeId_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> counterService.getStatusCounts(ExpenseCounterScope.SUBMITTER, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Scope id is required");
+    }
+
+    @Test
+    void getStatusCounts_ForAll_ShouldAddUpTheStripes() {
+        // Arrange
+        when(counterRepository.findAllByScope(ExpenseCounterScope.ALL)).thenReturn(List.of(
+                counter(ExpenseStatus.APPROVED, ExpenseCounterScope.ALL, new UUID(0, 3), 2, "100.00"),
+                counter(ExpenseStatus.APPROVED, ExpenseCounterScope.ALL, new UUID(0, 9), 5, "40.00")));
+
+        // Act
+        List<ExpenseStatusCountDto> result = counterService.getStatusCounts(ExpenseCounterScope.ALL, null);
+
+        // Assert
+        assertThat(result).filteredOn(c -> c.getStatus().equals("APPROVED"))
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getExpenseCount()).isEqualTo(7);
+                    assertThat(c.getTotalAmount()).isEqualByComparingTo("140.00");
+                });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordDepartmentChange_ShouldMoveTheSubmitterCountersBetweenDepartments() {
+        // Arrange
+        UUID newDepartmentId = UUID.randomUUID();
+        when(counterRepository.findByScopeForUpdate(ExpenseCounterScope.SUBMITTER, submitter.getId())).thenReturn(List.of(
+                counter(ExpenseStatus.SUBMITTED, ExpenseCounterScope.SUBMITTER, submitter.getId(), 2, "300.00")));
+
+        // Act
+        counterService.recordDepartmentChange(submitter.getId(), departmentId, newDepartmentId);
+
+        // Assert
+        ArgumentCaptor<Collection<ExpenseCounterDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).applyDeltas(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue()).filteredOn(d -> d.getKey().getScopeId().equals(departmentId))
+                .singleElement()
+                .satisfies(d -> assertThat(d.getCountDelta()).isEqualTo(-2));
+        assertThat(captor.getValue()).filteredOn(d -> d.getKey().getScopeId().equals(newDepartmentId))
+                .singleElement()
+                .satisfies(d -> assertThat(d.getAmountDelta()).isEqualByComparingTo("300.00"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_ShouldReportDriftAndAddOnlyTheCorrections() {
+        // Arrange
+        UUID global = ExpenseCounterScope.GLOBAL_SCOPE_ID;
+        List<ExpenseStatusCounter> stored = List.of(
+                counter(ExpenseStatus.DRAFT, ExpenseCounterScope.ALL, global, 3, "300.00"),
+                counter(ExpenseStatus.DRAFT, ExpenseCounterScope.ALL, new UUID(0, 5), 2, "200.00"),
+                counter(ExpenseStatus.SUBMITTED, ExpenseCounterScope.ALL, global, 2, "200.00"),
+                counter(ExpenseStatus.PAID, ExpenseCounterScope.ALL, global, 1, "10.00"));
+        List<ExpenseStatusCounter> actual = List.of(
+                counter(ExpenseStatus.DRAFT, ExpenseCounterScope.ALL, global, 5, "500.00"),
+                counter(ExpenseStatus.SUBMITTED, ExpenseCounterScope.ALL, global, 3, "300.00"));
+        when(counterRepository.findAll()).thenReturn(stored);
+        when(counterRepository.computeFromExpenses()).thenReturn(actual);
+
+        // Act
+        ExpenseCounterReconciliationResult result = counterService.reconcile();
+
+        // Assert
+        assertThat(result.getCountersChecked()).isEqualTo(2);
+        assertThat(result.getDriftCount()).isEqualTo(2);
+        assertThat(result.getDrifts()).extracting("status").containsExactlyInAnyOrder("SUBMITTED", "PAID");
+        ArgumentCaptor<Collection<ExpenseCounterDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).applyDeltas(captor.capture());
+        assertThat(captor.getValue()).extracting(d -> d.getKey().getStatus(), ExpenseCounterDelta::getCountDelta)
+                .containsExactlyInAnyOrder(tuple(ExpenseStatus.SUBMITTED, 1L), tuple(ExpenseStatus.PAID, -1L));
+    }
+
+    private ExpenseStatusCounter counter(ExpenseStatus status, ExpenseCounterScope scope, UUID scopeId, long count, String amount) {
+        return ExpenseStatusCounter.builder()
+                .id(new ExpenseStatusCounterId(status, scope, scopeId))
+                .expenseCount(count)
+                .totalAmount(new BigDecimal(amount))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.reporting.dto.AnalyticsSnapshotEtlResult;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsSnapshotEtlServiceTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 10, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 10, 2);
+    private static final LocalDate DAY_3 = LocalDate.of(2026, 10, 3);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    private AnalyticsSnapshotEtlService etlService;
+
+    @BeforeEach
+    void setUp() {
+        etlService = new AnalyticsSnapshotEtlService(jdbcTemplate, transactionManager, jobRunner,
+                new SimpleMeterRegistry(), 3, 400, 2, 120);
+    }
+
+    @AfterEach
+    void tearDown() {
+        etlService.shutdown();
+    }
+
+    @Test
+    void run_ShouldSkipRecordedDaysAndUpsertEachRemainingDayInOneStatement() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("SELECT COUNT(*) FROM analytics_snapshot_days"), eq(Integer.class), any()))
+                .thenAnswer(invocation -> Date.valueOf(DAY_2).equals(invocation.getArgument(2)) ? 1 : 0);
+        when(jdbcTemplate.update(startsWith("INSERT INTO analytics_snapshots"), any(), any(), any(), any())).thenReturn(12);
+        when(jdbcTemplate.update(startsWith("DELETE FROM analytics_snapshots"), any(Date.class), any(Timestamp.class))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("INSERT INTO analytics_snapshot_days"), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        AnalyticsSnapshotEtlResult result = etlService.run(DAY_1, DAY_3, false);
+
+        // Assert
+        assertThat(result.getDaysComputed()).isEqualTo(2);
+        assertThat(result.getDaysSkipped()).isEqualTo(1);
+        assertThat(result.getFailedDays()).isEmpty();
+        assertThat(result.getRowsWritten()).isEqualTo(24);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO analytics_snapshots"),
+                eq(Date.valueOf(DAY_1)), any(), any(), eq(Date.valueOf(DAY_1)));
+        verify(jdbcTemplate).update(startsWith("INSERT INTO analytics_snapshots"),
+                eq(Date.valueOf(DAY_3)), any(), any(), eq(Date.valueOf(DAY_3)));
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO analytics_snapshots"),
+                eq(Date.valueOf(DAY_2)), any(), any(), any());
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO analytics_snapshot_days"), any(), any(), eq(12), any());
+    }
+
+    @Test
+    void run_WhenDayFails_ShouldReportItLeaveItUnrecordedAndComputeTheOthers() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT INTO analytics_snapshots"), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    if (Date.valueOf(DAY_2).equals(invocation.getArgument(1))) {
+                        throw new DataAccessResourceFailureException("connection reset");
+                    }
+                    return 5;
+                });
+        when(jdbcTemplate.update(startsWith("DELETE FROM analytics_snapshots"), any(Date.class), any(Timestamp.class))).thenReturn(0);
+        when(jdbcTemplate.update(startsWith("INSERT INTO analytics_snapshot_days"), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        AnalyticsSnapshotEtlResult result = etlService.run(DAY_1, DAY_3, true);
+
+        // Assert
+        assertThat(result.getDaysComputed()).isEqualTo(2);
+        assertThat(result.getFailedDays()).containsExactly(DAY_2);
+        assertThat(result.getRowsWritten()).isEqualTo(10);
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any());
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO analytics_snapshot_days"),
+                eq(Date.valueOf(DAY_2)), any(), any(), any());
+    }
+
+    @Test
+    void run_WhenRangeLongerThanMaxDays_ShouldReject() {
+        // Act & Assert
+        assertThatThrownBy(() -> etlService.run(DAY_1.minusYears(2), DAY_1, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 400 days");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void run_WhenRangeStartsBeforeArchiveCutoff_ShouldReject() {
+        // Arrange
+        AnalyticsSnapshotEtlService shortRetention = new AnalyticsSnapshotEtlService(jdbcTemplate, transactionManager,
+                jobRunner, new SimpleMeterRegistry(), 3, 400, 2, 1);
+        LocalDate end = LocalDate.now().minusDays(1);
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> shortRetention.run(end.minusDays(90), end, true))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("archived");
+            verifyNoInteractions(jdbcTemplate);
+        } finally {
+            shortRetention.shutdown();
+        }
+    }
+
+    @Test
+    void startBackfill_ShouldHandTheRangeToABackgroundRunAndReturnItsId() {
+        // Arrange
+        UUID runId = UUID.randomUUID();
+        when(jobRunner.runInBackground(eq(AnalyticsSnapshotEtlService.BACKFILL_JOB), any(Executor.class), any(LongSupplier.class)))
+                .thenReturn(runId);
+
+        // Act
+        UUID result = etlService.startBackfill(DAY_1, DAY_3, false);
+
+        // Assert
+        assertThat(result).isEqualTo(runId);
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
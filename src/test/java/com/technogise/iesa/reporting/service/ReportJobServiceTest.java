@@ -0,0 +1,313 @@
+package com.technogise.iesa.reporting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technogise.iesa.reporting.domain.Report;
+import com.technogise.iesa.reporting.domain.ReportJobStatus;
+import com.technogise.iesa.reporting.domain.ReportTemplate;
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportJobDto;
+import com.technogise.iesa.reporting.dto.ReportJobResultPage;
+import com.technogise.iesa.reporting.repository.ReportRepository;
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import com.technogise.iesa.shared.service.ScheduledJobRunner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportExecutionEngine executionEngine;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    private ReportJobService jobService;
+    private UUID reportId;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        jobService = new ReportJobService(jdbcTemplate, transactionManager, reportRepository, executionEngine, jobRunner,
+                objectMapper, new SimpleMeterRegistry(), 1, 10, 2, 100, 2, 60, 120_000, 24, 35, 1);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("alice", null));
+
+        reportId = UUID.randomUUID();
+        Report report = Report.builder()
+                .id(reportId)
+                .template(ReportTemplate.builder().reportType(ReportType.EXPENSE_SUMMARY).build())
+                .filters(Map.of("interval", "month"))
+                .startDate(LocalDate.of(2026, 1, 1))
+                .endDate(LocalDate.of(2026, 3, 31))
+                .build();
+        lenient().when(reportRepository.findById(reportId)).thenReturn(Optional.of(report));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void submit_WhenUserHasMaxActiveJobs_ShouldReject() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_jobs"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jobService.submit(reportId))
+                .isInstanceOf(ResourceLimitExceededException.class)
+                .hasMessageContaining("At most 2 report jobs");
+        verifyNoInteractions(executionEngine);
+    }
+
+    @Test
+    void submit_ShouldStreamRowsIntoCompressedPagesReadablePageByPage() {
+        // Arrange
+        acceptSubmission();
+        when(jdbcTemplate.update(startsWith("UPDATE report_jobs SET status = 'SUCCEEDED'"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_job_result_pages"), any(), anyInt(), anyInt(), any()))
+                .thenReturn(1);
+        when(jdbcTemplate.update(startsWith("UPDATE reports SET last_executed_at"), eq(reportId))).thenReturn(1);
+        when(executionEngine.stream(eq(ReportType.EXPENSE_SUMMARY), eq(Map.of("interval", "month")), any(), any(),
+                eq(100), eq(60), any())).thenAnswer(invocation -> {
+            ReportRowHandler handler = invocation.getArgument(6);
+            handler.columns(List.of("period", "total"));
+            handler.row(new Object[]{LocalDate.of(2026, 1, 1), new BigDecimal("125.50")});
+            handler.row(new Object[]{LocalDate.of(2026, 2, 1), new BigDecimal("80.00")});
+            handler.row(new Object[]{LocalDate.of(2026, 3, 1), new BigDecimal("42.25")});
+            return false;
+        });
+
+        // Act
+        jobService.submit(reportId);
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000)).update(startsWith("UPDATE report_jobs SET status = 'SUCCEEDED'"),
+                eq("[\"period\",\"total\"]"), eq(3), eq(false), eq(2), anyLong(), any());
+        ArgumentCaptor<byte[]> pages = ArgumentCaptor.forClass(byte[].class);
+        verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO report_job_result_pages"), any(), anyInt(), anyInt(), pages.capture());
+        verify(jdbcTemplate).update(startsWith("INSERT INTO report_job_result_pages"), any(), eq(1), eq(1), any());
+        verify(jdbcTemplate).update(startsWith("UPDATE reports SET last_executed_at"), eq(reportId));
+
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        when(jdbcTemplate.query(startsWith("SELECT id, report_id"), any(RowMapper.class), eq(jobId)))
+                .thenReturn(List.of(job(jobId, ReportJobStatus.SUCCEEDED)));
+        when(jdbcTemplate.query(startsWith("SELECT data FROM report_job_result_pages"), any(RowMapper.class), eq(jobId), eq(1)))
+                .thenReturn(List.of(pages.getAllValues().get(1)));
+
+        // Act
+        ReportJobResultPage page = jobService.getResultPage(jobId, 1);
+
+        // Assert
+        assertThat(page.getPageCount()).isEqualTo(2);
+        assertThat(page.getData()).containsExactly(Map.of("period", "2026-03-01", "total", new BigDecimal("42.25")));
+    }
+
+    @Test
+    void cancel_WhenJobRunningHere_ShouldCancelItsStatementAndKeepNoResult() throws Exception {
+        // Arrange
+        acceptSubmission();
+        Statement statement = mock(Statement.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+        when(executionEngine.stream(any(), any(), any(), any(), anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            ReportRowHandler handler = invocation.getArgument(6);
+            handler.started(statement);
+            started.countDown();
+            cancelled.await(2, TimeUnit.SECONDS);
+            throw new QueryTimeoutException("canceling statement due to user request");
+        });
+        UUID jobId = jobService.submit(reportId).getId();
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        when(jdbcTemplate.update(startsWith("UPDATE report_jobs SET status = ?"), eq(ReportJobStatus.CANCELLED.name()), any(), eq(jobId)))
+                .thenReturn(1);
+
+        // Act
+        jobService.cancel(jobId);
+
+        // Assert
+        verify(statement, timeout(2000)).cancel();
+        verify(jdbcTemplate, after(200).never()).update(startsWith("UPDATE report_jobs SET status = 'SUCCEEDED'"),
+                any(), any(), any(), any(), any(), any());
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE report_jobs SET status = ?"), eq(ReportJobStatus.FAILED.name()), any(), any());
+    }
+
+    @Test
+    void submitScheduled_WhenAnotherNodeClaimedTheFireTime_ShouldSkipIt() {
+        // Arrange
+        Instant fireTime = Instant.parse("2026-11-01T01:30:00Z");
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_jobs"), any(), eq(reportId), eq("scheduler"), any(), any(),
+                eq(OffsetDateTime.of(2026, 11, 1, 1, 30, 0, 0, ZoneOffset.UTC)))).thenReturn(0);
+
+        // Act
+        boolean claimed = jobService.submitScheduled(reportId, fireTime);
+
+        // Assert
+        assertThat(claimed).isFalse();
+        verifyNoInteractions(executionEngine);
+    }
+
+    @Test
+    void hasScheduledCapacity_WhileScheduledRunsHoldTheirShare_ShouldLeaveTheRestToUsers() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_jobs"), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        when(jobRunner.getNodeId()).thenReturn("node-1");
+        when(jdbcTemplate.update(startsWith("UPDATE report_jobs SET status = 'RUNNING'"), eq("node-1"), any())).thenReturn(1);
+        when(executionEngine.stream(any(), any(), any(), any(), anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            throw new QueryTimeoutException("stopped");
+        });
+        assertThat(jobService.hasScheduledCapacity()).isTrue();
+
+        // Act
+        jobService.submitScheduled(reportId, Instant.parse("2026-11-01T01:30:00Z"));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(jobService.hasScheduledCapacity()).isFalse();
+        release.countDown();
+    }
+
+    @Test
+    void getJob_OfAnotherUser_ShouldLookLikeItDoesNotExist() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        ReportJobDto bobsJob = job(jobId, ReportJobStatus.SUCCEEDED);
+        bobsJob.setRequestedBy("bob");
+        when(jdbcTemplate.query(startsWith("SELECT id, report_id"), any(RowMapper.class), eq(jobId)))
+                .thenReturn(List.of(bobsJob));
+
+        // Act & Assert
+        assertThatThrownBy(() -> jobService.getResultPage(jobId, 0))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> jobService.cancel(jobId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(jdbcTemplate, never()).update(startsWith("UPDATE report_jobs SET status = ?"), any(), any(), any());
+    }
+
+    @Test
+    void getJob_AsFinanceAdmin_ShouldReturnAnyUsersJob() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("carol", null,
+                List.of(new SimpleGrantedAuthority("ROLE_FINANCE_ADMIN"))));
+        UUID jobId = UUID.randomUUID();
+        when(jdbcTemplate.query(startsWith("SELECT id, report_id"), any(RowMapper.class), eq(jobId)))
+                .thenReturn(List.of(job(jobId, ReportJobStatus.RUNNING)));
+
+        // Act
+        ReportJobDto result = jobService.getJob(jobId);
+
+        // Assert
+        assertThat(result.getRequestedBy()).isEqualTo("alice");
+    }
+
+    @Test
+    void getScheduledRuns_OfAnotherUsersReport_ShouldLookLikeItDoesNotExist() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), eq(reportId), eq("alice")))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jobService.getScheduledRuns(reportId, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(jdbcTemplate, never()).query(startsWith("SELECT id, report_id"), any(RowMapper.class), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getScheduledRuns_OfOwnReport_ShouldListThem() {
+        // Arrange
+        UUID jobId = UUID.randomUUID();
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), eq(Boolean.class), eq(reportId), eq("alice")))
+                .thenReturn(true);
+        when(jdbcTemplate.query(startsWith("SELECT id, report_id"), any(RowMapper.class), eq(reportId), eq(10)))
+                .thenReturn(List.of(job(jobId, ReportJobStatus.SUCCEEDED)));
+
+        // Act
+        List<ReportJobDto> runs = jobService.getScheduledRuns(reportId, 10);
+
+        // Assert
+        assertThat(runs).extracting(ReportJobDto::getId).containsExactly(jobId);
+    }
+
+    /**
+     * Let the submission insert its job and start it
+     */
+    private void acceptSubmission() {
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_jobs"), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+        when(jobRunner.getNodeId()).thenReturn("node-1");
+        when(jdbcTemplate.update(startsWith("UPDATE report_jobs SET status = 'RUNNING'"), eq("node-1"), any())).thenReturn(1);
+        lenient().when(jdbcTemplate.query(startsWith("SELECT id, report_id"), any(RowMapper.class), any(UUID.class)))
+                .thenAnswer(invocation -> List.of(job(invocation.getArgument(2), ReportJobStatus.QUEUED)));
+    }
+
+    private static ReportJobDto job(UUID id, ReportJobStatus status) {
+        return ReportJobDto.builder()
+                .id(id)
+                .requestedBy("alice")
+                .status(status.name())
+                .columns(List.of("period", "total"))
+                .totalRecords(3)
+                .truncated(false)
+                .pageSize(2)
+                .pageCount(2)
+                .build();
+    }
+}
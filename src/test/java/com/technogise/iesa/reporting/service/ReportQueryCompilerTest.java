@@ -0,0 +1,87 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportQueryCompilerTest {
+
+    private final ReportQueryCompiler compiler = new ReportQueryCompiler();
+
+    @ParameterizedTest
+    @EnumSource(ReportType.class)
+    void compile_ShouldProduceOneLimitedQueryForEveryType(ReportType type) {
+        // Act
+        ReportQuery query = compiler.compile(type, Map.of(), null, null, 101);
+
+        // Assert
+        assertThat(query.getSql()).startsWith("SELECT").endsWith("LIMIT ?");
+        assertThat(query.getParameters()).last().isEqualTo(type == ReportType.TOP_SPENDERS ? 10 : 101);
+    }
+
+    @Test
+    void compile_ShouldBindFiltersAndDateRangeAsParameters() {
+        // Arrange
+        UUID segmentId = UUID.randomUUID();
+        Map<String, Object> filters = Map.of(
+                "status", List.of("approved", "PAID"),
+                "segmentIds", segmentId.toString(),
+                "minAmount", 50);
+
+        // Act
+        ReportQuery query = compiler.compile(ReportType.EXPENSE_SUMMARY, filters,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31), 101);
+
+        // Assert
+        assertThat(query.getSql())
+                .contains("e.expense_date >= ?", "e.expense_date <= ?", "e.status IN (?, ?)",
+                        "fa.segment_id IN (?)", "e.total_amount >= ?")
+                .doesNotContain(segmentId.toString());
+        assertThat(query.getParameters()).containsExactly(
+                Date.valueOf("2026-01-01"), Date.valueOf("2026-03-31"), "APPROVED", "PAID",
+                segmentId, new BigDecimal("50"), 101);
+    }
+
+    @Test
+    void compile_TopSpenders_ShouldLimitToRequestedCountWithinRowCap() {
+        // Act
+        ReportQuery query = compiler.compile(ReportType.TOP_SPENDERS, Map.of("limit", 25), null, null, 11);
+
+        // Assert
+        assertThat(query.getParameters()).containsExactly("APPROVED", "PAID", 11);
+    }
+
+    @Test
+    void compile_TrendAnalysis_ShouldUseWhitelistedInterval() {
+        // Act
+        ReportQuery query = compiler.compile(ReportType.TREND_ANALYSIS, Map.of("interval", "quarter"), null, null, 101);
+
+        // Assert
+        assertThat(query.getSql()).contains("date_trunc('quarter', e.expense_date)");
+        assertThatThrownBy(() -> compiler.compile(ReportType.TREND_ANALYSIS,
+                Map.of("interval", "month'); DROP TABLE expenses; --"), null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compile_WhenFilterDoesNotApplyToType_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> compiler.compile(ReportType.BUDGET_UTILIZATION, Map.of("status", "APPROVED"), null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("status");
+        assertThatThrownBy(() -> compiler.compile(ReportType.EXPENSE_SUMMARY, Map.of("status", "LOST"), null, null, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,168 @@
+package com.technogise.iesa.reporting.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technogise.iesa.reporting.domain.ReportType;
+import com.technogise.iesa.reporting.dto.ReportExecutionResult;
+import com.technogise.iesa.shared.domain.DataDomain;
+import com.technogise.iesa.shared.service.DataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportResultCacheTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+
+    @Mock
+    private DataVersionService dataVersionService;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportResultCache cache;
+    private UUID reportId;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReportResultCache(dataVersionService, redisTemplate, new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry, true, true, 1_000_000, 100_000, 60, 30_000);
+        reportId = UUID.randomUUID();
+        executions = new AtomicInteger();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void getOrCompute_ShouldServeRepeatedRequestsFromLocalTier() {
+        // Arrange
+        when(dataVersionService.currentVersion(DataDomain.EXPENSES)).thenReturn(5L);
+
+        // Act
+        ReportExecutionResult first = cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+        ReportExecutionResult second = cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+
+        // Assert
+        assertThat(executions).hasValue(1);
+        assertThat(first.getCached()).isFalse();
+        assertThat(second.getCached()).isTrue();
+        assertThat(second.getData().get(0).get("total")).isEqualTo(new BigDecimal("125.50"));
+        assertThat(second.getTotalRecords()).isEqualTo(1);
+        verify(valueOperations).set(startsWith("iesa:report-result:" + reportId + ":EXPENSES:5:"), anyString(), any());
+        assertThat(meterRegistry.counter("iesa.reports.cache.requests", "tier", "local", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrCompute_WhenDataVersionAdvances_ShouldRecompute() {
+        // Arrange
+        when(dataVersionService.currentVersion(DataDomain.EXPENSES)).thenReturn(5L, 6L);
+
+        // Act
+        cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+        ReportExecutionResult result = cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+
+        // Assert
+        assertThat(executions).hasValue(2);
+        assertThat(result.getCached()).isFalse();
+    }
+
+    @Test
+    void key_ShouldNotDependOnFilterOrderButOnFilterValues() {
+        // Arrange
+        when(dataVersionService.currentVersion(DataDomain.BUDGETS)).thenReturn(1L);
+        Map<String, Object> forward = new LinkedHashMap<>();
+        forward.put("status", List.of("ACTIVE"));
+        forward.put("limit", 10);
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("limit", 10);
+        reversed.put("status", List.of("ACTIVE"));
+
+        // Act
+        String forwardKey = cache.key(reportId, ReportType.BUDGET_UTILIZATION, forward, START, END);
+        String reversedKey = cache.key(reportId, ReportType.BUDGET_UTILIZATION, reversed, START, END);
+        String otherKey = cache.key(reportId, ReportType.BUDGET_UTILIZATION, Map.of("limit", 20), START, END);
+
+        // Assert
+        assertThat(forwardKey).isEqualTo(reversedKey).startsWith("iesa:report-result:" + reportId + ":BUDGETS:1:");
+        assertThat(otherKey).isNotEqualTo(forwardKey);
+    }
+
+    @Test
+    void getOrCompute_WhenRedisFails_ShouldComputeAndBypassRedisUntilRetryInterval() {
+        // Arrange
+        when(dataVersionService.currentVersion(DataDomain.EXPENSES)).thenReturn(1L);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        ReportExecutionResult first = cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+        cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("20"), START, END, compute());
+
+        // Assert
+        assertThat(first.getData()).hasSize(1);
+        assertThat(executions).hasValue(2);
+        verify(valueOperations, times(1)).get(anyString());
+        verify(valueOperations, never()).set(anyString(), anyString(), any());
+        assertThat(meterRegistry.counter("iesa.reports.cache.requests", "tier", "redis", "result", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrCompute_WhenLocalTierFull_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        cache = new ReportResultCache(dataVersionService, redisTemplate, new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry, true, false, 200, 200, 60, 30_000);
+        when(dataVersionService.currentVersion(DataDomain.EXPENSES)).thenReturn(1L);
+
+        // Act
+        cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+        cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("20"), START, END, compute());
+        cache.getOrCompute(reportId, ReportType.EXPENSE_SUMMARY, filters("10"), START, END, compute());
+
+        // Assert
+        assertThat(executions).hasValue(3);
+        assertThat(meterRegistry.counter("iesa.reports.cache.evictions", "tier", "local").count()).isEqualTo(2);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private Map<String, Object> filters(String minAmount) {
+        return Map.of("minAmount", minAmount);
+    }
+
+    private Supplier<ReportExecutionResult> compute() {
+        return () -> {
+            executions.incrementAndGet();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("period", LocalDate.of(2026, 1, 1));
+            row.put("total", new BigDecimal("125.50"));
+            return ReportExecutionResult.builder()
+                    .columns(List.of("period", "total"))
+                    .data(List.of(row))
+                    .totalRecords(1)
+                    .truncated(false)
+                    .executionTime(12L)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.technogise.iesa.reporting.service;
+
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSchedulerTest {
+
+    // A Sunday; the reports below run at 08:00 UTC on Mondays
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Instant NEXT_MONDAY = Instant.parse("2026-10-19T08:00:00Z");
+    private static final long MAX_JITTER_MS = 300_000;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ReportJobService reportJobService;
+
+    private ReportScheduler scheduler;
+    private Map<UUID, String> schedules;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scheduler = new ReportScheduler(jdbcTemplate, reportJobService, new SimpleMeterRegistry(), MAX_JITTER_MS, "UTC");
+        schedules = new LinkedHashMap<>();
+        lenient().doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<UUID, String> schedule : schedules.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getObject(1, UUID.class)).thenReturn(schedule.getKey());
+                when(rs.getString(2)).thenReturn(schedule.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT id, scheduled_cron"), any(RowCallbackHandler.class));
+        lenient().when(reportJobService.hasScheduledCapacity()).thenReturn(true);
+    }
+
+    @Test
+    void dispatchDue_ShouldSpreadReportsOnTheSameCronOverTheJitterWindow() {
+        // Arrange
+        for (int i = 0; i < 200; i++) {
+            schedules.put(UUID.randomUUID(), "0 0 8 * * MON");
+        }
+        schedules.put(UUID.randomUUID(), "not a cron");
+        when(reportJobService.submitScheduled(any(), eq(NEXT_MONDAY))).thenReturn(true);
+        scheduler.refresh(NOW);
+
+        // Act
+        int beforeFireTime = scheduler.dispatchDue(NEXT_MONDAY.minusMillis(1));
+        int firstMinute = scheduler.dispatchDue(NEXT_MONDAY.plusSeconds(60));
+        int rest = scheduler.dispatchDue(NEXT_MONDAY.plusMillis(MAX_JITTER_MS));
+
+        // Assert
+        assertThat(beforeFireTime).isZero();
+        assertThat(firstMinute).isBetween(1, 100);
+        assertThat(firstMinute + rest).isEqualTo(200);
+        verify(reportJobService, times(200)).submitScheduled(any(), eq(NEXT_MONDAY));
+    }
+
+    @Test
+    void dispatchDue_WhenRunClaimedElsewhere_ShouldMoveToNextFireTime() {
+        // Arrange
+        UUID reportId = UUID.randomUUID();
+        schedules.put(reportId, "0 0 8 * * MON");
+        when(reportJobService.submitScheduled(reportId, NEXT_MONDAY)).thenReturn(false);
+        Instant afterJitter = NEXT_MONDAY.plusMillis(MAX_JITTER_MS);
+        scheduler.refresh(NOW);
+
+        // Act
+        int claimed = scheduler.dispatchDue(afterJitter);
+        scheduler.refresh(afterJitter);
+        scheduler.dispatchDue(afterJitter);
+
+        // Assert
+        assertThat(claimed).isZero();
+        verify(reportJobService, times(1)).submitScheduled(any(), any());
+    }
+
+    @Test
+    void dispatchDue_WhenJobPoolIsFull_ShouldKeepRunsDueForTheNextTick() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        schedules.put(first, "0 0 8 * * MON");
+        schedules.put(second, "0 0 8 * * MON");
+        Instant afterJitter = NEXT_MONDAY.plusMillis(MAX_JITTER_MS);
+        when(reportJobService.submitScheduled(any(), eq(NEXT_MONDAY)))
+                .thenThrow(new ResourceLimitExceededException("The report job queue is full, try again later"))
+                .thenReturn(true);
+        scheduler.refresh(NOW);
+
+        // Act
+        int whileFull = scheduler.dispatchDue(afterJitter);
+        int nextTick = scheduler.dispatchDue(afterJitter.plusSeconds(1));
+
+        // Assert
+        assertThat(whileFull).isZero();
+        assertThat(nextTick).isEqualTo(2);
+        verify(reportJobService, times(3)).submitScheduled(any(), eq(NEXT_MONDAY));
+        verify(reportJobService, atLeastOnce()).submitScheduled(first, NEXT_MONDAY);
+        verify(reportJobService, atLeastOnce()).submitScheduled(second, NEXT_MONDAY);
+    }
+
+    @Test
+    void jitter_ShouldStayUnderHalfThePeriodOfFrequentSchedules() {
+        // Arrange
+        schedules.put(UUID.randomUUID(), "0 * * * * *");
+        when(reportJobService.submitScheduled(any(), any())).thenReturn(true);
+        scheduler.refresh(NOW);
+
+        // Act
+        int claimed = scheduler.dispatchDue(NOW.plusSeconds(90));
+
+        // Assert
+        assertThat(claimed).isEqualTo(1);
+        verify(reportJobService).submitScheduled(any(), eq(Instant.parse("2026-10-18T12:01:00Z")));
+    }
+
+    @Test
+    void constructor_WhenZoneIsBlank_ShouldRefuseToStart() {
+        // Act & Assert
+        assertThatThrownBy(() -> new ReportScheduler(jdbcTemplate, reportJobService, new SimpleMeterRegistry(),
+                MAX_JITTER_MS, " "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("iesa.reports.schedule.zone");
+    }
+}
@@ -0,0 +1,48 @@
+package com.technogise.iesa.shared.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void generate_ShouldSetVersionAndVariantAndEmbedCurrentTime() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID uuid = UuidV7Generator.generate();
+
+        // Assert
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void generate_ShouldBeStrictlyIncreasingInIndexOrder() {
+        // Act
+        List<UUID> ids = IntStream.range(0, 20_000).mapToObj(i -> UuidV7Generator.generate()).toList();
+
+        // Assert: PostgreSQL compares uuids as unsigned bytes, so compare the text form
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+
+    @Test
+    void generate_ShouldNotRepeatAcrossThreads() {
+        // Act
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(UuidV7Generator.generate()));
+
+        // Assert
+        assertThat(ids).hasSize(100_000);
+    }
+}
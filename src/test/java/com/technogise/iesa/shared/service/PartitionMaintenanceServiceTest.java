@@ -0,0 +1,115 @@
+package com.technogise.iesa.shared.service;
+
+import com.technogise.iesa.shared.domain.PartitionedTable;
+import com.technogise.iesa.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ScheduledJobRunner jobRunner;
+
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        partitionMaintenanceService = new PartitionMaintenanceService(jdbcTemplate, jobRunner, 3, 24);
+    }
+
+    @Test
+    void ensureFuturePartitions_ShouldRunForEveryTableEvenIfOneFails() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("expenses"), eq(3)))
+                .thenThrow(new IllegalStateException("boom"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("workflow_history"), eq(3)))
+                .thenReturn(1);
+
+        // Act
+        int created = partitionMaintenanceService.ensureFuturePartitions();
+
+        // Assert
+        assertThat(created).isEqualTo(1);
+        verify(jdbcTemplate).queryForObject(startsWith("SELECT ensure_monthly_partitions"), eq(Integer.class), eq("workflow_history"), eq(3));
+    }
+
+    @Test
+    void scheduledMaintenance_ShouldRunOnlyThroughTheClusterLease() {
+        // Arrange
+        when(jobRunner.runExclusively(eq(PartitionMaintenanceService.PARTITION_JOB), any(Duration.class), any(Duration.class),
+                any(LongSupplier.class))).thenReturn(false);
+
+        // Act
+        partitionMaintenanceService.scheduledMaintenance();
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void detachPartition_ShouldDetachMonthByName() {
+        // Arrange
+        YearMonth month = YearMonth.now().minusMonths(30);
+        String expectedName = "expenses_p" + String.format("%d%02d", month.getYear(), month.getMonthValue());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(expectedName), eq("expenses"))).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + expectedName + ")", Boolean.class)).thenReturn(false);
+
+        // Act
+        String detached = partitionMaintenanceService.detachPartition(PartitionedTable.EXPENSES, month);
+
+        // Assert
+        assertThat(detached).isEqualTo(expectedName);
+        verify(jdbcTemplate).execute("ALTER TABLE expenses DETACH PARTITION " + expectedName);
+    }
+
+    @Test
+    void detachPartition_WhenExpensesRemainInTheMonth_ShouldThrowException() {
+        // Arrange
+        YearMonth month = YearMonth.now().minusMonths(30);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyString(), eq("expenses"))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS (SELECT 1 FROM expenses_p"), eq(Boolean.class))).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> partitionMaintenanceService.detachPartition(PartitionedTable.EXPENSES, month))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("archive them");
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void detachPartition_WithinRetention_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> partitionMaintenanceService.detachPartition(PartitionedTable.EXPENSES, YearMonth.now().minusMonths(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("can be detached");
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void detachPartition_WhenNotAttached_ShouldThrowException() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), anyString(), eq("workflow_history"))).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> partitionMaintenanceService.detachPartition(PartitionedTable.WORKFLOW_HISTORY, YearMonth.now().minusYears(5)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
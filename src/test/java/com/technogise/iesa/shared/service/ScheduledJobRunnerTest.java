@@ -0,0 +1,120 @@
+package com.technogise.iesa.shared.service;
+
+import com.technogise.iesa.shared.exception.ResourceLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledJobRunnerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledJobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jobRunner = new ScheduledJobRunner(jdbcTemplate, meterRegistry, "node-1", 0);
+    }
+
+    @Test
+    void runExclusively_WhenLeaseAcquired_ShouldRunTaskAndRecordSuccess() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT INTO scheduled_job_locks"), eq("sweep"), eq("node-1"), eq(600000L)))
+                .thenReturn(1);
+
+        // Act
+        boolean ran = jobRunner.runExclusively("sweep", Duration.ofMinutes(10), Duration.ofMinutes(1), () -> 7);
+
+        // Assert
+        assertThat(ran).isTrue();
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job_runs SET status"),
+                eq("SUCCEEDED"), any(), anyLong(), eq(7L), any());
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job_locks"), eq(60000L), eq("sweep"), eq("node-1"));
+        assertThat(meterRegistry.counter("iesa.scheduled.job.items", "job", "sweep").count()).isEqualTo(7);
+    }
+
+    @Test
+    void runExclusively_WhenLeaseHeldElsewhere_ShouldSkip() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT INTO scheduled_job_locks"), any(), any(), any())).thenReturn(0);
+        AtomicBoolean executed = new AtomicBoolean();
+
+        // Act
+        boolean ran = jobRunner.runExclusively("sweep", Duration.ofMinutes(10), Duration.ofMinutes(1), () -> {
+            executed.set(true);
+            return 0;
+        });
+
+        // Assert
+        assertThat(ran).isFalse();
+        assertThat(executed).isFalse();
+        verify(jdbcTemplate, never()).update(startsWith("INSERT INTO scheduled_job_runs"), any(Object[].class));
+        assertThat(meterRegistry.counter("iesa.scheduled.job.runs", "job", "sweep", "outcome", "skipped").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void runExclusively_WhenTaskFails_ShouldRecordFailureAndReleaseLease() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT INTO scheduled_job_locks"), any(), any(), any())).thenReturn(1);
+
+        // Act
+        boolean ran = jobRunner.runExclusively("sweep", Duration.ofMinutes(10), Duration.ofMinutes(1), () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // Assert
+        assertThat(ran).isTrue();
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job_runs SET status"),
+                eq("FAILED"), any(), anyLong(), eq("boom"), any());
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job_locks"), eq(60000L), eq("sweep"), eq("node-1"));
+    }
+
+    @Test
+    void runInBackground_ShouldRecordTheRunBeforeReturningAndCompleteItOnTheExecutor() {
+        // Act
+        UUID runId = jobRunner.runInBackground("backfill", Runnable::run, () -> 3);
+
+        // Assert
+        verify(jdbcTemplate).update(startsWith("INSERT INTO scheduled_job_runs"),
+                eq(runId), eq("backfill"), eq("node-1"), eq("RUNNING"), any());
+        verify(jdbcTemplate).update(startsWith("UPDATE scheduled_job_runs SET status"),
+                eq("SUCCEEDED"), any(), anyLong(), eq(3L), eq(runId));
+    }
+
+    @Test
+    void runInBackground_WhenExecutorBusy_ShouldDropTheRunAndThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> jobRunner.runInBackground("backfill", runnable -> {
+            throw new RejectedExecutionException();
+        }, () -> 0))
+                .isInstanceOf(ResourceLimitExceededException.class)
+                .hasMessageContaining("already running");
+        verify(jdbcTemplate).update(eq("DELETE FROM scheduled_job_runs WHERE id = ?"), any(UUID.class));
+    }
+
+    @Test
+    void getRecentRuns_WhenLimitOutOfRange_ShouldThrowException() {
+        // Act & Assert
+        assertThatThrownBy(() -> jobRunner.getRecentRuns(null, ScheduledJobRunner.MAX_HISTORY_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}